@@ -9,6 +9,9 @@ import org.cinema.model.Ticket;
 import org.cinema.model.enums.TicketType;
 import org.cinema.repository.MovieRepository;
 import org.cinema.util.DataInitializer;
+import org.cinema.util.logging.ConsoleAppender;
+import org.cinema.util.logging.LogLevel;
+import org.cinema.util.logging.Logger;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,6 +20,13 @@ import java.util.Scanner;
 public class Main {
     public static void main(String[] args) {
 
+        // The demo walks through every step, so show the DEBUG banners and write
+        // them synchronously to keep them in order with the demo's own output
+        if (System.getProperty(Logger.LEVEL_PROPERTY) == null) {
+            Logger.setLevel(LogLevel.DEBUG);
+        }
+        Logger.setAppender(new ConsoleAppender());
+
         // Initialize data
         DataInitializer.init();
         System.out.println();
@@ -81,12 +91,12 @@ public class Main {
         // Create Regular Ticket
         Ticket regularTicket = TicketFactory.createTicket(TicketType.REGULAR);
         System.out.println(" Created: " + regularTicket.getDescription());
-        System.out.println("  Price: $" + regularTicket.getPrice());
+        System.out.println("  Price: " + regularTicket.getPrice().format());
 
         // Create VIP Ticket
         Ticket vipTicket = TicketFactory.createTicket(TicketType.VIP);
         System.out.println("\n Created: " + vipTicket.getDescription());
-        System.out.println("  Price: $" + vipTicket.getPrice());
+        System.out.println("  Price: " + vipTicket.getPrice().format());
     }
 
     private static void demoDecoratorPattern() {
@@ -96,19 +106,19 @@ public class Main {
         Ticket baseTicket = TicketFactory.createTicket(TicketType.REGULAR);
         System.out.println("Base Ticket:");
         System.out.println("  " + baseTicket.getDescription());
-        System.out.println("  Price: $" + baseTicket.getPrice());
+        System.out.println("  Price: " + baseTicket.getPrice().format());
 
         // Add Snack Combo
         Ticket ticketWithSnacks = new SnackComboDecorator(baseTicket);
         System.out.println("\n After adding Snack Combo:");
         System.out.println("  " + ticketWithSnacks.getDescription());
-        System.out.println("  Price: $" + ticketWithSnacks.getPrice());
+        System.out.println("  Price: " + ticketWithSnacks.getPrice().format());
 
         // Add 3D Glasses
         Ticket fullyDecoratedTicket = new Glasses3DDecorator(ticketWithSnacks);
         System.out.println("\n After adding 3D Glasses:");
         System.out.println("  " + fullyDecoratedTicket.getDescription());
-        System.out.println("  Price: $" + fullyDecoratedTicket.getPrice());
+        System.out.println("  Price: " + fullyDecoratedTicket.getPrice().format());
     }
 
     private static void demoRepositoryPattern() {
@@ -151,24 +161,24 @@ public class Main {
         // Step 1: Factory creates VIP ticket
         System.out.println("Step 1: Factory creates VIP ticket");
         Ticket ticket = TicketFactory.createTicket(TicketType.VIP);
-        System.out.println(ticket.getDescription() + " - $" + ticket.getPrice());
+        System.out.println(ticket.getDescription() + " - " + ticket.getPrice().format());
 
         // Step 2: Add 3D glasses (required for 3D movie)
         System.out.println("\nStep 2: Decorator adds 3D glasses");
         ticket = new Glasses3DDecorator(ticket);
         System.out.println( ticket.getDescription());
-        System.out.println("  Running total: $" + ticket.getPrice());
+        System.out.println("  Running total: " + ticket.getPrice().format());
 
         // Step 3: Add snack combo
         System.out.println("\nStep 3: Decorator adds snack combo");
         ticket = new SnackComboDecorator(ticket);
         System.out.println(ticket.getDescription());
-        System.out.println("  Running total: $" + ticket.getPrice());
+        System.out.println("  Running total: " + ticket.getPrice().format());
 
         System.out.println("\n" + "─".repeat(50));
         System.out.println("FINAL TICKET:");
         System.out.println("  " + ticket.getDescription());
-        System.out.println("  TOTAL PRICE: $" + ticket.getPrice());
+        System.out.println("  TOTAL PRICE: " + ticket.getPrice().format());
         System.out.println("─".repeat(50));
     }
 
@@ -205,6 +215,7 @@ public class Main {
                 TicketType.REGULAR,
                 2, // 2 tickets
                 matineeTime,
+                "HALL_1",
                 false, false, // No 3D, No snacks
                 "CASH"
         );
@@ -236,6 +247,7 @@ public class Main {
                 TicketType.VIP,
                 3, // 3 VIP tickets
                 weekendTime,
+                "VIP_HALL",
                 true, true, // With 3D glasses and snacks
                 "STRIPE"
         );
@@ -270,6 +282,7 @@ public class Main {
                 TicketType.REGULAR,
                 1,
                 futureTime,
+                "HALL_3",
                 false, false,
                 "CASH"
         );
@@ -361,6 +374,7 @@ public class Main {
                 ticketType,
                 ticketCount,
                 showtime,
+                ticketType == TicketType.VIP ? "VIP_HALL" : "HALL_1",
                 add3D, addSnacks,
                 paymentMethod
         );
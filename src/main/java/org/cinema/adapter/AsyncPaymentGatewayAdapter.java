@@ -0,0 +1,68 @@
+package org.cinema.adapter;
+
+import org.cinema.model.Payment;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking variant of PaymentGatewayAdapter.
+ * Each call returns immediately with a future that completes when the
+ * gateway answers; no thread is held while the request is in flight.
+ * Student 3: ERNAR
+ * Pattern: Adapter (Structural)
+ */
+public interface AsyncPaymentGatewayAdapter {
+    /**
+     * Start processing a payment
+     * @return Future completing with true if the payment was captured
+     */
+    CompletableFuture<Boolean> processPaymentAsync(Payment payment);
+
+    /**
+     * Start refunding a payment
+     * @return Future completing with true if the refund succeeded
+     */
+    CompletableFuture<Boolean> refundPaymentAsync(Payment payment);
+
+    /**
+     * Start processing several payments. The default starts every payment
+     * at once; gateways with a native batch API override it.
+     * @return Future completing with one result per payment, in the same order
+     */
+    default CompletableFuture<List<Boolean>> processPaymentsAsync(List<Payment> payments) {
+        return GatewayFutures.fanOut(payments, this::processPaymentAsync);
+    }
+
+    /**
+     * Start refunding several payments
+     * @return Future completing with one result per payment, in the same order
+     */
+    default CompletableFuture<List<Boolean>> refundPaymentsAsync(List<Payment> payments) {
+        return GatewayFutures.fanOut(payments, this::refundPaymentAsync);
+    }
+
+    /**
+     * Verify payment status
+     */
+    CompletableFuture<String> verifyPaymentStatusAsync(String transactionId);
+
+    /**
+     * Get gateway name
+     */
+    String getGatewayName();
+
+    /**
+     * Get an async view of a gateway. Gateways that are already asynchronous
+     * are returned as they are; blocking ones are run on the executor.
+     * @param adapter The gateway
+     * @param blockingExecutor Executor for blocking gateway calls
+     */
+    static AsyncPaymentGatewayAdapter of(PaymentGatewayAdapter adapter, Executor blockingExecutor) {
+        if (adapter instanceof AsyncPaymentGatewayAdapter) {
+            return (AsyncPaymentGatewayAdapter) adapter;
+        }
+        return new BlockingGatewayAsyncAdapter(adapter, blockingExecutor);
+    }
+}
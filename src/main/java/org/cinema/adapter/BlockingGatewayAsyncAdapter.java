@@ -0,0 +1,89 @@
+package org.cinema.adapter;
+
+import org.cinema.model.Payment;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a blocking PaymentGatewayAdapter on an executor so it can be used
+ * through the AsyncPaymentGatewayAdapter interface. Each in-flight call
+ * still occupies one executor thread.
+ * Student 3: ERNAR
+ * Pattern: Adapter (Structural)
+ */
+public class BlockingGatewayAsyncAdapter implements AsyncPaymentGatewayAdapter {
+    // Daemon threads created on demand for blocking gateway calls
+    private static final ExecutorService SHARED_EXECUTOR = createSharedExecutor();
+
+    private final PaymentGatewayAdapter delegate;
+    private final Executor executor;
+
+    public BlockingGatewayAsyncAdapter(PaymentGatewayAdapter delegate, Executor executor) {
+        if (delegate == null || executor == null) {
+            throw new IllegalArgumentException("Gateway and executor are required");
+        }
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> processPaymentAsync(Payment payment) {
+        return CompletableFuture.supplyAsync(() -> delegate.processPayment(payment), executor);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> refundPaymentAsync(Payment payment) {
+        return CompletableFuture.supplyAsync(() -> delegate.refundPayment(payment), executor);
+    }
+
+    /**
+     * Hand the whole batch to the gateway so a native batch API is used
+     */
+    @Override
+    public CompletableFuture<List<Boolean>> processPaymentsAsync(List<Payment> payments) {
+        return CompletableFuture.supplyAsync(() -> delegate.processPayments(payments), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Boolean>> refundPaymentsAsync(List<Payment> payments) {
+        return CompletableFuture.supplyAsync(() -> delegate.refundPayments(payments), executor);
+    }
+
+    @Override
+    public CompletableFuture<String> verifyPaymentStatusAsync(String transactionId) {
+        return CompletableFuture.supplyAsync(() -> delegate.verifyPaymentStatus(transactionId), executor);
+    }
+
+    @Override
+    public String getGatewayName() {
+        return delegate.getGatewayName();
+    }
+
+    /**
+     * Get the wrapped blocking gateway
+     */
+    public PaymentGatewayAdapter getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Executor shared by all blocking gateway calls that have no executor of their own
+     */
+    public static Executor sharedExecutor() {
+        return SHARED_EXECUTOR;
+    }
+
+    private static ExecutorService createSharedExecutor() {
+        AtomicInteger index = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "payment-gateway-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
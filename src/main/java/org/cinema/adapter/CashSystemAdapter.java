@@ -2,35 +2,55 @@ package org.cinema.adapter;
 
 
 
+import org.cinema.model.Money;
 import org.cinema.model.Payment;
 import org.cinema.model.enums.PaymentStatus;
+import org.cinema.util.SharedScheduler;
+import org.cinema.util.logging.Logger;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Adapter for cash payment system (at cinema counter)
  * Student 3: ERNAR
  * Pattern: Adapter (Structural)
  */
-public class CashSystemAdapter implements PaymentGatewayAdapter {
+public class CashSystemAdapter implements PaymentGatewayAdapter, AsyncPaymentGatewayAdapter {
+    private static final Logger log = Logger.getLogger(CashSystemAdapter.class);
     private static final String GATEWAY_NAME = "Cash";
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final DateTimeFormatter RECEIPT_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @Override
     public boolean processPayment(Payment payment) {
-        System.out.println("\n[CashSystemAdapter] Processing cash payment...");
-        System.out.println("├─ Gateway: " + GATEWAY_NAME);
-        System.out.println("├─ Amount: $" + String.format("%.2f", payment.getAmount()));
-        System.out.println("├─ Booking ID: " + payment.getBookingId());
+        return GatewayFutures.await(processPaymentAsync(payment), () -> {
+            payment.setStatus(PaymentStatus.FAILED);
+            log.debug("└─ Status: ✗ ERROR (Processing interrupted)");
+        });
+    }
 
-        try {
-            payment.setStatus(PaymentStatus.PROCESSING);
+    @Override
+    public CompletableFuture<Boolean> processPaymentAsync(Payment payment) {
+        log.debug(() -> "\n[CashSystemAdapter] Processing cash payment..."
+                + "\n├─ Gateway: " + GATEWAY_NAME
+                + "\n├─ Amount: " + payment.getAmount().format()
+                + "\n├─ Booking ID: " + payment.getBookingId());
+
+        // Replayed request for a charge that already went through
+        if (payment.getStatus() == PaymentStatus.COMPLETED) {
+            log.debug(() -> "└─ Status: ✓ ALREADY CAPTURED (Idempotency key " + payment.getIdempotencyKey() + ")");
+            return CompletableFuture.completedFuture(true);
+        }
 
-            // Simulate cashier processing
-            System.out.println("├─ Waiting for cashier confirmation...");
-            Thread.sleep(200);
+        payment.setStatus(PaymentStatus.PROCESSING);
 
+        // Simulate cashier processing
+        log.debug("├─ Waiting for cashier confirmation...");
+        return SharedScheduler.delay(200).thenApply(ignored -> {
             // Generate cash receipt number
             String receiptNumber = "CASH-" + LocalDateTime.now().format(formatter) +
                     "-" + UUID.randomUUID().toString().substring(0, 4).toUpperCase();
@@ -39,72 +59,80 @@ public class CashSystemAdapter implements PaymentGatewayAdapter {
             // Cash payments are always successful once confirmed
             payment.setStatus(PaymentStatus.COMPLETED);
 
-            System.out.println("├─ Receipt Number: " + receiptNumber);
-            System.out.println("├─ Payment Method: Cash at Counter");
-            System.out.println("└─ Status: ✓ RECEIVED");
+            log.debug(() -> "├─ Receipt Number: " + receiptNumber
+                    + "\n├─ Payment Method: Cash at Counter"
+                    + "\n└─ Status: ✓ RECEIVED");
 
             printCashReceipt(payment, receiptNumber);
             return true;
+        });
+    }
 
-        } catch (InterruptedException e) {
-            payment.setStatus(PaymentStatus.FAILED);
-            System.out.println("└─ Status: ✗ ERROR (Processing interrupted)");
-            Thread.currentThread().interrupt();
-            return false;
-        }
+    @Override
+    public List<Boolean> processPayments(List<Payment> payments) {
+        return GatewayFutures.awaitAll(processPaymentsAsync(payments), payments.size());
+    }
+
+    @Override
+    public List<Boolean> refundPayments(List<Payment> payments) {
+        return GatewayFutures.awaitAll(refundPaymentsAsync(payments), payments.size());
     }
 
     @Override
     public boolean refundPayment(Payment payment) {
-        System.out.println("\n[CashSystemAdapter] Processing cash refund...");
-        System.out.println("├─ Gateway: " + GATEWAY_NAME);
-        System.out.println("├─ Receipt Number: " + payment.getTransactionId());
-        System.out.println("├─ Amount: $" + String.format("%.2f", payment.getAmount()));
+        return GatewayFutures.await(refundPaymentAsync(payment),
+                () -> log.debug("└─ Status: ✗ REFUND FAILED"));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> refundPaymentAsync(Payment payment) {
+        log.debug(() -> "\n[CashSystemAdapter] Processing cash refund..."
+                + "\n├─ Gateway: " + GATEWAY_NAME
+                + "\n├─ Receipt Number: " + payment.getTransactionId()
+                + "\n├─ Amount: " + payment.getAmount().format());
 
         // Validate payment is refundable
         if (payment.getStatus() != PaymentStatus.COMPLETED) {
-            System.out.println("└─ Status: FAILED (Cannot refund incomplete payment)");
-            return false;
+            log.debug("└─ Status: FAILED (Cannot refund incomplete payment)");
+            return CompletableFuture.completedFuture(false);
         }
 
-        try {
-            // Simulate cashier refund process
-            System.out.println("├─ Cashier processing refund...");
-            Thread.sleep(300);
-
+        // Simulate cashier refund process
+        log.debug("├─ Cashier processing refund...");
+        return SharedScheduler.delay(300).thenApply(ignored -> {
             // Generate refund receipt
             String refundReceipt = "REFUND-" + LocalDateTime.now().format(formatter) +
                     "-" + UUID.randomUUID().toString().substring(0, 4).toUpperCase();
             payment.setStatus(PaymentStatus.REFUNDED);
 
-            System.out.println("├─ Refund Receipt: " + refundReceipt);
-            System.out.println("└─ Status: ✓ CASH REFUNDED");
+            log.debug(() -> "├─ Refund Receipt: " + refundReceipt
+                    + "\n└─ Status: ✓ CASH REFUNDED");
 
             printRefundReceipt(payment, refundReceipt);
             return true;
+        });
+    }
 
-        } catch (InterruptedException e) {
-            System.out.println("└─ Status: ✗ REFUND FAILED");
-            Thread.currentThread().interrupt();
-            return false;
-        }
+    @Override
+    public CompletableFuture<String> verifyPaymentStatusAsync(String transactionId) {
+        return CompletableFuture.completedFuture(verifyPaymentStatus(transactionId));
     }
 
     @Override
     public String verifyPaymentStatus(String transactionId) {
-        System.out.println("\n[CashSystemAdapter] Verifying cash payment...");
-        System.out.println("├─ Gateway: " + GATEWAY_NAME);
-        System.out.println("├─ Receipt Number: " + transactionId);
+        log.debug(() -> "\n[CashSystemAdapter] Verifying cash payment..."
+                + "\n├─ Gateway: " + GATEWAY_NAME
+                + "\n├─ Receipt Number: " + transactionId);
 
         // Validate receipt number format
         if (transactionId != null && transactionId.startsWith("CASH-")) {
-            System.out.println("└─ Status: VERIFIED - Cash payment confirmed");
+            log.debug("└─ Status: VERIFIED - Cash payment confirmed");
             return "VERIFIED";
         } else if (transactionId != null && transactionId.startsWith("REFUND-")) {
-            System.out.println("└─ Status: REFUNDED - Cash refund confirmed");
+            log.debug("└─ Status: REFUNDED - Cash refund confirmed");
             return "REFUNDED";
         } else {
-            System.out.println("└─ Status: INVALID - Receipt not found");
+            log.debug("└─ Status: INVALID - Receipt not found");
             return "INVALID";
         }
     }
@@ -118,54 +146,53 @@ public class CashSystemAdapter implements PaymentGatewayAdapter {
      * Print cash receipt
      */
     private void printCashReceipt(Payment payment, String receiptNumber) {
-        System.out.println("\n╔════════════════════════════════════════════════════════╗");
-        System.out.println("║                  CASH RECEIPT                          ║");
-        System.out.println("╠════════════════════════════════════════════════════════╣");
-        System.out.println("║ Receipt No: " + String.format("%-42s", receiptNumber) + "║");
-        System.out.println("║ Booking ID: " + String.format("%-42s", payment.getBookingId()) + "║");
-        System.out.println("║ Amount Paid: $" + String.format("%-40.2f", payment.getAmount()) + "║");
-        System.out.println("║ Payment Method: Cash                                   ║");
-        System.out.println("║ Date: " + String.format("%-47s", LocalDateTime.now().format(
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))) + "║");
-        System.out.println("╠════════════════════════════════════════════════════════╣");
-        System.out.println("║          THANK YOU FOR YOUR PURCHASE!                  ║");
-        System.out.println("║     Please present this receipt at the entrance        ║");
-        System.out.println("╚════════════════════════════════════════════════════════╝\n");
+        log.debug(() -> "\n╔════════════════════════════════════════════════════════╗"
+                + "\n║                  CASH RECEIPT                          ║"
+                + "\n╠════════════════════════════════════════════════════════╣"
+                + "\n║ Receipt No: " + String.format("%-42s", receiptNumber) + "║"
+                + "\n║ Booking ID: " + String.format("%-42s", payment.getBookingId()) + "║"
+                + "\n║ Amount Paid: " + String.format("%-41s", payment.getAmount().format()) + "║"
+                + "\n║ Payment Method: Cash                                   ║"
+                + "\n║ Date: " + String.format("%-47s", LocalDateTime.now().format(RECEIPT_DATE_FORMAT)) + "║"
+                + "\n╠════════════════════════════════════════════════════════╣"
+                + "\n║          THANK YOU FOR YOUR PURCHASE!                  ║"
+                + "\n║     Please present this receipt at the entrance        ║"
+                + "\n╚════════════════════════════════════════════════════════╝\n");
     }
 
     /**
      * Print refund receipt
      */
     private void printRefundReceipt(Payment payment, String refundReceipt) {
-        System.out.println("\n╔════════════════════════════════════════════════════════╗");
-        System.out.println("║                  REFUND RECEIPT                        ║");
-        System.out.println("╠════════════════════════════════════════════════════════╣");
-        System.out.println("║ Refund No: " + String.format("%-43s", refundReceipt) + "║");
-        System.out.println("║ Original Receipt: " + String.format("%-36s", payment.getTransactionId()) + "║");
-        System.out.println("║ Refund Amount: $" + String.format("%-39.2f", payment.getAmount()) + "║");
-        System.out.println("║ Refund Method: Cash                                    ║");
-        System.out.println("║ Date: " + String.format("%-47s", LocalDateTime.now().format(
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))) + "║");
-        System.out.println("╠════════════════════════════════════════════════════════╣");
-        System.out.println("║              REFUND PROCESSED                          ║");
-        System.out.println("╚════════════════════════════════════════════════════════╝\n");
+        log.debug(() -> "\n╔════════════════════════════════════════════════════════╗"
+                + "\n║                  REFUND RECEIPT                        ║"
+                + "\n╠════════════════════════════════════════════════════════╣"
+                + "\n║ Refund No: " + String.format("%-43s", refundReceipt) + "║"
+                + "\n║ Original Receipt: " + String.format("%-36s", payment.getTransactionId()) + "║"
+                + "\n║ Refund Amount: " + String.format("%-40s", payment.getAmount().format()) + "║"
+                + "\n║ Refund Method: Cash                                    ║"
+                + "\n║ Date: " + String.format("%-47s", LocalDateTime.now().format(RECEIPT_DATE_FORMAT)) + "║"
+                + "\n╠════════════════════════════════════════════════════════╣"
+                + "\n║              REFUND PROCESSED                          ║"
+                + "\n╚════════════════════════════════════════════════════════╝\n");
     }
 
     /**
      * Calculate change to return
      */
-    public double calculateChange(double amountPaid, double amountDue) {
-        if (amountPaid < amountDue) {
+    public Money calculateChange(Money amountPaid, Money amountDue) {
+        if (amountPaid.isLessThan(amountDue)) {
             throw new IllegalArgumentException("Insufficient payment");
         }
-        return amountPaid - amountDue;
+        return amountPaid.minus(amountDue);
     }
 
     /**
      * Validate cash denomination
+     * @param amount Amount tendered, as entered at the counter
+     * @return true if it is a whole number of cents
      */
-    public boolean validateCashDenomination(double amount) {
-        // Check if amount is valid cash denomination (multiples of 0.01)
-        return Math.round(amount * 100) == amount * 100;
+    public boolean validateCashDenomination(BigDecimal amount) {
+        return amount.stripTrailingZeros().scale() <= Money.USD.getDefaultFractionDigits();
     }
 }
\ No newline at end of file
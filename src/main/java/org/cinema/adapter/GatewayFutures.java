@@ -0,0 +1,89 @@
+package org.cinema.adapter;
+
+import org.cinema.model.Payment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Helpers for adapters that implement their blocking methods on top of
+ * their asynchronous ones
+ */
+final class GatewayFutures {
+    private GatewayFutures() {
+    }
+
+    /**
+     * Wait for a gateway call to finish
+     * @param result The pending call
+     * @param onInterrupt Run if the waiting thread is interrupted; the call is cancelled first
+     * @return The call's result, or false if interrupted
+     */
+    static boolean await(CompletableFuture<Boolean> result, Runnable onInterrupt) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            onInterrupt.run();
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    /**
+     * Start one gateway call per payment and collect the results in order.
+     * A call that throws or fails counts as false for its own payment only.
+     */
+    static CompletableFuture<List<Boolean>> fanOut(List<Payment> payments,
+                                                   Function<Payment, CompletableFuture<Boolean>> call) {
+        List<CompletableFuture<Boolean>> calls = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            CompletableFuture<Boolean> result;
+            try {
+                result = call.apply(payment);
+            } catch (RuntimeException e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            calls.add(result.exceptionally(error -> false));
+        }
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<Boolean> results = new ArrayList<>(calls.size());
+                    for (CompletableFuture<Boolean> result : calls) {
+                        results.add(result.join());
+                    }
+                    return results;
+                });
+    }
+
+    /**
+     * Wait for a batch of gateway calls to finish
+     * @return The per-payment results, or all false if interrupted
+     */
+    static List<Boolean> awaitAll(CompletableFuture<List<Boolean>> results, int size) {
+        try {
+            return results.get();
+        } catch (InterruptedException e) {
+            results.cancel(false);
+            Thread.currentThread().interrupt();
+            return Collections.nCopies(size, false);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+}
@@ -1,126 +1,158 @@
 package org.cinema.adapter;
 
 
+import org.cinema.model.Money;
 import org.cinema.model.Payment;
 import org.cinema.model.enums.PaymentStatus;
+import org.cinema.util.CircuitBreakerPolicy;
+import org.cinema.util.SharedScheduler;
+import org.cinema.util.logging.Logger;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Adapter for PayPal payment gateway
  * Student 3: ERNAR
  * Pattern: Adapter (Structural)
  */
-public class PayPalAdapter implements PaymentGatewayAdapter {
+public class PayPalAdapter implements PaymentGatewayAdapter, AsyncPaymentGatewayAdapter {
+    private static final Logger log = Logger.getLogger(PayPalAdapter.class);
     private static final String GATEWAY_NAME = "PayPal";
-    private static final double MAX_AMOUNT = 10000.00;
-    private static final double MIN_AMOUNT = 1.00;
+    private static final Money MAX_AMOUNT = Money.usd(1_000_000);
+    private static final Money MIN_AMOUNT = Money.usd(100);
+    private static final Money BUYER_PROTECTION_LIMIT = Money.usd(1_000_000);
+    /** Order, authorize and capture take about 1 s, so only treat calls over 3 s as slow */
+    private static final CircuitBreakerPolicy CIRCUIT_BREAKER_POLICY = new CircuitBreakerPolicy(5, 3_000, 30_000);
 
     @Override
     public boolean processPayment(Payment payment) {
-        System.out.println("\n[PayPalAdapter] Processing payment...");
-        System.out.println("├─ Gateway: " + GATEWAY_NAME);
-        System.out.println("├─ Amount: $" + String.format("%.2f", payment.getAmount()));
-        System.out.println("├─ Booking ID: " + payment.getBookingId());
+        return GatewayFutures.await(processPaymentAsync(payment), () -> {
+            payment.setStatus(PaymentStatus.FAILED);
+            log.debug("└─ Status: ✗ ERROR (Processing interrupted)");
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> processPaymentAsync(Payment payment) {
+        log.debug(() -> "\n[PayPalAdapter] Processing payment..."
+                + "\n├─ Gateway: " + GATEWAY_NAME
+                + "\n├─ Amount: " + payment.getAmount().format()
+                + "\n├─ Booking ID: " + payment.getBookingId());
+
+        // Replayed request for a charge that already went through
+        if (payment.getStatus() == PaymentStatus.COMPLETED) {
+            log.debug(() -> "└─ Status: ✓ ALREADY CAPTURED (Idempotency key " + payment.getIdempotencyKey() + ")");
+            return CompletableFuture.completedFuture(true);
+        }
 
         // Validate payment amount
         if (!validateAmount(payment.getAmount())) {
-            System.out.println("└─ Status: FAILED (Invalid amount)");
+            log.debug("└─ Status: FAILED (Invalid amount)");
             payment.setStatus(PaymentStatus.FAILED);
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
         // Simulate PayPal API call
-        try {
-            payment.setStatus(PaymentStatus.PROCESSING);
-
-            // Simulate PayPal authorization flow
-            System.out.println("├─ Step 1: Creating PayPal order...");
-            Thread.sleep(300);
-
-            // Generate mock PayPal order ID
-            String orderId = "PAYPAL-" + UUID.randomUUID().toString().toUpperCase().substring(0, 17);
-
-            System.out.println("├─ Step 2: Authorizing payment...");
-            Thread.sleep(400);
-
-            // Simulate payment approval
-            boolean approved = simulatePayPalApproval();
-
-            if (approved) {
-                System.out.println("├─ Step 3: Capturing payment...");
-                Thread.sleep(300);
-
-                // Generate capture/transaction ID
-                String captureId = "CAPTURE-" + UUID.randomUUID().toString().toUpperCase().substring(0, 13);
-                payment.setTransactionId(captureId);
-                payment.setStatus(PaymentStatus.COMPLETED);
-
-                System.out.println("├─ PayPal Order ID: " + orderId);
-                System.out.println("├─ Capture ID: " + captureId);
-                System.out.println("└─ Status: ✓ SUCCESS (Payment Captured)");
-                return true;
-            } else {
-                payment.setStatus(PaymentStatus.FAILED);
-                System.out.println("└─ Status: ✗ FAILED (Payment not approved)");
-                return false;
-            }
-
-        } catch (InterruptedException e) {
-            payment.setStatus(PaymentStatus.FAILED);
-            System.out.println("└─ Status: ✗ ERROR (Processing interrupted)");
-            Thread.currentThread().interrupt();
-            return false;
-        }
+        payment.setStatus(PaymentStatus.PROCESSING);
+
+        // Simulate PayPal authorization flow; each step waits on the shared timer
+        log.debug("├─ Step 1: Creating PayPal order...");
+        return SharedScheduler.delay(300)
+                .thenCompose(ignored -> {
+                    // Generate mock PayPal order ID
+                    String orderId = "PAYPAL-" + UUID.randomUUID().toString().toUpperCase().substring(0, 17);
+
+                    log.debug("├─ Step 2: Authorizing payment...");
+                    return SharedScheduler.delay(400).thenApply(authorized -> orderId);
+                })
+                .thenCompose(orderId -> {
+                    // Simulate payment approval
+                    boolean approved = simulatePayPalApproval();
+
+                    if (!approved) {
+                        payment.setStatus(PaymentStatus.FAILED);
+                        log.debug("└─ Status: ✗ FAILED (Payment not approved)");
+                        return CompletableFuture.completedFuture(false);
+                    }
+
+                    log.debug("├─ Step 3: Capturing payment...");
+                    return SharedScheduler.delay(300).thenApply(captured -> {
+                        // Generate capture/transaction ID
+                        String captureId = "CAPTURE-" + UUID.randomUUID().toString().toUpperCase().substring(0, 13);
+                        payment.setTransactionId(captureId);
+                        payment.setStatus(PaymentStatus.COMPLETED);
+
+                        log.debug(() -> "├─ PayPal Order ID: " + orderId
+                                + "\n├─ Capture ID: " + captureId
+                                + "\n└─ Status: ✓ SUCCESS (Payment Captured)");
+                        return true;
+                    });
+                });
+    }
+
+    @Override
+    public List<Boolean> processPayments(List<Payment> payments) {
+        return GatewayFutures.awaitAll(processPaymentsAsync(payments), payments.size());
+    }
+
+    @Override
+    public List<Boolean> refundPayments(List<Payment> payments) {
+        return GatewayFutures.awaitAll(refundPaymentsAsync(payments), payments.size());
     }
 
     @Override
     public boolean refundPayment(Payment payment) {
-        System.out.println("\n[PayPalAdapter] Processing refund...");
-        System.out.println("├─ Gateway: " + GATEWAY_NAME);
-        System.out.println("├─ Capture ID: " + payment.getTransactionId());
-        System.out.println("├─ Amount: $" + String.format("%.2f", payment.getAmount()));
+        return GatewayFutures.await(refundPaymentAsync(payment),
+                () -> log.debug("└─ Status: ✗ REFUND FAILED"));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> refundPaymentAsync(Payment payment) {
+        log.debug(() -> "\n[PayPalAdapter] Processing refund..."
+                + "\n├─ Gateway: " + GATEWAY_NAME
+                + "\n├─ Capture ID: " + payment.getTransactionId()
+                + "\n├─ Amount: " + payment.getAmount().format());
 
         // Validate payment is refundable
         if (payment.getStatus() != PaymentStatus.COMPLETED) {
-            System.out.println("└─ Status: FAILED (Cannot refund incomplete payment)");
-            return false;
+            log.debug("└─ Status: FAILED (Cannot refund incomplete payment)");
+            return CompletableFuture.completedFuture(false);
         }
 
-        try {
-            // Simulate PayPal refund API call
-            System.out.println("├─ Initiating PayPal refund...");
-            Thread.sleep(400);
-
+        // Simulate PayPal refund API call
+        log.debug("├─ Initiating PayPal refund...");
+        return SharedScheduler.delay(400).thenApply(ignored -> {
             // Generate refund ID
             String refundId = "REFUND-" + UUID.randomUUID().toString().toUpperCase().substring(0, 13);
             payment.setStatus(PaymentStatus.REFUNDED);
 
-            System.out.println("├─ Refund ID: " + refundId);
-            System.out.println("└─ Status: ✓ REFUNDED (Funds returned to PayPal account)");
+            log.debug(() -> "├─ Refund ID: " + refundId
+                    + "\n└─ Status: ✓ REFUNDED (Funds returned to PayPal account)");
             return true;
+        });
+    }
 
-        } catch (InterruptedException e) {
-            System.out.println("└─ Status: ✗ REFUND FAILED");
-            Thread.currentThread().interrupt();
-            return false;
-        }
+    @Override
+    public CompletableFuture<String> verifyPaymentStatusAsync(String transactionId) {
+        return CompletableFuture.completedFuture(verifyPaymentStatus(transactionId));
     }
 
     @Override
     public String verifyPaymentStatus(String transactionId) {
-        System.out.println("\n[PayPalAdapter] Verifying payment status...");
-        System.out.println("├─ Gateway: " + GATEWAY_NAME);
-        System.out.println("├─ Transaction ID: " + transactionId);
+        log.debug(() -> "\n[PayPalAdapter] Verifying payment status..."
+                + "\n├─ Gateway: " + GATEWAY_NAME
+                + "\n├─ Transaction ID: " + transactionId);
 
         // Simulate PayPal API verification
         if (transactionId != null && transactionId.startsWith("CAPTURE-")) {
-            System.out.println("└─ Status: COMPLETED - Payment Captured");
+            log.debug("└─ Status: COMPLETED - Payment Captured");
             return "COMPLETED";
         } else if (transactionId != null && transactionId.startsWith("REFUND-")) {
-            System.out.println("└─ Status: REFUNDED");
+            log.debug("└─ Status: REFUNDED");
             return "REFUNDED";
         } else {
-            System.out.println("└─ Status: NOT_FOUND - Transaction not found");
+            log.debug("└─ Status: NOT_FOUND - Transaction not found");
             return "NOT_FOUND";
         }
     }
@@ -130,11 +162,31 @@ public class PayPalAdapter implements PaymentGatewayAdapter {
         return GATEWAY_NAME;
     }
 
+    @Override
+    public Money getMinAmount() {
+        return MIN_AMOUNT;
+    }
+
+    @Override
+    public Money getMaxAmount() {
+        return MAX_AMOUNT;
+    }
+
+    @Override
+    public CircuitBreakerPolicy getCircuitBreakerPolicy() {
+        return CIRCUIT_BREAKER_POLICY;
+    }
+
+    @Override
+    public boolean isCardProcessor() {
+        return true;
+    }
+
     /**
      * Validate payment amount
      */
-    private boolean validateAmount(double amount) {
-        return amount >= MIN_AMOUNT && amount <= MAX_AMOUNT;
+    private boolean validateAmount(Money amount) {
+        return supportsAmount(amount);
     }
 
     /**
@@ -156,9 +208,9 @@ public class PayPalAdapter implements PaymentGatewayAdapter {
     /**
      * Check if payment is eligible for buyer protection
      */
-    public boolean isBuyerProtectionEligible(double amount) {
+    public boolean isBuyerProtectionEligible(Money amount) {
         // Payments under $10,000 are eligible
-        return amount < 10000.00;
+        return amount.isLessThan(BUYER_PROTECTION_LIMIT);
     }
 
     /**
@@ -1,6 +1,11 @@
 package org.cinema.adapter;
 
+import org.cinema.model.Money;
 import org.cinema.model.Payment;
+import org.cinema.util.CircuitBreakerPolicy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Adapter interface for payment gateway integration
@@ -18,6 +23,26 @@ public interface PaymentGatewayAdapter {
      */
     boolean refundPayment(Payment payment);
 
+    /**
+     * Process several payments in one call.
+     * Gateways with a native batch API submit them in a single round trip;
+     * the default runs processPayment for every item in parallel.
+     * @return One result per payment, in the same order
+     */
+    default List<Boolean> processPayments(List<Payment> payments) {
+        return GatewayFutures.awaitAll(GatewayFutures.fanOut(payments, payment -> CompletableFuture.supplyAsync(
+                () -> processPayment(payment), BlockingGatewayAsyncAdapter.sharedExecutor())), payments.size());
+    }
+
+    /**
+     * Refund several payments in one call
+     * @return One result per payment, in the same order
+     */
+    default List<Boolean> refundPayments(List<Payment> payments) {
+        return GatewayFutures.awaitAll(GatewayFutures.fanOut(payments, payment -> CompletableFuture.supplyAsync(
+                () -> refundPayment(payment), BlockingGatewayAsyncAdapter.sharedExecutor())), payments.size());
+    }
+
     /**
      * Verify payment status
      */
@@ -27,4 +52,50 @@ public interface PaymentGatewayAdapter {
      * Get gateway name
      */
     String getGatewayName();
-}
\ No newline at end of file
+
+    /**
+     * Smallest amount the gateway accepts, or null for no minimum
+     */
+    default Money getMinAmount() {
+        return null;
+    }
+
+    /**
+     * Largest amount the gateway accepts, or null for no maximum
+     */
+    default Money getMaxAmount() {
+        return null;
+    }
+
+    /**
+     * Check whether the gateway accepts a payment of this amount.
+     * A gateway with limits only accepts amounts in the currency of its limits.
+     */
+    default boolean supportsAmount(Money amount) {
+        Money min = getMinAmount();
+        Money max = getMaxAmount();
+        if ((min != null && !min.getCurrency().equals(amount.getCurrency()))
+                || (max != null && !max.getCurrency().equals(amount.getCurrency()))) {
+            return false;
+        }
+        return (min == null || !amount.isLessThan(min)) && (max == null || !amount.isGreaterThan(max));
+    }
+
+    /**
+     * Whether the gateway charges cards, so it can take payments made with
+     * the ANY_CARD method
+     */
+    default boolean isCardProcessor() {
+        return false;
+    }
+
+    /**
+     * Circuit breaker thresholds used when the gateway is registered without
+     * an explicit policy. Gateways whose normal calls take longer than the
+     * default slow-call threshold should override this, otherwise every
+     * successful call counts as a failure.
+     */
+    default CircuitBreakerPolicy getCircuitBreakerPolicy() {
+        return CircuitBreakerPolicy.DEFAULT;
+    }
+}
@@ -1,111 +1,205 @@
 package org.cinema.adapter;
 
 
+import org.cinema.model.Money;
 import org.cinema.model.Payment;
 import org.cinema.model.enums.PaymentStatus;
+import org.cinema.util.SharedScheduler;
+import org.cinema.util.logging.Logger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Adapter for Stripe payment gateway
  * Student 3: ERNAR
  * Pattern: Adapter (Structural)
  */
-public class StripeAdapter implements PaymentGatewayAdapter {
+public class StripeAdapter implements PaymentGatewayAdapter, AsyncPaymentGatewayAdapter {
+    private static final Logger log = Logger.getLogger(StripeAdapter.class);
     private static final String GATEWAY_NAME = "Stripe";
-    private static final double MAX_AMOUNT = 999999.99;
-    private static final double MIN_AMOUNT = 0.50;
+    private static final Money MAX_AMOUNT = Money.usd(99_999_999);
+    private static final Money MIN_AMOUNT = Money.usd(50);
+    private static final Money THREE_D_SECURE_THRESHOLD = Money.usd(50_000);
 
     @Override
     public boolean processPayment(Payment payment) {
-        System.out.println("\n[StripeAdapter] Processing payment...");
-        System.out.println("├─ Gateway: " + GATEWAY_NAME);
-        System.out.println("├─ Amount: $" + String.format("%.2f", payment.getAmount()));
-        System.out.println("├─ Booking ID: " + payment.getBookingId());
+        return GatewayFutures.await(processPaymentAsync(payment), () -> {
+            payment.setStatus(PaymentStatus.FAILED);
+            log.debug("└─ Status: ✗ ERROR (Processing interrupted)");
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> processPaymentAsync(Payment payment) {
+        log.debug(() -> "\n[StripeAdapter] Processing payment..."
+                + "\n├─ Gateway: " + GATEWAY_NAME
+                + "\n├─ Amount: " + payment.getAmount().format()
+                + "\n├─ Booking ID: " + payment.getBookingId());
+
+        // Replayed request for a charge that already went through
+        if (payment.getStatus() == PaymentStatus.COMPLETED) {
+            log.debug(() -> "└─ Status: ✓ ALREADY CAPTURED (Idempotency key " + payment.getIdempotencyKey() + ")");
+            return CompletableFuture.completedFuture(true);
+        }
 
         // Validate payment amount
         if (!validateAmount(payment.getAmount())) {
-            System.out.println("└─ Status: FAILED (Invalid amount)");
+            log.debug("└─ Status: FAILED (Invalid amount)");
             payment.setStatus(PaymentStatus.FAILED);
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
         // Simulate Stripe API call
-        try {
-            payment.setStatus(PaymentStatus.PROCESSING);
+        payment.setStatus(PaymentStatus.PROCESSING);
 
-            // Simulate API processing delay
-            Thread.sleep(500);
+        // Simulate API processing delay without holding a thread
+        return SharedScheduler.delay(500).thenApply(ignored -> completeCharge(payment));
+    }
 
-            // Generate mock Stripe transaction ID
-            String transactionId = "pi_" + UUID.randomUUID().toString().replace("-", "").substring(0, 24);
-            payment.setTransactionId(transactionId);
+    @Override
+    public List<Boolean> processPayments(List<Payment> payments) {
+        return GatewayFutures.awaitAll(processPaymentsAsync(payments), payments.size());
+    }
 
-            // Simulate payment success (90% success rate for demo)
-            boolean success = simulatePaymentProcessing();
+    /**
+     * Charge a batch of payments in a single Stripe API round trip.
+     * Payments with an invalid amount fail without being sent.
+     */
+    @Override
+    public CompletableFuture<List<Boolean>> processPaymentsAsync(List<Payment> payments) {
+        log.debug(() -> "\n[StripeAdapter] Processing batch of " + payments.size() + " payments...");
 
-            if (success) {
-                payment.setStatus(PaymentStatus.COMPLETED);
-                System.out.println("├─ Transaction ID: " + transactionId);
-                System.out.println("└─ Status: ✓ SUCCESS");
-                return true;
+        List<Payment> accepted = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            if (payment.getStatus() == PaymentStatus.COMPLETED) {
+                // Replayed charge; reported as captured without charging again
+                continue;
+            }
+            if (validateAmount(payment.getAmount())) {
+                payment.setStatus(PaymentStatus.PROCESSING);
+                accepted.add(payment);
             } else {
                 payment.setStatus(PaymentStatus.FAILED);
-                System.out.println("└─ Status: ✗ FAILED (Card declined)");
-                return false;
             }
+        }
+        if (accepted.isEmpty()) {
+            return CompletableFuture.completedFuture(batchResults(payments));
+        }
+
+        // One simulated API delay for the whole batch
+        return SharedScheduler.delay(500).thenApply(ignored -> {
+            for (Payment payment : accepted) {
+                completeCharge(payment);
+            }
+            return batchResults(payments);
+        });
+    }
+
+    private boolean completeCharge(Payment payment) {
+        // Generate mock Stripe transaction ID
+        String transactionId = "pi_" + UUID.randomUUID().toString().replace("-", "").substring(0, 24);
+        payment.setTransactionId(transactionId);
+
+        // Simulate payment success (90% success rate for demo)
+        boolean success = simulatePaymentProcessing();
 
-        } catch (InterruptedException e) {
+        if (success) {
+            payment.setStatus(PaymentStatus.COMPLETED);
+            log.debug(() -> "├─ Transaction ID: " + transactionId
+                    + "\n└─ Status: ✓ SUCCESS");
+            return true;
+        } else {
             payment.setStatus(PaymentStatus.FAILED);
-            System.out.println("└─ Status: ✗ ERROR (Processing interrupted)");
-            Thread.currentThread().interrupt();
+            log.debug("└─ Status: ✗ FAILED (Card declined)");
             return false;
         }
     }
 
     @Override
     public boolean refundPayment(Payment payment) {
-        System.out.println("\n[StripeAdapter] Processing refund...");
-        System.out.println("├─ Gateway: " + GATEWAY_NAME);
-        System.out.println("├─ Transaction ID: " + payment.getTransactionId());
-        System.out.println("├─ Amount: $" + String.format("%.2f", payment.getAmount()));
+        return GatewayFutures.await(refundPaymentAsync(payment),
+                () -> log.debug("└─ Status: ✗ REFUND FAILED"));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> refundPaymentAsync(Payment payment) {
+        log.debug(() -> "\n[StripeAdapter] Processing refund..."
+                + "\n├─ Gateway: " + GATEWAY_NAME
+                + "\n├─ Transaction ID: " + payment.getTransactionId()
+                + "\n├─ Amount: " + payment.getAmount().format());
 
         // Validate payment is refundable
         if (payment.getStatus() != PaymentStatus.COMPLETED) {
-            System.out.println("└─ Status: FAILED (Cannot refund incomplete payment)");
-            return false;
+            log.debug("└─ Status: FAILED (Cannot refund incomplete payment)");
+            return CompletableFuture.completedFuture(false);
         }
 
-        try {
-            // Simulate Stripe refund API call
-            Thread.sleep(300);
-
+        // Simulate Stripe refund API call
+        return SharedScheduler.delay(300).thenApply(ignored -> {
             // Generate refund ID
             String refundId = "re_" + UUID.randomUUID().toString().replace("-", "").substring(0, 24);
             payment.setStatus(PaymentStatus.REFUNDED);
 
-            System.out.println("├─ Refund ID: " + refundId);
-            System.out.println("└─ Status: ✓ REFUNDED");
+            log.debug(() -> "├─ Refund ID: " + refundId
+                    + "\n└─ Status: ✓ REFUNDED");
             return true;
+        });
+    }
 
-        } catch (InterruptedException e) {
-            System.out.println("└─ Status: ✗ REFUND FAILED");
-            Thread.currentThread().interrupt();
-            return false;
+    @Override
+    public List<Boolean> refundPayments(List<Payment> payments) {
+        return GatewayFutures.awaitAll(refundPaymentsAsync(payments), payments.size());
+    }
+
+    /**
+     * Refund a batch of payments in a single Stripe API round trip.
+     * Payments that are not completed are left as they are and reported as failed.
+     */
+    @Override
+    public CompletableFuture<List<Boolean>> refundPaymentsAsync(List<Payment> payments) {
+        log.debug(() -> "\n[StripeAdapter] Processing batch refund of " + payments.size() + " payments...");
+
+        List<Boolean> results = new ArrayList<>(payments.size());
+        List<Payment> refundable = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            boolean completed = payment.getStatus() == PaymentStatus.COMPLETED;
+            results.add(completed);
+            if (completed) {
+                refundable.add(payment);
+            }
+        }
+        if (refundable.isEmpty()) {
+            return CompletableFuture.completedFuture(results);
         }
+
+        return SharedScheduler.delay(300).thenApply(ignored -> {
+            for (Payment payment : refundable) {
+                payment.setStatus(PaymentStatus.REFUNDED);
+            }
+            log.debug(() -> "└─ Status: ✓ REFUNDED " + refundable.size() + " of " + payments.size());
+            return results;
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> verifyPaymentStatusAsync(String transactionId) {
+        return CompletableFuture.completedFuture(verifyPaymentStatus(transactionId));
     }
 
     @Override
     public String verifyPaymentStatus(String transactionId) {
-        System.out.println("\n[StripeAdapter] Verifying payment status...");
-        System.out.println("├─ Gateway: " + GATEWAY_NAME);
-        System.out.println("├─ Transaction ID: " + transactionId);
+        log.debug(() -> "\n[StripeAdapter] Verifying payment status..."
+                + "\n├─ Gateway: " + GATEWAY_NAME
+                + "\n├─ Transaction ID: " + transactionId);
 
         // Simulate Stripe API verification
         if (transactionId != null && transactionId.startsWith("pi_")) {
-            System.out.println("└─ Status: VERIFIED - Payment Completed");
+            log.debug("└─ Status: VERIFIED - Payment Completed");
             return "VERIFIED";
         } else {
-            System.out.println("└─ Status: INVALID - Transaction not found");
+            log.debug("└─ Status: INVALID - Transaction not found");
             return "INVALID";
         }
     }
@@ -115,11 +209,34 @@ public class StripeAdapter implements PaymentGatewayAdapter {
         return GATEWAY_NAME;
     }
 
+    private static List<Boolean> batchResults(List<Payment> payments) {
+        List<Boolean> results = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            results.add(payment.getStatus() == PaymentStatus.COMPLETED);
+        }
+        return results;
+    }
+
+    @Override
+    public Money getMinAmount() {
+        return MIN_AMOUNT;
+    }
+
+    @Override
+    public Money getMaxAmount() {
+        return MAX_AMOUNT;
+    }
+
+    @Override
+    public boolean isCardProcessor() {
+        return true;
+    }
+
     /**
      * Validate payment amount
      */
-    private boolean validateAmount(double amount) {
-        return amount >= MIN_AMOUNT && amount <= MAX_AMOUNT;
+    private boolean validateAmount(Money amount) {
+        return supportsAmount(amount);
     }
 
     /**
@@ -140,8 +257,8 @@ public class StripeAdapter implements PaymentGatewayAdapter {
     /**
      * Check if 3D Secure is required
      */
-    public boolean requires3DSecure(double amount) {
+    public boolean requires3DSecure(Money amount) {
         // Simulate: amounts over $500 require 3D Secure
-        return amount > 500.00;
+        return amount.isGreaterThan(THREE_D_SECURE_THRESHOLD);
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package org.cinema.builder;
 import org.cinema.model.Booking;
 import org.cinema.model.enums.BookingStatus;
 import org.cinema.model.Customer;
+import org.cinema.model.Money;
 import org.cinema.model.Seat;
 import org.cinema.strategy.PricingStrategy;
 import org.cinema.model.Ticket;
@@ -16,9 +17,10 @@ public class BookingBuilder {
 
     private Customer customer;
     private LocalDateTime showtime;
+    private String hall;
     private final List<Ticket> tickets = new ArrayList<>();
     private final List<Seat> seats = new ArrayList<>();
-    private double totalPrice;
+    private Money totalPrice;
     private BookingStatus status = BookingStatus.PENDING;
 
     private LocalDateTime createdAt;
@@ -36,6 +38,11 @@ public class BookingBuilder {
         return this;
     }
 
+    public BookingBuilder setHall(String hall) {
+        this.hall = hall;
+        return this;
+    }
+
     public BookingBuilder addTicket(Ticket ticket) {
         if (ticket != null) {
             this.tickets.add(ticket);
@@ -107,6 +114,7 @@ public class BookingBuilder {
                 customer,
                 new ArrayList<>(tickets),
                 showtime,
+                hall,
                 new ArrayList<>(seats),
                 totalPrice,
                 status,
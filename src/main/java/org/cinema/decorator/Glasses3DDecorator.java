@@ -1,18 +1,19 @@
 package org.cinema.decorator;
 
+import org.cinema.model.Money;
 import org.cinema.model.Ticket;
 
 //Concrete decorators
 public class Glasses3DDecorator extends TicketDecorator {
-    private static final double GLASSES_PRICE = 5.0;
+    private static final Money GLASSES_PRICE = Money.usd(500);
 
     public Glasses3DDecorator(Ticket ticket) {
         super(ticket);
     }
 
     @Override
-    public double getPrice() {
-        return ticket.getPrice() + GLASSES_PRICE;
+    public Money getPrice() {
+        return ticket.getPrice().plus(GLASSES_PRICE);
     }
 
     @Override
@@ -1,18 +1,19 @@
 package org.cinema.decorator;
 
+import org.cinema.model.Money;
 import org.cinema.model.Ticket;
 
 //Concrete decorators
 public class SnackComboDecorator extends TicketDecorator {
-    private static final double SNACK_PRICE = 10.0;
+    private static final Money SNACK_PRICE = Money.usd(1_000);
 
     public SnackComboDecorator(Ticket ticket) {
         super(ticket);
     }
 
     @Override
-    public double getPrice() {
-        return ticket.getPrice() + SNACK_PRICE;
+    public Money getPrice() {
+        return ticket.getPrice().plus(SNACK_PRICE);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package org.cinema.decorator;
 
+import org.cinema.model.Money;
 import org.cinema.model.Ticket;
 
 //Decorator (Abstract Base)
@@ -11,7 +12,7 @@ public abstract class TicketDecorator implements Ticket {
     }
 
     @Override
-    public double getPrice() {
+    public Money getPrice() {
         return ticket.getPrice();
     }
 
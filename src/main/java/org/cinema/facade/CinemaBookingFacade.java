@@ -9,6 +9,7 @@ import org.cinema.decorator.SnackComboDecorator;
 import org.cinema.factory.TicketFactory;
 import org.cinema.model.Booking;
 import org.cinema.model.Customer;
+import org.cinema.model.Money;
 import org.cinema.model.Movie;
 import org.cinema.model.Seat;
 import org.cinema.model.Ticket;
@@ -18,6 +19,7 @@ import org.cinema.observer.BookingSubject;
 import org.cinema.observer.EmailNotificationObserver;
 import org.cinema.observer.InventoryObserver;
 import org.cinema.observer.SMSNotificationObserver;
+import org.cinema.repository.CatalogSnapshot;
 import org.cinema.repository.MovieRepository;
 import org.cinema.service.BookingService;
 import org.cinema.service.PaymentService;
@@ -25,6 +27,7 @@ import org.cinema.strategy.HolidayPricingStrategy;
 import org.cinema.strategy.MatineePricingStrategy;
 import org.cinema.strategy.PricingStrategy;
 import org.cinema.strategy.WeekendPricingStrategy;
+import org.cinema.util.logging.Logger;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -46,6 +49,7 @@ import java.util.Set;
  * 7. Facade Pattern - This class simplifies the complex subsystem
  */
 public class CinemaBookingFacade {
+    private static final Logger log = Logger.getLogger(CinemaBookingFacade.class);
     // Repositories
     private final MovieRepository movieRepository;
 
@@ -71,6 +75,16 @@ public class CinemaBookingFacade {
      * Initialize the facade with all subsystems
      */
     public CinemaBookingFacade() {
+        this(new BookingSubject());
+    }
+
+    /**
+     * Initialize the facade with a specific subject implementation
+     * (e.g. AsyncBookingSubject to take notifications off the booking thread,
+     * or OutboxBookingSubject for durable delivery - call its start() after
+     * constructing the facade so recovered events reach the attached observers)
+     */
+    public CinemaBookingFacade(BookingSubject bookingSubject) {
         // Initialize repository (Singleton)
         this.movieRepository = MovieRepository.getInstance();
         
@@ -78,7 +92,7 @@ public class CinemaBookingFacade {
         this.ticketFactory = new TicketFactory();
         
         // Initialize Observer pattern
-        this.bookingSubject = new BookingSubject();
+        this.bookingSubject = bookingSubject;
         this.emailObserver = new EmailNotificationObserver();
         this.smsObserver = new SMSNotificationObserver();
         this.inventoryObserver = new InventoryObserver();
@@ -96,6 +110,9 @@ public class CinemaBookingFacade {
         paymentService.registerGateway("STRIPE", new StripeAdapter());
         paymentService.registerGateway("PAYPAL", new PayPalAdapter());
         paymentService.registerGateway("CASH", new CashSystemAdapter());
+        // Card payments fail over between the online gateways; cash needs the customer at the counter
+        paymentService.setFailoverGateways("STRIPE", "PAYPAL");
+        paymentService.setFailoverGateways("PAYPAL", "STRIPE");
         
         // Initialize pricing strategies
         this.matineePricing = new MatineePricingStrategy();
@@ -104,10 +121,10 @@ public class CinemaBookingFacade {
         Set<LocalDate> holidays = createHolidaySet();
         this.holidayPricing = new HolidayPricingStrategy(holidays);
         
-        System.out.println("\n╔════════════════════════════════════════════════════════╗");
-        System.out.println("║     CINEMA BOOKING SYSTEM INITIALIZED                  ║");
-        System.out.println("║     Facade Pattern - All Subsystems Ready              ║");
-        System.out.println("╚════════════════════════════════════════════════════════╝\n");
+        log.debug("\n╔════════════════════════════════════════════════════════╗"
+                + "\n║     CINEMA BOOKING SYSTEM INITIALIZED                  ║"
+                + "\n║     Facade Pattern - All Subsystems Ready              ║"
+                + "\n╚════════════════════════════════════════════════════════╝\n");
     }
 
     /**
@@ -115,8 +132,18 @@ public class CinemaBookingFacade {
      * Uses: Repository Pattern
      */
     public List<Movie> searchMovies() {
-        System.out.println("\n[Facade] Searching available movies...");
-        return movieRepository.findAll();
+        log.debug("\n[Facade] Searching available movies...");
+        return movieRepository.getCatalog().getMovies();
+    }
+
+    /**
+     * Search for movies only if the catalog changed since the caller's version
+     * Uses: Repository Pattern
+     * @param knownVersion Catalog version the caller already has
+     * @return New catalog snapshot, or null if nothing changed
+     */
+    public CatalogSnapshot searchMoviesIfChanged(long knownVersion) {
+        return movieRepository.getCatalogIfChanged(knownVersion);
     }
 
     /**
@@ -128,29 +155,43 @@ public class CinemaBookingFacade {
     }
 
     /**
-     * Book tickets with full workflow
+     * Book tickets with full workflow, without a hall.
+     * Such bookings do not count towards per-hall occupancy.
      * Uses: Factory, Decorator, Builder, Strategy, Observer patterns
      */
     public String bookTickets(String customerName, String customerEmail, String customerPhone,
                              int movieId, TicketType ticketType, int seatCount,
                              List<Integer> seatRows, List<Integer> seatNumbers,
                              LocalDateTime showtime, boolean add3DGlasses, boolean addSnacks) {
+        return bookTickets(customerName, customerEmail, customerPhone, movieId, ticketType, seatCount,
+                seatRows, seatNumbers, showtime, null, add3DGlasses, addSnacks);
+    }
+
+    /**
+     * Book tickets with full workflow for a showtime in a specific hall
+     * Uses: Factory, Decorator, Builder, Strategy, Observer patterns
+     * @param hall Hall the showtime plays in, as known to the InventoryObserver
+     */
+    public String bookTickets(String customerName, String customerEmail, String customerPhone,
+                             int movieId, TicketType ticketType, int seatCount,
+                             List<Integer> seatRows, List<Integer> seatNumbers,
+                             LocalDateTime showtime, String hall, boolean add3DGlasses, boolean addSnacks) {
         
-        System.out.println("\n╔════════════════════════════════════════════════════════╗");
-        System.out.println("║              BOOKING PROCESS STARTED                   ║");
-        System.out.println("╚════════════════════════════════════════════════════════╝");
+        log.debug("\n╔════════════════════════════════════════════════════════╗"
+                + "\n║              BOOKING PROCESS STARTED                   ║"
+                + "\n╚════════════════════════════════════════════════════════╝");
         
         // 1. Validate movie exists (Repository)
         Movie movie = getMovie(movieId);
         if (movie == null) {
-            System.out.println("[Facade] ERROR: Movie not found");
+            log.error("[Facade] Movie not found");
             return null;
         }
-        System.out.println("[Facade] Movie found: " + movie.getTitle());
+        log.debug(() -> "[Facade] Movie found: " + movie.getTitle());
         
         // 2. Create customer
         Customer customer = new Customer(customerName, customerEmail, customerPhone);
-        System.out.println("[Facade] Customer: " + customerName);
+        log.debug(() -> "[Facade] Customer: " + customerName);
         
         // 3. Create tickets using Factory Pattern
         List<Ticket> tickets = new ArrayList<>();
@@ -167,7 +208,7 @@ public class CinemaBookingFacade {
             
             tickets.add(ticket);
         }
-        System.out.println("[Facade] Created " + seatCount + " tickets with decorators");
+        log.debug(() -> "[Facade] Created " + seatCount + " tickets with decorators");
         
         // 5. Create seats
         List<Seat> seats = new ArrayList<>();
@@ -176,16 +217,17 @@ public class CinemaBookingFacade {
             Seat seat = new Seat(seatRows.get(i), seatNumbers.get(i), seatType, true);
             seats.add(seat);
         }
-        System.out.println("[Facade] Reserved " + seatCount + " seats");
+        log.debug(() -> "[Facade] Reserved " + seatCount + " seats");
         
         // 6. Select appropriate pricing Strategy Pattern
         PricingStrategy pricingStrategy = selectPricingStrategy(showtime);
-        System.out.println("[Facade] Selected pricing strategy: " + pricingStrategy.getClass().getSimpleName());
+        log.debug(() -> "[Facade] Selected pricing strategy: " + pricingStrategy.getClass().getSimpleName());
         
         // 7. Build booking using Builder Pattern
         BookingBuilder builder = new BookingBuilder();
         builder.setCustomer(customer)
-               .setShowtime(showtime);
+               .setShowtime(showtime)
+               .setHall(hall);
         
         for (Ticket ticket : tickets) {
             builder.addTicket(ticket);
@@ -198,20 +240,20 @@ public class CinemaBookingFacade {
         builder.calculateTotal(pricingStrategy);
         Booking booking = builder.build();
         
-        System.out.println("[Facade] Booking created with ID: " + booking.getId());
-        System.out.println("[Facade] Total amount: $" + String.format("%.2f", booking.getTotalPrice()));
+        log.debug(() -> "[Facade] Booking created with ID: " + booking.getId()
+                + "\n[Facade] Total amount: " + booking.getTotalPrice().format());
         
         // 8. Create booking in service (triggers Observer notifications)
         String bookingId = bookingService.createBooking(
                 customerEmail, customerPhone, movie.getTitle(),
-                seatCount, booking.getTotalPrice()
+                seatCount, booking.getTotalPrice(), showtime, booking.getHall()
         );
         
         // 9. Reserve seats (triggers Observer notifications)
         bookingService.reserveSeats(bookingId);
         
-        System.out.println("\n[Facade] ✓ Booking process completed");
-        System.out.println("════════════════════════════════════════════════════════\n");
+        log.debug("\n[Facade] ✓ Booking process completed"
+                + "\n════════════════════════════════════════════════════════\n");
         
         return bookingId;
     }
@@ -220,10 +262,10 @@ public class CinemaBookingFacade {
      * Process payment for a booking
      * Uses: Adapter Pattern, Observer Pattern
      */
-    public boolean processPayment(String bookingId, double amount, String paymentMethod,
+    public boolean processPayment(String bookingId, Money amount, String paymentMethod,
                                   String customerEmail, String customerPhone) {
         
-        System.out.println("\n[Facade] Processing payment for booking: " + bookingId);
+        log.debug(() -> "\n[Facade] Processing payment for booking: " + bookingId);
         
         // Process payment using Adapter Pattern
         boolean paymentSuccess = paymentService.processPayment(
@@ -234,9 +276,9 @@ public class CinemaBookingFacade {
         if (paymentSuccess) {
             // Confirm booking (triggers Observer notifications)
             bookingService.confirmBooking(bookingId);
-            System.out.println("[Facade] ✓ Payment successful and booking confirmed");
+            log.debug("[Facade] ✓ Payment successful and booking confirmed");
         } else {
-            System.out.println("[Facade] ✗ Payment failed");
+            log.debug("[Facade] ✗ Payment failed");
         }
         
         return paymentSuccess;
@@ -248,7 +290,7 @@ public class CinemaBookingFacade {
      */
     public boolean cancelBooking(String bookingId, String customerEmail, String customerPhone) {
         
-        System.out.println("\n[Facade] Cancelling booking: " + bookingId);
+        log.debug(() -> "\n[Facade] Cancelling booking: " + bookingId);
         
         // Get payment for this booking
         var payment = paymentService.getPaymentByBookingId(bookingId);
@@ -260,7 +302,7 @@ public class CinemaBookingFacade {
             );
             
             if (!refundSuccess) {
-                System.out.println("[Facade] WARNING: Refund failed but booking will be cancelled");
+                log.warn("[Facade] WARNING: Refund failed but booking will be cancelled");
             }
         }
         
@@ -268,16 +310,16 @@ public class CinemaBookingFacade {
         boolean cancelled = bookingService.cancelBooking(bookingId);
         
         if (cancelled) {
-            System.out.println("[Facade] ✓ Booking cancelled successfully");
+            log.debug("[Facade] ✓ Booking cancelled successfully");
         } else {
-            System.out.println("[Facade] ✗ Cancellation failed");
+            log.debug("[Facade] ✗ Cancellation failed");
         }
         
         return cancelled;
     }
 
     /**
-     * Complete booking workflow - simplified method
+     * Complete booking workflow - simplified method, without a hall
      * This is the main facade method that combines all steps
      */
     public BookingResult completeBookingWorkflow(
@@ -285,11 +327,24 @@ public class CinemaBookingFacade {
             int movieId, TicketType ticketType, int seatCount,
             LocalDateTime showtime, boolean add3DGlasses, boolean addSnacks,
             String paymentMethod) {
+        return completeBookingWorkflow(customerName, customerEmail, customerPhone, movieId, ticketType,
+                seatCount, showtime, null, add3DGlasses, addSnacks, paymentMethod);
+    }
+
+    /**
+     * Complete booking workflow for a showtime in a specific hall
+     * @param hall Hall the showtime plays in, as known to the InventoryObserver
+     */
+    public BookingResult completeBookingWorkflow(
+            String customerName, String customerEmail, String customerPhone,
+            int movieId, TicketType ticketType, int seatCount,
+            LocalDateTime showtime, String hall, boolean add3DGlasses, boolean addSnacks,
+            String paymentMethod) {
         
-        System.out.println("\n╔════════════════════════════════════════════════════════╗");
-        System.out.println("║        COMPLETE BOOKING WORKFLOW (FACADE)              ║");
-        System.out.println("║        Orchestrating All 7 Design Patterns             ║");
-        System.out.println("╚════════════════════════════════════════════════════════╝\n");
+        log.debug("\n╔════════════════════════════════════════════════════════╗"
+                + "\n║        COMPLETE BOOKING WORKFLOW (FACADE)              ║"
+                + "\n║        Orchestrating All 7 Design Patterns             ║"
+                + "\n╚════════════════════════════════════════════════════════╝\n");
         
         // Generate seat assignments
         List<Integer> seatRows = new ArrayList<>();
@@ -303,7 +358,7 @@ public class CinemaBookingFacade {
         String bookingId = bookTickets(
                 customerName, customerEmail, customerPhone,
                 movieId, ticketType, seatCount, seatRows, seatNumbers,
-                showtime, add3DGlasses, addSnacks
+                showtime, hall, add3DGlasses, addSnacks
         );
         
         if (bookingId == null) {
@@ -328,10 +383,10 @@ public class CinemaBookingFacade {
             return new BookingResult(false, bookingId, "Payment failed - booking cancelled");
         }
         
-        System.out.println("\n╔════════════════════════════════════════════════════════╗");
-        System.out.println("║        ✓ WORKFLOW COMPLETED SUCCESSFULLY               ║");
-        System.out.println("║        Booking ID: " + String.format("%-35s", bookingId) + " ║");
-        System.out.println("╚════════════════════════════════════════════════════════╝\n");
+        log.debug(() -> "\n╔════════════════════════════════════════════════════════╗"
+                + "\n║        ✓ WORKFLOW COMPLETED SUCCESSFULLY               ║"
+                + "\n║        Booking ID: " + String.format("%-35s", bookingId) + " ║"
+                + "\n╚════════════════════════════════════════════════════════╝\n");
         
         return new BookingResult(true, bookingId, "Booking completed successfully");
     }
@@ -1,12 +1,13 @@
 package org.cinema.factory;
 
+import org.cinema.model.Money;
 import org.cinema.model.Ticket;
 
 public class VIPTicket implements Ticket {
-    private static final double BASE_PRICE = 20.0;
+    private static final Money BASE_PRICE = Money.usd(2_000);
 
     @Override
-    public double getPrice() {
+    public Money getPrice() {
         return BASE_PRICE;
     }
 
@@ -13,8 +13,9 @@ public class Booking {
     private final Customer customer;
     private final List<Ticket> tickets;      // assume Ticket exists in your project
     private final LocalDateTime showtime;
+    private final String hall;               // null if not known
     private final List<Seat> seats;
-    private final double totalPrice;
+    private final Money totalPrice;
     private BookingStatus status;
     private final LocalDateTime createdAt;   // timestamp
 
@@ -23,7 +24,19 @@ public class Booking {
                    List<Ticket> tickets,
                    LocalDateTime showtime,
                    List<Seat> seats,
-                   double totalPrice,
+                   Money totalPrice,
+                   BookingStatus status,
+                   LocalDateTime createdAt) {
+        this(id, customer, tickets, showtime, null, seats, totalPrice, status, createdAt);
+    }
+
+    public Booking(String id,
+                   Customer customer,
+                   List<Ticket> tickets,
+                   LocalDateTime showtime,
+                   String hall,
+                   List<Seat> seats,
+                   Money totalPrice,
                    BookingStatus status,
                    LocalDateTime createdAt) {
 
@@ -31,6 +44,7 @@ public class Booking {
         this.customer = customer;
         this.tickets = Collections.unmodifiableList(tickets);
         this.showtime = showtime;
+        this.hall = hall;
         this.seats = Collections.unmodifiableList(seats);
         this.totalPrice = totalPrice;
         this.status = status;
@@ -53,11 +67,15 @@ public class Booking {
         return showtime;
     }
 
+    public String getHall() {
+        return hall;
+    }
+
     public List<Seat> getSeats() {
         return seats;
     }
 
-    public double getTotalPrice() {
+    public Money getTotalPrice() {
         return totalPrice;
     }
 
@@ -80,6 +98,7 @@ public class Booking {
                 ", customer=" + customer +
                 ", tickets=" + tickets +
                 ", showtime=" + showtime +
+                ", hall=" + hall +
                 ", seats=" + seats +
                 ", totalPrice=" + totalPrice +
                 ", status=" + status +
@@ -0,0 +1,221 @@
+package org.cinema.model;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Locale;
+
+/**
+ * Exact amount of money: a whole number of the currency's minor units
+ * (cents for USD) plus the currency.
+ * Addition and subtraction are exact long arithmetic and throw
+ * ArithmeticException on overflow instead of wrapping. The only rounding
+ * is in times(numerator, denominator), which rounds half-even to the
+ * nearest minor unit, so totals built from prices and rates come out the
+ * same every time. Amounts in different currencies never mix: combining
+ * or comparing them throws IllegalArgumentException.
+ */
+public final class Money implements Comparable<Money> {
+    /** Currency the cinema prices tickets in */
+    public static final Currency USD = Currency.getInstance("USD");
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    /**
+     * @param minorUnits Amount in the currency's smallest unit, e.g. 1250 for $12.50
+     */
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        if (currency.getDefaultFractionDigits() < 0) {
+            throw new IllegalArgumentException("Currency has no minor unit: " + currency);
+        }
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * US dollar amount in cents
+     */
+    public static Money usd(long cents) {
+        return new Money(cents, USD);
+    }
+
+    public static Money zero(Currency currency) {
+        return ofMinor(0, currency);
+    }
+
+    /**
+     * Convert a decimal amount, e.g. entered by a cashier
+     * @throws IllegalArgumentException if the amount has more decimals than the currency allows
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        if (amount == null || currency == null) {
+            throw new IllegalArgumentException("Amount and currency are required");
+        }
+        long minorUnits;
+        try {
+            minorUnits = amount.movePointRight(currency.getDefaultFractionDigits()).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Not a whole number of " + currency + " minor units: " + amount);
+        }
+        return ofMinor(minorUnits, currency);
+    }
+
+    /**
+     * Parse the toString() form, e.g. "USD 12.50"
+     */
+    public static Money parse(String text) {
+        int space = text.indexOf(' ');
+        if (space < 0) {
+            throw new IllegalArgumentException("Expected currency code and amount: " + text);
+        }
+        return of(new BigDecimal(text.substring(space + 1)), Currency.getInstance(text.substring(0, space)));
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), currency);
+    }
+
+    /**
+     * Multiply by a rational rate, e.g. times(115, 100) for a 15% surcharge,
+     * rounding half-even to the nearest minor unit
+     */
+    public Money times(long numerator, long denominator) {
+        if (denominator <= 0) {
+            throw new IllegalArgumentException("Denominator must be positive");
+        }
+        long product = Math.multiplyExact(minorUnits, numerator);
+        long quotient = Math.floorDiv(product, denominator);
+        long twiceRemainder = 2 * Math.floorMod(product, denominator);
+        if (twiceRemainder > denominator || (twiceRemainder == denominator && (quotient & 1) != 0)) {
+            quotient++;
+        }
+        return new Money(quotient, currency);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return compareTo(other) > 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        return compareTo(other) < 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    /**
+     * Approximate value in major units, for ratios and charts only; never add these up
+     */
+    public double toDouble() {
+        return toBigDecimal().doubleValue();
+    }
+
+    /**
+     * Append the amount in major units without currency, e.g. "12.50",
+     * without creating formatting objects
+     */
+    public StringBuilder appendTo(StringBuilder out) {
+        int digits = currency.getDefaultFractionDigits();
+        long scale = 1;
+        for (int i = 0; i < digits; i++) {
+            scale *= 10;
+        }
+        if (minorUnits < 0) {
+            out.append('-');
+        }
+        // Split before negating so Long.MIN_VALUE stays representable
+        long whole = Math.abs(minorUnits / scale);
+        long fraction = Math.abs(minorUnits % scale);
+        out.append(whole);
+        if (digits > 0) {
+            out.append('.');
+            for (long pad = scale / 10; pad > 1 && fraction < pad; pad /= 10) {
+                out.append('0');
+            }
+            out.append(fraction);
+        }
+        return out;
+    }
+
+    /**
+     * Amount with the currency symbol, e.g. "$12.50", for messages to customers
+     */
+    public String format() {
+        return appendTo(new StringBuilder(16).append(currency.getSymbol(Locale.US))).toString();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money)) {
+            return false;
+        }
+        Money other = (Money) o;
+        return minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currency.hashCode();
+    }
+
+    /**
+     * Currency code and amount, e.g. "USD 12.50"; parse() reads it back
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(24).append(currency.getCurrencyCode()).append(' ')).toString();
+    }
+}
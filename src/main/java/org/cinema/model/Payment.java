@@ -4,21 +4,27 @@ import org.cinema.model.enums.PaymentStatus;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Payment entity representing a payment transaction
  * Student 3: ERNAR
  */
 public class Payment {
+    private static final AtomicReferenceFieldUpdater<Payment, PaymentStatus> STATUS =
+            AtomicReferenceFieldUpdater.newUpdater(Payment.class, PaymentStatus.class, "status");
+
     private String id;
     private String bookingId;
-    private double amount;
+    private Money amount;
     private String method; // STRIPE, PAYPAL, CASH
-    private PaymentStatus status;
+    private volatile PaymentStatus status;
     private LocalDateTime timestamp;
     private String transactionId;
+    private String idempotencyKey;
+    private volatile StatusListener statusListener;
 
-    public Payment(String bookingId, double amount, String method) {
+    public Payment(String bookingId, Money amount, String method) {
         this.id = UUID.randomUUID().toString();
         this.bookingId = bookingId;
         this.amount = amount;
@@ -44,11 +50,11 @@ public class Payment {
         this.bookingId = bookingId;
     }
 
-    public double getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public void setAmount(double amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
@@ -65,7 +71,19 @@ public class Payment {
     }
 
     public void setStatus(PaymentStatus status) {
-        this.status = status;
+        // Swap atomically so each transition reaches the listener exactly once
+        PaymentStatus previous = STATUS.getAndSet(this, status);
+        StatusListener listener = statusListener;
+        if (listener != null && previous != status) {
+            listener.onStatusChanged(this, previous, status);
+        }
+    }
+
+    /**
+     * Set the listener told about every status change, e.g. to keep an index up to date
+     */
+    public void setStatusListener(StatusListener statusListener) {
+        this.statusListener = statusListener;
     }
 
     public LocalDateTime getTimestamp() {
@@ -84,6 +102,27 @@ public class Payment {
         this.transactionId = transactionId;
     }
 
+    /**
+     * Key that identifies this charge to the gateway; retries of the same
+     * charge reuse it so the gateway can recognise them
+     */
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    /**
+     * Callback for payment status changes. Runs on the thread that changed
+     * the status, so it must be quick and thread-safe.
+     */
+    @FunctionalInterface
+    public interface StatusListener {
+        void onStatusChanged(Payment payment, PaymentStatus previous, PaymentStatus current);
+    }
+
     @Override
     public String toString() {
         return "Payment{" +
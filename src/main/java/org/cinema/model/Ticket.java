@@ -1,6 +1,6 @@
 package org.cinema.model;
 
 public interface Ticket {
-    double getPrice();
+    Money getPrice();
     String getDescription();
 }
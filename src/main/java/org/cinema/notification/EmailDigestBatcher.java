@@ -0,0 +1,182 @@
+package org.cinema.notification;
+
+import org.cinema.observer.BookingNotification;
+import org.cinema.util.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Coalesces booking events into per-booking digests and sends them in batches.
+ * The first event for a booking opens a digest; every event for the same
+ * booking that arrives within the window is added to it. A background
+ * thread closes digests whose window has passed, renders each into one
+ * message and hands them to the transport in batches of up to
+ * maxBatchSize, so a burst of bookings costs a few transport calls
+ * instead of one per event.
+ */
+public class EmailDigestBatcher implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(EmailDigestBatcher.class);
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 50;
+
+    private final EmailTransport transport;
+    private final Function<List<BookingNotification>, EmailMessage> renderer;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Map<String, Digest> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final AtomicLong eventCount = new AtomicLong();
+    private final AtomicLong messageCount = new AtomicLong();
+
+    /**
+     * @param transport Where rendered messages are sent
+     * @param renderer Turns the events of one digest (in arrival order) into a message
+     * @param windowMillis How long a digest stays open after its first event
+     * @param maxBatchSize Maximum messages per transport call
+     */
+    public EmailDigestBatcher(EmailTransport transport,
+                              Function<List<BookingNotification>, EmailMessage> renderer,
+                              long windowMillis, int maxBatchSize) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("Digest window must be positive");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.transport = transport;
+        this.renderer = renderer;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-digest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = Math.max(1, windowMillis / 4);
+        flusher.scheduleWithFixedDelay(this::flushDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Add an event to the open digest for its booking, opening one if needed.
+     * An event without a booking id has nothing to be coalesced with and is
+     * sent on its own right away.
+     */
+    public void add(BookingNotification notification) {
+        eventCount.incrementAndGet();
+        if (notification.getBookingId() == null) {
+            send(List.of(renderer.apply(List.of(notification))));
+            return;
+        }
+        long now = System.nanoTime();
+        pending.compute(notification.getBookingId(), (bookingId, digest) -> {
+            Digest target = digest != null ? digest : new Digest(now + windowNanos);
+            target.events.add(notification);
+            return target;
+        });
+    }
+
+    /**
+     * Send every open digest now, regardless of its window
+     */
+    public void flush() {
+        sendClosed(Long.MAX_VALUE);
+    }
+
+    /**
+     * Get number of events added so far
+     */
+    public long getEventCount() {
+        return eventCount.get();
+    }
+
+    /**
+     * Get number of messages handed to the transport so far
+     */
+    public long getMessageCount() {
+        return messageCount.get();
+    }
+
+    /**
+     * Get number of bookings with an open digest
+     */
+    public int getPendingDigestCount() {
+        return pending.size();
+    }
+
+    /**
+     * Stop the background flusher and send what is still pending
+     */
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void flushDue() {
+        try {
+            sendClosed(System.nanoTime());
+        } catch (RuntimeException e) {
+            // Keep the scheduled task alive; the failed batch is dropped
+            log.warn(() -> "[EmailDigest] Failed to send digest batch: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Close digests due by the given time and send them in batches
+     * @param now Current nanoTime, or Long.MAX_VALUE to close every digest
+     */
+    private synchronized void sendClosed(long now) {
+        List<EmailMessage> batch = new ArrayList<>();
+        for (String bookingId : pending.keySet()) {
+            Digest[] closed = new Digest[1];
+            pending.computeIfPresent(bookingId, (key, digest) -> {
+                if (now != Long.MAX_VALUE && digest.dueAt - now > 0) {
+                    return digest;
+                }
+                closed[0] = digest;
+                return null;
+            });
+            if (closed[0] == null) {
+                continue;
+            }
+            batch.add(renderer.apply(closed[0].events));
+            if (batch.size() == maxBatchSize) {
+                send(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private void send(List<EmailMessage> batch) {
+        transport.send(batch);
+        messageCount.addAndGet(batch.size());
+    }
+
+    /**
+     * Events collected for one booking; only mutated inside map compute calls
+     */
+    private static final class Digest {
+        private final long dueAt;
+        private final List<BookingNotification> events = new ArrayList<>(4);
+
+        Digest(long dueAt) {
+            this.dueAt = dueAt;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.cinema.notification;
+
+/**
+ * Rendered email ready to be handed to an EmailTransport
+ */
+public final class EmailMessage {
+    private final String recipient;
+    private final String subject;
+    private final String body;
+    private final String bookingId;
+    private final int eventCount;
+
+    /**
+     * @param recipient Destination address
+     * @param subject Subject line
+     * @param body Full message text
+     * @param bookingId Booking the message is about
+     * @param eventCount Number of booking events combined into this message
+     */
+    public EmailMessage(String recipient, String subject, String body, String bookingId, int eventCount) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.bookingId = bookingId;
+        this.eventCount = eventCount;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public String getBookingId() {
+        return bookingId;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    @Override
+    public String toString() {
+        return "EmailMessage{" +
+                "recipient='" + recipient + '\'' +
+                ", subject='" + subject + '\'' +
+                ", bookingId='" + bookingId + '\'' +
+                ", eventCount=" + eventCount +
+                '}';
+    }
+}
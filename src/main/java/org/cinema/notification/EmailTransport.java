@@ -0,0 +1,17 @@
+package org.cinema.notification;
+
+import java.util.List;
+
+/**
+ * Outbound email channel.
+ * Messages are handed over in batches so an implementation can deliver
+ * them over one connection instead of one round trip per message.
+ */
+public interface EmailTransport {
+
+    /**
+     * Deliver a batch of messages
+     * @param messages Messages to send, never empty
+     */
+    void send(List<EmailMessage> messages);
+}
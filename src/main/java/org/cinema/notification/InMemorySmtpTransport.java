@@ -0,0 +1,84 @@
+package org.cinema.notification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * In-process stand-in for an SMTP relay.
+ * Each send() is one SMTP session: the transport records the commands a
+ * real client would issue (one connection and QUIT per batch, one
+ * MAIL FROM/RCPT TO/DATA per message) and keeps the delivered messages,
+ * so tests and demos can count sessions and messages without a server.
+ */
+public class InMemorySmtpTransport implements EmailTransport {
+    private static final String SENDER = "noreply@cinema.example";
+
+    private final long sessionLatencyMillis;
+    private final List<EmailMessage> delivered = new ArrayList<>();
+    private final List<String> transcript = new ArrayList<>();
+    private int sessionCount;
+
+    public InMemorySmtpTransport() {
+        this(0);
+    }
+
+    /**
+     * @param sessionLatencyMillis Simulated connect and handshake time per session
+     */
+    public InMemorySmtpTransport(long sessionLatencyMillis) {
+        if (sessionLatencyMillis < 0) {
+            throw new IllegalArgumentException("Session latency cannot be negative");
+        }
+        this.sessionLatencyMillis = sessionLatencyMillis;
+    }
+
+    @Override
+    public void send(List<EmailMessage> messages) {
+        if (sessionLatencyMillis > 0) {
+            try {
+                Thread.sleep(sessionLatencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            sessionCount++;
+            transcript.add("EHLO cinema.example");
+            for (EmailMessage message : messages) {
+                transcript.add("MAIL FROM:<" + SENDER + ">");
+                transcript.add("RCPT TO:<" + message.getRecipient() + ">");
+                transcript.add("DATA " + message.getSubject());
+                delivered.add(message);
+            }
+            transcript.add("QUIT");
+        }
+    }
+
+    /**
+     * Get number of SMTP sessions (send calls) so far
+     */
+    public synchronized int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Get all delivered messages in delivery order
+     */
+    public synchronized List<EmailMessage> getDeliveredMessages() {
+        return Collections.unmodifiableList(new ArrayList<>(delivered));
+    }
+
+    /**
+     * Get the SMTP commands issued so far
+     */
+    public synchronized List<String> getTranscript() {
+        return Collections.unmodifiableList(new ArrayList<>(transcript));
+    }
+
+    public synchronized void clear() {
+        delivered.clear();
+        transcript.clear();
+        sessionCount = 0;
+    }
+}
@@ -0,0 +1,20 @@
+package org.cinema.notification;
+
+import org.cinema.util.logging.Logger;
+
+import java.util.List;
+
+/**
+ * Mock transport that writes every message to the log at DEBUG
+ */
+public class LoggingEmailTransport implements EmailTransport {
+    private static final Logger log = Logger.getLogger("EmailObserver");
+
+    @Override
+    public void send(List<EmailMessage> messages) {
+        for (EmailMessage message : messages) {
+            log.debug(() -> "[EmailObserver] Sending email to: " + message.getRecipient()
+                    + "\n" + message.getBody());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.cinema.notification;
+
+import org.cinema.observer.BookingNotification;
+import org.cinema.util.logging.Logger;
+
+/**
+ * Mock transport that writes every SMS to the log at DEBUG, framed like a phone screen
+ */
+public class LoggingSmsTransport implements SmsTransport {
+    private static final Logger log = Logger.getLogger("SMSObserver");
+    private static final NotificationTemplate FRAME = NotificationTemplate.compile(
+            "\n[SMSObserver] Sending SMS to: {phone}"
+            + "\n┌─────────────────────────────────────────────┐"
+            + "\n│ {message:43} │"
+            + "\n└─────────────────────────────────────────────┘");
+    // Rendering buffer reused by each thread
+    private static final ThreadLocal<StringBuilder> FRAME_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(320));
+
+    @Override
+    public void send(BookingNotification notification, CharSequence text) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        StringBuilder frame = FRAME_BUFFER.get();
+        frame.setLength(0);
+        FRAME.renderTo(frame, notification, null, text);
+        log.debug(frame.toString());
+    }
+}
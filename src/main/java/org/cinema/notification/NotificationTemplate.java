@@ -0,0 +1,236 @@
+package org.cinema.notification;
+
+import org.cinema.model.Money;
+import org.cinema.observer.BookingNotification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Message template parsed once into literal and field segments.
+ * Placeholders are written {name} or {name:width}; a width pads the value
+ * with spaces on the right, like %-Ns. Use {{ for a literal brace.
+ * Rendering appends straight into a caller-supplied StringBuilder, so a
+ * reused buffer renders a notification without intermediate strings.
+ *
+ * Fields: bookingId, shortId (first 8 characters of the booking ID),
+ * event, details, email, phone, movie, seats, amount (two decimals),
+ * timestamp and message (both supplied by the caller).
+ */
+public final class NotificationTemplate {
+
+    private enum Field {
+        BOOKING_ID("bookingId"),
+        SHORT_ID("shortId"),
+        EVENT("event"),
+        DETAILS("details"),
+        EMAIL("email"),
+        PHONE("phone"),
+        MOVIE("movie"),
+        SEATS("seats"),
+        AMOUNT("amount"),
+        TIMESTAMP("timestamp"),
+        MESSAGE("message");
+
+        private final String placeholder;
+
+        Field(String placeholder) {
+            this.placeholder = placeholder;
+        }
+
+        static Field forName(String name) {
+            for (Field field : values()) {
+                if (field.placeholder.equals(name)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown template field: " + name);
+        }
+    }
+
+    private static final int SHORT_ID_LENGTH = 8;
+
+    private final String source;
+    // Parallel arrays: literal text when field is null, otherwise a field and its width
+    private final String[] literals;
+    private final Field[] fields;
+    private final int[] widths;
+    private final int literalLength;
+
+    private NotificationTemplate(String source, List<String> literals, List<Field> fields, List<Integer> widths) {
+        this.source = source;
+        this.literals = literals.toArray(new String[0]);
+        this.fields = fields.toArray(new Field[0]);
+        this.widths = new int[widths.size()];
+        int length = 0;
+        for (int i = 0; i < this.widths.length; i++) {
+            this.widths[i] = widths.get(i);
+            if (this.literals[i] != null) {
+                length += this.literals[i].length();
+            }
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parse a template
+     * @throws IllegalArgumentException if a placeholder is unknown or unterminated
+     */
+    public static NotificationTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<Field> fields = new ArrayList<>();
+        List<Integer> widths = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c != '{') {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            if (i + 1 < source.length() && source.charAt(i + 1) == '{') {
+                literal.append('{');
+                i += 2;
+                continue;
+            }
+            int end = source.indexOf('}', i);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder at index " + i + ": " + source);
+            }
+            if (literal.length() > 0) {
+                literals.add(literal.toString());
+                fields.add(null);
+                widths.add(0);
+                literal.setLength(0);
+            }
+            String placeholder = source.substring(i + 1, end);
+            int colon = placeholder.indexOf(':');
+            String name = colon < 0 ? placeholder : placeholder.substring(0, colon);
+            int width = colon < 0 ? 0 : Integer.parseInt(placeholder.substring(colon + 1));
+            literals.add(null);
+            fields.add(Field.forName(name));
+            widths.add(width);
+            i = end + 1;
+        }
+        if (literal.length() > 0) {
+            literals.add(literal.toString());
+            fields.add(null);
+            widths.add(0);
+        }
+        return new NotificationTemplate(source, literals, fields, widths);
+    }
+
+    /**
+     * Append the rendered template
+     * @param out Buffer to append to
+     * @param notification Source of the booking fields
+     * @param timestamp Value for {timestamp}, may be null if the template does not use it
+     */
+    public void renderTo(StringBuilder out, BookingNotification notification, CharSequence timestamp) {
+        renderTo(out, notification, timestamp, null);
+    }
+
+    /**
+     * Append the rendered template
+     * @param out Buffer to append to
+     * @param notification Source of the booking fields
+     * @param timestamp Value for {timestamp}, may be null if the template does not use it
+     * @param message Value for {message}, may be null if the template does not use it
+     */
+    public void renderTo(StringBuilder out, BookingNotification notification,
+                         CharSequence timestamp, CharSequence message) {
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
+            if (field == null) {
+                out.append(literals[i]);
+                continue;
+            }
+            int start = out.length();
+            appendField(out, field, notification, timestamp, message);
+            for (int pad = widths[i] - (out.length() - start); pad > 0; pad--) {
+                out.append(' ');
+            }
+        }
+    }
+
+    /**
+     * Render into a new String (allocates; prefer renderTo on hot paths)
+     */
+    public String render(BookingNotification notification, CharSequence timestamp) {
+        StringBuilder out = new StringBuilder(literalLength + 64);
+        renderTo(out, notification, timestamp);
+        return out.toString();
+    }
+
+    /**
+     * Total length of the literal text, useful for sizing buffers
+     */
+    public int getLiteralLength() {
+        return literalLength;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    private static void appendField(StringBuilder out, Field field, BookingNotification notification,
+                                    CharSequence timestamp, CharSequence message) {
+        switch (field) {
+            case BOOKING_ID:
+                out.append(notification.getBookingId());
+                break;
+            case SHORT_ID:
+                String bookingId = notification.getBookingId();
+                if (bookingId != null) {
+                    out.append(bookingId, 0, Math.min(SHORT_ID_LENGTH, bookingId.length()));
+                }
+                break;
+            case EVENT:
+                out.append(notification.getEvent().name());
+                break;
+            case DETAILS:
+                out.append(notification.getDetails());
+                break;
+            case EMAIL:
+                out.append(notification.getCustomerEmail());
+                break;
+            case PHONE:
+                out.append(notification.getCustomerPhone());
+                break;
+            case MOVIE:
+                out.append(notification.getMovieTitle());
+                break;
+            case SEATS:
+                out.append(notification.getSeatCount());
+                break;
+            case AMOUNT:
+                appendAmount(out, notification.getAmount());
+                break;
+            case TIMESTAMP:
+                out.append(timestamp);
+                break;
+            case MESSAGE:
+                out.append(message);
+                break;
+            default:
+                throw new IllegalStateException("Unhandled field " + field);
+        }
+    }
+
+    /**
+     * Append an amount in major units, e.g. 12.50, without formatting objects; 0.00 if there is none
+     */
+    static void appendAmount(StringBuilder out, Money amount) {
+        if (amount == null) {
+            out.append("0.00");
+        } else {
+            amount.appendTo(out);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationTemplate{" + source + '}';
+    }
+}
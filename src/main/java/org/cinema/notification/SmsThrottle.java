@@ -0,0 +1,287 @@
+package org.cinema.notification;
+
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.observer.BookingNotification;
+import org.cinema.util.logging.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-phone SMS coalescing and rate limiting.
+ * Each recipient has one pending slot: a new event replaces the pending
+ * one (latest state wins), except that a seat hold or release does not
+ * replace a pending status message for the same booking. A pending SMS
+ * is sent once its coalescing window has passed and the recipient's token
+ * bucket allows it; otherwise it stays pending, still replaceable, until
+ * a token is available.
+ *
+ * The token bucket is a GCRA: one CAS-updated theoretical arrival time
+ * per recipient. Recipients live in a ConcurrentHashMap and are removed
+ * after being idle for the configured expiry, which bounds memory to the
+ * recently active phone numbers. Publishing threads never block; sending
+ * happens on a single background thread.
+ */
+public class SmsThrottle implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(SmsThrottle.class);
+
+    private final Consumer<BookingNotification> delivery;
+    private final LongSupplier clock;
+    private final long windowNanos;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long idleExpiryNanos;
+    private final Map<String, Recipient> recipients = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sender; // null when drained manually
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong deferredCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    /**
+     * Create a throttle that sends from a background thread
+     * @param policy Limits per recipient
+     * @param delivery Called with each SMS that passes the throttle
+     */
+    public SmsThrottle(SmsThrottlePolicy policy, Consumer<BookingNotification> delivery) {
+        this(policy, delivery, System::nanoTime, true);
+    }
+
+    /**
+     * @param policy Limits per recipient
+     * @param delivery Called with each SMS that passes the throttle
+     * @param clock Nanosecond time source
+     * @param background Start a background sender; when false, call drain() to send
+     */
+    public SmsThrottle(SmsThrottlePolicy policy, Consumer<BookingNotification> delivery,
+                       LongSupplier clock, boolean background) {
+        this.delivery = delivery;
+        this.clock = clock;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(policy.getCoalesceWindowMillis());
+        this.emissionIntervalNanos = TimeUnit.MILLISECONDS.toNanos(policy.getRefillIntervalMillis());
+        this.burstToleranceNanos = emissionIntervalNanos * (policy.getBurst() - 1);
+        this.idleExpiryNanos = TimeUnit.MILLISECONDS.toNanos(policy.getIdleExpiryMillis());
+        if (background) {
+            this.sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "sms-throttle");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long tickMillis = Math.max(1, policy.getCoalesceWindowMillis() / 4);
+            sender.scheduleWithFixedDelay(this::drainSafely, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.sender = null;
+        }
+    }
+
+    /**
+     * Queue an SMS for the notification's phone number
+     */
+    public void offer(BookingNotification notification) {
+        String phone = notification.getCustomerPhone();
+        if (phone == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        while (true) {
+            Recipient recipient = recipients.get(phone);
+            if (recipient == null) {
+                Recipient created = new Recipient(now);
+                recipient = recipients.putIfAbsent(phone, created);
+                if (recipient == null) {
+                    recipient = created;
+                }
+            }
+            Pending placed = recipient.place(notification, now, windowNanos, coalescedCount);
+            if (placed == null) {
+                return;
+            }
+            if (!recipient.expired) {
+                return;
+            }
+            // Lost a race with expiry: take the message back and retry on a fresh entry,
+            // unless the sender already picked it up
+            if (!recipient.pending.compareAndSet(placed, null)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Send every pending SMS whose window has passed and whose recipient
+     * has a token, and forget recipients that have been idle long enough
+     * @return Number of SMS sent
+     */
+    public int drain() {
+        long now = clock.getAsLong();
+        int sent = 0;
+        for (Map.Entry<String, Recipient> entry : recipients.entrySet()) {
+            Recipient recipient = entry.getValue();
+            Pending pending = recipient.pending.get();
+            if (pending == null) {
+                expireIfIdle(entry.getKey(), recipient, now);
+                continue;
+            }
+            if (pending.dueAt - now > 0) {
+                continue;
+            }
+            if (!recipient.tryAcquire(now, emissionIntervalNanos, burstToleranceNanos)) {
+                deferredCount.incrementAndGet();
+                continue;
+            }
+            // Take whatever is newest by now; a newer event may have replaced it
+            Pending taken = recipient.pending.getAndSet(null);
+            if (taken == null) {
+                continue;
+            }
+            recipient.lastActivity = now;
+            delivery.accept(taken.notification);
+            sentCount.incrementAndGet();
+            sent++;
+        }
+        return sent;
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * Get number of events replaced by a newer event before being sent
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Get number of times a due SMS was held back by the rate limit
+     */
+    public long getDeferredCount() {
+        return deferredCount.get();
+    }
+
+    /**
+     * Get number of idle recipients removed so far
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * Get number of phone numbers currently tracked
+     */
+    public int getTrackedRecipientCount() {
+        return recipients.size();
+    }
+
+    /**
+     * Stop the background sender; pending SMS that have not been sent are dropped
+     */
+    @Override
+    public void close() {
+        if (sender != null) {
+            sender.shutdown();
+        }
+    }
+
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.warn(() -> "[SmsThrottle] Delivery failed: " + e.getMessage());
+        }
+    }
+
+    private void expireIfIdle(String phone, Recipient recipient, long now) {
+        if (now - recipient.lastActivity < idleExpiryNanos || recipient.tat.get() - now > 0) {
+            return;
+        }
+        // Mark first, then re-check: an offer that placed a message before seeing
+        // the mark either is seen here or withdraws and retries
+        recipient.expired = true;
+        if (recipient.pending.get() != null) {
+            recipient.expired = false;
+            return;
+        }
+        if (recipients.remove(phone, recipient)) {
+            expiredCount.incrementAndGet();
+        }
+    }
+
+    private static boolean isSeatEvent(BookingEvent event) {
+        return event == BookingEvent.SEATS_RESERVED || event == BookingEvent.SEATS_RELEASED;
+    }
+
+    /**
+     * Coalescing slot and token bucket for one phone number
+     */
+    private static final class Recipient {
+        private final AtomicReference<Pending> pending = new AtomicReference<>();
+        // GCRA theoretical arrival time of the next conforming SMS
+        private final AtomicLong tat;
+        private volatile long lastActivity;
+        private volatile boolean expired;
+
+        Recipient(long now) {
+            this.tat = new AtomicLong(now);
+            this.lastActivity = now;
+        }
+
+        /**
+         * Make the notification the pending SMS
+         * @param coalesced Incremented for every message dropped in favour of another
+         * @return The new pending entry, or null if a pending status message was kept instead
+         */
+        Pending place(BookingNotification notification, long now, long windowNanos, AtomicLong coalesced) {
+            lastActivity = now;
+            while (true) {
+                Pending current = pending.get();
+                if (current != null && isSeatEvent(notification.getEvent())
+                        && !isSeatEvent(current.notification.getEvent())
+                        && notification.getBookingId() != null
+                        && notification.getBookingId().equals(current.notification.getBookingId())) {
+                    coalesced.incrementAndGet();
+                    return null;
+                }
+                long dueAt = current != null ? current.dueAt : now + windowNanos;
+                Pending next = new Pending(notification, dueAt);
+                if (pending.compareAndSet(current, next)) {
+                    if (current != null) {
+                        coalesced.incrementAndGet();
+                    }
+                    return next;
+                }
+            }
+        }
+
+        boolean tryAcquire(long now, long emissionInterval, long tolerance) {
+            while (true) {
+                long current = tat.get();
+                long start = Math.max(current, now);
+                if (start - now > tolerance) {
+                    return false;
+                }
+                if (tat.compareAndSet(current, start + emissionInterval)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final BookingNotification notification;
+        private final long dueAt;
+
+        Pending(BookingNotification notification, long dueAt) {
+            this.notification = notification;
+            this.dueAt = dueAt;
+        }
+    }
+}
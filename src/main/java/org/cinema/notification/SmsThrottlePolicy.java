@@ -0,0 +1,59 @@
+package org.cinema.notification;
+
+/**
+ * Limits applied per phone number by SmsThrottle
+ */
+public final class SmsThrottlePolicy {
+    /** 2 s coalescing window, bursts of 3, one more SMS every 20 s, forget recipients idle for 10 min */
+    public static final SmsThrottlePolicy DEFAULT = new SmsThrottlePolicy(2_000, 3, 20_000, 600_000);
+
+    private final long coalesceWindowMillis;
+    private final int burst;
+    private final long refillIntervalMillis;
+    private final long idleExpiryMillis;
+
+    /**
+     * @param coalesceWindowMillis How long to wait for newer events before sending; the latest replaces earlier ones
+     * @param burst Number of SMS a recipient can receive back to back
+     * @param refillIntervalMillis Time to earn one more SMS after the burst is used up
+     * @param idleExpiryMillis How long an idle recipient's state is kept
+     */
+    public SmsThrottlePolicy(long coalesceWindowMillis, int burst, long refillIntervalMillis, long idleExpiryMillis) {
+        if (coalesceWindowMillis <= 0 || refillIntervalMillis <= 0 || idleExpiryMillis <= 0) {
+            throw new IllegalArgumentException("Throttle intervals must be positive");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be positive");
+        }
+        this.coalesceWindowMillis = coalesceWindowMillis;
+        this.burst = burst;
+        this.refillIntervalMillis = refillIntervalMillis;
+        this.idleExpiryMillis = idleExpiryMillis;
+    }
+
+    public long getCoalesceWindowMillis() {
+        return coalesceWindowMillis;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long getRefillIntervalMillis() {
+        return refillIntervalMillis;
+    }
+
+    public long getIdleExpiryMillis() {
+        return idleExpiryMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "SmsThrottlePolicy{" +
+                "coalesceWindowMillis=" + coalesceWindowMillis +
+                ", burst=" + burst +
+                ", refillIntervalMillis=" + refillIntervalMillis +
+                ", idleExpiryMillis=" + idleExpiryMillis +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package org.cinema.notification;
+
+import org.cinema.observer.BookingNotification;
+
+/**
+ * Outbound SMS channel
+ */
+public interface SmsTransport {
+
+    /**
+     * Deliver one SMS
+     * @param notification Event the SMS is about; the recipient is its customer phone
+     * @param text Message text; only valid for the duration of the call
+     */
+    void send(BookingNotification notification, CharSequence text);
+}
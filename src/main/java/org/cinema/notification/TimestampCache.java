@@ -0,0 +1,36 @@
+package org.cinema.notification;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formats the current time with second precision, formatting at most once
+ * per second per thread and returning the cached text otherwise.
+ * Patterns must not include fields finer than seconds.
+ */
+public final class TimestampCache {
+    private final DateTimeFormatter formatter;
+    private final ThreadLocal<Entry> cache = ThreadLocal.withInitial(Entry::new);
+
+    public TimestampCache(String pattern) {
+        this.formatter = DateTimeFormatter.ofPattern(pattern);
+    }
+
+    /**
+     * Get the current time as formatted text
+     */
+    public String now() {
+        long second = System.currentTimeMillis() / 1000;
+        Entry entry = cache.get();
+        if (entry.second != second || entry.text == null) {
+            entry.text = LocalDateTime.now().format(formatter);
+            entry.second = second;
+        }
+        return entry.text;
+    }
+
+    private static final class Entry {
+        private long second;
+        private String text;
+    }
+}
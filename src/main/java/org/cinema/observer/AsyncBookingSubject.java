@@ -0,0 +1,256 @@
+package org.cinema.observer;
+
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.util.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subject that dispatches events asynchronously.
+ * Every attached observer gets its own bounded FIFO queue drained by a
+ * dedicated daemon thread, so notifyObservers only enqueues and returns.
+ * A single consumer per observer keeps events in the order they were
+ * published, which preserves per-booking ordering. When an observer falls
+ * a full queue behind, publishers block until it catches up.
+ * Pattern: Observer (Behavioral)
+ */
+public class AsyncBookingSubject extends BookingSubject implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(AsyncBookingSubject.class);
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    // Poison pill that stops a mailbox thread once everything before it is delivered
+    private static final BookingNotification SHUTDOWN =
+            BookingNotification.builder(null, BookingEvent.CANCELLED).build();
+
+    private final int queueCapacity;
+    private final List<ObserverMailbox> mailboxes = new CopyOnWriteArrayList<>();
+    // Mailboxes subscribed to each event type, rebuilt on attach/detach
+    private volatile Map<BookingEvent, ObserverMailbox[]> routes = buildRoutes(List.of());
+
+    public AsyncBookingSubject() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public AsyncBookingSubject(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public synchronized void attach(BookingObserver observer) {
+        int before = getObserverCount();
+        super.attach(observer);
+        if (getObserverCount() > before) {
+            ObserverMailbox mailbox = new ObserverMailbox(observer, queueCapacity);
+            mailboxes.add(mailbox);
+            routes = buildRoutes(mailboxes);
+            mailbox.start();
+        }
+    }
+
+    @Override
+    public synchronized void detach(BookingObserver observer) {
+        super.detach(observer);
+        for (ObserverMailbox mailbox : mailboxes) {
+            if (mailbox.observer == observer) {
+                mailboxes.remove(mailbox);
+                routes = buildRoutes(mailboxes);
+                mailbox.close();
+            }
+        }
+    }
+
+    /**
+     * Enqueue the event for every subscribed observer and return immediately
+     */
+    @Override
+    public void notifyObservers(BookingNotification notification) {
+        for (ObserverMailbox mailbox : routes.get(notification.getEvent())) {
+            mailbox.enqueue(notification);
+        }
+    }
+
+    /**
+     * Wait until every queued event has been delivered
+     * @return true if all queues drained before the timeout
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ObserverMailbox mailbox : mailboxes) {
+            if (!mailbox.awaitEmpty(deadline)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get number of events waiting to be delivered across all observers
+     */
+    public int getPendingEventCount() {
+        int pending = 0;
+        for (ObserverMailbox mailbox : mailboxes) {
+            pending += mailbox.pending();
+        }
+        return pending;
+    }
+
+    /**
+     * Stop all dispatch threads after they deliver what is already queued
+     */
+    @Override
+    public synchronized void close() {
+        for (ObserverMailbox mailbox : mailboxes) {
+            mailbox.close();
+        }
+        mailboxes.clear();
+        routes = buildRoutes(mailboxes);
+    }
+
+    private static Map<BookingEvent, ObserverMailbox[]> buildRoutes(List<ObserverMailbox> mailboxes) {
+        Map<BookingEvent, ObserverMailbox[]> result = new EnumMap<>(BookingEvent.class);
+        for (BookingEvent event : BookingEvent.values()) {
+            List<ObserverMailbox> interested = new ArrayList<>();
+            for (ObserverMailbox mailbox : mailboxes) {
+                if (mailbox.observer.getSubscribedEvents().contains(event)) {
+                    interested.add(mailbox);
+                }
+            }
+            result.put(event, interested.toArray(new ObserverMailbox[0]));
+        }
+        return result;
+    }
+
+    /**
+     * Bounded queue plus dispatch thread for one observer.
+     * Enqueues and close() share enqueueLock, so nothing can be queued behind
+     * the shutdown marker; notifyObservers may still hold a mailbox from a
+     * routes snapshot taken before detach, and such late events are rejected.
+     * The dispatch thread never takes enqueueLock, so a publisher blocked on
+     * a full queue cannot stop it from draining.
+     */
+    private final class ObserverMailbox implements Runnable {
+        private final BookingObserver observer;
+        private final BlockingQueue<BookingNotification> queue;
+        private final Thread thread;
+        private final Object enqueueLock = new Object();
+        private boolean closed; // guarded by enqueueLock
+        private int inFlight; // queued but not yet delivered, guarded by this
+
+        ObserverMailbox(BookingObserver observer, int capacity) {
+            this.observer = observer;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this, "booking-observer-" + observer.getClass().getSimpleName());
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        /**
+         * @return false if the mailbox is already closed and the event was dropped
+         */
+        boolean enqueue(BookingNotification notification) {
+            synchronized (enqueueLock) {
+                if (closed) {
+                    log.debug(() -> "[Subject] Dropped " + notification.getEvent() + " for detached observer "
+                            + observer.getClass().getSimpleName());
+                    return false;
+                }
+                synchronized (this) {
+                    inFlight++;
+                }
+                try {
+                    queue.put(notification);
+                    return true;
+                } catch (InterruptedException e) {
+                    markDelivered();
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+
+        void close() {
+            synchronized (enqueueLock) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    queue.put(SHUTDOWN);
+                } catch (InterruptedException e) {
+                    thread.interrupt();
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        synchronized int pending() {
+            return inFlight;
+        }
+
+        synchronized boolean awaitEmpty(long deadline) throws InterruptedException {
+            while (inFlight > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+
+        private synchronized void markDelivered() {
+            if (--inFlight == 0) {
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                BookingNotification notification;
+                try {
+                    notification = queue.take();
+                } catch (InterruptedException e) {
+                    // Only an interrupted close() stops us early, and it has already closed the mailbox
+                    discardQueued();
+                    return;
+                }
+                if (notification == SHUTDOWN) {
+                    return;
+                }
+                try {
+                    deliver(observer, notification);
+                } catch (RuntimeException e) {
+                    log.warn("[Subject] Observer " + observer.getClass().getSimpleName()
+                            + " failed on " + notification.getEvent() + ": " + e.getMessage());
+                } finally {
+                    markDelivered();
+                }
+            }
+        }
+
+        private void discardQueued() {
+            BookingNotification notification;
+            while ((notification = queue.poll()) != null) {
+                if (notification != SHUTDOWN) {
+                    log.warn("[Subject] Dropped " + notification.getEvent() + " for observer "
+                            + observer.getClass().getSimpleName() + " on shutdown");
+                    markDelivered();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package org.cinema.observer;
+
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.util.logging.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Append-only log of every booking event, used to rebuild projections such
+ * as InventoryObserver after a restart.
+ * Attach it to the BookingSubject like any other observer; each event is
+ * appended as one line in the NotificationCodec format. replay() splits the
+ * log into partitions by booking ID and folds each partition into its own
+ * projection instance on a separate thread, then merges the results.
+ * Pattern: Observer (Behavioral)
+ */
+public class BookingEventLog implements BookingObserver, AutoCloseable {
+    private static final Logger log = Logger.getLogger(BookingEventLog.class);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final boolean sync;
+    private long lastSequence; // guarded by this
+
+    public BookingEventLog(Path file) {
+        this(file, false);
+    }
+
+    /**
+     * Open or create the event log, discarding a torn last line
+     * @param file Log file
+     * @param sync Force every append to disk before returning
+     * @throws UncheckedIOException if the file cannot be opened or read
+     */
+    public BookingEventLog(Path file, boolean sync) {
+        this.file = file;
+        this.sync = sync;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            byte[] bytes = readAll();
+            int end = NotificationCodec.completeLength(bytes, bytes.length);
+            if (end < bytes.length) {
+                channel.truncate(end);
+            }
+            this.lastSequence = countLines(bytes, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open booking event log " + file, e);
+        }
+    }
+
+    @Override
+    public void update(String bookingId, BookingEvent event, String customerEmail,
+                       String customerPhone, String details) {
+        onEvent(BookingNotification.of(bookingId, event, customerEmail, customerPhone, details));
+    }
+
+    /**
+     * Append the event to the log
+     * @throws UncheckedIOException if the write fails
+     */
+    @Override
+    public synchronized void onEvent(BookingNotification notification) {
+        byte[] line = NotificationCodec.encode(lastSequence + 1, notification).getBytes(StandardCharsets.UTF_8);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            long position = channel.size();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to booking event log " + file, e);
+        }
+        lastSequence++;
+    }
+
+    /**
+     * Get number of events in the log
+     */
+    public synchronized long getEventCount() {
+        return lastSequence;
+    }
+
+    /**
+     * Rebuild a projection from the whole log.
+     * Only events the projection subscribes to are applied. Events of one
+     * booking always land in the same partition, in log order.
+     * @param factory Creates an empty projection; called once per partition
+     * @param partitions Number of partitions replayed in parallel
+     * @return The merged projection
+     * @throws UncheckedIOException if the log cannot be read
+     */
+    public <P extends BookingProjection<P>> P replay(Supplier<P> factory, int partitions) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("Partitions must be positive");
+        }
+        long start = System.nanoTime();
+        byte[] bytes;
+        synchronized (this) {
+            try {
+                bytes = readAll();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read booking event log " + file, e);
+            }
+        }
+        int end = NotificationCodec.completeLength(bytes, bytes.length);
+
+        List<P> results = new ArrayList<>(partitions);
+        if (partitions == 1) {
+            results.add(replayPartition(factory.get(), bytes, end, 0, 1));
+        } else {
+            AtomicInteger threadIndex = new AtomicInteger();
+            ExecutorService workers = Executors.newFixedThreadPool(partitions, r -> {
+                Thread thread = new Thread(r, "event-log-replay-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<P>> futures = new ArrayList<>(partitions);
+                for (int p = 0; p < partitions; p++) {
+                    int partition = p;
+                    P projection = factory.get();
+                    futures.add(workers.submit(() -> replayPartition(projection, bytes, end, partition, partitions)));
+                }
+                for (Future<P> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Replay of " + file + " interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Replay of " + file + " failed", e.getCause());
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+
+        P merged = results.get(0);
+        for (int i = 1; i < results.size(); i++) {
+            merged.mergeFrom(results.get(i));
+        }
+        log.info(() -> "[EventLog] Replayed " + file.getFileName() + " in " + partitions + " partition(s), "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return merged;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close booking event log " + file, e);
+        }
+    }
+
+    private static <P extends BookingProjection<P>> P replayPartition(P projection, byte[] bytes, int end,
+                                                                      int partition, int partitions) {
+        Set<BookingEvent> subscribed = projection.getSubscribedEvents();
+        int lineStart = 0;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            if (NotificationCodec.bookingIdHash(bytes, lineStart, lineEnd) % partitions == partition) {
+                String line = new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+                BookingNotification notification = NotificationCodec.decode(line).getNotification();
+                if (subscribed.contains(notification.getEvent())) {
+                    projection.onEvent(notification);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return projection;
+    }
+
+    private byte[] readAll() throws IOException {
+        ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+        while (content.hasRemaining()) {
+            if (channel.read(content, content.position()) < 0) {
+                break;
+            }
+        }
+        return content.array();
+    }
+
+    private static long countLines(byte[] bytes, int end) {
+        long lines = 0;
+        for (int i = 0; i < end; i++) {
+            if (bytes[i] == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,200 @@
+package org.cinema.observer;
+
+import org.cinema.model.Money;
+import org.cinema.model.enums.BookingEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable booking event passed from BookingSubject to observers.
+ * Carries the event data as typed fields so observers read values directly
+ * instead of parsing them back out of the human-readable details text.
+ * Pattern: Observer (Behavioral)
+ */
+public final class BookingNotification {
+    /** Marker for events that do not carry a seat count */
+    public static final int UNKNOWN_SEAT_COUNT = -1;
+
+    private final String bookingId;
+    private final BookingEvent event;
+    private final String customerEmail;
+    private final String customerPhone;
+    private final String movieTitle;
+    private final LocalDateTime showtime;
+    private final String hall;
+    private final int seatCount;
+    private final Money amount;
+    private final String details;
+
+    private BookingNotification(Builder builder) {
+        this.bookingId = builder.bookingId;
+        this.event = builder.event;
+        this.customerEmail = builder.customerEmail;
+        this.customerPhone = builder.customerPhone;
+        this.movieTitle = builder.movieTitle;
+        this.showtime = builder.showtime;
+        this.hall = builder.hall;
+        this.seatCount = builder.seatCount;
+        this.amount = builder.amount;
+        this.details = builder.details != null ? builder.details : "";
+    }
+
+    /**
+     * Create a notification from the legacy string-only event data
+     */
+    public static BookingNotification of(String bookingId, BookingEvent event, String customerEmail,
+                                         String customerPhone, String details) {
+        return builder(bookingId, event)
+                .customerEmail(customerEmail)
+                .customerPhone(customerPhone)
+                .details(details)
+                .build();
+    }
+
+    public static Builder builder(String bookingId, BookingEvent event) {
+        return new Builder(bookingId, event);
+    }
+
+    public String getBookingId() {
+        return bookingId;
+    }
+
+    public BookingEvent getEvent() {
+        return event;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+
+    public String getMovieTitle() {
+        return movieTitle;
+    }
+
+    /**
+     * Showtime of the booking, or null if the event does not carry it
+     */
+    public LocalDateTime getShowtime() {
+        return showtime;
+    }
+
+    /**
+     * Hall the booking is in (e.g. HALL_1), or null if the event does not carry it
+     */
+    public String getHall() {
+        return hall;
+    }
+
+    /**
+     * Number of seats, or UNKNOWN_SEAT_COUNT if the event does not carry it
+     */
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    public boolean hasSeatCount() {
+        return seatCount != UNKNOWN_SEAT_COUNT;
+    }
+
+    /**
+     * Booking total, payment or refund amount, or null if not applicable
+     */
+    public Money getAmount() {
+        return amount;
+    }
+
+    /**
+     * Human-readable description, as shown in notifications
+     */
+    public String getDetails() {
+        return details;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingNotification{" +
+                "bookingId='" + bookingId + '\'' +
+                ", event=" + event +
+                ", seatCount=" + seatCount +
+                ", amount=" + amount +
+                ", showtime=" + showtime +
+                ", hall=" + hall +
+                ", details='" + details + '\'' +
+                '}';
+    }
+
+    /**
+     * Fluent builder for notifications
+     */
+    public static final class Builder {
+        private final String bookingId;
+        private final BookingEvent event;
+        private String customerEmail;
+        private String customerPhone;
+        private String movieTitle;
+        private LocalDateTime showtime;
+        private String hall;
+        private int seatCount = UNKNOWN_SEAT_COUNT;
+        private Money amount;
+        private String details;
+
+        private Builder(String bookingId, BookingEvent event) {
+            if (event == null) {
+                throw new IllegalArgumentException("BookingEvent cannot be null");
+            }
+            this.bookingId = bookingId;
+            this.event = event;
+        }
+
+        public Builder customerEmail(String customerEmail) {
+            this.customerEmail = customerEmail;
+            return this;
+        }
+
+        public Builder customerPhone(String customerPhone) {
+            this.customerPhone = customerPhone;
+            return this;
+        }
+
+        public Builder movieTitle(String movieTitle) {
+            this.movieTitle = movieTitle;
+            return this;
+        }
+
+        public Builder showtime(LocalDateTime showtime) {
+            this.showtime = showtime;
+            return this;
+        }
+
+        public Builder hall(String hall) {
+            this.hall = hall;
+            return this;
+        }
+
+        public Builder seatCount(int seatCount) {
+            if (seatCount < 0 && seatCount != UNKNOWN_SEAT_COUNT) {
+                throw new IllegalArgumentException("Seat count cannot be negative");
+            }
+            this.seatCount = seatCount;
+            return this;
+        }
+
+        public Builder amount(Money amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        public Builder details(String details) {
+            this.details = details;
+            return this;
+        }
+
+        public BookingNotification build() {
+            return new BookingNotification(this);
+        }
+    }
+}
@@ -2,6 +2,9 @@ package org.cinema.observer;
 
 import org.cinema.model.enums.BookingEvent;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Observer interface for booking notifications
  * Student 3: ERNAR
@@ -18,4 +21,28 @@ public interface BookingObserver {
      */
     void update(String bookingId, BookingEvent event, String customerEmail,
                 String customerPhone, String details);
-}
\ No newline at end of file
+
+    /**
+     * Receive a typed booking event.
+     * BookingSubject always dispatches through this method; the default
+     * adapts it to the string-based update() so existing observers keep
+     * working. Observers that need event data override this instead of
+     * parsing the details text.
+     * @param notification The event with its data fields
+     */
+    default void onEvent(BookingNotification notification) {
+        update(notification.getBookingId(), notification.getEvent(),
+                notification.getCustomerEmail(), notification.getCustomerPhone(),
+                notification.getDetails());
+    }
+
+    /**
+     * Event types this observer wants to receive.
+     * BookingSubject reads this when the observer is attached and only
+     * dispatches matching events to it. Defaults to every event.
+     * @return Subscribed event types
+     */
+    default Set<BookingEvent> getSubscribedEvents() {
+        return EnumSet.allOf(BookingEvent.class);
+    }
+}
@@ -0,0 +1,18 @@
+package org.cinema.observer;
+
+/**
+ * Observer whose state can be rebuilt by replaying the booking event log.
+ * BookingEventLog replays partitions of the log into separate instances in
+ * parallel and then folds them together with mergeFrom. Events are
+ * partitioned by booking ID, so each instance sees every event of the
+ * bookings it owns, in order, and no booking is split across instances.
+ * Pattern: Observer (Behavioral)
+ * @param <P> The concrete projection type
+ */
+public interface BookingProjection<P extends BookingProjection<P>> extends BookingObserver {
+    /**
+     * Add the state of a projection built from a disjoint set of bookings
+     * @param other Projection replayed from another partition
+     */
+    void mergeFrom(P other);
+}
@@ -1,29 +1,114 @@
 package org.cinema.observer;
 
 import org.cinema.model.enums.BookingEvent;
+import org.cinema.util.CircuitBreaker;
+import org.cinema.util.CircuitBreakerPolicy;
+import org.cinema.util.logging.Logger;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Subject class that maintains list of observers and notifies them
+ * Subject class that maintains list of observers and notifies them.
+ * Observers are held in an immutable snapshot that attach/detach replace
+ * atomically, so dispatch never locks and registration may happen while
+ * events are being delivered on other threads.
+ * Every delivery is timed into a per-observer latency histogram and guarded
+ * by a per-observer circuit breaker (see ObserverHealth), so an observer that
+ * keeps failing or responding slowly is skipped instead of stalling bookings.
+ * Observers run inline on the publishing thread by default. With a delivery
+ * timeout set, each delivery is handed to the observer's own delivery thread
+ * while the publisher waits up to the timeout; an observer that hangs is
+ * abandoned at the deadline and the timeout counts against its circuit.
+ * Parked events are replayed on a background pool, never on the publishing
+ * thread.
  * Student 3: ERNAR
  * Pattern: Observer (Behavioral)
  */
 public class BookingSubject {
-    private List<BookingObserver> observers;
+    private static final Logger log = Logger.getLogger(BookingSubject.class);
+    private static final BookingObserver[] NO_OBSERVERS = new BookingObserver[0];
+
+    // Replays parked events; at most one replay runs per observer
+    private static final ExecutorService REPLAY = createReplayPool();
+
+    // Immutable snapshot read by dispatch; attach/detach publish a new one
+    private volatile Registry registry = new Registry(NO_OBSERVERS, new IdentityHashMap<>());
+    private volatile CircuitBreakerPolicy circuitPolicy = CircuitBreakerPolicy.DEFAULT;
+    private volatile int retryCapacity = ObserverHealth.DEFAULT_RETRY_CAPACITY;
+    private volatile long deliveryTimeoutNanos;
 
     public BookingSubject() {
-        this.observers = new ArrayList<>();
     }
 
     /**
-     * Attach an observer to the subject
+     * Set how long a delivery may take before it is abandoned as failed.
+     * A deadline costs a thread handoff per observer per event, so it is
+     * off by default; use it for observers that call out to slow services.
+     * @param millis Deadline per delivery; 0 (the default) delivers on the publishing thread without a deadline
+     */
+    public void setDeliveryTimeout(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Delivery timeout cannot be negative");
+        }
+        this.deliveryTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Change the circuit breaker thresholds and retry queue size.
+     * Resets the health (breaker state, histograms, parked events) of every attached observer.
+     * @param policy Breaker thresholds applied to each observer
+     * @param retryCapacity Events parked per observer while its circuit is open
+     */
+    public synchronized void setCircuitBreakerPolicy(CircuitBreakerPolicy policy, int retryCapacity) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Circuit breaker policy cannot be null");
+        }
+        if (retryCapacity < 0) {
+            throw new IllegalArgumentException("Retry capacity cannot be negative");
+        }
+        this.circuitPolicy = policy;
+        this.retryCapacity = retryCapacity;
+        BookingObserver[] observers = registry.observers;
+        Map<BookingObserver, ObserverHealth> rebuilt = new IdentityHashMap<>();
+        for (BookingObserver observer : observers) {
+            rebuilt.put(observer, newHealth());
+        }
+        registry = new Registry(observers, rebuilt);
+    }
+
+    /**
+     * Get delivery statistics and circuit state for an attached observer
+     * @return The observer's health, or null if it is not attached
+     */
+    public ObserverHealth getObserverHealth(BookingObserver observer) {
+        return registry.health.get(observer);
+    }
+
+    /**
+     * Attach an observer to the subject.
+     * Safe to call while events are being dispatched; dispatches already in
+     * progress keep using the previous set of observers.
      * @param observer The observer to attach
      */
-    public void attach(BookingObserver observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
-            System.out.println("[Observer] Attached: " + observer.getClass().getSimpleName());
+    public synchronized void attach(BookingObserver observer) {
+        Registry current = registry;
+        if (indexOf(current.observers, observer) < 0) {
+            BookingObserver[] observers = Arrays.copyOf(current.observers, current.observers.length + 1);
+            observers[observers.length - 1] = observer;
+            Map<BookingObserver, ObserverHealth> health = new IdentityHashMap<>(current.health);
+            health.put(observer, newHealth());
+            registry = new Registry(observers, health);
+            log.debug(() -> "[Observer] Attached: " + observer.getClass().getSimpleName());
         }
     }
 
@@ -31,9 +116,18 @@ public class BookingSubject {
      * Detach an observer from the subject
      * @param observer The observer to detach
      */
-    public void detach(BookingObserver observer) {
-        if (observers.remove(observer)) {
-            System.out.println("[Observer] Detached: " + observer.getClass().getSimpleName());
+    public synchronized void detach(BookingObserver observer) {
+        Registry current = registry;
+        int index = indexOf(current.observers, observer);
+        if (index >= 0) {
+            BookingObserver removed = current.observers[index];
+            BookingObserver[] observers = new BookingObserver[current.observers.length - 1];
+            System.arraycopy(current.observers, 0, observers, 0, index);
+            System.arraycopy(current.observers, index + 1, observers, index, observers.length - index);
+            Map<BookingObserver, ObserverHealth> health = new IdentityHashMap<>(current.health);
+            health.remove(removed);
+            registry = new Registry(observers, health);
+            log.debug(() -> "[Observer] Detached: " + observer.getClass().getSimpleName());
         }
     }
 
@@ -47,17 +141,243 @@ public class BookingSubject {
      */
     public void notifyObservers(String bookingId, BookingEvent event,
                                 String customerEmail, String customerPhone, String details) {
-        System.out.println("\n[Subject] Notifying " + observers.size() + " observers about " + event);
-        for (BookingObserver observer : observers) {
-            observer.update(bookingId, event, customerEmail, customerPhone, details);
+        notifyObservers(BookingNotification.of(bookingId, event, customerEmail, customerPhone, details));
+    }
+
+    /**
+     * Notify all observers about a typed booking event
+     * @param notification The event with its data fields
+     */
+    public void notifyObservers(BookingNotification notification) {
+        BookingObserver[] targets = registry.subscribers[notification.getEvent().ordinal()];
+        log.debug(() -> "\n[Subject] Notifying " + targets.length + " observers about " + notification.getEvent());
+        for (BookingObserver observer : targets) {
+            try {
+                deliver(observer, notification);
+            } catch (RuntimeException e) {
+                // One failing observer must not keep the event from the others
+                log.warn("[Subject] Observer " + observer.getClass().getSimpleName()
+                        + " failed on " + notification.getEvent() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Deliver a single event to a single observer.
+     * Subclasses that dispatch on other threads route every delivery through here.
+     * While the observer's circuit is open the event is parked instead of
+     * delivered; when a probe succeeds the parked events are replayed in the
+     * background. Exceptions from the observer are recorded and rethrown to
+     * the caller; a delivery that misses its deadline throws IllegalStateException.
+     */
+    protected void deliver(BookingObserver observer, BookingNotification notification) {
+        dispatch(observer, notification, true);
+    }
+
+    /**
+     * Deliver a single event to a single observer as deliver() does, except
+     * that an event meeting an open circuit is left with the caller instead
+     * of being parked in memory. For subclasses that keep events durably
+     * and retry them themselves.
+     * @return false if the circuit is open, or the caller was interrupted
+     *         before the observer answered
+     */
+    protected boolean tryDeliver(BookingObserver observer, BookingNotification notification) {
+        return dispatch(observer, notification, false);
+    }
+
+    private boolean dispatch(BookingObserver observer, BookingNotification notification, boolean park) {
+        ObserverHealth observerHealth = registry.health.get(observer);
+        if (observerHealth == null) {
+            // Detached while the event was in flight
+            observer.onEvent(notification);
+            return true;
+        }
+        CircuitBreaker breaker = observerHealth.getCircuitBreaker();
+        if (!breaker.tryAcquire()) {
+            if (park) {
+                observerHealth.divert(notification);
+            }
+            return false;
+        }
+        boolean probe = breaker.getState() == CircuitBreaker.State.HALF_OPEN;
+        boolean answered = invoke(observer, observerHealth, notification);
+        if (probe && breaker.getState() == CircuitBreaker.State.CLOSED) {
+            log.info("[Subject] Circuit closed for " + observer.getClass().getSimpleName()
+                    + ", replaying " + observerHealth.getRetryQueueSize() + " parked event(s)");
+            scheduleReplay(observer, observerHealth);
+        }
+        return answered;
+    }
+
+    /**
+     * Call the observer and record the outcome on its health
+     * @return false if the caller was interrupted before the observer answered
+     */
+    private boolean invoke(BookingObserver observer, ObserverHealth observerHealth, BookingNotification notification) {
+        CircuitBreaker breaker = observerHealth.getCircuitBreaker();
+        long trips = breaker.getTripCount();
+        long start = System.nanoTime();
+        try {
+            if (!call(observer, observerHealth, notification)) {
+                // Interrupted before the observer answered: no outcome to record,
+                // but a probe must be given back or the circuit stays half-open
+                breaker.release();
+                return false;
+            }
+            long elapsed = System.nanoTime() - start;
+            observerHealth.getLatency().record(elapsed);
+            breaker.onSuccess(elapsed);
+            return true;
+        } catch (RuntimeException e) {
+            observerHealth.getLatency().record(System.nanoTime() - start);
+            observerHealth.recordFailure();
+            throw e;
+        } finally {
+            if (breaker.getTripCount() != trips) {
+                log.warn("[Subject] Circuit opened for " + observer.getClass().getSimpleName()
+                        + " (" + observerHealth.getLatency().summary() + ")");
+            }
+        }
+    }
+
+    /**
+     * Run the observer within the delivery timeout
+     * @return false if the publishing thread was interrupted while waiting
+     */
+    private boolean call(BookingObserver observer, ObserverHealth observerHealth, BookingNotification notification) {
+        long timeoutNanos = deliveryTimeoutNanos;
+        if (timeoutNanos == 0) {
+            observer.onEvent(notification);
+            return true;
+        }
+        Future<?> delivery = observerHealth.getDeliveryExecutor().submit(() -> observer.onEvent(notification));
+        try {
+            delivery.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            delivery.cancel(true);
+            throw new IllegalStateException("No response within "
+                    + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            delivery.cancel(true);
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
 
+    private void scheduleReplay(BookingObserver observer, ObserverHealth observerHealth) {
+        if (observerHealth.startReplay()) {
+            REPLAY.execute(() -> replayParked(observer, observerHealth));
+        }
+    }
+
+    private void replayParked(BookingObserver observer, ObserverHealth observerHealth) {
+        CircuitBreaker breaker = observerHealth.getCircuitBreaker();
+        try {
+            BookingNotification parked;
+            while ((parked = observerHealth.pollRetry()) != null) {
+                if (!breaker.tryAcquire()) {
+                    observerHealth.divert(parked);
+                    return;
+                }
+                try {
+                    invoke(observer, observerHealth, parked);
+                } catch (RuntimeException e) {
+                    log.warn("[Subject] Replay to " + observer.getClass().getSimpleName()
+                            + " failed on " + parked.getEvent() + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            observerHealth.endReplay();
+        }
+        // A probe that closed the circuit while this replay was finishing found it still running
+        if (observerHealth.getRetryQueueSize() > 0 && breaker.getState() == CircuitBreaker.State.CLOSED) {
+            scheduleReplay(observer, observerHealth);
+        }
+    }
+
+    private static ExecutorService createReplayPool() {
+        AtomicInteger index = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "observer-replay-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private ObserverHealth newHealth() {
+        return new ObserverHealth(circuitPolicy, System::nanoTime, retryCapacity);
+    }
+
+    /**
+     * Get the observers subscribed to an event type.
+     * Returns the shared snapshot array; callers must not modify it.
+     */
+    protected BookingObserver[] getSubscribers(BookingEvent event) {
+        return registry.subscribers[event.ordinal()];
+    }
+
+    /**
+     * Get count of observers subscribed to an event type
+     * @param event The event type
+     * @return Number of observers that will receive the event
+     */
+    public int getSubscriberCount(BookingEvent event) {
+        return registry.subscribers[event.ordinal()].length;
+    }
+
     /**
      * Get count of attached observers
      * @return Number of observers
      */
     public int getObserverCount() {
-        return observers.size();
+        return registry.observers.length;
+    }
+
+    private static int indexOf(BookingObserver[] observers, BookingObserver observer) {
+        for (int i = 0; i < observers.length; i++) {
+            if (observers[i].equals(observer)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Attached observers, the observers subscribed to each event type
+     * (indexed by ordinal) and their health. Built once per attach/detach
+     * and never modified afterwards.
+     */
+    private static final class Registry {
+        private final BookingObserver[] observers;
+        private final BookingObserver[][] subscribers;
+        private final Map<BookingObserver, ObserverHealth> health;
+
+        Registry(BookingObserver[] observers, Map<BookingObserver, ObserverHealth> health) {
+            this.observers = observers;
+            this.health = health;
+            // Subscriptions are read once, when the observer is attached
+            BookingEvent[] events = BookingEvent.values();
+            this.subscribers = new BookingObserver[events.length][];
+            for (BookingEvent event : events) {
+                List<BookingObserver> interested = new ArrayList<>();
+                for (BookingObserver observer : observers) {
+                    if (observer.getSubscribedEvents().contains(event)) {
+                        interested.add(observer);
+                    }
+                }
+                subscribers[event.ordinal()] = interested.toArray(NO_OBSERVERS);
+            }
+        }
     }
 }
@@ -2,101 +2,269 @@ package org.cinema.observer;
 
 
 import org.cinema.model.enums.BookingEvent;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import org.cinema.notification.EmailDigestBatcher;
+import org.cinema.notification.EmailMessage;
+import org.cinema.notification.EmailTransport;
+import org.cinema.notification.LoggingEmailTransport;
+import org.cinema.notification.NotificationTemplate;
+import org.cinema.notification.TimestampCache;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Concrete Observer for email notifications
+ * Sends one email per event by default. In batching mode, events for the
+ * same booking within the digest window are combined into one message and
+ * messages are sent to the transport in batches.
  * Student 3: ERNAR
  * Pattern: Observer (Behavioral)
  */
-public class EmailNotificationObserver implements BookingObserver {
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+public class EmailNotificationObserver implements BookingObserver, AutoCloseable {
+    private static final TimestampCache timestamps = new TimestampCache("yyyy-MM-dd HH:mm:ss");
+    private static final String HEADER =
+            "\n╔════════════════════════════════════════════════════════╗\n"
+            + "║              EMAIL NOTIFICATION                        ║\n"
+            + "╚════════════════════════════════════════════════════════╝\n";
+    private static final String FOOTER_RULE = "════════════════════════════════════════════════════════\n";
+    // One email template per event, compiled once
+    private static final Map<BookingEvent, NotificationTemplate> TEMPLATES = compileTemplates();
+    // Rendering buffer reused by each thread; only the final body String is allocated
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    /** Events customers receive an email for; seat holds and releases are not emailed */
+    public static final Set<BookingEvent> DEFAULT_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            BookingEvent.CREATED, BookingEvent.CONFIRMED, BookingEvent.PAYMENT_COMPLETED,
+            BookingEvent.CANCELLED, BookingEvent.PAYMENT_FAILED));
+
+    private final Set<BookingEvent> subscribedEvents;
+    private final EmailTransport transport;
+    private final EmailDigestBatcher batcher; // null when sending immediately
+
+    public EmailNotificationObserver() {
+        this(DEFAULT_EVENTS);
+    }
+
+    /**
+     * @param subscribedEvents Events to send emails for
+     */
+    public EmailNotificationObserver(Set<BookingEvent> subscribedEvents) {
+        this(subscribedEvents, new LoggingEmailTransport(), 0);
+    }
+
+    /**
+     * @param subscribedEvents Events to send emails for
+     * @param transport Where emails are sent
+     * @param digestWindowMillis How long to collect events for one booking
+     *                           before sending them as one email; 0 sends every event immediately
+     */
+    public EmailNotificationObserver(Set<BookingEvent> subscribedEvents, EmailTransport transport,
+                                     long digestWindowMillis) {
+        if (digestWindowMillis < 0) {
+            throw new IllegalArgumentException("Digest window cannot be negative");
+        }
+        EnumSet<BookingEvent> events = EnumSet.noneOf(BookingEvent.class);
+        events.addAll(subscribedEvents);
+        this.subscribedEvents = Collections.unmodifiableSet(events);
+        this.transport = transport;
+        this.batcher = digestWindowMillis > 0
+                ? new EmailDigestBatcher(transport, this::buildDigest, digestWindowMillis,
+                        EmailDigestBatcher.DEFAULT_MAX_BATCH_SIZE)
+                : null;
+    }
+
+    @Override
+    public Set<BookingEvent> getSubscribedEvents() {
+        return subscribedEvents;
+    }
 
     @Override
     public void update(String bookingId, BookingEvent event, String customerEmail,
                        String customerPhone, String details) {
-        String timestamp = LocalDateTime.now().format(formatter);
-        String emailContent = buildEmailContent(bookingId, event, details, timestamp);
+        onEvent(BookingNotification.of(bookingId, event, customerEmail, customerPhone, details));
+    }
+
+    @Override
+    public void onEvent(BookingNotification notification) {
+        if (batcher != null) {
+            batcher.add(notification);
+            return;
+        }
+        sendEmail(new EmailMessage(notification.getCustomerEmail(), subjectFor(notification.getEvent()),
+                buildEmailContent(notification), notification.getBookingId(), 1));
+    }
 
-        sendEmail(customerEmail, emailContent);
+    /**
+     * Check if events are combined into digests
+     */
+    public boolean isBatching() {
+        return batcher != null;
+    }
+
+    /**
+     * Send all pending digests now (no-op when not batching)
+     */
+    public void flush() {
+        if (batcher != null) {
+            batcher.flush();
+        }
+    }
+
+    /**
+     * Send pending digests and stop the digest thread
+     */
+    @Override
+    public void close() {
+        if (batcher != null) {
+            batcher.close();
+        }
     }
 
     /**
      * Build email content based on event type
      */
-    private String buildEmailContent(String bookingId, BookingEvent event, String details, String timestamp) {
+    private static String buildEmailContent(BookingNotification notification) {
+        StringBuilder email = BUFFER.get();
+        email.setLength(0);
+        TEMPLATES.get(notification.getEvent()).renderTo(email, notification, timestamps.now());
+        return email.toString();
+    }
+
+    /**
+     * Build one email covering several events for the same booking.
+     * The subject and closing line come from the latest event, which
+     * supersedes the earlier ones.
+     */
+    private EmailMessage buildDigest(List<BookingNotification> events) {
+        BookingNotification latest = events.get(events.size() - 1);
+        String subject = subjectFor(latest.getEvent());
+        if (events.size() == 1) {
+            return new EmailMessage(latest.getCustomerEmail(), subject, buildEmailContent(latest),
+                    latest.getBookingId(), 1);
+        }
+
         StringBuilder email = new StringBuilder();
-        email.append("\n╔════════════════════════════════════════════════════════╗\n");
-        email.append("║              EMAIL NOTIFICATION                        ║\n");
-        email.append("╚════════════════════════════════════════════════════════╝\n");
+        email.append(HEADER);
+        email.append("Subject: ").append(subject).append("\n");
+        email.append("Dear Customer,\n\n");
+        email.append("Here is a summary of the latest updates to your booking.\n");
+        email.append("Booking ID: ").append(latest.getBookingId()).append("\n");
+        for (BookingNotification notification : events) {
+            email.append("\n• ").append(headlineFor(notification.getEvent())).append("\n");
+            if (isGenericUpdate(notification.getEvent())) {
+                email.append("  Event: ").append(notification.getEvent()).append("\n");
+            }
+            email.append("  ").append(notification.getDetails()).append("\n");
+        }
+        String closing = closingFor(latest.getEvent());
+        if (closing != null) {
+            email.append("\n").append(closing).append("\n");
+        }
+        email.append("\nTimestamp: ").append(timestamps.now()).append("\n");
+        email.append(FOOTER_RULE);
+
+        return new EmailMessage(latest.getCustomerEmail(), subject, email.toString(),
+                latest.getBookingId(), events.size());
+    }
 
+    /**
+     * Compile the single-event email for every event type
+     */
+    private static Map<BookingEvent, NotificationTemplate> compileTemplates() {
+        Map<BookingEvent, NotificationTemplate> templates = new EnumMap<>(BookingEvent.class);
+        for (BookingEvent event : BookingEvent.values()) {
+            StringBuilder source = new StringBuilder(HEADER);
+            source.append("Subject: ").append(subjectFor(event)).append("\n");
+            source.append("Dear Customer,\n\n");
+            source.append(headlineFor(event)).append("\n");
+            source.append("Booking ID: {bookingId}\n");
+            if (isGenericUpdate(event)) {
+                source.append("Event: {event}\n");
+            }
+            source.append("{details}\n");
+            String closing = closingFor(event);
+            if (closing != null) {
+                source.append("\n").append(closing).append("\n");
+            }
+            source.append("\nTimestamp: {timestamp}\n");
+            source.append(FOOTER_RULE);
+            templates.put(event, NotificationTemplate.compile(source.toString()));
+        }
+        return templates;
+    }
+
+    private static String subjectFor(BookingEvent event) {
         switch (event) {
             case CREATED:
-                email.append("Subject: Booking Created - Confirmation Pending\n");
-                email.append("Dear Customer,\n\n");
-                email.append("Your booking has been created successfully!\n");
-                email.append("Booking ID: ").append(bookingId).append("\n");
-                email.append(details).append("\n");
-                email.append("\nPlease complete payment to confirm your booking.\n");
-                break;
-
+                return "Booking Created - Confirmation Pending";
             case CONFIRMED:
-                email.append("Subject: Booking Confirmed - Your Tickets Are Ready!\n");
-                email.append("Dear Customer,\n\n");
-                email.append("Congratulations! Your booking is confirmed.\n");
-                email.append("Booking ID: ").append(bookingId).append("\n");
-                email.append(details).append("\n");
-                email.append("\nPlease show this email at the cinema entrance.\n");
-                break;
-
+                return "Booking Confirmed - Your Tickets Are Ready!";
             case PAYMENT_COMPLETED:
-                email.append("Subject: Payment Successful\n");
-                email.append("Dear Customer,\n\n");
-                email.append("Your payment has been processed successfully.\n");
-                email.append("Booking ID: ").append(bookingId).append("\n");
-                email.append(details).append("\n");
-                break;
-
+                return "Payment Successful";
             case CANCELLED:
-                email.append("Subject: Booking Cancelled\n");
-                email.append("Dear Customer,\n\n");
-                email.append("Your booking has been cancelled.\n");
-                email.append("Booking ID: ").append(bookingId).append("\n");
-                email.append(details).append("\n");
-                email.append("\nRefund will be processed within 5-7 business days.\n");
-                break;
-
+                return "Booking Cancelled";
             case PAYMENT_FAILED:
-                email.append("Subject: Payment Failed - Action Required\n");
-                email.append("Dear Customer,\n\n");
-                email.append("Unfortunately, your payment could not be processed.\n");
-                email.append("Booking ID: ").append(bookingId).append("\n");
-                email.append(details).append("\n");
-                email.append("\nPlease try again or use a different payment method.\n");
-                break;
+                return "Payment Failed - Action Required";
+            default:
+                return "Booking Update";
+        }
+    }
 
+    private static String headlineFor(BookingEvent event) {
+        switch (event) {
+            case CREATED:
+                return "Your booking has been created successfully!";
+            case CONFIRMED:
+                return "Congratulations! Your booking is confirmed.";
+            case PAYMENT_COMPLETED:
+                return "Your payment has been processed successfully.";
+            case CANCELLED:
+                return "Your booking has been cancelled.";
+            case PAYMENT_FAILED:
+                return "Unfortunately, your payment could not be processed.";
             default:
-                email.append("Subject: Booking Update\n");
-                email.append("Dear Customer,\n\n");
-                email.append("Your booking has been updated.\n");
-                email.append("Booking ID: ").append(bookingId).append("\n");
-                email.append("Event: ").append(event).append("\n");
-                email.append(details).append("\n");
-                break;
+                return "Your booking has been updated.";
         }
+    }
 
-        email.append("\nTimestamp: ").append(timestamp).append("\n");
-        email.append("════════════════════════════════════════════════════════\n");
+    /**
+     * Closing instruction for the event, or null if it has none
+     */
+    private static String closingFor(BookingEvent event) {
+        switch (event) {
+            case CREATED:
+                return "Please complete payment to confirm your booking.";
+            case CONFIRMED:
+                return "Please show this email at the cinema entrance.";
+            case CANCELLED:
+                return "Refund will be processed within 5-7 business days.";
+            case PAYMENT_FAILED:
+                return "Please try again or use a different payment method.";
+            default:
+                return null;
+        }
+    }
 
-        return email.toString();
+    private static boolean isGenericUpdate(BookingEvent event) {
+        switch (event) {
+            case CREATED:
+            case CONFIRMED:
+            case PAYMENT_COMPLETED:
+            case CANCELLED:
+            case PAYMENT_FAILED:
+                return false;
+            default:
+                return true;
+        }
     }
 
     /**
-     * Simulate sending email (mock implementation)
+     * Hand a single email to the transport
      */
-    private void sendEmail(String email, String content) {
-        System.out.println("[EmailObserver] Sending email to: " + email);
-        System.out.println(content);
+    private void sendEmail(EmailMessage message) {
+        transport.send(List.of(message));
     }
-}
\ No newline at end of file
+}
@@ -1,130 +1,241 @@
 package org.cinema.observer;
 
 import org.cinema.model.enums.BookingEvent;
+import org.cinema.util.logging.Logger;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Concrete Observer for inventory management
- * Tracks seat availability and booking statistics
+ * Tracks seat availability and booking statistics.
+ * Occupancy is kept per hall and per showtime in LongAdder counters, so
+ * events may arrive on any number of threads and readers never lock.
+ * Each booking's reservation is recorded once: the CREATED and
+ * SEATS_RESERVED events of the same booking reserve its seats a single
+ * time, and CANCELLED followed by SEATS_RELEASED releases them once.
+ * State can be rebuilt after a restart with BookingEventLog.replay(InventoryObserver::new, n).
  * Student 3: ERNAR
  * Pattern: Observer (Behavioral)
  */
-public class InventoryObserver implements BookingObserver {
-    private Map<String, Integer> seatInventory;
-    private Map<String, Integer> bookingSeatCounts; // Tracks seats per booking
-    private Set<String> confirmedBookings; // Tracks confirmed booking IDs
-    private int totalSeatsReserved;
-    private int totalSeatsReleased;
+public class InventoryObserver implements BookingProjection<InventoryObserver> {
+    private static final Logger log = Logger.getLogger(InventoryObserver.class);
+    private final Map<String, HallInventory> halls = new ConcurrentHashMap<>();
+    private final Map<ShowtimeKey, LongAdder> showtimeOccupancy = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>(); // Seats held per booking
+    private final Set<String> confirmedBookings = ConcurrentHashMap.newKeySet(); // Tracks confirmed booking IDs
+    private final LongAdder totalSeatsReserved = new LongAdder();
+    private final LongAdder totalSeatsReleased = new LongAdder();
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // Payment events do not change seat counts
+    private static final Set<BookingEvent> SUBSCRIBED_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            BookingEvent.CREATED, BookingEvent.SEATS_RESERVED, BookingEvent.CONFIRMED,
+            BookingEvent.CANCELLED, BookingEvent.SEATS_RELEASED));
 
     public InventoryObserver() {
-        this.seatInventory = new HashMap<>();
-        this.bookingSeatCounts = new HashMap<>();
-        this.confirmedBookings = new HashSet<>();
-        this.totalSeatsReserved = 0;
-        this.totalSeatsReleased = 0;
-
         // Initialize default inventory
         initializeInventory();
     }
 
     private void initializeInventory() {
         // Sample theater inventory (can be expanded)
-        seatInventory.put("HALL_1", 100);
-        seatInventory.put("HALL_2", 80);
-        seatInventory.put("HALL_3", 120);
-        seatInventory.put("VIP_HALL", 50);
+        setHallCapacity("HALL_1", 100);
+        setHallCapacity("HALL_2", 80);
+        setHallCapacity("HALL_3", 120);
+        setHallCapacity("VIP_HALL", 50);
+    }
+
+    /**
+     * Set the number of seats in a hall, adding the hall if it is new
+     * @param hall Hall name as carried by booking events
+     * @param capacity Number of seats
+     */
+    public void setHallCapacity(String hall, int capacity) {
+        if (hall == null) {
+            throw new IllegalArgumentException("Hall cannot be null");
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Hall capacity cannot be negative");
+        }
+        hallOf(hall).capacity = capacity;
+    }
+
+    @Override
+    public Set<BookingEvent> getSubscribedEvents() {
+        return SUBSCRIBED_EVENTS;
     }
 
     @Override
     public void update(String bookingId, BookingEvent event, String customerEmail,
                        String customerPhone, String details) {
-        String timestamp = LocalDateTime.now().format(formatter);
+        onEvent(BookingNotification.of(bookingId, event, customerEmail, customerPhone, details));
+    }
 
-        switch (event) {
+    @Override
+    public void onEvent(BookingNotification notification) {
+        switch (notification.getEvent()) {
             case CREATED:
             case SEATS_RESERVED:
-                handleSeatsReserved(bookingId, details, timestamp);
+                handleSeatsReserved(notification);
                 break;
 
             case CANCELLED:
             case SEATS_RELEASED:
-                handleSeatsReleased(bookingId, details, timestamp);
+                handleSeatsReleased(notification);
                 break;
 
             case CONFIRMED:
-                handleBookingConfirmed(bookingId, details, timestamp);
+                handleBookingConfirmed(notification.getBookingId());
                 break;
 
             default:
-                logInventoryEvent(event, bookingId, timestamp);
+                logInventoryEvent(notification.getEvent(), notification.getBookingId());
                 break;
         }
     }
 
     /**
-     * Handle seat reservation
+     * Handle seat reservation; a booking that already holds seats is not counted again
      */
-    private void handleSeatsReserved(String bookingId, String details, String timestamp) {
-        // Extract seat count from details (simplified)
-        int seatsCount = extractSeatCount(details);
-        totalSeatsReserved += seatsCount;
-
-        System.out.println("\n[InventoryObserver] SEATS RESERVED");
-        System.out.println("├─ Booking ID: " + bookingId);
-        System.out.println("├─ Seats Reserved: " + seatsCount);
-        System.out.println("├─ Total Reserved Today: " + totalSeatsReserved);
-        System.out.println("└─ Timestamp: " + timestamp);
+    private void handleSeatsReserved(BookingNotification notification) {
+        String bookingId = notification.getBookingId();
+        Reservation reservation = new Reservation(seatCountOf(notification), notification.getHall(),
+                ShowtimeKey.of(notification), false);
+        if (bookingId != null) {
+            Reservation current = reservations.putIfAbsent(bookingId, reservation);
+            while (current != null) {
+                if (!current.released) {
+                    log.debug(() -> "[InventoryObserver] Seats already reserved for " + bookingId);
+                    return;
+                }
+                // Released earlier and now reserved again
+                if (reservations.replace(bookingId, current, reservation)) {
+                    break;
+                }
+                current = reservations.putIfAbsent(bookingId, reservation);
+            }
+        }
+        applyReservation(reservation);
 
-        updateInventoryStats(bookingId, seatsCount);
+        log.debug(() -> "\n[InventoryObserver] SEATS RESERVED"
+                + "\n├─ Booking ID: " + bookingId
+                + "\n├─ Seats Reserved: " + reservation.seats
+                + "\n├─ Total Reserved Today: " + totalSeatsReserved.sum()
+                + "\n└─ Timestamp: " + timestamp());
     }
 
     /**
-     * Handle seat release (cancellation)
+     * Handle seat release (cancellation); a booking's seats are released at most once.
+     * A release for a booking this observer never saw reserve is still counted in the totals.
      */
-    private void handleSeatsReleased(String bookingId, String details, String timestamp) {
-        int seatsCount = extractSeatCount(details);
-        totalSeatsReleased += seatsCount;
+    private void handleSeatsReleased(BookingNotification notification) {
+        String bookingId = notification.getBookingId();
+        Reservation released = null;
+        if (bookingId == null) {
+            totalSeatsReleased.add(seatCountOf(notification));
+        } else {
+            Reservation current = reservations.get(bookingId);
+            while (true) {
+                if (current == null) {
+                    Reservation unknown = new Reservation(seatCountOf(notification), notification.getHall(),
+                            ShowtimeKey.of(notification), true);
+                    current = reservations.putIfAbsent(bookingId, unknown);
+                    if (current == null) {
+                        totalSeatsReleased.add(unknown.seats);
+                        break;
+                    }
+                } else if (current.released) {
+                    log.debug(() -> "[InventoryObserver] Seats already released for " + bookingId);
+                    return;
+                } else if (reservations.replace(bookingId, current, current.release())) {
+                    released = current;
+                    applyRelease(current);
+                    break;
+                } else {
+                    current = reservations.get(bookingId);
+                }
+            }
+        }
 
-        System.out.println("\n[InventoryObserver] SEATS RELEASED");
-        System.out.println("├─ Booking ID: " + bookingId);
-        System.out.println("├─ Seats Released: " + seatsCount);
-        System.out.println("├─ Total Released Today: " + totalSeatsReleased);
-        System.out.println("├─ Net Reserved: " + (totalSeatsReserved - totalSeatsReleased));
-        System.out.println("└─ Timestamp: " + timestamp);
+        int seatsCount = released != null ? released.seats : seatCountOf(notification);
+        log.debug(() -> "\n[InventoryObserver] SEATS RELEASED"
+                + "\n├─ Booking ID: " + bookingId
+                + "\n├─ Seats Released: " + seatsCount
+                + "\n├─ Total Released Today: " + totalSeatsReleased.sum()
+                + "\n├─ Net Reserved: " + getNetSeatsOccupied()
+                + "\n└─ Timestamp: " + timestamp());
     }
 
     /**
      * Handle booking confirmation
      */
-    private void handleBookingConfirmed(String bookingId, String details, String timestamp) {
-        confirmedBookings.add(bookingId);
+    private void handleBookingConfirmed(String bookingId) {
+        if (bookingId != null) {
+            confirmedBookings.add(bookingId);
+        }
 
-        System.out.println("\n[InventoryObserver] BOOKING CONFIRMED");
-        System.out.println("├─ Booking ID: " + bookingId);
-        System.out.println("├─ Total Confirmed Bookings: " + confirmedBookings.size());
-        System.out.println("└─ Timestamp: " + timestamp);
+        log.debug(() -> "\n[InventoryObserver] BOOKING CONFIRMED"
+                + "\n├─ Booking ID: " + bookingId
+                + "\n├─ Total Confirmed Bookings: " + confirmedBookings.size()
+                + "\n└─ Timestamp: " + timestamp());
     }
 
     /**
      * Log general inventory events
      */
-    private void logInventoryEvent(BookingEvent event, String bookingId, String timestamp) {
-        System.out.println("\n[InventoryObserver] Event Logged: " + event);
-        System.out.println("├─ Booking ID: " + bookingId);
-        System.out.println("└─ Timestamp: " + timestamp);
+    private void logInventoryEvent(BookingEvent event, String bookingId) {
+        log.debug(() -> "\n[InventoryObserver] Event Logged: " + event
+                + "\n├─ Booking ID: " + bookingId
+                + "\n└─ Timestamp: " + timestamp());
+    }
+
+    /**
+     * Event time for the debug banners, only formatted when debug logging is on
+     */
+    private static String timestamp() {
+        return LocalDateTime.now().format(formatter);
+    }
+
+    private void applyReservation(Reservation reservation) {
+        totalSeatsReserved.add(reservation.seats);
+        if (reservation.hall != null) {
+            hallOf(reservation.hall).occupied.add(reservation.seats);
+        }
+        if (reservation.showtime != null) {
+            showtimeOccupancy.computeIfAbsent(reservation.showtime, key -> new LongAdder()).add(reservation.seats);
+        }
+    }
+
+    private void applyRelease(Reservation reservation) {
+        totalSeatsReleased.add(reservation.seats);
+        if (reservation.hall != null) {
+            hallOf(reservation.hall).occupied.add(-reservation.seats);
+        }
+        if (reservation.showtime != null) {
+            showtimeOccupancy.computeIfAbsent(reservation.showtime, key -> new LongAdder()).add(-reservation.seats);
+        }
+    }
+
+    private HallInventory hallOf(String hall) {
+        return halls.computeIfAbsent(hall, name -> new HallInventory());
     }
 
     /**
-     * Update inventory statistics
+     * Seat count carried by the event, falling back to the details text for
+     * events published through the legacy string-only API
      */
-    private void updateInventoryStats(String bookingId, int seatsCount) {
-        bookingSeatCounts.put(bookingId, seatsCount);
+    private int seatCountOf(BookingNotification notification) {
+        if (notification.hasSeatCount()) {
+            return notification.getSeatCount();
+        }
+        return extractSeatCount(notification.getDetails());
     }
 
     /**
@@ -132,23 +243,60 @@ public class InventoryObserver implements BookingObserver {
      * Simplified implementation - assumes format includes number
      */
     private int extractSeatCount(String details) {
-        // Try to extract number from details (e.g., "2 seats", "3 tickets")
+        // Find the first standalone number in range (e.g., "2 seats", "3 tickets")
         if (details.contains("seat") || details.contains("ticket")) {
-            String[] parts = details.split(" ");
-            for (String part : parts) {
-                try {
-                    int count = Integer.parseInt(part);
-                    if (count > 0 && count < 100) {
-                        return count;
-                    }
-                } catch (NumberFormatException e) {
-                    // Continue searching
+            int length = details.length();
+            int i = 0;
+            while (i < length) {
+                int tokenEnd = details.indexOf(' ', i);
+                if (tokenEnd < 0) {
+                    tokenEnd = length;
                 }
+                int count = parseSmallNumber(details, i, tokenEnd);
+                if (count > 0 && count < 100) {
+                    return count;
+                }
+                i = tokenEnd + 1;
             }
         }
         return 1; // Default to 1 seat
     }
 
+    /**
+     * Parse a token made only of digits, or return -1
+     */
+    private static int parseSmallNumber(String text, int start, int end) {
+        if (start >= end || end - start > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Add the totals of a projection replayed from other bookings
+     */
+    @Override
+    public void mergeFrom(InventoryObserver other) {
+        totalSeatsReserved.add(other.totalSeatsReserved.sum());
+        totalSeatsReleased.add(other.totalSeatsReleased.sum());
+        reservations.putAll(other.reservations);
+        confirmedBookings.addAll(other.confirmedBookings);
+        for (Map.Entry<String, HallInventory> entry : other.halls.entrySet()) {
+            hallOf(entry.getKey()).occupied.add(entry.getValue().occupied.sum());
+        }
+        for (Map.Entry<ShowtimeKey, LongAdder> entry : other.showtimeOccupancy.entrySet()) {
+            showtimeOccupancy.computeIfAbsent(entry.getKey(), key -> new LongAdder()).add(entry.getValue().sum());
+        }
+    }
+
     /**
      * Get inventory statistics
      */
@@ -156,24 +304,146 @@ public class InventoryObserver implements BookingObserver {
         System.out.println("\n╔════════════════════════════════════════════════════════╗");
         System.out.println("║           INVENTORY REPORT                             ║");
         System.out.println("╚════════════════════════════════════════════════════════╝");
-        System.out.println("Total Bookings Tracked: " + bookingSeatCounts.size());
+        System.out.println("Total Bookings Tracked: " + reservations.size());
         System.out.println("Total Confirmed Bookings: " + confirmedBookings.size());
-        System.out.println("Total Seats Reserved: " + totalSeatsReserved);
-        System.out.println("Total Seats Released: " + totalSeatsReleased);
-        System.out.println("Net Seats Occupied: " + (totalSeatsReserved - totalSeatsReleased));
+        System.out.println("Total Seats Reserved: " + getTotalSeatsReserved());
+        System.out.println("Total Seats Released: " + getTotalSeatsReleased());
+        System.out.println("Net Seats Occupied: " + getNetSeatsOccupied());
+        for (String hall : new TreeSet<>(halls.keySet())) {
+            System.out.printf("  %-10s %4d / %-4d (%.0f%%)%n", hall, getHallOccupancy(hall),
+                    getHallCapacity(hall), getHallOccupancyRatio(hall) * 100);
+        }
         System.out.println("════════════════════════════════════════════════════════");
     }
 
     // Getters for testing
     public int getTotalSeatsReserved() {
-        return totalSeatsReserved;
+        return (int) totalSeatsReserved.sum();
     }
 
     public int getTotalSeatsReleased() {
-        return totalSeatsReleased;
+        return (int) totalSeatsReleased.sum();
     }
 
     public int getBookingCount() {
         return confirmedBookings.size();
     }
-}
\ No newline at end of file
+
+    /**
+     * Seats currently held: reserved minus released
+     */
+    public long getNetSeatsOccupied() {
+        return totalSeatsReserved.sum() - totalSeatsReleased.sum();
+    }
+
+    /**
+     * Get names of all known halls
+     */
+    public Set<String> getHalls() {
+        return Collections.unmodifiableSet(halls.keySet());
+    }
+
+    /**
+     * Get the number of seats in a hall, 0 if the hall is unknown
+     */
+    public int getHallCapacity(String hall) {
+        HallInventory inventory = halls.get(hall);
+        return inventory != null ? inventory.capacity : 0;
+    }
+
+    /**
+     * Get the number of seats currently held in a hall
+     */
+    public long getHallOccupancy(String hall) {
+        HallInventory inventory = halls.get(hall);
+        return inventory != null ? inventory.occupied.sum() : 0;
+    }
+
+    /**
+     * Get the fraction of a hall's seats currently held (0.0 - 1.0+), 0 if the capacity is unknown
+     */
+    public double getHallOccupancyRatio(String hall) {
+        HallInventory inventory = halls.get(hall);
+        if (inventory == null || inventory.capacity == 0) {
+            return 0.0;
+        }
+        return (double) inventory.occupied.sum() / inventory.capacity;
+    }
+
+    /**
+     * Get the number of seats currently held for a movie's showtime
+     */
+    public long getShowtimeOccupancy(String movieTitle, LocalDateTime showtime) {
+        if (showtime == null) {
+            return 0;
+        }
+        LongAdder occupied = showtimeOccupancy.get(new ShowtimeKey(movieTitle, showtime));
+        return occupied != null ? occupied.sum() : 0;
+    }
+
+    /**
+     * Capacity and live seat count of one hall
+     */
+    private static final class HallInventory {
+        private final LongAdder occupied = new LongAdder();
+        private volatile int capacity;
+    }
+
+    /**
+     * Seats a booking holds and where; replaced, never mutated
+     */
+    private static final class Reservation {
+        private final int seats;
+        private final String hall;
+        private final ShowtimeKey showtime;
+        private final boolean released;
+
+        Reservation(int seats, String hall, ShowtimeKey showtime, boolean released) {
+            this.seats = seats;
+            this.hall = hall;
+            this.showtime = showtime;
+            this.released = released;
+        }
+
+        Reservation release() {
+            return new Reservation(seats, hall, showtime, true);
+        }
+    }
+
+    /**
+     * Movie title plus showtime
+     */
+    private static final class ShowtimeKey {
+        private final String movieTitle;
+        private final LocalDateTime showtime;
+
+        ShowtimeKey(String movieTitle, LocalDateTime showtime) {
+            this.movieTitle = movieTitle;
+            this.showtime = showtime;
+        }
+
+        static ShowtimeKey of(BookingNotification notification) {
+            if (notification.getShowtime() == null) {
+                return null;
+            }
+            return new ShowtimeKey(notification.getMovieTitle(), notification.getShowtime());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ShowtimeKey)) {
+                return false;
+            }
+            ShowtimeKey other = (ShowtimeKey) o;
+            return Objects.equals(movieTitle, other.movieTitle) && showtime.equals(other.showtime);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(movieTitle) + showtime.hashCode();
+        }
+    }
+}
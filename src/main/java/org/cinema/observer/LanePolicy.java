@@ -0,0 +1,73 @@
+package org.cinema.observer;
+
+/**
+ * Queue size, worker count and overflow behaviour of one PriorityBookingSubject lane
+ */
+public final class LanePolicy {
+    /**
+     * What a publisher does when the lane's queue is full
+     */
+    public enum Overflow {
+        /** Wait for space (backpressure on the booking thread) */
+        BLOCK,
+        /** Discard the event being published; only for lanes whose events may be lost */
+        DROP_NEWEST,
+        /** Discard the oldest queued event to make room; only for lanes whose events may be lost */
+        DROP_OLDEST
+    }
+
+    /** Transactional lane: one worker keeps order, never drops */
+    public static final LanePolicy DEFAULT_HIGH = new LanePolicy(1, 1024, Overflow.BLOCK);
+    /**
+     * Everything else: one worker, never drops. The LOW lane carries CREATED,
+     * CANCELLED, SEATS_RESERVED and SEATS_RELEASED, which InventoryObserver
+     * occupancy and cancellation notices depend on, so a dropping policy
+     * is only safe when every observer on it can tolerate lost events.
+     */
+    public static final LanePolicy DEFAULT_LOW = new LanePolicy(1, 1024, Overflow.BLOCK);
+
+    private final int workers;
+    private final int capacity;
+    private final Overflow overflow;
+
+    /**
+     * @param workers Threads draining the lane; more than one gives up per-booking ordering within the lane
+     * @param capacity Events the lane can queue
+     * @param overflow Behaviour when the queue is full
+     */
+    public LanePolicy(int workers, int capacity, Overflow overflow) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        if (overflow == null) {
+            throw new IllegalArgumentException("Overflow policy cannot be null");
+        }
+        this.workers = workers;
+        this.capacity = capacity;
+        this.overflow = overflow;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    @Override
+    public String toString() {
+        return "LanePolicy{" +
+                "workers=" + workers +
+                ", capacity=" + capacity +
+                ", overflow=" + overflow +
+                '}';
+    }
+}
@@ -0,0 +1,166 @@
+package org.cinema.observer;
+
+import org.cinema.model.Money;
+import org.cinema.model.enums.BookingEvent;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Line format shared by NotificationOutbox and BookingEventLog.
+ * One notification per line: sequence, event, booking ID, email, phone,
+ * movie, showtime, seat count, amount, details and hall, tab separated, with
+ * backslash escapes for tabs, newlines and backslashes and \0 for null.
+ */
+final class NotificationCodec {
+    static final char SEPARATOR = '\t';
+    private static final String NULL_FIELD = "\\0";
+
+    private NotificationCodec() {
+    }
+
+    /**
+     * Length of the prefix made of complete lines; anything after it is a torn write
+     */
+    static int completeLength(byte[] bytes, int length) {
+        int end = length;
+        while (end > 0 && bytes[end - 1] != '\n') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Hash of the escaped booking ID field of the line starting at offset,
+     * computed on the raw bytes so lines can be partitioned without decoding
+     * @return Non-negative hash, 0 for a null booking ID
+     */
+    static int bookingIdHash(byte[] bytes, int offset, int end) {
+        int field = 0;
+        int i = offset;
+        while (i < end && field < 2) {
+            if (bytes[i++] == SEPARATOR) {
+                field++;
+            }
+        }
+        int hash = 0;
+        while (i < end && bytes[i] != SEPARATOR) {
+            hash = 31 * hash + bytes[i++];
+        }
+        return hash & Integer.MAX_VALUE;
+    }
+
+    static String encode(long sequence, BookingNotification n) {
+        StringBuilder line = new StringBuilder(128);
+        line.append(sequence).append(SEPARATOR);
+        line.append(n.getEvent().name()).append(SEPARATOR);
+        appendField(line, n.getBookingId());
+        appendField(line, n.getCustomerEmail());
+        appendField(line, n.getCustomerPhone());
+        appendField(line, n.getMovieTitle());
+        appendField(line, n.getShowtime() != null ? n.getShowtime().toString() : null);
+        line.append(n.getSeatCount()).append(SEPARATOR);
+        appendField(line, n.getAmount() != null ? n.getAmount().toString() : null);
+        appendField(line, n.getDetails());
+        appendField(line, n.getHall());
+        line.setCharAt(line.length() - 1, '\n');
+        return line.toString();
+    }
+
+    private static void appendField(StringBuilder line, String value) {
+        if (value == null) {
+            line.append(NULL_FIELD).append(SEPARATOR);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                default:
+                    line.append(c);
+                    break;
+            }
+        }
+        line.append(SEPARATOR);
+    }
+
+    static NotificationOutbox.Entry decode(String line) {
+        String[] fields = line.split(String.valueOf(SEPARATOR), -1);
+        // Lines written before the hall field was added have 10 fields
+        if (fields.length != 10 && fields.length != 11) {
+            throw new IllegalStateException("Corrupt outbox entry: " + line);
+        }
+        String showtime = unescape(fields[6]);
+        BookingNotification notification = BookingNotification
+                .builder(unescape(fields[2]), BookingEvent.valueOf(fields[1]))
+                .customerEmail(unescape(fields[3]))
+                .customerPhone(unescape(fields[4]))
+                .movieTitle(unescape(fields[5]))
+                .showtime(showtime != null ? LocalDateTime.parse(showtime) : null)
+                .seatCount(Integer.parseInt(fields[7]))
+                .amount(decodeAmount(unescape(fields[8])))
+                .details(unescape(fields[9]))
+                .hall(fields.length > 10 ? unescape(fields[10]) : null)
+                .build();
+        return new NotificationOutbox.Entry(Long.parseLong(fields[0]), notification);
+    }
+
+    /**
+     * Read an amount written as "USD 12.50"; lines written before amounts
+     * carried a currency hold plain dollars, e.g. 12.5
+     */
+    private static Money decodeAmount(String field) {
+        if (field == null) {
+            return null;
+        }
+        if (field.indexOf(' ') >= 0) {
+            return Money.parse(field);
+        }
+        return Money.of(new BigDecimal(field).setScale(2, RoundingMode.HALF_EVEN), Money.USD);
+    }
+
+    private static String unescape(String field) {
+        if (NULL_FIELD.equals(field)) {
+            return null;
+        }
+        if (field.indexOf('\\') < 0) {
+            return field;
+        }
+        StringBuilder value = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c != '\\' || i + 1 == field.length()) {
+                value.append(c);
+                continue;
+            }
+            char escaped = field.charAt(++i);
+            switch (escaped) {
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                default:
+                    value.append(escaped);
+                    break;
+            }
+        }
+        return value.toString();
+    }
+}
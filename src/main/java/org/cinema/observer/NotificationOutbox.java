@@ -0,0 +1,218 @@
+package org.cinema.observer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Append-only, file-backed store of booking notifications awaiting delivery.
+ * Each notification is written as one line (sequence number plus escaped
+ * fields) to outbox.log; the highest delivered sequence number is kept in
+ * outbox.ack. On open, a torn last line from a crash mid-write is cut off
+ * and every entry after the acknowledged sequence is returned for
+ * redelivery. Once everything is acknowledged and the log has grown past
+ * the compaction threshold, it is truncated.
+ */
+public class NotificationOutbox implements AutoCloseable {
+    public static final String LOG_FILE = "outbox.log";
+    public static final String ACK_FILE = "outbox.ack";
+    public static final long DEFAULT_COMPACT_THRESHOLD_BYTES = 1024 * 1024;
+
+    private final FileChannel logChannel;
+    private final FileChannel ackChannel;
+    private final boolean sync;
+    private final long compactThresholdBytes;
+    private final List<Entry> recovered;
+    private final ByteBuffer ackBuffer = ByteBuffer.allocate(Long.BYTES);
+    private long lastSequence; // guarded by this
+    private long acknowledged; // guarded by this
+
+    public NotificationOutbox(Path directory) {
+        this(directory, true, DEFAULT_COMPACT_THRESHOLD_BYTES);
+    }
+
+    /**
+     * Open or create the outbox in a directory
+     * @param directory Directory holding the outbox files
+     * @param sync Force every append to disk before returning
+     * @param compactThresholdBytes Log size above which a fully acknowledged log is truncated
+     * @throws UncheckedIOException if the files cannot be opened or read
+     */
+    public NotificationOutbox(Path directory, boolean sync, long compactThresholdBytes) {
+        this.sync = sync;
+        this.compactThresholdBytes = compactThresholdBytes;
+        try {
+            Files.createDirectories(directory);
+            this.logChannel = FileChannel.open(directory.resolve(LOG_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.ackChannel = FileChannel.open(directory.resolve(ACK_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.acknowledged = readAcknowledged();
+            this.recovered = Collections.unmodifiableList(readLog());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open notification outbox in " + directory, e);
+        }
+    }
+
+    /**
+     * Entries that were written but not acknowledged before this outbox was opened, in order
+     */
+    public List<Entry> getRecoveredEntries() {
+        return recovered;
+    }
+
+    /**
+     * Durably append a notification
+     * @return The entry with its sequence number
+     * @throws UncheckedIOException if the write fails
+     */
+    public synchronized Entry append(BookingNotification notification) {
+        long sequence = lastSequence + 1;
+        byte[] line = NotificationCodec.encode(sequence, notification).getBytes(StandardCharsets.UTF_8);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            long position = logChannel.size();
+            while (buffer.hasRemaining()) {
+                position += logChannel.write(buffer, position);
+            }
+            if (sync) {
+                logChannel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to notification outbox", e);
+        }
+        lastSequence = sequence;
+        return new Entry(sequence, notification);
+    }
+
+    /**
+     * Record that every entry up to and including the sequence has been delivered
+     */
+    public synchronized void acknowledge(long sequence) {
+        if (sequence <= acknowledged) {
+            return;
+        }
+        try {
+            ackBuffer.clear();
+            ackBuffer.putLong(sequence).flip();
+            while (ackBuffer.hasRemaining()) {
+                ackChannel.write(ackBuffer, ackBuffer.position());
+            }
+            if (sync) {
+                ackChannel.force(false);
+            }
+            acknowledged = sequence;
+            if (acknowledged == lastSequence && logChannel.size() > compactThresholdBytes) {
+                logChannel.truncate(0);
+                if (sync) {
+                    logChannel.force(true);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot acknowledge outbox entry " + sequence, e);
+        }
+    }
+
+    public synchronized long getAcknowledgedSequence() {
+        return acknowledged;
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Get the current size of the log file in bytes
+     */
+    public synchronized long getLogSize() {
+        try {
+            return logChannel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            logChannel.close();
+            ackChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close notification outbox", e);
+        }
+    }
+
+    private long readAcknowledged() throws IOException {
+        if (ackChannel.size() < Long.BYTES) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        while (buffer.hasRemaining()) {
+            if (ackChannel.read(buffer, buffer.position()) < 0) {
+                return 0;
+            }
+        }
+        buffer.flip();
+        return buffer.getLong();
+    }
+
+    private List<Entry> readLog() throws IOException {
+        long size = logChannel.size();
+        ByteBuffer content = ByteBuffer.allocate((int) size);
+        while (content.hasRemaining()) {
+            if (logChannel.read(content, content.position()) < 0) {
+                break;
+            }
+        }
+        byte[] bytes = content.array();
+        int end = NotificationCodec.completeLength(bytes, bytes.length);
+        if (end < bytes.length) {
+            // Torn write from a crash: drop the incomplete line
+            logChannel.truncate(end);
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        lastSequence = acknowledged;
+        String text = new String(bytes, 0, end, StandardCharsets.UTF_8);
+        int start = 0;
+        while (start < text.length()) {
+            int newline = text.indexOf('\n', start);
+            Entry entry = NotificationCodec.decode(text.substring(start, newline));
+            lastSequence = Math.max(lastSequence, entry.sequence);
+            if (entry.sequence > acknowledged) {
+                entries.add(entry);
+            }
+            start = newline + 1;
+        }
+        return entries;
+    }
+
+    /**
+     * A stored notification and its position in the outbox
+     */
+    public static final class Entry {
+        private final long sequence;
+        private final BookingNotification notification;
+
+        Entry(long sequence, BookingNotification notification) {
+            this.sequence = sequence;
+            this.notification = notification;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public BookingNotification getNotification() {
+            return notification;
+        }
+    }
+}
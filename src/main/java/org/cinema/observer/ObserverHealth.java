@@ -0,0 +1,155 @@
+package org.cinema.observer;
+
+import org.cinema.util.CircuitBreaker;
+import org.cinema.util.CircuitBreakerPolicy;
+import org.cinema.util.LatencyHistogram;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Delivery statistics and circuit breaker for one attached observer.
+ * BookingSubject times every delivery into the latency histogram and feeds
+ * the outcome to the breaker. While the circuit is open, events are parked
+ * in a bounded retry queue (oldest dropped first) and replayed in the
+ * background once a half-open probe succeeds. With a delivery timeout set,
+ * deliveries run on the observer's own delivery thread, so an observer that
+ * hangs holds that one thread and never more.
+ * Pattern: Observer (Behavioral)
+ */
+public final class ObserverHealth {
+    public static final int DEFAULT_RETRY_CAPACITY = 256;
+    private static final AtomicInteger DELIVERY_THREADS = new AtomicInteger();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final CircuitBreaker breaker;
+    private final int retryCapacity;
+    private final Deque<BookingNotification> retryQueue = new ArrayDeque<>(); // guarded by retryQueue
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder diverted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    private volatile ExecutorService deliveryExecutor;
+
+    ObserverHealth(CircuitBreakerPolicy policy, LongSupplier nanoClock, int retryCapacity) {
+        this.breaker = new CircuitBreaker(policy, nanoClock);
+        this.retryCapacity = retryCapacity;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return breaker;
+    }
+
+    /**
+     * Get number of deliveries that threw
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * Get number of events parked because the circuit was open
+     */
+    public long getDivertedCount() {
+        return diverted.sum();
+    }
+
+    /**
+     * Get number of parked events discarded because the retry queue was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Get number of events currently waiting for the circuit to close
+     */
+    public int getRetryQueueSize() {
+        synchronized (retryQueue) {
+            return retryQueue.size();
+        }
+    }
+
+    void recordFailure() {
+        failures.increment();
+        breaker.onFailure();
+    }
+
+    void divert(BookingNotification notification) {
+        diverted.increment();
+        if (retryCapacity == 0) {
+            dropped.increment();
+            return;
+        }
+        synchronized (retryQueue) {
+            if (retryQueue.size() >= retryCapacity) {
+                retryQueue.pollFirst();
+                dropped.increment();
+            }
+            retryQueue.addLast(notification);
+        }
+    }
+
+    BookingNotification pollRetry() {
+        synchronized (retryQueue) {
+            return retryQueue.pollFirst();
+        }
+    }
+
+    /**
+     * Get the single thread that runs timed deliveries to this observer,
+     * creating it on first use. The thread exits after a minute without
+     * work, so an idle or detached observer holds no thread.
+     */
+    ExecutorService getDeliveryExecutor() {
+        ExecutorService executor = deliveryExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = deliveryExecutor;
+                if (executor == null) {
+                    ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(), r -> {
+                                Thread thread = new Thread(r, "observer-delivery-" + DELIVERY_THREADS.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    pool.allowCoreThreadTimeOut(true);
+                    deliveryExecutor = executor = pool;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Claim the replay of parked events, so only one replay runs at a time
+     * @return false if a replay is already running
+     */
+    boolean startReplay() {
+        return replaying.compareAndSet(false, true);
+    }
+
+    void endReplay() {
+        replaying.set(false);
+    }
+
+    @Override
+    public String toString() {
+        return "ObserverHealth{circuit=" + breaker.getState()
+                + ", failures=" + failures.sum()
+                + ", diverted=" + diverted.sum()
+                + ", " + latency.summary() + '}';
+    }
+}
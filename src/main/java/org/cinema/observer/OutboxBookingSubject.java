@@ -0,0 +1,280 @@
+package org.cinema.observer;
+
+import org.cinema.util.logging.Logger;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subject that makes notification delivery durable.
+ * notifyObservers appends the event to a file-backed NotificationOutbox and
+ * returns; a background relay thread delivers outbox entries to subscribed
+ * observers in order, retrying failed observers with exponential backoff.
+ * An entry is acknowledged only after every subscriber has handled it (or
+ * exhausted its attempts), so events still in the outbox when the process
+ * dies are redelivered by the next subject opened on the same directory.
+ * An acknowledgement that cannot be written is retried with the same backoff.
+ * Delivery is at-least-once: observers may see an event twice after a crash.
+ * An observer whose circuit is open holds the entry, unacknowledged, until
+ * its circuit lets a probe through; nothing is parked in memory.
+ * Pattern: Observer (Behavioral)
+ */
+public class OutboxBookingSubject extends BookingSubject implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(OutboxBookingSubject.class);
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    private final NotificationOutbox outbox;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final Deque<NotificationOutbox.Entry> queue = new ArrayDeque<>(); // guarded by queue
+    private final Thread relay;
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean running = true;
+
+    public OutboxBookingSubject(Path directory) {
+        this(directory, true, DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF_MILLIS);
+    }
+
+    /**
+     * Open the outbox in a directory, queueing any entries left undelivered
+     * by a previous run. Call start() once observers are attached.
+     * @param directory Directory holding the outbox files
+     * @param sync Force every append to disk before notifyObservers returns
+     * @param maxAttempts Delivery attempts per observer before the event is given up on for it
+     * @param initialBackoffMillis Delay before the first retry, doubled on each further retry
+     */
+    public OutboxBookingSubject(Path directory, boolean sync, int maxAttempts, long initialBackoffMillis) {
+        this(new NotificationOutbox(directory, sync, NotificationOutbox.DEFAULT_COMPACT_THRESHOLD_BYTES),
+                maxAttempts, initialBackoffMillis);
+    }
+
+    /**
+     * Relay an already opened outbox, queueing any entries it recovered.
+     * The subject takes ownership and closes the outbox when it is closed.
+     * @param outbox Outbox holding the events to deliver
+     * @param maxAttempts Delivery attempts per observer before the event is given up on for it
+     * @param initialBackoffMillis Delay before the first retry, doubled on each further retry
+     */
+    public OutboxBookingSubject(NotificationOutbox outbox, int maxAttempts, long initialBackoffMillis) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Max attempts must be positive");
+        }
+        if (initialBackoffMillis < 0) {
+            throw new IllegalArgumentException("Backoff cannot be negative");
+        }
+        this.outbox = outbox;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.queue.addAll(outbox.getRecoveredEntries());
+        if (!queue.isEmpty()) {
+            log.info("[Outbox] Recovered " + queue.size() + " undelivered notification(s)");
+        }
+        this.relay = new Thread(this::relayLoop, "booking-outbox-relay");
+        this.relay.setDaemon(true);
+    }
+
+    /**
+     * Start the relay thread. Recovered entries are delivered to the
+     * observers attached at that point, so attach them first.
+     */
+    public synchronized void start() {
+        if (relay.getState() == Thread.State.NEW) {
+            relay.start();
+        }
+    }
+
+    /**
+     * Persist the event to the outbox and return; delivery happens on the relay thread
+     * @throws java.io.UncheckedIOException if the event cannot be written
+     */
+    @Override
+    public void notifyObservers(BookingNotification notification) {
+        synchronized (queue) {
+            if (!running) {
+                throw new IllegalStateException("Outbox subject is closed");
+            }
+            queue.addLast(outbox.append(notification));
+            queue.notifyAll();
+        }
+    }
+
+    /**
+     * Wait until every queued event has been delivered and acknowledged
+     * @return true if the outbox drained before the timeout
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (queue) {
+            while (!queue.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(queue, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Get number of events written to the outbox but not yet acknowledged
+     */
+    public int getPendingEventCount() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Get number of successful observer deliveries
+     */
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    /**
+     * Get number of delivery attempts that were retried after a failure
+     */
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    /**
+     * Get number of observer deliveries abandoned after the last attempt
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Stop the relay and close the outbox. Entries not yet acknowledged stay
+     * in the outbox and are redelivered by the next subject on the same directory.
+     */
+    @Override
+    public void close() {
+        synchronized (queue) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            queue.notifyAll();
+        }
+        relay.interrupt();
+        try {
+            relay.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        outbox.close();
+    }
+
+    private void relayLoop() {
+        while (running) {
+            NotificationOutbox.Entry entry;
+            synchronized (queue) {
+                while (running && queue.isEmpty()) {
+                    try {
+                        queue.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (!running) {
+                    return;
+                }
+                entry = queue.peekFirst();
+            }
+            if (!deliverEntry(entry)) {
+                return;
+            }
+            if (!acknowledge(entry)) {
+                return;
+            }
+            synchronized (queue) {
+                queue.pollFirst();
+                queue.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Acknowledge a delivered entry, retrying with backoff while the ack
+     * file cannot be written so the relay never dies on an I/O error
+     * @return false if the relay was stopped before the entry was acknowledged
+     */
+    private boolean acknowledge(NotificationOutbox.Entry entry) {
+        long backoff = initialBackoffMillis;
+        while (true) {
+            try {
+                outbox.acknowledge(entry.getSequence());
+                return true;
+            } catch (UncheckedIOException e) {
+                log.error("[Outbox] Cannot acknowledge #" + entry.getSequence() + ", retrying in "
+                        + backoff + " ms: " + e.getMessage());
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return false;
+            }
+            backoff = Math.min(Math.max(backoff * 2, 1), MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * Deliver one entry to every subscriber, retrying the ones that fail
+     * @return false if the relay was stopped before the entry was finished
+     */
+    private boolean deliverEntry(NotificationOutbox.Entry entry) {
+        BookingNotification notification = entry.getNotification();
+        BookingObserver[] observers = getSubscribers(notification.getEvent());
+        boolean[] done = new boolean[observers.length];
+        int[] attempts = new int[observers.length];
+        int remaining = observers.length;
+        long backoff = initialBackoffMillis;
+        while (remaining > 0) {
+            for (int i = 0; i < observers.length; i++) {
+                if (done[i]) {
+                    continue;
+                }
+                try {
+                    // An open circuit is not an attempt: the entry waits for the probe
+                    if (tryDeliver(observers[i], notification)) {
+                        delivered.incrementAndGet();
+                        done[i] = true;
+                        remaining--;
+                    }
+                } catch (RuntimeException e) {
+                    int attempt = ++attempts[i];
+                    if (attempt >= maxAttempts) {
+                        failed.incrementAndGet();
+                        done[i] = true;
+                        remaining--;
+                        log.warn("[Outbox] Giving up on " + observers[i].getClass().getSimpleName()
+                                + " for " + notification.getEvent() + " #" + entry.getSequence()
+                                + " after " + attempt + " attempts: " + e.getMessage());
+                    } else {
+                        retries.incrementAndGet();
+                    }
+                }
+            }
+            if (remaining > 0) {
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+                backoff = Math.min(Math.max(backoff * 2, 1), MAX_BACKOFF_MILLIS);
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,279 @@
+package org.cinema.observer;
+
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.util.logging.Logger;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Subject that dispatches events asynchronously through two priority lanes.
+ * Transactional events (payment results and confirmations by default) go
+ * to the HIGH lane, everything else to the LOW lane. Each lane has its own
+ * bounded queue and worker threads, so a backlog of informational events
+ * never delays a confirmation. By default a full lane blocks the publisher;
+ * a LanePolicy may instead drop the new event or the oldest queued one, in
+ * which case any event routed to that lane may be lost under load.
+ * Events in different lanes may be delivered out of publication order.
+ * Pattern: Observer (Behavioral)
+ */
+public class PriorityBookingSubject extends BookingSubject implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(PriorityBookingSubject.class);
+
+    public enum Lane {
+        HIGH, LOW
+    }
+
+    public static final Set<BookingEvent> DEFAULT_HIGH_PRIORITY_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            BookingEvent.PAYMENT_COMPLETED, BookingEvent.CONFIRMED, BookingEvent.PAYMENT_FAILED));
+
+    // Poison pill that stops one lane worker
+    private static final BookingNotification SHUTDOWN =
+            BookingNotification.builder(null, BookingEvent.CANCELLED).build();
+
+    private final Set<BookingEvent> highPriorityEvents;
+    private final DispatchLane high;
+    private final DispatchLane low;
+
+    public PriorityBookingSubject() {
+        this(LanePolicy.DEFAULT_HIGH, LanePolicy.DEFAULT_LOW, DEFAULT_HIGH_PRIORITY_EVENTS);
+    }
+
+    /**
+     * @param highPolicy Policy for the HIGH lane
+     * @param lowPolicy Policy for the LOW lane
+     * @param highPriorityEvents Events routed to the HIGH lane
+     */
+    public PriorityBookingSubject(LanePolicy highPolicy, LanePolicy lowPolicy, Set<BookingEvent> highPriorityEvents) {
+        if (highPolicy == null || lowPolicy == null || highPriorityEvents == null) {
+            throw new IllegalArgumentException("Lane policies and high priority events are required");
+        }
+        EnumSet<BookingEvent> events = EnumSet.noneOf(BookingEvent.class);
+        events.addAll(highPriorityEvents);
+        this.highPriorityEvents = Collections.unmodifiableSet(events);
+        this.high = new DispatchLane(Lane.HIGH, highPolicy);
+        this.low = new DispatchLane(Lane.LOW, lowPolicy);
+        high.start();
+        low.start();
+    }
+
+    /**
+     * Queue the event on its lane and return, subject to the lane's overflow policy
+     */
+    @Override
+    public void notifyObservers(BookingNotification notification) {
+        laneFor(notification.getEvent()).submit(notification);
+    }
+
+    /**
+     * Get the lane an event type is dispatched on
+     */
+    public Lane getLane(BookingEvent event) {
+        return highPriorityEvents.contains(event) ? Lane.HIGH : Lane.LOW;
+    }
+
+    /**
+     * Wait until both lanes have delivered everything queued
+     * @return true if both lanes drained before the timeout
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return high.awaitEmpty(deadline) && low.awaitEmpty(deadline);
+    }
+
+    /**
+     * Get number of events queued or being delivered on a lane
+     */
+    public int getPendingEventCount(Lane lane) {
+        return lane(lane).pending();
+    }
+
+    /**
+     * Get number of events a lane discarded because its queue was full
+     */
+    public long getDroppedCount(Lane lane) {
+        return lane(lane).dropped.sum();
+    }
+
+    /**
+     * Stop all lane workers after they deliver what is already queued
+     */
+    @Override
+    public void close() {
+        high.close();
+        low.close();
+    }
+
+    private DispatchLane laneFor(BookingEvent event) {
+        return highPriorityEvents.contains(event) ? high : low;
+    }
+
+    private DispatchLane lane(Lane lane) {
+        return lane == Lane.HIGH ? high : low;
+    }
+
+    /**
+     * Bounded queue plus worker threads for one priority level.
+     * Submits and close() share submitLock, so no event is ever queued behind
+     * the shutdown markers and a drop never removes a marker. Workers never
+     * take submitLock, so a publisher blocked on a full queue cannot stop
+     * them from draining.
+     */
+    private final class DispatchLane implements Runnable {
+        private final Lane lane;
+        private final LanePolicy policy;
+        private final BlockingQueue<BookingNotification> queue;
+        private final Thread[] workers;
+        private final LongAdder dropped = new LongAdder();
+        private final Object submitLock = new Object();
+        private boolean closed; // guarded by submitLock
+        private int inFlight; // queued but not yet delivered, guarded by this
+
+        DispatchLane(Lane lane, LanePolicy policy) {
+            this.lane = lane;
+            this.policy = policy;
+            this.queue = new ArrayBlockingQueue<>(policy.getCapacity());
+            this.workers = new Thread[policy.getWorkers()];
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = new Thread(this, "booking-lane-" + lane.name().toLowerCase() + "-" + (i + 1));
+                workers[i].setDaemon(true);
+            }
+        }
+
+        void start() {
+            for (Thread worker : workers) {
+                worker.start();
+            }
+        }
+
+        void submit(BookingNotification notification) {
+            synchronized (submitLock) {
+                if (closed) {
+                    throw new IllegalStateException("Priority subject is closed");
+                }
+                synchronized (this) {
+                    inFlight++;
+                }
+                switch (policy.getOverflow()) {
+                    case BLOCK:
+                        try {
+                            queue.put(notification);
+                        } catch (InterruptedException e) {
+                            markDelivered();
+                            Thread.currentThread().interrupt();
+                        }
+                        break;
+                    case DROP_NEWEST:
+                        if (!queue.offer(notification)) {
+                            drop(notification);
+                        }
+                        break;
+                    case DROP_OLDEST:
+                        // The lane is open, so the queue holds no shutdown markers to poll
+                        while (!queue.offer(notification)) {
+                            BookingNotification oldest = queue.poll();
+                            if (oldest != null) {
+                                drop(oldest);
+                            }
+                        }
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown overflow policy " + policy.getOverflow());
+                }
+            }
+        }
+
+        private void drop(BookingNotification notification) {
+            dropped.increment();
+            markDelivered();
+            log.warn(() -> "[Subject] " + lane + " lane full, dropped " + notification.getEvent()
+                    + " for " + notification.getBookingId());
+        }
+
+        void close() {
+            synchronized (submitLock) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                for (int i = 0; i < workers.length; i++) {
+                    try {
+                        queue.put(SHUTDOWN);
+                    } catch (InterruptedException e) {
+                        for (Thread worker : workers) {
+                            worker.interrupt();
+                        }
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        synchronized int pending() {
+            return inFlight;
+        }
+
+        synchronized boolean awaitEmpty(long deadline) throws InterruptedException {
+            while (inFlight > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+
+        private synchronized void markDelivered() {
+            if (--inFlight == 0) {
+                notifyAll();
+            }
+        }
+
+        private void discardQueued() {
+            BookingNotification notification;
+            while ((notification = queue.poll()) != null) {
+                if (notification != SHUTDOWN) {
+                    log.warn("[Subject] Dropped " + notification.getEvent() + " for " + notification.getBookingId()
+                            + " on " + lane + " lane shutdown");
+                    markDelivered();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                BookingNotification notification;
+                try {
+                    notification = queue.take();
+                } catch (InterruptedException e) {
+                    // Only an interrupted close() stops us early, and it has already closed the lane
+                    discardQueued();
+                    return;
+                }
+                if (notification == SHUTDOWN) {
+                    return;
+                }
+                try {
+                    for (BookingObserver observer : getSubscribers(notification.getEvent())) {
+                        try {
+                            deliver(observer, notification);
+                        } catch (RuntimeException e) {
+                            log.warn("[Subject] Observer " + observer.getClass().getSimpleName()
+                                    + " failed on " + notification.getEvent() + ": " + e.getMessage());
+                        }
+                    }
+                } finally {
+                    markDelivered();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package org.cinema.observer;
+
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.util.logging.Logger;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Subject backed by a preallocated ring buffer (Disruptor style).
+ * Publishers claim a sequence, copy the event into a reused slot and mark it
+ * published; every observer has its own consumer thread that follows the
+ * published sequence and reads slots in place. No per-event queue nodes or
+ * holder objects are allocated. Consumers skip events their observer is
+ * not subscribed to. Publishers never overwrite a slot the
+ * slowest consumer has not processed yet, so a full ring blocks publishing.
+ * Pattern: Observer (Behavioral)
+ */
+public class RingBufferBookingSubject extends BookingSubject implements AutoCloseable {
+    private static final Logger log = Logger.getLogger(RingBufferBookingSubject.class);
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    private final int bufferSize;
+    private final int indexMask;
+    private final int indexShift;
+    private final EventSlot[] slots;
+    // Round number (sequence >>> indexShift) of the last publish into each slot
+    private final AtomicIntegerArray published;
+    // Next sequence to claim
+    private final AtomicLong cursor = new AtomicLong(0);
+    private final WaitStrategy waitStrategy;
+
+    private volatile Consumer[] consumers = new Consumer[0];
+
+    public RingBufferBookingSubject() {
+        this(DEFAULT_BUFFER_SIZE, WaitStrategy.sleeping());
+    }
+
+    /**
+     * @param bufferSize Number of slots, must be a power of two
+     * @param waitStrategy How consumers wait for new events
+     */
+    public RingBufferBookingSubject(int bufferSize, WaitStrategy waitStrategy) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size must be a positive power of two");
+        }
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("WaitStrategy cannot be null");
+        }
+        this.bufferSize = bufferSize;
+        this.indexMask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.waitStrategy = waitStrategy;
+        this.slots = new EventSlot[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            slots[i] = new EventSlot();
+        }
+        this.published = new AtomicIntegerArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    @Override
+    public synchronized void attach(BookingObserver observer) {
+        int before = getObserverCount();
+        super.attach(observer);
+        if (getObserverCount() > before) {
+            // New consumers only see events claimed after they joined
+            Consumer consumer = new Consumer(observer, cursor.get() - 1);
+            Consumer[] current = consumers;
+            Consumer[] updated = new Consumer[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = consumer;
+            consumers = updated;
+            consumer.start();
+        }
+    }
+
+    @Override
+    public synchronized void detach(BookingObserver observer) {
+        super.detach(observer);
+        Consumer[] current = consumers;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].observer == observer) {
+                Consumer[] updated = new Consumer[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                consumers = updated;
+                current[i].halt();
+                waitStrategy.signalAll();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Copy the event into the next free slot and publish it
+     */
+    @Override
+    public void notifyObservers(BookingNotification notification) {
+        if (consumers.length == 0) {
+            return;
+        }
+        long sequence = cursor.getAndIncrement();
+        awaitCapacity(sequence);
+
+        EventSlot slot = slots[(int) sequence & indexMask];
+        slot.notification = notification;
+
+        published.set((int) sequence & indexMask, (int) (sequence >>> indexShift));
+        waitStrategy.signalAll();
+    }
+
+    /**
+     * Wait until every consumer has processed all claimed events
+     * @return true if consumers caught up before the timeout
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long target = cursor.get() - 1;
+        while (minimumConsumerSequence(target) < target) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(50_000);
+        }
+        return true;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Get number of claimed events the slowest consumer has not processed yet
+     */
+    public long getBacklog() {
+        long last = cursor.get() - 1;
+        return last - minimumConsumerSequence(last);
+    }
+
+    /**
+     * Stop all consumer threads once they have drained the buffer
+     */
+    @Override
+    public synchronized void close() {
+        for (Consumer consumer : consumers) {
+            consumer.drainAndStop();
+        }
+        consumers = new Consumer[0];
+        waitStrategy.signalAll();
+    }
+
+    private void awaitCapacity(long sequence) {
+        long wrapPoint = sequence - bufferSize;
+        while (minimumConsumerSequence(wrapPoint) < wrapPoint) {
+            LockSupport.parkNanos(1);
+        }
+    }
+
+    private long minimumConsumerSequence(long ceiling) {
+        long minimum = ceiling;
+        for (Consumer consumer : consumers) {
+            long sequence = consumer.sequence.get();
+            if (sequence < minimum) {
+                minimum = sequence;
+            }
+        }
+        return minimum;
+    }
+
+    private boolean isPublished(long sequence) {
+        return published.get((int) sequence & indexMask) == (int) (sequence >>> indexShift);
+    }
+
+    /**
+     * Reusable event slot, written by one publisher per round
+     */
+    private static final class EventSlot {
+        private BookingNotification notification;
+    }
+
+    /**
+     * Consumer thread following the published sequence for one observer
+     */
+    private final class Consumer implements Runnable {
+        private final BookingObserver observer;
+        private final Set<BookingEvent> subscribedEvents;
+        // Last sequence this consumer has fully processed
+        private final AtomicLong sequence;
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile boolean draining = false;
+
+        Consumer(BookingObserver observer, long initialSequence) {
+            this.observer = observer;
+            this.subscribedEvents = EnumSet.noneOf(BookingEvent.class);
+            this.subscribedEvents.addAll(observer.getSubscribedEvents());
+            this.sequence = new AtomicLong(initialSequence);
+            this.thread = new Thread(this, "booking-ring-" + observer.getClass().getSimpleName());
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        /**
+         * Stop immediately; used on detach, when the slots are no longer protected for this consumer
+         */
+        void halt() {
+            running = false;
+        }
+
+        /**
+         * Stop once everything claimed so far has been processed
+         */
+        void drainAndStop() {
+            draining = true;
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int attempt = 0;
+            while (running) {
+                if (!isPublished(next)) {
+                    if (draining && next >= cursor.get()) {
+                        return;
+                    }
+                    try {
+                        waitStrategy.idle(attempt++);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    continue;
+                }
+                attempt = 0;
+
+                // Process every contiguous published event before updating the gating sequence
+                long available = next;
+                while (isPublished(available + 1)) {
+                    available++;
+                }
+                for (long s = next; s <= available; s++) {
+                    EventSlot slot = slots[(int) s & indexMask];
+                    if (!subscribedEvents.contains(slot.notification.getEvent())) {
+                        continue;
+                    }
+                    try {
+                        deliver(observer, slot.notification);
+                    } catch (RuntimeException e) {
+                        log.warn("[Subject] Observer " + observer.getClass().getSimpleName()
+                                + " failed on " + slot.notification.getEvent() + ": " + e.getMessage());
+                    }
+                }
+                sequence.lazySet(available);
+                next = available + 1;
+            }
+        }
+    }
+}
@@ -1,82 +1,152 @@
 package org.cinema.observer;
 
 import org.cinema.model.enums.BookingEvent;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import org.cinema.notification.LoggingSmsTransport;
+import org.cinema.notification.NotificationTemplate;
+import org.cinema.notification.SmsThrottle;
+import org.cinema.notification.SmsThrottlePolicy;
+import org.cinema.notification.SmsTransport;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Concrete Observer for SMS notifications
+ * Sends one SMS per event by default. With a throttle policy, events are
+ * coalesced and rate limited per phone number before sending.
  * Student 3: ERNAR
  * Pattern: Observer (Behavioral)
  */
-public class SMSNotificationObserver implements BookingObserver {
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
+public class SMSNotificationObserver implements BookingObserver, AutoCloseable {
+    private static final Map<BookingEvent, NotificationTemplate> TEMPLATES = compileTemplates();
+    // Rendering buffer reused by each thread
+    private static final ThreadLocal<StringBuilder> CONTENT_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(160));
+
+    /**
+     * Events customers receive an SMS for.
+     * CREATED and PAYMENT_COMPLETED are left out because CONFIRMED follows
+     * them immediately on the happy path.
+     */
+    public static final Set<BookingEvent> DEFAULT_EVENTS = Collections.unmodifiableSet(EnumSet.of(
+            BookingEvent.CONFIRMED, BookingEvent.CANCELLED, BookingEvent.PAYMENT_FAILED,
+            BookingEvent.SEATS_RESERVED, BookingEvent.SEATS_RELEASED));
+
+    private final Set<BookingEvent> subscribedEvents;
+    private final SmsTransport transport;
+    private final SmsThrottle throttle; // null when sending every event immediately
+
+    public SMSNotificationObserver() {
+        this(DEFAULT_EVENTS);
+    }
+
+    /**
+     * @param subscribedEvents Events to send SMS messages for
+     */
+    public SMSNotificationObserver(Set<BookingEvent> subscribedEvents) {
+        this(subscribedEvents, new LoggingSmsTransport(), null);
+    }
+
+    /**
+     * @param subscribedEvents Events to send SMS messages for
+     * @param transport Where SMS messages are sent
+     * @param throttlePolicy Per-phone coalescing and rate limits, or null to send every event immediately
+     */
+    public SMSNotificationObserver(Set<BookingEvent> subscribedEvents, SmsTransport transport,
+                                   SmsThrottlePolicy throttlePolicy) {
+        EnumSet<BookingEvent> events = EnumSet.noneOf(BookingEvent.class);
+        events.addAll(subscribedEvents);
+        this.subscribedEvents = Collections.unmodifiableSet(events);
+        this.transport = transport;
+        this.throttle = throttlePolicy != null ? new SmsThrottle(throttlePolicy, this::sendSMS) : null;
+    }
+
+    @Override
+    public Set<BookingEvent> getSubscribedEvents() {
+        return subscribedEvents;
+    }
 
     @Override
     public void update(String bookingId, BookingEvent event, String customerEmail,
                        String customerPhone, String details) {
-        String smsContent = buildSMSContent(bookingId, event, details);
-        sendSMS(customerPhone, smsContent);
+        onEvent(BookingNotification.of(bookingId, event, customerEmail, customerPhone, details));
+    }
+
+    @Override
+    public void onEvent(BookingNotification notification) {
+        if (throttle != null) {
+            throttle.offer(notification);
+        } else {
+            sendSMS(notification);
+        }
+    }
+
+    /**
+     * Get the per-phone throttle, or null if every event is sent immediately
+     */
+    public SmsThrottle getThrottle() {
+        return throttle;
+    }
+
+    /**
+     * Stop the throttle's sender thread
+     */
+    @Override
+    public void close() {
+        if (throttle != null) {
+            throttle.close();
+        }
     }
 
     /**
      * Build concise SMS content based on event type
-     * SMS messages are kept short due to character limitations
+     * SMS messages are kept short due to character limitations.
+     * The returned buffer is reused by the calling thread.
      */
-    private String buildSMSContent(String bookingId, BookingEvent event, String details) {
-        String time = LocalDateTime.now().format(formatter);
-        StringBuilder sms = new StringBuilder();
+    private static CharSequence buildSMSContent(BookingNotification notification) {
+        StringBuilder sms = CONTENT_BUFFER.get();
+        sms.setLength(0);
+        TEMPLATES.get(notification.getEvent()).renderTo(sms, notification, null);
+        return sms;
+    }
 
+    /**
+     * Template source for each event type
+     */
+    private static String templateFor(BookingEvent event) {
         switch (event) {
             case CREATED:
-                sms.append("[Cinema] Booking created: ").append(bookingId, 0, 8)
-                        .append("... Please complete payment.");
-                break;
-
+                return "[Cinema] Booking created: {shortId}... Please complete payment.";
             case CONFIRMED:
-                sms.append("[Cinema] CONFIRMED! Booking: ").append(bookingId, 0, 8)
-                        .append("... See you at the cinema!");
-                break;
-
+                return "[Cinema] CONFIRMED! Booking: {shortId}... See you at the cinema!";
             case PAYMENT_COMPLETED:
-                sms.append("[Cinema] Payment successful for booking: ")
-                        .append(bookingId, 0, 8).append("...");
-                break;
-
+                return "[Cinema] Payment successful for booking: {shortId}...";
             case CANCELLED:
-                sms.append("[Cinema] Booking cancelled: ").append(bookingId, 0, 8)
-                        .append("... Refund in 5-7 days.");
-                break;
-
+                return "[Cinema] Booking cancelled: {shortId}... Refund in 5-7 days.";
             case PAYMENT_FAILED:
-                sms.append("[Cinema] Payment failed for: ").append(bookingId, 0, 8)
-                        .append("... Please retry.");
-                break;
-
+                return "[Cinema] Payment failed for: {shortId}... Please retry.";
             case SEATS_RESERVED:
-                sms.append("[Cinema] Seats reserved: ").append(details);
-                break;
-
+                return "[Cinema] Seats reserved: {details}";
             case SEATS_RELEASED:
-                sms.append("[Cinema] Seats released for: ").append(bookingId, 0, 8).append("...");
-                break;
-
+                return "[Cinema] Seats released for: {shortId}...";
             default:
-                sms.append("[Cinema] Update for: ").append(bookingId, 0, 8)
-                        .append("... ").append(event);
-                break;
+                return "[Cinema] Update for: {shortId}... {event}";
         }
+    }
 
-        return sms.toString();
+    private static Map<BookingEvent, NotificationTemplate> compileTemplates() {
+        Map<BookingEvent, NotificationTemplate> templates = new EnumMap<>(BookingEvent.class);
+        for (BookingEvent event : BookingEvent.values()) {
+            templates.put(event, NotificationTemplate.compile(templateFor(event)));
+        }
+        return templates;
     }
 
     /**
-     * Simulate sending SMS (mock implementation)
+     * Render the SMS and hand it to the transport
      */
-    private void sendSMS(String phoneNumber, String content) {
-        System.out.println("\n[SMSObserver] Sending SMS to: " + phoneNumber);
-        System.out.println("┌─────────────────────────────────────────────┐");
-        System.out.println("│ " + String.format("%-43s", content) + " │");
-        System.out.println("└─────────────────────────────────────────────┘");
+    private void sendSMS(BookingNotification notification) {
+        transport.send(notification, buildSMSContent(notification));
     }
-}
\ No newline at end of file
+}
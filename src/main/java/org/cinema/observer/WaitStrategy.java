@@ -0,0 +1,120 @@
+package org.cinema.observer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * How a ring buffer consumer waits for the next event to be published.
+ * Trades latency against CPU usage:
+ * busySpin - lowest latency, burns a core per consumer
+ * yielding - near busy-spin latency, gives the core away between checks
+ * sleeping - spins briefly then parks, low CPU when idle
+ * blocking - lock and condition, lowest CPU but a lock on every publish
+ */
+public interface WaitStrategy {
+
+    /**
+     * Called while the awaited sequence is not yet available
+     * @param attempt Number of times the consumer has already waited for this sequence
+     */
+    void idle(int attempt) throws InterruptedException;
+
+    /**
+     * Called by producers after publishing
+     */
+    void signalAll();
+
+    static WaitStrategy busySpin() {
+        return new WaitStrategy() {
+            @Override
+            public void idle(int attempt) {
+                Thread.onSpinWait();
+            }
+
+            @Override
+            public void signalAll() {
+            }
+        };
+    }
+
+    static WaitStrategy yielding() {
+        return new WaitStrategy() {
+            private static final int SPIN_TRIES = 100;
+
+            @Override
+            public void idle(int attempt) {
+                if (attempt < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+
+            @Override
+            public void signalAll() {
+            }
+        };
+    }
+
+    static WaitStrategy sleeping() {
+        return new WaitStrategy() {
+            private static final int SPIN_TRIES = 100;
+            private static final int YIELD_TRIES = 200;
+            private static final long PARK_NANOS = 100_000;
+
+            @Override
+            public void idle(int attempt) throws InterruptedException {
+                if (attempt < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (attempt < YIELD_TRIES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+            }
+
+            @Override
+            public void signalAll() {
+            }
+        };
+    }
+
+    static WaitStrategy blocking() {
+        return new WaitStrategy() {
+            private final ReentrantLock lock = new ReentrantLock();
+            private final Condition published = lock.newCondition();
+            private volatile int waiters;
+
+            @Override
+            public void idle(int attempt) throws InterruptedException {
+                lock.lock();
+                try {
+                    waiters++;
+                    // Timed wait guards against a publish racing the waiter registration
+                    published.await(1, TimeUnit.MILLISECONDS);
+                } finally {
+                    waiters--;
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public void signalAll() {
+                if (waiters == 0) {
+                    return;
+                }
+                lock.lock();
+                try {
+                    published.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package org.cinema.repository;
+
+import org.cinema.model.Movie;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable, versioned view of the movie catalog.
+ * Built once per catalog change by MovieRepository and shared by all readers,
+ * together with a pre-serialized JSON form so unchanged catalogs can be
+ * served without copying or re-encoding.
+ */
+public final class CatalogSnapshot {
+    private final long version;
+    private final List<Movie> movies;
+    private final byte[] serialized;
+
+    CatalogSnapshot(long version, List<Movie> movies) {
+        this.version = version;
+        this.movies = List.copyOf(movies);
+        this.serialized = serialize(version, this.movies);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Movies in this version of the catalog (unmodifiable)
+     */
+    public List<Movie> getMovies() {
+        return movies;
+    }
+
+    /**
+     * Check whether this snapshot is newer than a version the caller already has
+     */
+    public boolean isNewerThan(long knownVersion) {
+        return version != knownVersion;
+    }
+
+    public int getSerializedSize() {
+        return serialized.length;
+    }
+
+    /**
+     * Write the pre-serialized JSON form without copying it
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(serialized);
+    }
+
+    /**
+     * Copy of the pre-serialized JSON form
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(serialized, serialized.length);
+    }
+
+    private static byte[] serialize(long version, List<Movie> movies) {
+        StringBuilder json = new StringBuilder(64 + movies.size() * 96);
+        json.append("{\"version\":").append(version).append(",\"movies\":[");
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(movie.getId());
+            json.append(",\"title\":");
+            appendString(json, movie.getTitle());
+            json.append(",\"genre\":");
+            appendString(json, movie.getGenre());
+            json.append(",\"format\":");
+            appendString(json, movie.getFormat());
+            json.append(",\"duration\":").append(movie.getDuration()).append('}');
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                    break;
+            }
+        }
+        json.append('"');
+    }
+}
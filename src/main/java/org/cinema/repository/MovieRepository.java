@@ -3,16 +3,22 @@ package org.cinema.repository;
 import org.cinema.model.Movie;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MovieRepository {
     private static MovieRepository instance;
     private Map<Integer, Movie> movieStore;
 
+    // Catalog version, bumped on every write; the snapshot is rebuilt lazily
+    private long catalogVersion;
+    private volatile CatalogSnapshot catalog;
+
     private MovieRepository() {
-        this.movieStore = new HashMap<>();
+        this.movieStore = new ConcurrentHashMap<>();
+        this.catalog = new CatalogSnapshot(0, List.of());
     }
 
     public static MovieRepository getInstance() {
@@ -22,21 +28,30 @@ public class MovieRepository {
         return instance;
     }
 
-    public void save(Movie movie) {
+    /**
+     * Save or replace a movie.
+     * Movies are mutable, so changes made through setters are only published
+     * to catalog readers once the movie is saved again.
+     */
+    public synchronized void save(Movie movie) {
         movieStore.put(movie.getId(), movie);
+        invalidateCatalog();
     }
 
     public Movie findById(int id) {
         return movieStore.get(id);
     }
 
+    /**
+     * Get all movies (unmodifiable, shared between callers until the catalog changes)
+     */
     public List<Movie> findAll() {
-        return new ArrayList<>(movieStore.values());
+        return getCatalog().getMovies();
     }
 
     public List<Movie> findByGenre(String genre) {
         List<Movie> result = new ArrayList<>();
-        for (Movie movie : movieStore.values()) {
+        for (Movie movie : getCatalog().getMovies()) {
             if (movie.getGenre().equalsIgnoreCase(genre)) {
                 result.add(movie);
             }
@@ -44,7 +59,53 @@ public class MovieRepository {
         return result;
     }
 
-    public void clear() {
+    public synchronized void clear() {
         movieStore.clear();
+        invalidateCatalog();
+    }
+
+    /**
+     * Get current catalog version
+     */
+    public long getCatalogVersion() {
+        return getCatalog().getVersion();
+    }
+
+    /**
+     * Get current catalog snapshot.
+     * Unchanged catalogs are served from the cached snapshot without copying.
+     */
+    public CatalogSnapshot getCatalog() {
+        CatalogSnapshot snapshot = catalog;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return rebuildCatalog();
+    }
+
+    /**
+     * Get catalog snapshot only if it changed since the given version
+     * @param knownVersion Version the caller already has
+     * @return New snapshot, or null if the catalog is unchanged
+     */
+    public CatalogSnapshot getCatalogIfChanged(long knownVersion) {
+        CatalogSnapshot snapshot = getCatalog();
+        return snapshot.isNewerThan(knownVersion) ? snapshot : null;
+    }
+
+    private void invalidateCatalog() {
+        catalogVersion++;
+        catalog = null;
+    }
+
+    private synchronized CatalogSnapshot rebuildCatalog() {
+        CatalogSnapshot snapshot = catalog;
+        if (snapshot == null) {
+            List<Movie> movies = new ArrayList<>(movieStore.values());
+            movies.sort(Comparator.comparingInt(Movie::getId));
+            snapshot = new CatalogSnapshot(catalogVersion, movies);
+            catalog = snapshot;
+        }
+        return snapshot;
     }
 }
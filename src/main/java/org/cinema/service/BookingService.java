@@ -1,7 +1,12 @@
 package org.cinema.service;
 
+import org.cinema.model.Money;
 import org.cinema.model.enums.BookingEvent;
+import org.cinema.observer.BookingNotification;
 import org.cinema.observer.BookingSubject;
+import org.cinema.util.logging.Logger;
+
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -12,6 +17,7 @@ import java.util.UUID;
  * Student 3: ERNAR
  */
 public class BookingService {
+    private static final Logger log = Logger.getLogger(BookingService.class);
     private BookingSubject bookingSubject;
     private Map<String, BookingData> bookings;
 
@@ -24,24 +30,43 @@ public class BookingService {
      * Create a new booking
      */
     public String createBooking(String customerEmail, String customerPhone,
-                                String movieTitle, int seatCount, double totalAmount) {
+                                String movieTitle, int seatCount, Money totalAmount) {
+        return createBooking(customerEmail, customerPhone, movieTitle, seatCount, totalAmount, null);
+    }
+
+    /**
+     * Create a new booking for a specific showtime
+     */
+    public String createBooking(String customerEmail, String customerPhone,
+                                String movieTitle, int seatCount, Money totalAmount,
+                                LocalDateTime showtime) {
+        return createBooking(customerEmail, customerPhone, movieTitle, seatCount, totalAmount, showtime, null);
+    }
+
+    /**
+     * Create a new booking for a specific showtime in a specific hall
+     */
+    public String createBooking(String customerEmail, String customerPhone,
+                                String movieTitle, int seatCount, Money totalAmount,
+                                LocalDateTime showtime, String hall) {
         String bookingId = generateBookingId();
 
         // Create booking data
         BookingData bookingData = new BookingData(
                 bookingId, customerEmail, customerPhone,
-                movieTitle, seatCount, totalAmount
+                movieTitle, seatCount, totalAmount, showtime, hall
         );
 
         bookings.put(bookingId, bookingData);
 
         // Notify observers
-        String details = String.format("Movie: %s, Seats: %d, Amount: $%.2f",
-                movieTitle, seatCount, totalAmount);
-        bookingSubject.notifyObservers(bookingId, BookingEvent.CREATED,
-                customerEmail, customerPhone, details);
+        String details = String.format("Movie: %s, Seats: %d, Amount: %s",
+                movieTitle, seatCount, totalAmount.format());
+        bookingSubject.notifyObservers(eventFor(bookingData, BookingEvent.CREATED)
+                .details(details)
+                .build());
 
-        System.out.println("\n[BookingService] Booking created: " + bookingId);
+        log.info(() -> "\n[BookingService] Booking created: " + bookingId);
         return bookingId;
     }
 
@@ -51,25 +76,25 @@ public class BookingService {
     public boolean confirmBooking(String bookingId) {
         BookingData booking = bookings.get(bookingId);
         if (booking == null) {
-            System.out.println("[BookingService] ERROR: Booking not found: " + bookingId);
+            log.error(() -> "[BookingService] Booking not found: " + bookingId);
             return false;
         }
 
         if (booking.isConfirmed()) {
-            System.out.println("[BookingService] Booking already confirmed: " + bookingId);
+            log.debug(() -> "[BookingService] Booking already confirmed: " + bookingId);
             return true;
         }
 
         booking.setConfirmed(true);
 
-        String details = String.format("Movie: %s, Seats: %d, Total: $%.2f - CONFIRMED",
+        String details = String.format("Movie: %s, Seats: %d, Total: %s - CONFIRMED",
                 booking.getMovieTitle(), booking.getSeatCount(),
-                booking.getTotalAmount());
-        bookingSubject.notifyObservers(bookingId, BookingEvent.CONFIRMED,
-                booking.getCustomerEmail(),
-                booking.getCustomerPhone(), details);
+                booking.getTotalAmount().format());
+        bookingSubject.notifyObservers(eventFor(booking, BookingEvent.CONFIRMED)
+                .details(details)
+                .build());
 
-        System.out.println("[BookingService] Booking confirmed: " + bookingId);
+        log.info(() -> "[BookingService] Booking confirmed: " + bookingId);
         return true;
     }
 
@@ -79,30 +104,29 @@ public class BookingService {
     public boolean cancelBooking(String bookingId) {
         BookingData booking = bookings.get(bookingId);
         if (booking == null) {
-            System.out.println("[BookingService] ERROR: Booking not found: " + bookingId);
+            log.error(() -> "[BookingService] Booking not found: " + bookingId);
             return false;
         }
 
         if (booking.isCancelled()) {
-            System.out.println("[BookingService] Booking already cancelled: " + bookingId);
+            log.debug(() -> "[BookingService] Booking already cancelled: " + bookingId);
             return true;
         }
 
         booking.setCancelled(true);
 
-        String details = String.format("Booking cancelled. Refund: $%.2f",
-                booking.getTotalAmount());
-        bookingSubject.notifyObservers(bookingId, BookingEvent.CANCELLED,
-                booking.getCustomerEmail(),
-                booking.getCustomerPhone(), details);
+        String details = String.format("Booking cancelled. Refund: %s",
+                booking.getTotalAmount().format());
+        bookingSubject.notifyObservers(eventFor(booking, BookingEvent.CANCELLED)
+                .details(details)
+                .build());
 
         // Release seats
-        bookingSubject.notifyObservers(bookingId, BookingEvent.SEATS_RELEASED,
-                booking.getCustomerEmail(),
-                booking.getCustomerPhone(),
-                booking.getSeatCount() + " seats released");
+        bookingSubject.notifyObservers(eventFor(booking, BookingEvent.SEATS_RELEASED)
+                .details(booking.getSeatCount() + " seats released")
+                .build());
 
-        System.out.println("[BookingService] Booking cancelled: " + bookingId);
+        log.info(() -> "[BookingService] Booking cancelled: " + bookingId);
         return true;
     }
 
@@ -112,14 +136,14 @@ public class BookingService {
     public void reserveSeats(String bookingId) {
         BookingData booking = bookings.get(bookingId);
         if (booking == null) {
-            System.out.println("[BookingService] ERROR: Booking not found: " + bookingId);
+            log.error(() -> "[BookingService] Booking not found: " + bookingId);
             return;
         }
 
         String details = booking.getSeatCount() + " seats reserved for " + booking.getMovieTitle();
-        bookingSubject.notifyObservers(bookingId, BookingEvent.SEATS_RESERVED,
-                booking.getCustomerEmail(),
-                booking.getCustomerPhone(), details);
+        bookingSubject.notifyObservers(eventFor(booking, BookingEvent.SEATS_RESERVED)
+                .details(details)
+                .build());
     }
 
     /**
@@ -143,6 +167,20 @@ public class BookingService {
         return bookingSubject;
     }
 
+    /**
+     * Start a typed event carrying the booking's data
+     */
+    private BookingNotification.Builder eventFor(BookingData booking, BookingEvent event) {
+        return BookingNotification.builder(booking.getBookingId(), event)
+                .customerEmail(booking.getCustomerEmail())
+                .customerPhone(booking.getCustomerPhone())
+                .movieTitle(booking.getMovieTitle())
+                .showtime(booking.getShowtime())
+                .hall(booking.getHall())
+                .seatCount(booking.getSeatCount())
+                .amount(booking.getTotalAmount());
+    }
+
     /**
      * Generate unique booking ID
      */
@@ -159,18 +197,34 @@ public class BookingService {
         private String customerPhone;
         private String movieTitle;
         private int seatCount;
-        private double totalAmount;
+        private Money totalAmount;
+        private LocalDateTime showtime;
+        private String hall;
         private boolean confirmed;
         private boolean cancelled;
 
         public BookingData(String bookingId, String customerEmail, String customerPhone,
-                           String movieTitle, int seatCount, double totalAmount) {
+                           String movieTitle, int seatCount, Money totalAmount) {
+            this(bookingId, customerEmail, customerPhone, movieTitle, seatCount, totalAmount, null);
+        }
+
+        public BookingData(String bookingId, String customerEmail, String customerPhone,
+                           String movieTitle, int seatCount, Money totalAmount,
+                           LocalDateTime showtime) {
+            this(bookingId, customerEmail, customerPhone, movieTitle, seatCount, totalAmount, showtime, null);
+        }
+
+        public BookingData(String bookingId, String customerEmail, String customerPhone,
+                           String movieTitle, int seatCount, Money totalAmount,
+                           LocalDateTime showtime, String hall) {
             this.bookingId = bookingId;
             this.customerEmail = customerEmail;
             this.customerPhone = customerPhone;
             this.movieTitle = movieTitle;
             this.seatCount = seatCount;
             this.totalAmount = totalAmount;
+            this.showtime = showtime;
+            this.hall = hall;
             this.confirmed = false;
             this.cancelled = false;
         }
@@ -181,7 +235,9 @@ public class BookingService {
         public String getCustomerPhone() { return customerPhone; }
         public String getMovieTitle() { return movieTitle; }
         public int getSeatCount() { return seatCount; }
-        public double getTotalAmount() { return totalAmount; }
+        public Money getTotalAmount() { return totalAmount; }
+        public LocalDateTime getShowtime() { return showtime; }
+        public String getHall() { return hall; }
         public boolean isConfirmed() { return confirmed; }
         public void setConfirmed(boolean confirmed) { this.confirmed = confirmed; }
         public boolean isCancelled() { return cancelled; }
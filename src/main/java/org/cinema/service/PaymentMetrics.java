@@ -0,0 +1,303 @@
+package org.cinema.service;
+
+import org.cinema.model.Money;
+import org.cinema.model.Payment;
+import org.cinema.model.enums.PaymentStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Payment statistics maintained incrementally from payment status changes.
+ * Counts per status and the revenue of completed payments are LongAdders
+ * updated on every transition, so reading them never touches the payments.
+ * Revenue is kept per currency in whole minor units, so it stays exact
+ * however many payments are added up.
+ *
+ * Completions, failures and refunds are also rolled up per minute, hour
+ * and day, per gateway and overall. Each rollup is a ring of buckets; a
+ * bucket is replaced by CAS once its slot comes round to a new interval,
+ * so old intervals age out without a cleanup thread. Rollup amounts are
+ * minor units of the payments' currency; a gateway settles in one currency.
+ */
+public class PaymentMetrics {
+    /** Gateway name under which the rollup across all gateways is kept */
+    public static final String ALL_GATEWAYS = "*";
+
+    /**
+     * Width and retention of a rollup
+     */
+    public enum Resolution {
+        MINUTE(60_000L, 60),
+        HOUR(3_600_000L, 48),
+        DAY(86_400_000L, 30);
+
+        private final long millis;
+        private final int retained;
+
+        Resolution(long millis, int retained) {
+            this.millis = millis;
+            this.retained = retained;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        /**
+         * Number of most recent intervals kept
+         */
+        public int getRetained() {
+            return retained;
+        }
+    }
+
+    private final LongSupplier clock;
+    private final LongAdder created = new LongAdder();
+    private final Map<PaymentStatus, LongAdder> byStatus = new EnumMap<>(PaymentStatus.class);
+    private final Map<Currency, LongAdder> revenue = new ConcurrentHashMap<>();
+    private final Map<String, Rollup[]> rollups = new ConcurrentHashMap<>();
+
+    public PaymentMetrics() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock Wall-clock time source in milliseconds since the epoch
+     */
+    public PaymentMetrics(LongSupplier clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.clock = clock;
+        for (PaymentStatus status : PaymentStatus.values()) {
+            byStatus.put(status, new LongAdder());
+        }
+    }
+
+    /**
+     * Count a new payment; later changes must be reported to onStatusChanged
+     */
+    public void onCreated(Payment payment) {
+        created.increment();
+        PaymentStatus status = payment.getStatus();
+        byStatus.get(status).increment();
+        if (status == PaymentStatus.COMPLETED) {
+            revenueFor(payment.getAmount().getCurrency()).add(payment.getAmount().getMinorUnits());
+        }
+    }
+
+    /**
+     * Move a payment between status counters and record the transition in the rollups
+     */
+    public void onStatusChanged(Payment payment, PaymentStatus previous, PaymentStatus current) {
+        byStatus.get(previous).decrement();
+        byStatus.get(current).increment();
+        Money amount = payment.getAmount();
+        long minorUnits = amount.getMinorUnits();
+        if (current == PaymentStatus.COMPLETED) {
+            revenueFor(amount.getCurrency()).add(minorUnits);
+        } else if (previous == PaymentStatus.COMPLETED) {
+            revenueFor(amount.getCurrency()).add(-minorUnits);
+        }
+
+        if (current != PaymentStatus.COMPLETED && current != PaymentStatus.FAILED
+                && current != PaymentStatus.REFUNDED) {
+            return;
+        }
+        long now = clock.getAsLong();
+        record(rollupsFor(ALL_GATEWAYS), now, current, minorUnits);
+        String gateway = payment.getMethod();
+        if (gateway != null) {
+            record(rollupsFor(gateway), now, current, minorUnits);
+        }
+    }
+
+    public long getTotalCount() {
+        return created.sum();
+    }
+
+    public long getCount(PaymentStatus status) {
+        return byStatus.get(status).sum();
+    }
+
+    /**
+     * Amount held by completed payments in the given currency
+     */
+    public Money getRevenue(Currency currency) {
+        LongAdder total = revenue.get(currency);
+        return Money.ofMinor(total != null ? total.sum() : 0, currency);
+    }
+
+    private LongAdder revenueFor(Currency currency) {
+        LongAdder total = revenue.get(currency);
+        return total != null ? total : revenue.computeIfAbsent(currency, key -> new LongAdder());
+    }
+
+    /**
+     * Get the recent intervals of a gateway's rollup, oldest first.
+     * Intervals without any completion, failure or refund are left out.
+     * @param gateway Gateway key as registered, or ALL_GATEWAYS
+     */
+    public List<TimeBucket> getTimeSeries(String gateway, Resolution resolution) {
+        Rollup[] forGateway = rollups.get(gateway);
+        if (forGateway == null) {
+            return List.of();
+        }
+        return forGateway[resolution.ordinal()].series(clock.getAsLong());
+    }
+
+    private Rollup[] rollupsFor(String gateway) {
+        Rollup[] existing = rollups.get(gateway);
+        if (existing != null) {
+            return existing;
+        }
+        return rollups.computeIfAbsent(gateway, key -> {
+            Resolution[] resolutions = Resolution.values();
+            Rollup[] created = new Rollup[resolutions.length];
+            for (Resolution resolution : resolutions) {
+                created[resolution.ordinal()] = new Rollup(resolution);
+            }
+            return created;
+        });
+    }
+
+    private static void record(Rollup[] forGateway, long now, PaymentStatus status, long minorUnits) {
+        for (Rollup rollup : forGateway) {
+            Bucket bucket = rollup.bucketAt(now);
+            if (bucket == null) {
+                continue;
+            }
+            switch (status) {
+                case COMPLETED:
+                    bucket.completed.increment();
+                    bucket.revenueMinorUnits.add(minorUnits);
+                    break;
+                case FAILED:
+                    bucket.failed.increment();
+                    break;
+                default:
+                    bucket.refunded.increment();
+                    bucket.refundedMinorUnits.add(minorUnits);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Ring of the most recent intervals at one resolution
+     */
+    private static final class Rollup {
+        private final Resolution resolution;
+        private final AtomicReferenceArray<Bucket> slots;
+
+        Rollup(Resolution resolution) {
+            this.resolution = resolution;
+            this.slots = new AtomicReferenceArray<>(resolution.retained);
+        }
+
+        /**
+         * Get the bucket for the interval containing the given time,
+         * replacing the expired bucket in its slot; null if the slot already
+         * holds a later interval (clock stepped back a full ring)
+         */
+        Bucket bucketAt(long now) {
+            long interval = Math.floorDiv(now, resolution.millis);
+            int slot = (int) Math.floorMod(interval, (long) resolution.retained);
+            while (true) {
+                Bucket bucket = slots.get(slot);
+                if (bucket != null && bucket.interval == interval) {
+                    return bucket;
+                }
+                if (bucket != null && bucket.interval > interval) {
+                    return null;
+                }
+                Bucket fresh = new Bucket(interval);
+                if (slots.compareAndSet(slot, bucket, fresh)) {
+                    return fresh;
+                }
+            }
+        }
+
+        List<TimeBucket> series(long now) {
+            long newest = Math.floorDiv(now, resolution.millis);
+            long oldest = newest - resolution.retained + 1;
+            List<TimeBucket> result = new ArrayList<>(resolution.retained);
+            for (int i = 0; i < slots.length(); i++) {
+                Bucket bucket = slots.get(i);
+                if (bucket != null && bucket.interval >= oldest && bucket.interval <= newest) {
+                    result.add(bucket.snapshot(resolution));
+                }
+            }
+            result.sort(Comparator.comparing(TimeBucket::getStart));
+            return result;
+        }
+    }
+
+    private static final class Bucket {
+        private final long interval;
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder refunded = new LongAdder();
+        private final LongAdder revenueMinorUnits = new LongAdder();
+        private final LongAdder refundedMinorUnits = new LongAdder();
+
+        Bucket(long interval) {
+            this.interval = interval;
+        }
+
+        TimeBucket snapshot(Resolution resolution) {
+            return new TimeBucket(Instant.ofEpochMilli(interval * resolution.millis), resolution,
+                    completed.sum(), failed.sum(), refunded.sum(), revenueMinorUnits.sum(), refundedMinorUnits.sum());
+        }
+    }
+
+    /**
+     * Totals of one rollup interval
+     */
+    public static final class TimeBucket {
+        private final Instant start;
+        private final Resolution resolution;
+        private final long completed;
+        private final long failed;
+        private final long refunded;
+        private final long revenueMinorUnits;
+        private final long refundedMinorUnits;
+
+        TimeBucket(Instant start, Resolution resolution, long completed, long failed, long refunded,
+                   long revenueMinorUnits, long refundedMinorUnits) {
+            this.start = start;
+            this.resolution = resolution;
+            this.completed = completed;
+            this.failed = failed;
+            this.refunded = refunded;
+            this.revenueMinorUnits = revenueMinorUnits;
+            this.refundedMinorUnits = refundedMinorUnits;
+        }
+
+        public Instant getStart() { return start; }
+        public Resolution getResolution() { return resolution; }
+        public long getCompleted() { return completed; }
+        public long getFailed() { return failed; }
+        public long getRefunded() { return refunded; }
+        /** Amount of the payments completed in this interval, in minor units */
+        public long getRevenueMinorUnits() { return revenueMinorUnits; }
+        /** Amount refunded in this interval, in minor units */
+        public long getRefundedMinorUnits() { return refundedMinorUnits; }
+
+        @Override
+        public String toString() {
+            return "TimeBucket{" + start + ", completed=" + completed + ", failed=" + failed
+                    + ", refunded=" + refunded + ", revenueMinorUnits=" + revenueMinorUnits + '}';
+        }
+    }
+}
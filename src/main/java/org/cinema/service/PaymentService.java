@@ -1,85 +1,687 @@
 package org.cinema.service;
 
+import org.cinema.adapter.AsyncPaymentGatewayAdapter;
+import org.cinema.adapter.BlockingGatewayAsyncAdapter;
 import org.cinema.adapter.PaymentGatewayAdapter;
 import org.cinema.model.enums.BookingEvent;
+import org.cinema.model.Money;
 import org.cinema.model.Payment;
 import org.cinema.model.enums.PaymentStatus;
+import org.cinema.observer.BookingNotification;
 import org.cinema.observer.BookingSubject;
+import org.cinema.util.Bulkhead;
+import org.cinema.util.BulkheadPolicy;
+import org.cinema.util.CircuitBreaker;
+import org.cinema.util.CircuitBreakerPolicy;
+import org.cinema.util.HedgePolicy;
+import org.cinema.util.LatencyEwma;
+import org.cinema.util.LatencyHistogram;
+import org.cinema.util.RetryPolicy;
+import org.cinema.util.SharedScheduler;
+import org.cinema.util.logging.Logger;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service layer for payment processing
- * Uses Adapter pattern to process payments through different gateways
+ * Uses Adapter pattern to process payments through different gateways.
+ * The *Async methods return immediately with a CompletableFuture; gateways
+ * that implement AsyncPaymentGatewayAdapter wait for the gateway without
+ * holding a thread, other gateways run on a shared pool of daemon threads.
+ * Every gateway sits behind its own Bulkhead: calls beyond its adaptive
+ * concurrency limit queue, and are rejected once its queue is full, so one
+ * slow gateway cannot take capacity from the others.
+ * A CircuitBreaker per gateway stops calls to a gateway that keeps failing
+ * or answering slowly. A payment the gateway could not handle (circuit open,
+ * bulkhead full, gateway error) fails over to the next gateway configured
+ * with setFailoverGateways whose amount limits accept it. Declined payments
+ * are final and never fail over.
+ * Every charge carries an idempotency key (the booking ID unless the caller
+ * gives one): repeating a request whose payment is in flight, or completed
+ * within the retention period (24 h by default), returns that payment's
+ * result instead of charging again. Gateway errors
+ * are retried per the RetryPolicy with jittered exponential backoff on the
+ * shared timer, reusing the same Payment and key.
+ * Payments made with ANY_CARD go to the compatible card gateway whose
+ * moving averages of latency and success rate promise the quickest charge.
+ * Verified statuses are cached per transaction ID, and slow verifications
+ * can be hedged with a second request (see HedgePolicy).
+ * Statistics are maintained incrementally by PaymentMetrics as payments
+ * change status, with per-minute, hour and day rollups per gateway.
  * Student 3: ERNAR
  */
 public class PaymentService {
+    /**
+     * Payment method for customers who accept any card processor: the payment
+     * goes to the card gateway with the best recent latency and success rate
+     */
+    public static final String ANY_CARD = "ANY_CARD";
+
+    private static final Logger log = Logger.getLogger(PaymentService.class);
     private BookingSubject bookingSubject;
-    private Map<String, PaymentGatewayAdapter> paymentGateways;
+    private Map<String, RegisteredGateway> gateways;
+    private Map<String, List<String>> failoverRoutes;
     private Map<String, Payment> payments;
+    // Every payment attempt per booking, oldest first
+    private Map<String, List<Payment>> paymentsByBooking;
+    // The payment currently holding each booking's money, kept up to date by status changes
+    private Map<String, Payment> completedByBooking;
+    // Latest charge attempt per idempotency key, dropped once finished for the retention period
+    private Map<String, PaymentAttempt> attempts;
+    private volatile long idempotencyRetentionMillis = TimeUnit.HOURS.toMillis(24);
+    private final PaymentMetrics metrics = new PaymentMetrics();
+    private volatile RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
+    // Latest verification per transaction ID, dropped once it expires
+    private final Map<String, Verification> verifications = new ConcurrentHashMap<>();
+    private volatile long verificationTtlNanos = TimeUnit.SECONDS.toNanos(30);
+    private volatile long terminalVerificationRetentionMillis = TimeUnit.HOURS.toMillis(1);
+    private volatile HedgePolicy hedgePolicy = HedgePolicy.NONE;
+    private final LongAdder hedgedVerifications = new LongAdder();
 
     public PaymentService(BookingSubject bookingSubject) {
         this.bookingSubject = bookingSubject;
-        this.paymentGateways = new HashMap<>();
-        this.payments = new HashMap<>();
+        this.gateways = new ConcurrentHashMap<>();
+        this.failoverRoutes = new ConcurrentHashMap<>();
+        this.payments = new ConcurrentHashMap<>();
+        this.attempts = new ConcurrentHashMap<>();
+        this.paymentsByBooking = new ConcurrentHashMap<>();
+        this.completedByBooking = new ConcurrentHashMap<>();
     }
 
     /**
-     * Register a payment gateway adapter
+     * Set how gateway errors are retried; RetryPolicy.NONE disables retries
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        if (retryPolicy == null) {
+            throw new IllegalArgumentException("Retry policy cannot be null");
+        }
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Set how long a finished charge keeps answering repeated requests with
+     * its idempotency key; after that the key is forgotten and a repeated
+     * request makes a new charge
+     * @param retentionMillis Retention period, 0 to forget keys as soon as the charge finishes
+     */
+    public void setIdempotencyRetention(long retentionMillis) {
+        if (retentionMillis < 0) {
+            throw new IllegalArgumentException("Retention cannot be negative");
+        }
+        this.idempotencyRetentionMillis = retentionMillis;
+    }
+
+    /**
+     * Set how long a verified status is reused for a payment that can still
+     * change; payments that are failed, refunded or cancelled stay cached
+     * for the terminal retention period instead
+     * @param ttlMillis Time to live, 0 to verify such payments every time
+     */
+    public void setVerificationCacheTtl(long ttlMillis) {
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("TTL cannot be negative");
+        }
+        this.verificationTtlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Set how long a verified status is reused for a payment that is failed,
+     * refunded or cancelled, and so cannot change any more
+     * @param retentionMillis Retention period, 0 to verify such payments every time
+     */
+    public void setTerminalVerificationRetention(long retentionMillis) {
+        if (retentionMillis < 0) {
+            throw new IllegalArgumentException("Retention cannot be negative");
+        }
+        this.terminalVerificationRetentionMillis = retentionMillis;
+    }
+
+    /**
+     * Set when a slow verification gets a hedged second request; HedgePolicy.NONE disables hedging
+     */
+    public void setHedgePolicy(HedgePolicy hedgePolicy) {
+        if (hedgePolicy == null) {
+            throw new IllegalArgumentException("Hedge policy cannot be null");
+        }
+        this.hedgePolicy = hedgePolicy;
+    }
+
+    /**
+     * Register a payment gateway adapter with the default bulkhead policy
      */
     public void registerGateway(String gatewayName, PaymentGatewayAdapter adapter) {
-        paymentGateways.put(gatewayName.toUpperCase(), adapter);
-        System.out.println("[PaymentService] Registered gateway: " + gatewayName);
+        registerGateway(gatewayName, adapter, BulkheadPolicy.DEFAULT);
+    }
+
+    /**
+     * Register a payment gateway adapter with the adapter's own circuit breaker policy
+     * @param bulkheadPolicy Concurrency limits for calls to this gateway
+     */
+    public void registerGateway(String gatewayName, PaymentGatewayAdapter adapter, BulkheadPolicy bulkheadPolicy) {
+        registerGateway(gatewayName, adapter, bulkheadPolicy, adapter.getCircuitBreakerPolicy());
     }
 
     /**
-     * Process payment for a booking
+     * Register a payment gateway adapter
+     * @param bulkheadPolicy Concurrency limits for calls to this gateway
+     * @param circuitBreakerPolicy When to stop calling this gateway after failures
+     */
+    public void registerGateway(String gatewayName, PaymentGatewayAdapter adapter, BulkheadPolicy bulkheadPolicy,
+                                CircuitBreakerPolicy circuitBreakerPolicy) {
+        String key = gatewayName.toUpperCase();
+        AsyncPaymentGatewayAdapter async = AsyncPaymentGatewayAdapter.of(adapter,
+                BlockingGatewayAsyncAdapter.sharedExecutor());
+        gateways.put(key, new RegisteredGateway(key, adapter, async,
+                new Bulkhead(key, bulkheadPolicy), new CircuitBreaker(circuitBreakerPolicy)));
+        log.debug(() -> "[PaymentService] Registered gateway: " + gatewayName);
+    }
+
+    /**
+     * Set the gateways tried, in order, when a gateway cannot take a payment.
+     * Only fallbacks whose amount limits accept the payment are tried.
+     * @param gatewayName Primary gateway
+     * @param fallbackGateways Fallbacks in order of preference; none to disable failover
      */
-    public boolean processPayment(String bookingId, double amount, String paymentMethod,
+    public void setFailoverGateways(String gatewayName, String... fallbackGateways) {
+        List<String> route = new ArrayList<>(fallbackGateways.length);
+        for (String fallback : fallbackGateways) {
+            if (!fallback.equalsIgnoreCase(gatewayName)) {
+                route.add(fallback.toUpperCase());
+            }
+        }
+        failoverRoutes.put(gatewayName.toUpperCase(), List.copyOf(route));
+    }
+
+    /**
+     * Get the circuit breaker guarding a gateway
+     * @return The circuit breaker, or null if no such gateway is registered
+     */
+    public CircuitBreaker getCircuitBreaker(String gatewayName) {
+        RegisteredGateway gateway = gateways.get(gatewayName.toUpperCase());
+        return gateway != null ? gateway.circuitBreaker : null;
+    }
+
+    /**
+     * Get the bulkhead guarding a gateway, e.g. to read its current limit
+     * @return The bulkhead, or null if no such gateway is registered
+     */
+    public Bulkhead getBulkhead(String gatewayName) {
+        RegisteredGateway gateway = gateways.get(gatewayName.toUpperCase());
+        return gateway != null ? gateway.bulkhead : null;
+    }
+
+    /**
+     * Process payment for a booking, using the booking ID as idempotency key
+     */
+    public boolean processPayment(String bookingId, Money amount, String paymentMethod,
                                   String customerEmail, String customerPhone) {
-        System.out.println("\n╔════════════════════════════════════════════════════════╗");
-        System.out.println("║              PROCESSING PAYMENT                        ║");
-        System.out.println("╚════════════════════════════════════════════════════════╝");
+        return processPayment(bookingId, amount, paymentMethod, customerEmail, customerPhone, bookingId);
+    }
+
+    /**
+     * Process payment for a booking.
+     * If the idempotency key belongs to a payment that is in flight or completed,
+     * waits for and returns that payment's result without charging again or
+     * notifying observers a second time. A key whose payment failed or was
+     * refunded starts a new charge.
+     * @param idempotencyKey Identifies the charge, e.g. the booking ID plus an attempt number
+     * @throws IllegalArgumentException if the key was used for a different amount
+     */
+    public boolean processPayment(String bookingId, Money amount, String paymentMethod,
+                                  String customerEmail, String customerPhone, String idempotencyKey) {
+        log.debug("\n╔════════════════════════════════════════════════════════╗"
+                + "\n║              PROCESSING PAYMENT                        ║"
+                + "\n╚════════════════════════════════════════════════════════╝");
 
         // Get appropriate payment gateway
-        PaymentGatewayAdapter gateway = paymentGateways.get(paymentMethod.toUpperCase());
+        RegisteredGateway gateway = resolveGateway(paymentMethod, amount);
         if (gateway == null) {
-            System.out.println("[PaymentService] ERROR: Payment gateway not found: " + paymentMethod);
-            notifyPaymentFailed(bookingId, customerEmail, customerPhone,
-                    "Payment gateway not available: " + paymentMethod);
+            rejectUnknownGateway(bookingId, paymentMethod, customerEmail, customerPhone);
             return false;
         }
 
-        // Create payment object
+        Payment payment = newPayment(bookingId, amount, gateway.key, idempotencyKey);
+        PaymentAttempt attempt = claim(payment);
+        if (attempt.payment != payment) {
+            return await(attempt.outcome);
+        }
+        startPayment(payment, gateway.getGatewayName());
+
+        // Process payment through adapter, waiting for a permit if the gateway is busy
+        boolean success = await(charge(gateway, payment).whenComplete(attempt::finish));
+        return completePayment(payment, success, customerEmail, customerPhone);
+    }
+
+    /**
+     * Process payment for a booking without blocking the caller,
+     * using the booking ID as idempotency key
+     */
+    public CompletableFuture<Boolean> processPaymentAsync(String bookingId, Money amount, String paymentMethod,
+                                                          String customerEmail, String customerPhone) {
+        return processPaymentAsync(bookingId, amount, paymentMethod, customerEmail, customerPhone, bookingId);
+    }
+
+    /**
+     * Process payment for a booking without blocking the caller.
+     * Observers are notified on a pool thread once the gateway answers.
+     * Idempotency keys behave as in processPayment.
+     * @return Future completing with true if the payment succeeded
+     */
+    public CompletableFuture<Boolean> processPaymentAsync(String bookingId, Money amount, String paymentMethod,
+                                                          String customerEmail, String customerPhone,
+                                                          String idempotencyKey) {
+        RegisteredGateway gateway = resolveGateway(paymentMethod, amount);
+        if (gateway == null) {
+            rejectUnknownGateway(bookingId, paymentMethod, customerEmail, customerPhone);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        Payment payment = newPayment(bookingId, amount, gateway.key, idempotencyKey);
+        PaymentAttempt attempt = claim(payment);
+        if (attempt.payment != payment) {
+            return attempt.outcome;
+        }
+        startPayment(payment, gateway.getGatewayName());
+        return charge(gateway, payment)
+                .whenComplete(attempt::finish)
+                .thenApplyAsync(success -> completePayment(payment, success, customerEmail, customerPhone));
+    }
+
+    /**
+     * Find the gateway for a payment method; ANY_CARD picks the best card gateway
+     * @return The gateway, or null if none can take the payment
+     */
+    private RegisteredGateway resolveGateway(String paymentMethod, Money amount) {
+        if (ANY_CARD.equalsIgnoreCase(paymentMethod)) {
+            return selectCardGateway(amount);
+        }
+        return gateways.get(paymentMethod.toUpperCase());
+    }
+
+    /**
+     * Pick the card gateway accepting the amount with the lowest expected time
+     * per successful call. Gateways with an open circuit are only picked if
+     * no other gateway qualifies, so the payment can still fail over.
+     */
+    private RegisteredGateway selectCardGateway(Money amount) {
+        RegisteredGateway best = null;
+        double bestScore = Double.MAX_VALUE;
+        RegisteredGateway open = null;
+        for (RegisteredGateway gateway : gateways.values()) {
+            if (!gateway.limits.isCardProcessor() || !gateway.limits.supportsAmount(amount)) {
+                continue;
+            }
+            if (gateway.circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+                open = open != null ? open : gateway;
+                continue;
+            }
+            double score = gateway.latency.getScore();
+            if (best == null || score < bestScore) {
+                best = gateway;
+                bestScore = score;
+            }
+        }
+        RegisteredGateway selected = best != null ? best : open;
+        if (selected != null) {
+            log.debug(() -> "[PaymentService] ANY_CARD routed to " + selected.getGatewayName());
+        }
+        return selected;
+    }
+
+    /**
+     * Get the moving averages of a gateway's latency and success rate
+     * @return The averages, or null if no such gateway is registered
+     */
+    public LatencyEwma getLatencyStats(String gatewayName) {
+        RegisteredGateway gateway = gateways.get(gatewayName.toUpperCase());
+        return gateway != null ? gateway.latency : null;
+    }
+
+    private static Payment newPayment(String bookingId, Money amount, String paymentMethod, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            throw new IllegalArgumentException("Idempotency key cannot be null");
+        }
         Payment payment = new Payment(bookingId, amount, paymentMethod.toUpperCase());
+        payment.setIdempotencyKey(idempotencyKey);
+        return payment;
+    }
+
+    /**
+     * Find the live attempt for the payment's idempotency key, or register
+     * the payment as a new attempt. The caller makes the charge only if the
+     * returned attempt holds its own payment.
+     */
+    private PaymentAttempt claim(Payment payment) {
+        String idempotencyKey = payment.getIdempotencyKey();
+        PaymentAttempt fresh = new PaymentAttempt(payment);
+        PaymentAttempt attempt = attempts.compute(idempotencyKey,
+                (key, existing) -> existing != null && existing.isLive() ? existing : fresh);
+        if (attempt == fresh) {
+            fresh.outcome.whenComplete((success, error) -> SharedScheduler.schedule(
+                    () -> attempts.remove(idempotencyKey, fresh), idempotencyRetentionMillis));
+        } else {
+            if (!attempt.payment.getAmount().equals(payment.getAmount())) {
+                throw new IllegalArgumentException("Idempotency key " + idempotencyKey
+                        + " was already used for a payment of a different amount");
+            }
+            log.info(() -> "[PaymentService] Duplicate request for idempotency key " + idempotencyKey
+                    + ", reusing payment " + attempt.payment.getId());
+        }
+        return attempt;
+    }
+
+    /**
+     * Send one payment to its gateway, failing over if the gateway cannot take it.
+     * Completes with false once every eligible gateway has been tried.
+     */
+    private CompletableFuture<Boolean> charge(RegisteredGateway gateway, Payment payment) {
+        return chargeVia(failoverRoute(gateway, payment.getAmount()), 0, payment);
+    }
+
+    private CompletableFuture<Boolean> chargeVia(List<RegisteredGateway> route, int index, Payment payment) {
+        RegisteredGateway gateway = route.get(index);
+        if (index > 0) {
+            // Refunds and verification go to the gateway that actually took the payment
+            payment.setMethod(gateway.key);
+            log.info(() -> "[PaymentService] Failing over booking " + payment.getBookingId()
+                    + " to " + gateway.getGatewayName());
+        }
+        return withRetry(gateway, () -> gateway.adapter.processPaymentAsync(payment), 1)
+                .handle((success, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(success);
+                    }
+                    log.warn(() -> "[PaymentService] Gateway " + gateway.getGatewayName()
+                            + " failed for booking " + payment.getBookingId() + ": " + error.getMessage());
+                    if (index + 1 < route.size()) {
+                        return chargeVia(route, index + 1, payment);
+                    }
+                    payment.setStatus(PaymentStatus.FAILED);
+                    return CompletableFuture.completedFuture(false);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Call a gateway, retrying gateway errors after a jittered backoff on the
+     * shared timer. Rejections (circuit open, bulkhead full) are not retried,
+     * and neither is anything once the gateway's circuit has opened.
+     * @param attempt Number of this attempt, starting at 1
+     */
+    private <T> CompletableFuture<T> withRetry(RegisteredGateway gateway, Supplier<CompletableFuture<T>> call,
+                                               int attempt) {
+        RetryPolicy policy = retryPolicy;
+        return callGateway(gateway, call)
+                .handle((value, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(value);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof RejectedExecutionException || !policy.canRetry(attempt)
+                            || gateway.circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+                        return CompletableFuture.<T>failedFuture(cause);
+                    }
+                    long backoff = policy.backoffMillis(attempt);
+                    log.debug(() -> "[PaymentService] " + gateway.getGatewayName() + " failed (" + cause.getMessage()
+                            + "), retry " + attempt + " in " + backoff + "ms");
+                    return SharedScheduler.delay(backoff)
+                            .thenCompose(ignored -> withRetry(gateway, call, attempt + 1));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * The gateway followed by its configured fallbacks that accept the amount
+     */
+    private List<RegisteredGateway> failoverRoute(RegisteredGateway gateway, Money amount) {
+        List<RegisteredGateway> route = new ArrayList<>();
+        route.add(gateway);
+        for (String fallbackName : failoverRoutes.getOrDefault(gateway.key, List.of())) {
+            RegisteredGateway fallback = gateways.get(fallbackName);
+            if (fallback != null && fallback.limits.supportsAmount(amount)) {
+                route.add(fallback);
+            }
+        }
+        return route;
+    }
+
+    /**
+     * Make one call to a gateway through its circuit breaker and bulkhead.
+     * Fails with RejectedExecutionException if the circuit is open or the
+     * bulkhead is full; other failures are the gateway's own.
+     */
+    private <T> CompletableFuture<T> callGateway(RegisteredGateway gateway, Supplier<CompletableFuture<T>> call) {
+        CircuitBreaker breaker = gateway.circuitBreaker;
+        if (!breaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Circuit open for " + gateway.getGatewayName()));
+        }
+        AtomicBoolean started = new AtomicBoolean();
+        CompletableFuture<T> result = gateway.bulkhead.submit(() -> {
+            started.set(true);
+            long startNanos = System.nanoTime();
+            CompletableFuture<T> stage;
+            try {
+                stage = call.get();
+            } catch (RuntimeException e) {
+                breaker.onFailure();
+                throw e;
+            }
+            // An answer ready on return (invalid amount, replayed charge) never
+            // reached the gateway, so it says nothing about the gateway's latency
+            boolean reachedGateway = !stage.isDone();
+            return stage.whenComplete((value, error) -> {
+                long elapsed = System.nanoTime() - startNanos;
+                if (reachedGateway) {
+                    gateway.latency.record(elapsed, error == null);
+                }
+                if (error == null) {
+                    breaker.onSuccess(elapsed);
+                } else {
+                    breaker.onFailure();
+                }
+            });
+        });
+        return result.whenComplete((value, error) -> {
+            if (!started.get()) {
+                // Rejected or abandoned in the bulkhead before reaching the gateway
+                breaker.release();
+            }
+        });
+    }
+
+    /**
+     * Wait for a gateway call on behalf of a blocking caller
+     * @return The call's result, or false if the caller is interrupted
+     */
+    private static boolean await(CompletableFuture<Boolean> call) {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            call.cancel(false);
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Process a group of payments, e.g. for a group or corporate booking.
+     * Payments are sent to each gateway as one batch and the gateways run
+     * concurrently. Observers are notified for every payment, as with
+     * processPayment.
+     * @return One result per request, in the same order
+     */
+    public List<Boolean> processPayments(List<PaymentRequest> requests) {
+        Boolean[] results = new Boolean[requests.size()];
+        Map<String, List<Integer>> byGateway = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            PaymentRequest request = requests.get(i);
+            RegisteredGateway gateway = resolveGateway(request.getPaymentMethod(), request.getAmount());
+            if (gateway != null) {
+                byGateway.computeIfAbsent(gateway.key, key -> new ArrayList<>()).add(i);
+            } else {
+                rejectUnknownGateway(request.getBookingId(), request.getPaymentMethod(),
+                        request.getCustomerEmail(), request.getCustomerPhone());
+                results[i] = false;
+            }
+        }
+
+        List<GatewayBatch> batches = new ArrayList<>(byGateway.size());
+        Map<Integer, PaymentAttempt> duplicates = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : byGateway.entrySet()) {
+            RegisteredGateway gateway = gateways.get(entry.getKey());
+            List<Integer> indexes = new ArrayList<>(entry.getValue().size());
+            List<PaymentAttempt> owned = new ArrayList<>(entry.getValue().size());
+            for (int index : entry.getValue()) {
+                PaymentRequest request = requests.get(index);
+                Payment payment = newPayment(request.getBookingId(), request.getAmount(),
+                        gateway.key, request.getIdempotencyKey());
+                PaymentAttempt attempt;
+                try {
+                    attempt = claim(payment);
+                } catch (IllegalArgumentException e) {
+                    log.warn(() -> "[PaymentService] " + e.getMessage());
+                    results[index] = false;
+                    continue;
+                }
+                if (attempt.payment == payment) {
+                    startPayment(payment, gateway.getGatewayName());
+                    indexes.add(index);
+                    owned.add(attempt);
+                } else {
+                    duplicates.put(index, attempt);
+                }
+            }
+            if (owned.isEmpty()) {
+                continue;
+            }
+            List<Payment> batch = new ArrayList<>(owned.size());
+            for (PaymentAttempt attempt : owned) {
+                batch.add(attempt.payment);
+            }
+            batches.add(new GatewayBatch(gateway, indexes, batch, owned, submitBatch(gateway, batch,
+                    () -> gateway.adapter.processPaymentsAsync(batch), failed -> failOverBatch(gateway, failed))));
+        }
+
+        for (GatewayBatch batch : batches) {
+            List<Boolean> outcome = batch.results.join();
+            for (int i = 0; i < batch.payments.size(); i++) {
+                Payment payment = batch.payments.get(i);
+                boolean success = outcome.get(i);
+                if (!success && payment.getStatus() != PaymentStatus.COMPLETED) {
+                    payment.setStatus(PaymentStatus.FAILED);
+                }
+                batch.attempts.get(i).finish(success, null);
+                PaymentRequest request = requests.get(batch.indexes.get(i));
+                results[batch.indexes.get(i)] = completePayment(payment, success,
+                        request.getCustomerEmail(), request.getCustomerPhone());
+            }
+        }
+        // Repeated keys share the result of the charge already made for them
+        for (Map.Entry<Integer, PaymentAttempt> duplicate : duplicates.entrySet()) {
+            results[duplicate.getKey()] = await(duplicate.getValue().outcome);
+        }
+        return List.of(results);
+    }
+
+    private void rejectUnknownGateway(String bookingId, String paymentMethod,
+                                      String customerEmail, String customerPhone) {
+        log.error(() -> "[PaymentService] Payment gateway not found: " + paymentMethod);
+        notifyPaymentFailed(bookingId, customerEmail, customerPhone,
+                "Payment gateway not available: " + paymentMethod);
+    }
+
+    /**
+     * Register the payment of a newly claimed attempt
+     */
+    private void startPayment(Payment payment, String gatewayName) {
         payments.put(payment.getId(), payment);
+        paymentsByBooking.compute(payment.getBookingId(), (bookingId, previous) -> {
+            List<Payment> attemptsForBooking = new ArrayList<>(previous != null ? previous.size() + 1 : 1);
+            if (previous != null) {
+                attemptsForBooking.addAll(previous);
+            }
+            attemptsForBooking.add(payment);
+            return List.copyOf(attemptsForBooking);
+        });
+        metrics.onCreated(payment);
+        payment.setStatusListener(this::onPaymentStatusChanged);
 
-        System.out.println("[PaymentService] Processing via " + gateway.getGatewayName());
-        System.out.println("[PaymentService] Booking: " + bookingId);
-        System.out.println("[PaymentService] Amount: $" + String.format("%.2f", amount));
+        log.debug(() -> "[PaymentService] Processing via " + gatewayName
+                + "\n[PaymentService] Booking: " + payment.getBookingId()
+                + "\n[PaymentService] Amount: " + payment.getAmount().format());
+    }
 
-        // Process payment through adapter
-        boolean success = gateway.processPayment(payment);
+    /**
+     * Send each payment of a batch the gateway could not take to its fallbacks
+     */
+    private CompletableFuture<List<Boolean>> failOverBatch(RegisteredGateway gateway, List<Payment> batch) {
+        List<CompletableFuture<Boolean>> attempts = new ArrayList<>(batch.size());
+        for (Payment payment : batch) {
+            List<RegisteredGateway> route = failoverRoute(gateway, payment.getAmount());
+            if (route.size() > 1) {
+                attempts.add(chargeVia(route, 1, payment));
+            } else {
+                payment.setStatus(PaymentStatus.FAILED);
+                attempts.add(CompletableFuture.completedFuture(false));
+            }
+        }
+        return CompletableFuture.allOf(attempts.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<Boolean> results = new ArrayList<>(attempts.size());
+                    for (CompletableFuture<Boolean> attempt : attempts) {
+                        results.add(attempt.join());
+                    }
+                    return results;
+                });
+    }
 
+    /**
+     * Notify observers about the gateway's answer
+     */
+    private boolean completePayment(Payment payment, boolean success, String customerEmail, String customerPhone) {
+        String gatewayName = gatewayNameOf(payment);
         if (success) {
             // Notify observers about successful payment
-            String details = String.format("Payment of $%.2f via %s - Transaction: %s",
-                    amount, gateway.getGatewayName(),
+            String details = String.format("Payment of %s via %s - Transaction: %s",
+                    payment.getAmount().format(), gatewayName,
                     payment.getTransactionId());
-            bookingSubject.notifyObservers(bookingId, BookingEvent.PAYMENT_COMPLETED,
-                    customerEmail, customerPhone, details);
+            bookingSubject.notifyObservers(BookingNotification.builder(payment.getBookingId(), BookingEvent.PAYMENT_COMPLETED)
+                    .customerEmail(customerEmail)
+                    .customerPhone(customerPhone)
+                    .amount(payment.getAmount())
+                    .details(details)
+                    .build());
 
-            System.out.println("\n[PaymentService] ✓ Payment successful!");
-            System.out.println("════════════════════════════════════════════════════════\n");
+            log.debug("\n[PaymentService] ✓ Payment successful!"
+                    + "\n════════════════════════════════════════════════════════\n");
             return true;
         } else {
             // Notify observers about failed payment
-            notifyPaymentFailed(bookingId, customerEmail, customerPhone,
-                    "Payment failed via " + gateway.getGatewayName());
+            notifyPaymentFailed(payment.getBookingId(), customerEmail, customerPhone,
+                    "Payment failed via " + gatewayName);
 
-            System.out.println("\n[PaymentService] ✗ Payment failed!");
-            System.out.println("════════════════════════════════════════════════════════\n");
+            log.debug("\n[PaymentService] ✗ Payment failed!"
+                    + "\n════════════════════════════════════════════════════════\n");
             return false;
         }
     }
@@ -90,47 +692,261 @@ public class PaymentService {
     public boolean refundPayment(String paymentId, String customerEmail, String customerPhone) {
         Payment payment = payments.get(paymentId);
         if (payment == null) {
-            System.out.println("[PaymentService] ERROR: Payment not found: " + paymentId);
+            log.error(() -> "[PaymentService] Payment not found: " + paymentId);
             return false;
         }
 
-        PaymentGatewayAdapter gateway = paymentGateways.get(payment.getMethod());
+        RegisteredGateway gateway = gateways.get(payment.getMethod());
         if (gateway == null) {
-            System.out.println("[PaymentService] ERROR: Payment gateway not found: " + payment.getMethod());
+            log.error(() -> "[PaymentService] Payment gateway not found: " + payment.getMethod());
             return false;
         }
 
-        System.out.println("\n[PaymentService] Processing refund via " + gateway.getGatewayName());
-        boolean success = gateway.refundPayment(payment);
+        log.debug(() -> "\n[PaymentService] Processing refund via " + gateway.getGatewayName());
+        boolean success = await(refund(gateway, payment));
+        return completeRefund(payment, gateway.getGatewayName(), success, customerEmail, customerPhone);
+    }
+
+    /**
+     * Refund payment for a booking without blocking the caller
+     * @return Future completing with true if the refund succeeded
+     */
+    public CompletableFuture<Boolean> refundPaymentAsync(String paymentId, String customerEmail, String customerPhone) {
+        Payment payment = payments.get(paymentId);
+        if (payment == null) {
+            log.error(() -> "[PaymentService] Payment not found: " + paymentId);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        RegisteredGateway gateway = gateways.get(payment.getMethod());
+        if (gateway == null) {
+            log.error(() -> "[PaymentService] Payment gateway not found: " + payment.getMethod());
+            return CompletableFuture.completedFuture(false);
+        }
+
+        log.debug(() -> "\n[PaymentService] Processing refund via " + gateway.getGatewayName());
+        return refund(gateway, payment)
+                .thenApplyAsync(success -> completeRefund(payment, gateway.getGatewayName(), success,
+                        customerEmail, customerPhone));
+    }
+
+    /**
+     * Send one refund to the gateway that took the payment
+     */
+    private CompletableFuture<Boolean> refund(RegisteredGateway gateway, Payment payment) {
+        return withRetry(gateway, () -> gateway.adapter.refundPaymentAsync(payment), 1)
+                .exceptionally(error -> {
+                    log.warn(() -> "[PaymentService] Refund via " + gateway.getGatewayName()
+                            + " failed: " + error.getMessage());
+                    return false;
+                });
+    }
+
+    /**
+     * Refund a group of payments, e.g. when a show is cancelled.
+     * Refunds are sent to each gateway as one batch.
+     * @return One result per request, in the same order
+     */
+    public List<Boolean> refundPayments(List<RefundRequest> requests) {
+        Boolean[] results = new Boolean[requests.size()];
+        Map<String, List<Integer>> byGateway = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String paymentId = requests.get(i).getPaymentId();
+            Payment payment = payments.get(paymentId);
+            if (payment == null) {
+                log.error(() -> "[PaymentService] Payment not found: " + paymentId);
+                results[i] = false;
+            } else if (!gateways.containsKey(payment.getMethod())) {
+                log.error(() -> "[PaymentService] Payment gateway not found: " + payment.getMethod());
+                results[i] = false;
+            } else {
+                byGateway.computeIfAbsent(payment.getMethod(), key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<GatewayBatch> batches = new ArrayList<>(byGateway.size());
+        for (Map.Entry<String, List<Integer>> entry : byGateway.entrySet()) {
+            RegisteredGateway gateway = gateways.get(entry.getKey());
+            List<Payment> batch = new ArrayList<>(entry.getValue().size());
+            for (int index : entry.getValue()) {
+                batch.add(payments.get(requests.get(index).getPaymentId()));
+            }
+            log.debug(() -> "\n[PaymentService] Processing " + batch.size() + " refunds via "
+                    + gateway.getGatewayName());
+            batches.add(new GatewayBatch(gateway, entry.getValue(), batch, submitBatch(gateway, batch,
+                    () -> gateway.adapter.refundPaymentsAsync(batch),
+                    failed -> CompletableFuture.completedFuture(Collections.nCopies(failed.size(), false)))));
+        }
 
+        for (GatewayBatch batch : batches) {
+            List<Boolean> outcome = batch.results.join();
+            for (int i = 0; i < batch.payments.size(); i++) {
+                RefundRequest request = requests.get(batch.indexes.get(i));
+                results[batch.indexes.get(i)] = completeRefund(batch.payments.get(i),
+                        batch.gateway.getGatewayName(), outcome.get(i),
+                        request.getCustomerEmail(), request.getCustomerPhone());
+            }
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Send a batch to the gateway as a single call.
+     * If the call fails or the answer is malformed the whole batch is handed to onFailure.
+     */
+    private CompletableFuture<List<Boolean>> submitBatch(RegisteredGateway gateway, List<Payment> batch,
+                                                         Supplier<CompletableFuture<List<Boolean>>> call,
+                                                         Function<List<Payment>, CompletableFuture<List<Boolean>>> onFailure) {
+        return callGateway(gateway, call).handle((outcome, error) -> {
+            if (error == null && outcome != null && outcome.size() == batch.size()) {
+                return CompletableFuture.completedFuture(outcome);
+            }
+            log.warn(() -> "[PaymentService] Batch of " + batch.size() + " via " + gateway.getGatewayName()
+                    + " failed: " + (error != null ? error.getMessage() : "wrong number of results"));
+            return onFailure.apply(batch);
+        }).thenCompose(Function.identity());
+    }
+
+    private String gatewayNameOf(Payment payment) {
+        RegisteredGateway gateway = gateways.get(payment.getMethod());
+        return gateway != null ? gateway.getGatewayName() : payment.getMethod();
+    }
+
+    private boolean completeRefund(Payment payment, String gatewayName, boolean success,
+                                   String customerEmail, String customerPhone) {
         if (success) {
-            String details = String.format("Refund of $%.2f processed via %s",
-                    payment.getAmount(), gateway.getGatewayName());
-            bookingSubject.notifyObservers(payment.getBookingId(), BookingEvent.CANCELLED,
-                    customerEmail, customerPhone, details);
-            System.out.println("[PaymentService] ✓ Refund successful!");
+            String details = String.format("Refund of %s processed via %s",
+                    payment.getAmount().format(), gatewayName);
+            bookingSubject.notifyObservers(BookingNotification.builder(payment.getBookingId(), BookingEvent.CANCELLED)
+                    .customerEmail(customerEmail)
+                    .customerPhone(customerPhone)
+                    .amount(payment.getAmount())
+                    .details(details)
+                    .build());
+            log.debug("[PaymentService] ✓ Refund successful!");
             return true;
         } else {
-            System.out.println("[PaymentService] ✗ Refund failed!");
+            log.warn("[PaymentService] ✗ Refund failed!");
             return false;
         }
     }
 
     /**
-     * Verify payment status
+     * Verify payment status.
+     * Answers are cached per transaction ID while the payment's status stays
+     * the same: for the verification TTL, or for the terminal retention
+     * period once the payment is failed, refunded or cancelled. Concurrent
+     * verifications of the same transaction share one gateway call.
      */
     public String verifyPayment(String paymentId) {
+        CompletableFuture<String> verification = verifyPaymentAsync(paymentId);
+        try {
+            return verification.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "UNKNOWN";
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Verify payment status without blocking the caller, as verifyPayment.
+     * With a HedgePolicy set, a verification slower than the gateway's
+     * usual latency percentile is sent a second time and the first answer wins.
+     */
+    public CompletableFuture<String> verifyPaymentAsync(String paymentId) {
         Payment payment = payments.get(paymentId);
         if (payment == null) {
-            return "PAYMENT_NOT_FOUND";
+            return CompletableFuture.completedFuture("PAYMENT_NOT_FOUND");
         }
 
-        PaymentGatewayAdapter gateway = paymentGateways.get(payment.getMethod());
+        RegisteredGateway gateway = gateways.get(payment.getMethod());
         if (gateway == null) {
-            return "GATEWAY_NOT_FOUND";
+            return CompletableFuture.completedFuture("GATEWAY_NOT_FOUND");
         }
 
-        return gateway.verifyPaymentStatus(payment.getTransactionId());
+        String transactionId = payment.getTransactionId();
+        if (transactionId == null) {
+            return hedgedVerify(gateway, null);
+        }
+        PaymentStatus status = payment.getStatus();
+        long now = System.nanoTime();
+        Verification cached = verifications.get(transactionId);
+        if (cached != null && cached.isValid(status, now)) {
+            return cached.result;
+        }
+        boolean terminal = status == PaymentStatus.FAILED || status == PaymentStatus.REFUNDED
+                || status == PaymentStatus.CANCELLED;
+        long keepNanos = terminal ? TimeUnit.MILLISECONDS.toNanos(terminalVerificationRetentionMillis)
+                : verificationTtlNanos;
+        Verification fresh = new Verification(status, now + keepNanos);
+        Verification verification = verifications.compute(transactionId,
+                (key, existing) -> existing != null && existing.isValid(status, now) ? existing : fresh);
+        if (verification == fresh) {
+            hedgedVerify(gateway, transactionId).whenComplete((result, error) -> {
+                if (error != null) {
+                    verifications.remove(transactionId, fresh);
+                    fresh.result.completeExceptionally(error);
+                } else {
+                    fresh.result.complete(result);
+                    SharedScheduler.schedule(() -> verifications.remove(transactionId, fresh),
+                            TimeUnit.NANOSECONDS.toMillis(keepNanos));
+                }
+            });
+        }
+        return verification.result;
+    }
+
+    /**
+     * Get the number of verifications that were sent a hedged second request
+     */
+    public long getHedgedVerificationCount() {
+        return hedgedVerifications.sum();
+    }
+
+    private CompletableFuture<String> hedgedVerify(RegisteredGateway gateway, String transactionId) {
+        CompletableFuture<String> first = timedVerify(gateway, transactionId);
+        long hedgeDelay = hedgePolicy.hedgeDelayMillis(gateway.verifyLatency);
+        if (hedgeDelay < 0 || first.isDone()) {
+            return first;
+        }
+        CompletableFuture<String> result = new CompletableFuture<>();
+        first.whenComplete((status, error) -> settle(result, status, error));
+        ScheduledFuture<?> hedge = SharedScheduler.schedule(() -> {
+            if (!result.isDone()) {
+                hedgedVerifications.increment();
+                log.debug(() -> "[PaymentService] Verification of " + transactionId + " slower than "
+                        + hedgeDelay + "ms, hedging on " + gateway.getGatewayName());
+                timedVerify(gateway, transactionId).whenComplete((status, error) -> settle(result, status, error));
+            }
+        }, hedgeDelay);
+        result.whenComplete((status, error) -> hedge.cancel(false));
+        return result;
+    }
+
+    private static void settle(CompletableFuture<String> result, String status, Throwable error) {
+        if (error != null) {
+            result.completeExceptionally(error);
+        } else {
+            result.complete(status);
+        }
+    }
+
+    private static CompletableFuture<String> timedVerify(RegisteredGateway gateway, String transactionId) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<String> call;
+        try {
+            call = gateway.adapter.verifyPaymentStatusAsync(transactionId);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return call.whenComplete((status, error) -> {
+            if (error == null) {
+                gateway.verifyLatency.record(System.nanoTime() - startNanos);
+            }
+        });
     }
 
     /**
@@ -148,13 +964,35 @@ public class PaymentService {
     }
 
     /**
-     * Get payments by booking ID
+     * Get the payment for a booking: the completed one if there is one,
+     * otherwise the latest attempt
      */
     public Payment getPaymentByBookingId(String bookingId) {
-        return payments.values().stream()
-                .filter(p -> p.getBookingId().equals(bookingId))
-                .findFirst()
-                .orElse(null);
+        Payment completed = completedByBooking.get(bookingId);
+        if (completed != null) {
+            return completed;
+        }
+        List<Payment> attemptsForBooking = paymentsByBooking.get(bookingId);
+        return attemptsForBooking != null ? attemptsForBooking.get(attemptsForBooking.size() - 1) : null;
+    }
+
+    /**
+     * Get every payment attempt for a booking, oldest first
+     */
+    public List<Payment> getPaymentsByBookingId(String bookingId) {
+        return paymentsByBooking.getOrDefault(bookingId, List.of());
+    }
+
+    /**
+     * Keep the completed-payment index and the metrics in step with payment status
+     */
+    private void onPaymentStatusChanged(Payment payment, PaymentStatus previous, PaymentStatus current) {
+        metrics.onStatusChanged(payment, previous, current);
+        if (current == PaymentStatus.COMPLETED) {
+            completedByBooking.put(payment.getBookingId(), payment);
+        } else if (previous == PaymentStatus.COMPLETED) {
+            completedByBooking.remove(payment.getBookingId(), payment);
+        }
     }
 
     /**
@@ -167,25 +1005,173 @@ public class PaymentService {
     }
 
     /**
-     * Get payment statistics
+     * Get payment statistics, read from counters kept up to date on every status change.
+     * Revenue is reported in the cinema's currency, Money.USD.
      */
     public PaymentStatistics getStatistics() {
-        int total = payments.size();
-        long completed = payments.values().stream()
-                .filter(p -> p.getStatus() == PaymentStatus.COMPLETED)
-                .count();
-        long failed = payments.values().stream()
-                .filter(p -> p.getStatus() == PaymentStatus.FAILED)
-                .count();
-        long refunded = payments.values().stream()
-                .filter(p -> p.getStatus() == PaymentStatus.REFUNDED)
-                .count();
-        double totalAmount = payments.values().stream()
-                .filter(p -> p.getStatus() == PaymentStatus.COMPLETED)
-                .mapToDouble(Payment::getAmount)
-                .sum();
+        return new PaymentStatistics((int) metrics.getTotalCount(),
+                (int) metrics.getCount(PaymentStatus.COMPLETED),
+                (int) metrics.getCount(PaymentStatus.FAILED),
+                (int) metrics.getCount(PaymentStatus.REFUNDED),
+                metrics.getRevenue(Money.USD));
+    }
+
+    /**
+     * Get the live metrics, including per-gateway time series
+     */
+    public PaymentMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * A registered gateway with the bulkhead and circuit breaker in front of it
+     */
+    private static class RegisteredGateway {
+        private final String key;
+        private final PaymentGatewayAdapter limits;
+        private final AsyncPaymentGatewayAdapter adapter;
+        private final Bulkhead bulkhead;
+        private final CircuitBreaker circuitBreaker;
+        private final LatencyEwma latency = new LatencyEwma();
+        private final LatencyHistogram verifyLatency = new LatencyHistogram();
+
+        RegisteredGateway(String key, PaymentGatewayAdapter limits, AsyncPaymentGatewayAdapter adapter,
+                          Bulkhead bulkhead, CircuitBreaker circuitBreaker) {
+            this.key = key;
+            this.limits = limits;
+            this.adapter = adapter;
+            this.bulkhead = bulkhead;
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        String getGatewayName() {
+            return adapter.getGatewayName();
+        }
+    }
+
+    /**
+     * Payments of one batch request that go to the same gateway
+     */
+    private static class GatewayBatch {
+        private final RegisteredGateway gateway;
+        private final List<Integer> indexes;
+        private final List<Payment> payments;
+        private final List<PaymentAttempt> attempts;
+        private final CompletableFuture<List<Boolean>> results;
+
+        GatewayBatch(RegisteredGateway gateway, List<Integer> indexes, List<Payment> payments,
+                     CompletableFuture<List<Boolean>> results) {
+            this(gateway, indexes, payments, List.of(), results);
+        }
+
+        GatewayBatch(RegisteredGateway gateway, List<Integer> indexes, List<Payment> payments,
+                     List<PaymentAttempt> attempts, CompletableFuture<List<Boolean>> results) {
+            this.gateway = gateway;
+            this.indexes = indexes;
+            this.payments = payments;
+            this.attempts = attempts;
+            this.results = results;
+        }
+    }
+
+    /**
+     * The charge made for one idempotency key
+     */
+    private static class PaymentAttempt {
+        private final Payment payment;
+        private final CompletableFuture<Boolean> outcome = new CompletableFuture<>();
+
+        PaymentAttempt(Payment payment) {
+            this.payment = payment;
+        }
+
+        /**
+         * An attempt still in flight or completed answers repeated requests;
+         * a failed or refunded one makes way for a new charge
+         */
+        boolean isLive() {
+            return !outcome.isDone() || payment.getStatus() == PaymentStatus.COMPLETED;
+        }
+
+        void finish(Boolean success, Throwable error) {
+            outcome.complete(error == null && Boolean.TRUE.equals(success));
+        }
+    }
+
+    /**
+     * A gateway's answer for one transaction, valid until it expires and
+     * while the payment keeps the status it had when the answer was requested
+     */
+    private static class Verification {
+        private final PaymentStatus status;
+        private final long expiresAtNanos;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        Verification(PaymentStatus status, long expiresAtNanos) {
+            this.status = status;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isValid(PaymentStatus current, long nowNanos) {
+            return current == status && nowNanos - expiresAtNanos < 0;
+        }
+    }
+
+    /**
+     * One payment of a batch passed to processPayments
+     */
+    public static class PaymentRequest {
+        private final String bookingId;
+        private final Money amount;
+        private final String paymentMethod;
+        private final String customerEmail;
+        private final String customerPhone;
+
+        private final String idempotencyKey;
+
+        public PaymentRequest(String bookingId, Money amount, String paymentMethod,
+                              String customerEmail, String customerPhone) {
+            this(bookingId, amount, paymentMethod, customerEmail, customerPhone, bookingId);
+        }
+
+        public PaymentRequest(String bookingId, Money amount, String paymentMethod,
+                              String customerEmail, String customerPhone, String idempotencyKey) {
+            if (paymentMethod == null) {
+                throw new IllegalArgumentException("Payment method is required");
+            }
+            this.bookingId = bookingId;
+            this.amount = amount;
+            this.paymentMethod = paymentMethod;
+            this.customerEmail = customerEmail;
+            this.customerPhone = customerPhone;
+            this.idempotencyKey = idempotencyKey;
+        }
+
+        public String getBookingId() { return bookingId; }
+        public Money getAmount() { return amount; }
+        public String getPaymentMethod() { return paymentMethod; }
+        public String getCustomerEmail() { return customerEmail; }
+        public String getCustomerPhone() { return customerPhone; }
+        public String getIdempotencyKey() { return idempotencyKey; }
+    }
+
+    /**
+     * One refund of a batch passed to refundPayments
+     */
+    public static class RefundRequest {
+        private final String paymentId;
+        private final String customerEmail;
+        private final String customerPhone;
+
+        public RefundRequest(String paymentId, String customerEmail, String customerPhone) {
+            this.paymentId = paymentId;
+            this.customerEmail = customerEmail;
+            this.customerPhone = customerPhone;
+        }
 
-        return new PaymentStatistics(total, (int)completed, (int)failed, (int)refunded, totalAmount);
+        public String getPaymentId() { return paymentId; }
+        public String getCustomerEmail() { return customerEmail; }
+        public String getCustomerPhone() { return customerPhone; }
     }
 
     /**
@@ -196,9 +1182,9 @@ public class PaymentService {
         private int completedPayments;
         private int failedPayments;
         private int refundedPayments;
-        private double totalRevenue;
+        private Money totalRevenue;
 
-        public PaymentStatistics(int total, int completed, int failed, int refunded, double revenue) {
+        public PaymentStatistics(int total, int completed, int failed, int refunded, Money revenue) {
             this.totalPayments = total;
             this.completedPayments = completed;
             this.failedPayments = failed;
@@ -214,7 +1200,7 @@ public class PaymentService {
             System.out.println("Completed: " + completedPayments);
             System.out.println("Failed: " + failedPayments);
             System.out.println("Refunded: " + refundedPayments);
-            System.out.printf("Total Revenue: $%.2f%n", totalRevenue);
+            System.out.println("Total Revenue: " + totalRevenue.format());
             System.out.println("════════════════════════════════════════════════════════\n");
         }
 
@@ -223,6 +1209,6 @@ public class PaymentService {
         public int getCompletedPayments() { return completedPayments; }
         public int getFailedPayments() { return failedPayments; }
         public int getRefundedPayments() { return refundedPayments; }
-        public double getTotalRevenue() { return totalRevenue; }
+        public Money getTotalRevenue() { return totalRevenue; }
     }
 }
\ No newline at end of file
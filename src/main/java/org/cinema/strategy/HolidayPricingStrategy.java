@@ -1,5 +1,6 @@
 package org.cinema.strategy;
 
+import org.cinema.model.Money;
 import org.cinema.model.Ticket;
 
 import java.time.LocalDate;
@@ -10,7 +11,7 @@ import java.util.Set;
 
 public class HolidayPricingStrategy implements PricingStrategy {
 
-    private static final double SURCHARGE_RATE = 0.25; // 25%
+    private static final long SURCHARGE_PERCENT = 25;
 
     private final Set<LocalDate> holidays = new HashSet<>();
 
@@ -21,14 +22,12 @@ public class HolidayPricingStrategy implements PricingStrategy {
     }
 
     @Override
-    public double calculateTotal(List<Ticket> tickets, LocalDateTime showtime) {
-        double baseTotal = tickets.stream()
-                .mapToDouble(Ticket::getPrice)
-                .sum();
+    public Money calculateTotal(List<Ticket> tickets, LocalDateTime showtime) {
+        Money baseTotal = PricingStrategy.baseTotal(tickets);
 
         LocalDate date = showtime.toLocalDate();
         if (holidays.contains(date)) {
-            return baseTotal * (1.0 + SURCHARGE_RATE);
+            return baseTotal.times(100 + SURCHARGE_PERCENT, 100);
         }
         return baseTotal;
     }
@@ -1,6 +1,7 @@
 package org.cinema.strategy;
 
 
+import org.cinema.model.Money;
 import org.cinema.model.Ticket;
 
 import java.time.LocalDateTime;
@@ -9,17 +10,15 @@ import java.util.List;
 
 public class MatineePricingStrategy implements PricingStrategy {
 
-    private static final double DISCOUNT_RATE = 0.20; // 20%
+    private static final long DISCOUNT_PERCENT = 20;
 
     @Override
-    public double calculateTotal(List<Ticket> tickets, LocalDateTime showtime) {
-        double baseTotal = tickets.stream()
-                .mapToDouble(Ticket::getPrice)
-                .sum();
+    public Money calculateTotal(List<Ticket> tickets, LocalDateTime showtime) {
+        Money baseTotal = PricingStrategy.baseTotal(tickets);
 
         // discount only if showtime is before 17:00
         if (showtime.toLocalTime().isBefore(LocalTime.of(17, 0))) {
-            return baseTotal * (1.0 - DISCOUNT_RATE);
+            return baseTotal.times(100 - DISCOUNT_PERCENT, 100);
         }
         return baseTotal;
     }
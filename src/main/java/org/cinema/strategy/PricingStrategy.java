@@ -1,5 +1,6 @@
 package org.cinema.strategy;
 
+import org.cinema.model.Money;
 import org.cinema.model.Ticket;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,5 +11,25 @@ public interface PricingStrategy {
      * Calculates final total price for all tickets
      * based on showtime (matinee / weekend / holiday).
      */
-    double calculateTotal(List<Ticket> tickets, LocalDateTime showtime);
+    Money calculateTotal(List<Ticket> tickets, LocalDateTime showtime);
+
+    /**
+     * Sum of the ticket prices, added up in minor units; zero dollars for no tickets
+     * @throws IllegalArgumentException if the tickets are priced in different currencies
+     */
+    static Money baseTotal(List<Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return Money.zero(Money.USD);
+        }
+        Money first = tickets.get(0).getPrice();
+        long total = first.getMinorUnits();
+        for (int i = 1; i < tickets.size(); i++) {
+            Money price = tickets.get(i).getPrice();
+            if (!price.getCurrency().equals(first.getCurrency())) {
+                throw new IllegalArgumentException("Tickets priced in different currencies");
+            }
+            total = Math.addExact(total, price.getMinorUnits());
+        }
+        return Money.ofMinor(total, first.getCurrency());
+    }
 }
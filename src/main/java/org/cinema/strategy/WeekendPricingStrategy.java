@@ -1,5 +1,6 @@
 package org.cinema.strategy;
 
+import org.cinema.model.Money;
 import org.cinema.model.Ticket;
 
 import java.time.DayOfWeek;
@@ -8,17 +9,15 @@ import java.util.List;
 
 public class WeekendPricingStrategy implements PricingStrategy {
 
-    private static final double SURCHARGE_RATE = 0.15; // 15%
+    private static final long SURCHARGE_PERCENT = 15;
 
     @Override
-    public double calculateTotal(List<Ticket> tickets, LocalDateTime showtime) {
-        double baseTotal = tickets.stream()
-                .mapToDouble(Ticket::getPrice)
-                .sum();
+    public Money calculateTotal(List<Ticket> tickets, LocalDateTime showtime) {
+        Money baseTotal = PricingStrategy.baseTotal(tickets);
 
         DayOfWeek day = showtime.getDayOfWeek();
         if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
-            return baseTotal * (1.0 + SURCHARGE_RATE);
+            return baseTotal.times(100 + SURCHARGE_PERCENT, 100);
         }
         return baseTotal;
     }
@@ -0,0 +1,226 @@
+package org.cinema.util;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded concurrency for calls to one dependency, with an adaptive limit.
+ * Calls beyond the limit wait in a bounded FIFO queue and are rejected once
+ * it is full, so a slow dependency can only tie up its own permits.
+ * The limit follows AIMD: it grows by about one per limit's worth of
+ * healthy calls while the permits are in use, and is multiplied by the
+ * backoff ratio when a call fails or takes longer than the latency
+ * tolerance times the baseline latency. The baseline is the fastest call in
+ * the current and previous baseline window, so one unusually fast call
+ * stops counting after two windows.
+ * Calls are asynchronous; a permit is held until the returned stage completes.
+ * A call whose stage is already complete when it returns (a validation
+ * failure, a replayed result) never waited on the dependency: its latency is
+ * ignored, though a failure still backs the limit off.
+ */
+public final class Bulkhead {
+    /** Length of the windows the baseline latency is taken from */
+    public static final long BASELINE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final String name;
+    private final BulkheadPolicy policy;
+    private final LongSupplier nanoClock;
+    private final ThreadLocal<Boolean> draining = new ThreadLocal<>();
+
+    // All guarded by this
+    private final ArrayDeque<PendingCall<?>> queue = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private long windowStart;
+    private long windowFastestNanos = Long.MAX_VALUE;
+    private long previousFastestNanos = Long.MAX_VALUE;
+    private long rejected;
+
+    public Bulkhead(String name, BulkheadPolicy policy) {
+        this(name, policy, System::nanoTime);
+    }
+
+    /**
+     * @param name Dependency name used in rejection messages
+     * @param policy Limits and adaptation settings
+     * @param nanoClock Monotonic time source in nanoseconds
+     */
+    public Bulkhead(String name, BulkheadPolicy policy, LongSupplier nanoClock) {
+        if (policy == null || nanoClock == null) {
+            throw new IllegalArgumentException("Policy and clock are required");
+        }
+        this.name = name;
+        this.policy = policy;
+        this.nanoClock = nanoClock;
+        this.limit = policy.getInitialLimit();
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    /**
+     * Start the call now if a permit is free, otherwise queue it
+     * @param call Starts the operation; must not block
+     * @return Future with the call's outcome, or failed with RejectedExecutionException
+     *         if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<? extends CompletionStage<T>> call) {
+        PendingCall<T> pending = new PendingCall<>(call);
+        synchronized (this) {
+            if (inFlight >= permits()) {
+                if (queue.size() >= policy.getMaxQueue()) {
+                    rejected++;
+                    pending.result.completeExceptionally(new RejectedExecutionException(
+                            "Bulkhead " + name + " is full (" + inFlight + " running, "
+                                    + queue.size() + " queued)"));
+                    return pending.result;
+                }
+                queue.addLast(pending);
+                return pending.result;
+            }
+            inFlight++;
+        }
+        start(pending);
+        return pending.result;
+    }
+
+    /**
+     * Current concurrency limit
+     */
+    public synchronized int getLimit() {
+        return permits();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * Fastest measured latency in the current and previous baseline window
+     * @return Latency in nanoseconds, or Long.MAX_VALUE before any call was measured
+     */
+    public synchronized long getBaselineNanos() {
+        rollWindow(nanoClock.getAsLong());
+        return Math.min(windowFastestNanos, previousFastestNanos);
+    }
+
+    /**
+     * Calls rejected because the queue was full
+     */
+    public synchronized long getRejectedCount() {
+        return rejected;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BulkheadPolicy getPolicy() {
+        return policy;
+    }
+
+    private int permits() {
+        return (int) limit;
+    }
+
+    private <T> void start(PendingCall<T> pending) {
+        long startNanos = nanoClock.getAsLong();
+        CompletionStage<T> stage;
+        try {
+            stage = pending.call.get();
+        } catch (RuntimeException e) {
+            stage = CompletableFuture.failedFuture(e);
+        }
+        boolean measured = !stage.toCompletableFuture().isDone();
+        stage.whenComplete((value, error) -> {
+            release(measured ? nanoClock.getAsLong() - startNanos : -1, error == null);
+            if (error == null) {
+                pending.result.complete(value);
+            } else {
+                pending.result.completeExceptionally(error);
+            }
+        });
+    }
+
+    /**
+     * @param latencyNanos How long the call took, or -1 if it completed without waiting
+     */
+    private void release(long latencyNanos, boolean success) {
+        synchronized (this) {
+            boolean saturated = inFlight * 2 >= permits();
+            inFlight--;
+            if (!success) {
+                limit = Math.max(policy.getMinLimit(), limit * policy.getBackoffRatio());
+            } else if (latencyNanos >= 0) {
+                rollWindow(nanoClock.getAsLong());
+                windowFastestNanos = Math.min(windowFastestNanos, latencyNanos);
+                long baseline = Math.min(windowFastestNanos, previousFastestNanos);
+                if (latencyNanos > baseline * policy.getLatencyTolerance()) {
+                    limit = Math.max(policy.getMinLimit(), limit * policy.getBackoffRatio());
+                } else if (saturated) {
+                    limit = Math.min(policy.getMaxLimit(), limit + 1.0 / limit);
+                }
+            }
+        }
+        drain();
+    }
+
+    private void rollWindow(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < BASELINE_WINDOW_NANOS) {
+            return;
+        }
+        // After a quiet stretch longer than a window the previous window is empty too
+        previousFastestNanos = elapsed < 2 * BASELINE_WINDOW_NANOS ? windowFastestNanos : Long.MAX_VALUE;
+        windowFastestNanos = Long.MAX_VALUE;
+        windowStart = now;
+    }
+
+    /**
+     * Start queued calls while permits are free. Calls that complete
+     * synchronously re-enter here; the outer loop picks their successors
+     * up instead of recursing.
+     */
+    private void drain() {
+        if (draining.get() != null) {
+            return;
+        }
+        draining.set(Boolean.TRUE);
+        try {
+            PendingCall<?> next;
+            while ((next = nextToStart()) != null) {
+                start(next);
+            }
+        } finally {
+            draining.remove();
+        }
+    }
+
+    private synchronized PendingCall<?> nextToStart() {
+        while (inFlight < permits() && !queue.isEmpty()) {
+            PendingCall<?> next = queue.pollFirst();
+            // Skip calls the caller gave up on while they were queued
+            if (!next.result.isDone()) {
+                inFlight++;
+                return next;
+            }
+        }
+        return null;
+    }
+
+    private static final class PendingCall<T> {
+        private final Supplier<? extends CompletionStage<T>> call;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        PendingCall(Supplier<? extends CompletionStage<T>> call) {
+            this.call = call;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.cinema.util;
+
+/**
+ * Limits used by Bulkhead to bound and adapt the concurrency of one dependency
+ */
+public final class BulkheadPolicy {
+    /**
+     * Start at 8 concurrent calls, adapt between 1 and 64, queue up to 256 more,
+     * back off when calls take over twice the fastest latency seen
+     */
+    public static final BulkheadPolicy DEFAULT = new BulkheadPolicy(8, 1, 64, 256, 2.0, 0.9);
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+
+    /**
+     * @param initialLimit Concurrent calls allowed before any latency is observed
+     * @param minLimit Lowest the limit can shrink to
+     * @param maxLimit Highest the limit can grow to
+     * @param maxQueue Calls that may wait for a permit; further calls are rejected
+     * @param latencyTolerance Calls slower than this multiple of the fastest latency seen count as congestion
+     * @param backoffRatio Factor the limit is multiplied by on congestion or failure
+     */
+    public BulkheadPolicy(int initialLimit, int minLimit, int maxLimit, int maxQueue,
+                          double latencyTolerance, double backoffRatio) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 0 < min <= initial <= max");
+        }
+        if (maxQueue < 0) {
+            throw new IllegalArgumentException("Queue size cannot be negative");
+        }
+        if (latencyTolerance < 1.0) {
+            throw new IllegalArgumentException("Latency tolerance must be at least 1");
+        }
+        if (backoffRatio <= 0.0 || backoffRatio >= 1.0) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Policy with a fixed limit that never adapts
+     */
+    public static BulkheadPolicy fixed(int limit, int maxQueue) {
+        return new BulkheadPolicy(limit, limit, limit, maxQueue, Double.MAX_VALUE, 0.5);
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    public double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkheadPolicy{" +
+                "initialLimit=" + initialLimit +
+                ", minLimit=" + minLimit +
+                ", maxLimit=" + maxLimit +
+                ", maxQueue=" + maxQueue +
+                ", latencyTolerance=" + latencyTolerance +
+                ", backoffRatio=" + backoffRatio +
+                '}';
+    }
+}
@@ -0,0 +1,138 @@
+package org.cinema.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free circuit breaker.
+ * CLOSED lets every call through and counts consecutive failures; a call
+ * slower than the policy's slow-call threshold counts as a failure too.
+ * Reaching the failure threshold opens the circuit, rejecting calls until
+ * the open period has passed. The first call after that is let through as
+ * a probe (HALF_OPEN): success closes the circuit, failure reopens it.
+ */
+public final class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final CircuitBreakerPolicy policy;
+    private final LongSupplier nanoClock;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder trips = new LongAdder();
+    private volatile long openedAt;
+
+    public CircuitBreaker(CircuitBreakerPolicy policy) {
+        this(policy, System::nanoTime);
+    }
+
+    /**
+     * @param policy Failure and timing thresholds
+     * @param nanoClock Monotonic time source in nanoseconds
+     */
+    public CircuitBreaker(CircuitBreakerPolicy policy, LongSupplier nanoClock) {
+        if (policy == null || nanoClock == null) {
+            throw new IllegalArgumentException("Policy and clock are required");
+        }
+        this.policy = policy;
+        this.nanoClock = nanoClock;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(policy.getSlowCallMillis());
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(policy.getOpenMillis());
+    }
+
+    /**
+     * Ask permission to make a call. Every permitted call must be followed
+     * by onSuccess or onFailure.
+     * @return true if the call may proceed, false if the circuit is open
+     */
+    public boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Record a call that completed; slow calls are treated as failures
+     * @param durationNanos How long the call took
+     */
+    public void onSuccess(long durationNanos) {
+        if (durationNanos > slowCallNanos) {
+            onFailure();
+            return;
+        }
+        consecutiveFailures.set(0);
+        state.compareAndSet(State.HALF_OPEN, State.CLOSED);
+    }
+
+    /**
+     * Record a call that threw or otherwise failed
+     */
+    public void onFailure() {
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            trip(State.HALF_OPEN);
+        } else if (current == State.CLOSED
+                && consecutiveFailures.incrementAndGet() >= policy.getFailureThreshold()) {
+            trip(State.CLOSED);
+        }
+    }
+
+    /**
+     * Give back permission for a call that was never made, without recording
+     * an outcome. A probe that is given back lets the next caller probe instead.
+     */
+    public void release() {
+        state.compareAndSet(State.HALF_OPEN, State.OPEN);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public CircuitBreakerPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Get number of calls refused while the circuit was open
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Get number of times the circuit has opened
+     */
+    public long getTripCount() {
+        return trips.sum();
+    }
+
+    private void trip(State from) {
+        // Publish the open time before the state so probes never see a stale timestamp
+        openedAt = nanoClock.getAsLong();
+        if (state.compareAndSet(from, State.OPEN)) {
+            consecutiveFailures.set(0);
+            trips.increment();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{state=" + state.get() + ", trips=" + trips.sum()
+                + ", rejected=" + rejected.sum() + '}';
+    }
+}
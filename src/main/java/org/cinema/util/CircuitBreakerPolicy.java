@@ -0,0 +1,51 @@
+package org.cinema.util;
+
+/**
+ * Thresholds used by CircuitBreaker to decide when a dependency is unhealthy
+ */
+public final class CircuitBreakerPolicy {
+    /** Trip after 5 consecutive failed or slow calls, treat calls over 1 s as slow, probe again after 30 s */
+    public static final CircuitBreakerPolicy DEFAULT = new CircuitBreakerPolicy(5, 1_000, 30_000);
+
+    private final int failureThreshold;
+    private final long slowCallMillis;
+    private final long openMillis;
+
+    /**
+     * @param failureThreshold Consecutive failed or slow calls that open the circuit
+     * @param slowCallMillis Calls taking longer than this count as failures
+     * @param openMillis How long the circuit stays open before a single probe call is let through
+     */
+    public CircuitBreakerPolicy(int failureThreshold, long slowCallMillis, long openMillis) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Failure threshold must be positive");
+        }
+        if (slowCallMillis <= 0 || openMillis <= 0) {
+            throw new IllegalArgumentException("Circuit breaker durations must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.slowCallMillis = slowCallMillis;
+        this.openMillis = openMillis;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public long getSlowCallMillis() {
+        return slowCallMillis;
+    }
+
+    public long getOpenMillis() {
+        return openMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreakerPolicy{" +
+                "failureThreshold=" + failureThreshold +
+                ", slowCallMillis=" + slowCallMillis +
+                ", openMillis=" + openMillis +
+                '}';
+    }
+}
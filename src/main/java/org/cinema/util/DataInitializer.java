@@ -3,14 +3,16 @@ package org.cinema.util;
 import org.cinema.model.Movie;
 import org.cinema.model.Showtime;
 import org.cinema.repository.MovieRepository;
+import org.cinema.util.logging.Logger;
 
 import java.time.LocalDateTime;
 
 public class DataInitializer {
+    private static final Logger log = Logger.getLogger(DataInitializer.class);
     
     public static void init() {
         initMovies();
-        System.out.println("Data initialized: Movies and Showtimes loaded");
+        log.info("Data initialized: Movies and Showtimes loaded");
     }
     
     private static void initMovies() {
@@ -25,7 +27,7 @@ public class DataInitializer {
         movieRepo.save(movie2);
         movieRepo.save(movie3);
         
-        System.out.println("  - Loaded " + movieRepo.findAll().size() + " movies");
+        log.info(() -> "  - Loaded " + movieRepo.findAll().size() + " movies");
     }
     
     public static Showtime getMatineeShowtime() {
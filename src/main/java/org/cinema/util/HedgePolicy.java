@@ -0,0 +1,69 @@
+package org.cinema.util;
+
+/**
+ * When to send a second, hedged copy of a read-only call that is taking
+ * longer than usual. The hedge goes out once the first call has been
+ * running for the given latency percentile of recent calls, and whichever
+ * answer arrives first is used. Hedging starts only after enough calls
+ * have been measured for the percentile to mean something.
+ */
+public final class HedgePolicy {
+    /** Hedge calls slower than the 95th percentile, once 20 calls are measured */
+    public static final HedgePolicy DEFAULT = new HedgePolicy(95.0, 20);
+    /** Never hedge */
+    public static final HedgePolicy NONE = new HedgePolicy();
+
+    private final double percentile;
+    private final int minSamples;
+
+    /**
+     * @param percentile Latency percentile after which to hedge, between 0 and 100 (exclusive)
+     * @param minSamples Calls to measure before hedging
+     */
+    public HedgePolicy(double percentile, int minSamples) {
+        if (!(percentile > 0 && percentile < 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (minSamples <= 0) {
+            throw new IllegalArgumentException("Min samples must be positive");
+        }
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+    }
+
+    private HedgePolicy() {
+        this.percentile = 0;
+        this.minSamples = Integer.MAX_VALUE;
+    }
+
+    public boolean isEnabled() {
+        return this != NONE;
+    }
+
+    /**
+     * Delay after which to hedge, based on the latency of recent calls
+     * @return Delay in milliseconds (at least 1), or -1 if the call should not be hedged
+     */
+    public long hedgeDelayMillis(LatencyHistogram latency) {
+        if (!isEnabled() || latency.getCount() < minSamples) {
+            return -1;
+        }
+        long nanos = latency.getPercentileNanos(percentile);
+        return Math.max(1, (nanos + 999_999) / 1_000_000);
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    @Override
+    public String toString() {
+        return isEnabled()
+                ? "HedgePolicy{percentile=" + percentile + ", minSamples=" + minSamples + '}'
+                : "HedgePolicy{NONE}";
+    }
+}
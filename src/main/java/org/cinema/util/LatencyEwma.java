@@ -0,0 +1,83 @@
+package org.cinema.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exponentially weighted moving averages of a dependency's latency and
+ * success rate, used to compare gateways by how they have behaved lately.
+ * Each average is a double packed into an AtomicLong and updated with a
+ * CAS loop, so recording never blocks callers.
+ */
+public final class LatencyEwma {
+    /** Weight of the newest sample; about the last ten calls dominate */
+    public static final double DEFAULT_ALPHA = 0.2;
+
+    // Keeps a gateway that fails every call from scoring as infinitely slow
+    private static final double MIN_SUCCESS_RATE = 0.01;
+
+    private final double alpha;
+    private final AtomicLong latencyBits = new AtomicLong(Double.doubleToLongBits(0.0));
+    private final AtomicLong successBits = new AtomicLong(Double.doubleToLongBits(1.0));
+    private final LongAdder samples = new LongAdder();
+
+    public LatencyEwma() {
+        this(DEFAULT_ALPHA);
+    }
+
+    /**
+     * @param alpha Weight of the newest sample, between 0 (exclusive) and 1
+     */
+    public LatencyEwma(double alpha) {
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new IllegalArgumentException("Alpha must be in (0, 1]");
+        }
+        this.alpha = alpha;
+    }
+
+    /**
+     * Record one call
+     * @param nanos How long the call took; negative values are recorded as 0
+     * @param success Whether the call succeeded
+     */
+    public void record(long nanos, boolean success) {
+        boolean first = samples.sum() == 0;
+        samples.increment();
+        update(latencyBits, Math.max(nanos, 0), first);
+        update(successBits, success ? 1.0 : 0.0, first);
+    }
+
+    private void update(AtomicLong bits, double sample, boolean first) {
+        while (true) {
+            long current = bits.get();
+            double next = first ? sample : Double.longBitsToDouble(current) * (1 - alpha) + sample * alpha;
+            if (bits.compareAndSet(current, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    public double getLatencyNanos() {
+        return Double.longBitsToDouble(latencyBits.get());
+    }
+
+    /**
+     * Recent fraction of successful calls, 1.0 before the first call
+     */
+    public double getSuccessRate() {
+        return Double.longBitsToDouble(successBits.get());
+    }
+
+    public long getSampleCount() {
+        return samples.sum();
+    }
+
+    /**
+     * Expected time per successful call: latency divided by success rate.
+     * Lower is better; 0 until the first call, so unmeasured dependencies
+     * get tried.
+     */
+    public double getScore() {
+        return getLatencyNanos() / Math.max(getSuccessRate(), MIN_SUCCESS_RATE);
+    }
+}
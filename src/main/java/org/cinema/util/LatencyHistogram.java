@@ -0,0 +1,93 @@
+package org.cinema.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two buckets.
+ * Bucket i holds durations in [2^(i-1), 2^i) nanoseconds, so recording is a
+ * single atomic increment and percentiles are accurate to within a factor
+ * of two, which is enough to tell a 50 µs observer from a 500 ms one.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record one duration
+     * @param nanos Duration in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalNanos.sum() / n;
+    }
+
+    /**
+     * Get an upper bound for the given percentile
+     * @param percentile Percentile between 0 and 100
+     * @return Upper edge of the bucket containing the percentile, capped at the max, 0 if empty
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                long upper = i == 0 ? 0 : (i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+                return Math.min(upper, maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * One-line summary with count, mean, p50, p99 and max in microseconds
+     */
+    public String summary() {
+        return String.format("count=%d mean=%dus p50=%dus p99=%dus max=%dus",
+                getCount(),
+                TimeUnit.NANOSECONDS.toMicros(getMeanNanos()),
+                TimeUnit.NANOSECONDS.toMicros(getPercentileNanos(50)),
+                TimeUnit.NANOSECONDS.toMicros(getPercentileNanos(99)),
+                TimeUnit.NANOSECONDS.toMicros(getMaxNanos()));
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" + summary() + '}';
+    }
+}
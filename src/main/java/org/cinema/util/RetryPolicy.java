@@ -0,0 +1,83 @@
+package org.cinema.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often and how far apart to retry a call that failed transiently.
+ * Backoff grows exponentially from the base delay up to the cap, and each
+ * delay is drawn uniformly between zero and that bound (full jitter) so
+ * callers that failed together do not retry together.
+ */
+public final class RetryPolicy {
+    /** Up to 3 attempts, backing off from 100 ms, never more than 2 s apart */
+    public static final RetryPolicy DEFAULT = new RetryPolicy(3, 100, 2_000);
+    /** Single attempt, no retries */
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0);
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    /**
+     * @param maxAttempts Total attempts including the first one
+     * @param baseDelayMillis Upper bound of the delay before the first retry
+     * @param maxDelayMillis Upper bound of any delay
+     */
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Max attempts must be positive");
+        }
+        if (baseDelayMillis < 0 || maxDelayMillis < baseDelayMillis) {
+            throw new IllegalArgumentException("Delays must satisfy 0 <= base <= max");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * Check whether another attempt is allowed
+     * @param attempt Attempts made so far
+     */
+    public boolean canRetry(int attempt) {
+        return attempt < maxAttempts;
+    }
+
+    /**
+     * Upper bound of the delay before a retry: base * 2^(attempt - 1), capped
+     * @param attempt Attempts made so far (1 before the first retry)
+     */
+    public long maxBackoffMillis(int attempt) {
+        int doublings = Math.min(Math.max(attempt - 1, 0), 30);
+        return Math.min(maxDelayMillis, baseDelayMillis << doublings);
+    }
+
+    /**
+     * Delay before a retry, with full jitter
+     * @param attempt Attempts made so far (1 before the first retry)
+     */
+    public long backoffMillis(int attempt) {
+        return ThreadLocalRandom.current().nextLong(maxBackoffMillis(attempt) + 1);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getBaseDelayMillis() {
+        return baseDelayMillis;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{" +
+                "maxAttempts=" + maxAttempts +
+                ", baseDelayMillis=" + baseDelayMillis +
+                ", maxDelayMillis=" + maxDelayMillis +
+                '}';
+    }
+}
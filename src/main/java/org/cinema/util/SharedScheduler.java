@@ -0,0 +1,59 @@
+package org.cinema.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide timer for delays that must not hold a thread while waiting.
+ * A couple of daemon threads fire every scheduled task, so thousands of
+ * pending delays (simulated gateway latency, retry backoff) cost a queue
+ * entry each instead of a sleeping thread. Tasks run on the timer threads
+ * and must be short; hand longer work to another executor.
+ */
+public final class SharedScheduler {
+    private static final int THREADS = 2;
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private SharedScheduler() {
+    }
+
+    /**
+     * Complete a future after a delay
+     * @param millis Delay in milliseconds; 0 or less completes immediately
+     */
+    public static CompletableFuture<Void> delay(long millis) {
+        if (millis <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        ScheduledFuture<?> task = TIMER.schedule(() -> future.complete(null), millis, TimeUnit.MILLISECONDS);
+        // Cancelling the delay removes the timer entry
+        future.whenComplete((ignored, error) -> {
+            if (future.isCancelled()) {
+                task.cancel(false);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Run a short task after a delay
+     */
+    public static ScheduledFuture<?> schedule(Runnable task, long millis) {
+        return TIMER.schedule(task, Math.max(millis, 0), TimeUnit.MILLISECONDS);
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        AtomicInteger index = new AtomicInteger();
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(THREADS, r -> {
+            Thread thread = new Thread(r, "shared-timer-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+}
@@ -0,0 +1,158 @@
+package org.cinema.util.logging;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appender that hands records to a single background writer thread.
+ * Logging threads only enqueue; the writer drains everything queued so far,
+ * formats the batch into one buffer and writes it with a single print and
+ * flush, so request threads never contend on the output stream. When the
+ * queue is full, callers block until the writer catches up.
+ */
+public class AsyncLogAppender implements LogAppender {
+    public static final int DEFAULT_QUEUE_CAPACITY = 8192;
+    private static final int MAX_BATCH_SIZE = 512;
+
+    private final PrintStream out;
+    private final LogFormat format;
+    private final BlockingQueue<LogRecord> queue;
+    private final Thread writer;
+    private final Object progress = new Object();
+    private long appended; // guarded by progress
+    private long written; // guarded by progress
+    private long batches; // guarded by progress
+    private boolean closed; // guarded by progress
+
+    public AsyncLogAppender(PrintStream out) {
+        this(out, LogFormat.PLAIN, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public AsyncLogAppender(PrintStream out, LogFormat format, int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.out = out;
+        this.format = format;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::run, "log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void append(LogRecord record) {
+        // Counted under the same lock close() takes, so close() waits for
+        // every record it lets through before stopping the writer
+        synchronized (progress) {
+            if (closed) {
+                return;
+            }
+            appended++;
+        }
+        try {
+            queue.put(record);
+        } catch (InterruptedException e) {
+            markWritten(1, false);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            awaitWrittenUntil(Long.MAX_VALUE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Wait until every record appended so far has been written
+     * @return true if the writer caught up before the timeout
+     */
+    public boolean awaitWritten(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        return awaitWrittenUntil(nanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + nanos);
+    }
+
+    /**
+     * Get number of batches written so far (one print and flush each)
+     */
+    public long getBatchCount() {
+        synchronized (progress) {
+            return batches;
+        }
+    }
+
+    /**
+     * Stop accepting records and write everything already queued
+     */
+    @Override
+    public void close() {
+        synchronized (progress) {
+            closed = true;
+        }
+        flush();
+        writer.interrupt();
+    }
+
+    private boolean awaitWrittenUntil(long deadline) throws InterruptedException {
+        synchronized (progress) {
+            long target = appended;
+            while (written < target) {
+                if (deadline == Long.MAX_VALUE) {
+                    progress.wait();
+                } else {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+                }
+            }
+            return true;
+        }
+    }
+
+    private void markWritten(int count, boolean batch) {
+        synchronized (progress) {
+            written += count;
+            if (batch) {
+                batches++;
+            }
+            progress.notifyAll();
+        }
+    }
+
+    private void run() {
+        List<LogRecord> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        StringBuilder buffer = new StringBuilder(4096);
+        boolean stopping = false;
+        while (!stopping || !queue.isEmpty()) {
+            if (!stopping) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    stopping = true;
+                }
+            }
+            queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+            if (batch.isEmpty()) {
+                continue;
+            }
+            for (LogRecord record : batch) {
+                record.formatTo(format, buffer);
+            }
+            out.print(buffer);
+            out.flush();
+            markWritten(batch.size(), true);
+            batch.clear();
+            buffer.setLength(0);
+        }
+    }
+}
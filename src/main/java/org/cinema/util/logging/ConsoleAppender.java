@@ -0,0 +1,39 @@
+package org.cinema.util.logging;
+
+import java.io.PrintStream;
+
+/**
+ * Appender that writes each record immediately on the calling thread.
+ * Keeps log lines interleaved with other console output in call order,
+ * which the interactive demo relies on; every call takes the stream's lock.
+ */
+public class ConsoleAppender implements LogAppender {
+    private final PrintStream out;
+    private final LogFormat format;
+
+    public ConsoleAppender() {
+        this(System.out, LogFormat.PLAIN);
+    }
+
+    public ConsoleAppender(PrintStream out, LogFormat format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    @Override
+    public void append(LogRecord record) {
+        StringBuilder line = new StringBuilder(record.getMessage().length() + 64);
+        record.formatTo(format, line);
+        out.print(line);
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        out.flush();
+    }
+}
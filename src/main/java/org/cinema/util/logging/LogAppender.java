@@ -0,0 +1,23 @@
+package org.cinema.util.logging;
+
+/**
+ * Destination for log records
+ */
+public interface LogAppender extends AutoCloseable {
+
+    /**
+     * Accept a record. Must be safe to call from any thread.
+     */
+    void append(LogRecord record);
+
+    /**
+     * Block until every record appended so far has been written
+     */
+    void flush();
+
+    /**
+     * Write pending records and release resources
+     */
+    @Override
+    void close();
+}
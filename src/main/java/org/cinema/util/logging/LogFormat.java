@@ -0,0 +1,11 @@
+package org.cinema.util.logging;
+
+/**
+ * How appenders render a record
+ */
+public enum LogFormat {
+    /** Message text only, as the console demo output has always looked */
+    PLAIN,
+    /** One key=value line per record with timestamp, level, logger and thread */
+    STRUCTURED
+}
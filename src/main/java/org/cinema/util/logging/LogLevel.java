@@ -0,0 +1,30 @@
+package org.cinema.util.logging;
+
+/**
+ * Log severity, lowest to highest.
+ * OFF disables all output.
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    /**
+     * Parse a level name, ignoring case
+     * @param name Level name, may be null
+     * @param defaultLevel Level to use when the name is missing or unknown
+     */
+    public static LogLevel parse(String name, LogLevel defaultLevel) {
+        if (name == null) {
+            return defaultLevel;
+        }
+        for (LogLevel level : values()) {
+            if (level.name().equalsIgnoreCase(name.trim())) {
+                return level;
+            }
+        }
+        return defaultLevel;
+    }
+}
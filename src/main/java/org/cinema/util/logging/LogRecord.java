@@ -0,0 +1,95 @@
+package org.cinema.util.logging;
+
+import java.time.Instant;
+
+/**
+ * One log event.
+ * Captures the time, level, logger and thread on the calling thread;
+ * formatting happens later on the appender's writer thread.
+ */
+public final class LogRecord {
+    private final long timestamp;
+    private final LogLevel level;
+    private final String loggerName;
+    private final String threadName;
+    private final String message;
+
+    public LogRecord(LogLevel level, String loggerName, String message) {
+        this(System.currentTimeMillis(), level, loggerName, Thread.currentThread().getName(), message);
+    }
+
+    public LogRecord(long timestamp, LogLevel level, String loggerName, String threadName, String message) {
+        this.timestamp = timestamp;
+        this.level = level;
+        this.loggerName = loggerName;
+        this.threadName = threadName;
+        this.message = message;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Append this record in the given format, followed by a line separator
+     */
+    public void formatTo(LogFormat format, StringBuilder out) {
+        if (format == LogFormat.STRUCTURED) {
+            out.append("ts=").append(Instant.ofEpochMilli(timestamp))
+                    .append(" level=").append(level)
+                    .append(" logger=").append(loggerName)
+                    .append(" thread=").append(threadName)
+                    .append(" msg=\"");
+            appendEscaped(message, out);
+            out.append('"');
+        } else {
+            out.append(message);
+        }
+        out.append(System.lineSeparator());
+    }
+
+    private static void appendEscaped(String text, StringBuilder out) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    break;
+                default:
+                    out.append(c);
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        formatTo(LogFormat.STRUCTURED, out);
+        return out.toString().trim();
+    }
+}
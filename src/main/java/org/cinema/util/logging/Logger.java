@@ -0,0 +1,149 @@
+package org.cinema.util.logging;
+
+import java.util.function.Supplier;
+
+/**
+ * Minimal logging facade used instead of System.out in library code.
+ * One level and one appender are shared by all loggers. The level is
+ * checked before a message is built, so Supplier-based calls cost nothing
+ * when the level is disabled. Multi-line banners are logged at DEBUG;
+ * at WARN or above ("quiet" mode) a successful booking does no console I/O.
+ *
+ * The initial level comes from the system property cinema.log.level
+ * (DEBUG, INFO, WARN, ERROR or OFF, default INFO). The default appender
+ * writes plain messages to System.out from a background thread.
+ */
+public final class Logger {
+    public static final String LEVEL_PROPERTY = "cinema.log.level";
+
+    private static volatile LogLevel level = LogLevel.parse(System.getProperty(LEVEL_PROPERTY), LogLevel.INFO);
+    private static volatile LogAppender appender;
+
+    private final String name;
+
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    public static Logger getLogger(Class<?> type) {
+        return new Logger(type.getSimpleName());
+    }
+
+    public static Logger getLogger(String name) {
+        return new Logger(name);
+    }
+
+    public static LogLevel getLevel() {
+        return level;
+    }
+
+    public static void setLevel(LogLevel newLevel) {
+        if (newLevel == null) {
+            throw new IllegalArgumentException("Log level cannot be null");
+        }
+        level = newLevel;
+    }
+
+    /**
+     * Replace the shared appender.
+     * The previous appender is flushed and returned but not closed, so
+     * callers can restore it later.
+     */
+    public static synchronized LogAppender setAppender(LogAppender newAppender) {
+        if (newAppender == null) {
+            throw new IllegalArgumentException("Log appender cannot be null");
+        }
+        LogAppender previous = appender;
+        appender = newAppender;
+        if (previous != null) {
+            previous.flush();
+        }
+        return previous;
+    }
+
+    /**
+     * Block until everything logged so far has been written
+     */
+    public static void flush() {
+        LogAppender current = appender;
+        if (current != null) {
+            current.flush();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled(LogLevel candidate) {
+        return candidate != LogLevel.OFF && candidate.compareTo(level) >= 0;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(LogLevel.DEBUG);
+    }
+
+    public void debug(String message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    public void debug(Supplier<String> message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    public void info(String message) {
+        log(LogLevel.INFO, message);
+    }
+
+    public void info(Supplier<String> message) {
+        log(LogLevel.INFO, message);
+    }
+
+    public void warn(String message) {
+        log(LogLevel.WARN, message);
+    }
+
+    public void warn(Supplier<String> message) {
+        log(LogLevel.WARN, message);
+    }
+
+    public void error(String message) {
+        log(LogLevel.ERROR, message);
+    }
+
+    public void error(Supplier<String> message) {
+        log(LogLevel.ERROR, message);
+    }
+
+    public void log(LogLevel recordLevel, String message) {
+        if (isEnabled(recordLevel)) {
+            appender().append(new LogRecord(recordLevel, name, message));
+        }
+    }
+
+    public void log(LogLevel recordLevel, Supplier<String> message) {
+        if (isEnabled(recordLevel)) {
+            appender().append(new LogRecord(recordLevel, name, message.get()));
+        }
+    }
+
+    private static LogAppender appender() {
+        LogAppender current = appender;
+        if (current == null) {
+            synchronized (Logger.class) {
+                current = appender;
+                if (current == null) {
+                    current = createDefaultAppender();
+                    appender = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static LogAppender createDefaultAppender() {
+        AsyncLogAppender created = new AsyncLogAppender(System.out);
+        Runtime.getRuntime().addShutdownHook(new Thread(created::close, "log-shutdown"));
+        return created;
+    }
+}
@@ -0,0 +1,196 @@
+package org.cinema;
+
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.observer.AsyncBookingSubject;
+import org.cinema.observer.BookingObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AsyncBookingSubject
+ * Tests non-blocking dispatch, ordering and observer lifecycle
+ */
+public class AsyncBookingSubjectTest {
+
+    private AsyncBookingSubject subject;
+
+    @BeforeEach
+    public void setUp() {
+        subject = new AsyncBookingSubject(16);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subject.close();
+    }
+
+    @Test
+    public void notifyObservers_deliversEventsInPublishOrder() throws InterruptedException {
+        // Arrange
+        RecordingObserver observer = new RecordingObserver();
+        subject.attach(observer);
+
+        // Act
+        subject.notifyObservers("BK-1", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+        subject.notifyObservers("BK-1", BookingEvent.SEATS_RESERVED, "a@test.com", "555-0001", "Reserved");
+        subject.notifyObservers("BK-1", BookingEvent.PAYMENT_COMPLETED, "a@test.com", "555-0001", "Paid");
+        subject.notifyObservers("BK-1", BookingEvent.CONFIRMED, "a@test.com", "555-0001", "Confirmed");
+
+        // Assert
+        assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS), "Queue should drain");
+        assertEquals(List.of(BookingEvent.CREATED, BookingEvent.SEATS_RESERVED,
+                BookingEvent.PAYMENT_COMPLETED, BookingEvent.CONFIRMED), observer.events,
+                "Events should arrive in publish order");
+    }
+
+    @Test
+    public void notifyObservers_doesNotWaitForSlowObserver() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingObserver slow = new BlockingObserver(release);
+        subject.attach(slow);
+
+        // Act
+        long start = System.nanoTime();
+        subject.notifyObservers("BK-1", BookingEvent.CONFIRMED, "a@test.com", "555-0001", "Confirmed");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertTrue(elapsedMillis < 1000, "Publisher should not wait for the observer");
+        assertEquals(1, subject.getPendingEventCount(), "Event should still be pending");
+        release.countDown();
+        assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS), "Queue should drain once released");
+        assertEquals(0, subject.getPendingEventCount());
+    }
+
+    @Test
+    public void notifyObservers_failingObserver_doesNotStopDispatch() throws InterruptedException {
+        // Arrange
+        RecordingObserver healthy = new RecordingObserver();
+        subject.attach((bookingId, event, email, phone, details) -> {
+            throw new IllegalStateException("boom");
+        });
+        subject.attach(healthy);
+
+        // Act
+        subject.notifyObservers("BK-1", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+        subject.notifyObservers("BK-1", BookingEvent.CONFIRMED, "a@test.com", "555-0001", "Confirmed");
+
+        // Assert
+        assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(2, healthy.events.size(), "Healthy observer should get both events");
+    }
+
+    @Test
+    public void detach_stopsFurtherDelivery() throws InterruptedException {
+        // Arrange
+        RecordingObserver observer = new RecordingObserver();
+        subject.attach(observer);
+        subject.notifyObservers("BK-1", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+        assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS));
+
+        // Act
+        subject.detach(observer);
+        subject.notifyObservers("BK-1", BookingEvent.CONFIRMED, "a@test.com", "555-0001", "Confirmed");
+
+        // Assert
+        assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(List.of(BookingEvent.CREATED), observer.events, "Detached observer should get nothing more");
+        assertEquals(0, subject.getObserverCount());
+    }
+
+    @Test
+    public void detach_whilePublishing_neverBlocksPublishers() throws InterruptedException {
+        // Arrange - slow observer keeps a one-slot queue full while publishers still hold the old routes
+        subject.close();
+        subject = new AsyncBookingSubject(1);
+        BookingObserver observer = (bookingId, event, email, phone, details) -> {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        subject.attach(observer);
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread publisher = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    subject.notifyObservers("BK-" + i, BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+                }
+            });
+            publishers.add(publisher);
+            publisher.start();
+        }
+
+        // Act
+        Thread.sleep(50);
+        subject.detach(observer);
+
+        // Assert
+        for (Thread publisher : publishers) {
+            publisher.join(5_000);
+            assertFalse(publisher.isAlive(), "Publisher should not block on a closed mailbox");
+        }
+        assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(0, subject.getPendingEventCount());
+    }
+
+    @Test
+    public void attach_duplicateObserver_createsSingleQueue() throws InterruptedException {
+        // Arrange
+        RecordingObserver observer = new RecordingObserver();
+
+        // Act
+        subject.attach(observer);
+        subject.attach(observer);
+        subject.notifyObservers("BK-1", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+
+        // Assert
+        assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(1, observer.events.size(), "Duplicate attach should not duplicate delivery");
+    }
+
+    /**
+     * Observer that records received events
+     */
+    private static class RecordingObserver implements BookingObserver {
+        private final List<BookingEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void update(String bookingId, BookingEvent event, String customerEmail,
+                           String customerPhone, String details) {
+            events.add(event);
+        }
+    }
+
+    /**
+     * Observer that blocks until released
+     */
+    private static class BlockingObserver implements BookingObserver {
+        private final CountDownLatch release;
+
+        BlockingObserver(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void update(String bookingId, BookingEvent event, String customerEmail,
+                           String customerPhone, String details) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.cinema;
+
+import org.cinema.util.logging.AsyncLogAppender;
+import org.cinema.util.logging.LogFormat;
+import org.cinema.util.logging.LogLevel;
+import org.cinema.util.logging.LogRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AsyncLogAppender
+ * Tests ordering, batching, flush and structured format
+ */
+public class AsyncLogAppenderTest {
+
+    @Test
+    public void append_singleThread_writesRecordsInOrder() throws InterruptedException {
+        // Arrange
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AsyncLogAppender appender = new AsyncLogAppender(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            appender.append(new LogRecord(LogLevel.INFO, "Test", "line " + i));
+        }
+        assertTrue(appender.awaitWritten(5, TimeUnit.SECONDS), "Writer should catch up");
+
+        // Assert
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+        assertEquals(1000, lines.length);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("line " + i, lines[i]);
+        }
+        assertTrue(appender.getBatchCount() <= 1000, "Writes should be batched");
+        appender.close();
+    }
+
+    @Test
+    public void append_manyThreads_writesEveryRecord() throws InterruptedException {
+        // Arrange
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AsyncLogAppender appender = new AsyncLogAppender(
+                new PrintStream(bytes, true, StandardCharsets.UTF_8), LogFormat.PLAIN, 64);
+
+        // Act
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    appender.append(new LogRecord(LogLevel.INFO, "Test", "x"));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        appender.flush();
+
+        // Assert
+        assertEquals(2000, bytes.toString(StandardCharsets.UTF_8).split(System.lineSeparator()).length);
+        assertTrue(appender.getBatchCount() < 2000, "Queued records should share batches");
+        appender.close();
+    }
+
+    @Test
+    public void close_writesPendingAndIgnoresLaterRecords() {
+        // Arrange
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AsyncLogAppender appender = new AsyncLogAppender(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        appender.append(new LogRecord(LogLevel.INFO, "Test", "before"));
+
+        // Act
+        appender.close();
+        appender.append(new LogRecord(LogLevel.INFO, "Test", "after"));
+
+        // Assert
+        String output = bytes.toString(StandardCharsets.UTF_8);
+        assertTrue(output.contains("before"));
+        assertFalse(output.contains("after"));
+    }
+
+    @Test
+    public void close_whileAppending_writesEveryAcceptedRecord() throws InterruptedException {
+        // Arrange
+        AsyncLogAppender appender = new AsyncLogAppender(
+                new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8), LogFormat.PLAIN, 4);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    appender.append(new LogRecord(LogLevel.INFO, "Test", "x"));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // Act
+        Thread.sleep(5);
+        appender.close();
+
+        // Assert
+        for (Thread thread : threads) {
+            thread.join(5_000);
+            assertFalse(thread.isAlive(), "Appending thread should not block after close");
+        }
+        assertTrue(appender.awaitWritten(5, TimeUnit.SECONDS), "Records racing close should not stall flush");
+    }
+
+    @Test
+    public void append_structuredFormat_writesKeyValueLine() {
+        // Arrange
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AsyncLogAppender appender = new AsyncLogAppender(
+                new PrintStream(bytes, true, StandardCharsets.UTF_8), LogFormat.STRUCTURED, 16);
+
+        // Act
+        appender.append(new LogRecord(0L, LogLevel.WARN, "PaymentService", "main", "Refund \"failed\"\nretry"));
+        appender.close();
+
+        // Assert
+        assertEquals("ts=1970-01-01T00:00:00Z level=WARN logger=PaymentService thread=main"
+                        + " msg=\"Refund \\\"failed\\\"\\nretry\"" + System.lineSeparator(),
+                bytes.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -59,7 +59,7 @@ public class BookingBuilderTest {
         assertEquals(1, booking.getSeats().size(), "Should have 1 seat");
         assertEquals(BookingStatus.PENDING, booking.getStatus(), "Status should be PENDING by default");
         assertNotNull(booking.getCreatedAt(), "Creation timestamp should be set");
-        assertTrue(booking.getTotalPrice() > 0, "Total price should be calculated");
+        assertTrue(booking.getTotalPrice().isPositive(), "Total price should be calculated");
     }
 
     @Test
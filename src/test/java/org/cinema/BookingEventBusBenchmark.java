@@ -0,0 +1,137 @@
+package org.cinema;
+
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.observer.AsyncBookingSubject;
+import org.cinema.observer.BookingNotification;
+import org.cinema.observer.BookingObserver;
+import org.cinema.observer.BookingSubject;
+import org.cinema.observer.LanePolicy;
+import org.cinema.observer.PriorityBookingSubject;
+import org.cinema.observer.RingBufferBookingSubject;
+import org.cinema.observer.WaitStrategy;
+import org.cinema.util.logging.LogLevel;
+import org.cinema.util.logging.Logger;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and allocation benchmark for booking event dispatch.
+ * Compares list-iteration dispatch (BookingSubject), per-observer queues
+ * (AsyncBookingSubject), priority lanes (PriorityBookingSubject) and the
+ * ring buffer (RingBufferBookingSubject). The last row shows the sync
+ * subject with a delivery deadline set, where every delivery is handed to
+ * the observer's delivery thread.
+ *
+ * Not a unit test; run after `mvn test-compile` with:
+ *   java -cp target/classes:target/test-classes org.cinema.BookingEventBusBenchmark [events]
+ */
+public class BookingEventBusBenchmark {
+    private static final int OBSERVERS = 3;
+    private static final int WARMUP_EVENTS = 200_000;
+    private static final BookingNotification EVENT =
+            BookingNotification.builder("BK-BENCH01", BookingEvent.SEATS_RESERVED)
+                    .customerEmail("bench@example.com")
+                    .customerPhone("555-0000")
+                    .seatCount(2)
+                    .details("2 seats reserved")
+                    .build();
+
+    public static void main(String[] args) throws InterruptedException {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        PrintStream console = System.out;
+        // Keep logging out of the measurement
+        Logger.setLevel(LogLevel.OFF);
+
+        console.printf("%-28s %14s %18s%n", "Dispatcher", "events/sec", "bytes/event (pub)");
+        run(console, "BookingSubject (sync list)", BookingSubject::new, events);
+        run(console, "AsyncBookingSubject", () -> new AsyncBookingSubject(4096), events);
+        LanePolicy lane = new LanePolicy(1, 4096, LanePolicy.Overflow.BLOCK);
+        run(console, "PriorityBookingSubject", () -> new PriorityBookingSubject(lane, lane,
+                PriorityBookingSubject.DEFAULT_HIGH_PRIORITY_EVENTS), events);
+        run(console, "RingBuffer (yielding)",
+                () -> new RingBufferBookingSubject(4096, WaitStrategy.yielding()), events);
+        run(console, "RingBuffer (sleeping)",
+                () -> new RingBufferBookingSubject(4096, WaitStrategy.sleeping()), events);
+        run(console, "RingBuffer (blocking)",
+                () -> new RingBufferBookingSubject(4096, WaitStrategy.blocking()), events);
+        run(console, "BookingSubject (deadline)", BookingSubject::new, events, true);
+    }
+
+    private static void run(PrintStream console, String name, SubjectFactory factory, int events)
+            throws InterruptedException {
+        run(console, name, factory, events, false);
+    }
+
+    private static void run(PrintStream console, String name, SubjectFactory factory, int events,
+                            boolean deadline) throws InterruptedException {
+        BookingSubject subject = factory.create();
+        if (deadline) {
+            subject.setDeliveryTimeout(5_000);
+        }
+        AtomicLong delivered = new AtomicLong();
+        for (int i = 0; i < OBSERVERS; i++) {
+            subject.attach(new CountingObserver(delivered));
+        }
+
+        publish(subject, WARMUP_EVENTS);
+        drain(subject, delivered, (long) WARMUP_EVENTS * OBSERVERS);
+        delivered.set(0);
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        publish(subject, events);
+        drain(subject, delivered, (long) events * OBSERVERS);
+
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        if (subject instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) subject).close();
+            } catch (Exception ignored) {
+                // benchmark teardown
+            }
+        }
+
+        double perSecond = events / (elapsed / 1_000_000_000.0);
+        console.printf("%-28s %14.0f %18.2f%n", name, perSecond, (double) allocated / events);
+    }
+
+    private static void publish(BookingSubject subject, int events) {
+        for (int i = 0; i < events; i++) {
+            subject.notifyObservers(EVENT);
+        }
+    }
+
+    private static void drain(BookingSubject subject, AtomicLong delivered, long expected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (delivered.get() < expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private interface SubjectFactory {
+        BookingSubject create();
+    }
+
+    private static class CountingObserver implements BookingObserver {
+        private final AtomicLong delivered;
+
+        CountingObserver(AtomicLong delivered) {
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void update(String bookingId, BookingEvent event, String customerEmail,
+                           String customerPhone, String details) {
+            delivered.incrementAndGet();
+        }
+    }
+}
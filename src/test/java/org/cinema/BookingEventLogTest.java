@@ -0,0 +1,126 @@
+package org.cinema;
+
+import org.cinema.model.Money;
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.observer.BookingEventLog;
+import org.cinema.observer.BookingNotification;
+import org.cinema.observer.BookingSubject;
+import org.cinema.observer.InventoryObserver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BookingEventLog
+ * Tests persistence across reopen and partitioned replay into InventoryObserver
+ */
+public class BookingEventLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void replay_afterRestart_rebuildsSameInventoryAsLiveObserver() {
+        // Arrange - live subject with inventory and event log side by side
+        Path file = dir.resolve("events.log");
+        InventoryObserver live = new InventoryObserver();
+        try (BookingEventLog eventLog = new BookingEventLog(file)) {
+            BookingSubject subject = new BookingSubject();
+            subject.attach(live);
+            subject.attach(eventLog);
+            publishBookings(subject, 200);
+            assertEquals(600, eventLog.getEventCount());
+        }
+
+        // Act - reopen as after a restart and replay in parallel
+        try (BookingEventLog reopened = new BookingEventLog(file)) {
+            InventoryObserver rebuilt = reopened.replay(InventoryObserver::new, 4);
+
+            // Assert
+            assertEquals(600, reopened.getEventCount());
+            assertEquals(live.getTotalSeatsReserved(), rebuilt.getTotalSeatsReserved());
+            assertEquals(live.getTotalSeatsReleased(), rebuilt.getTotalSeatsReleased());
+            assertEquals(live.getBookingCount(), rebuilt.getBookingCount());
+        }
+    }
+
+    @Test
+    public void replay_partitionCount_doesNotChangeResult() {
+        Path file = dir.resolve("events.log");
+        try (BookingEventLog eventLog = new BookingEventLog(file)) {
+            BookingSubject subject = new BookingSubject();
+            subject.attach(eventLog);
+            publishBookings(subject, 100);
+
+            InventoryObserver sequential = eventLog.replay(InventoryObserver::new, 1);
+            InventoryObserver parallel = eventLog.replay(InventoryObserver::new, 7);
+
+            assertEquals(sequential.getTotalSeatsReserved(), parallel.getTotalSeatsReserved());
+            assertEquals(sequential.getTotalSeatsReleased(), parallel.getTotalSeatsReleased());
+            assertEquals(sequential.getBookingCount(), parallel.getBookingCount());
+        }
+    }
+
+    @Test
+    public void replay_skipsEventsProjectionDoesNotSubscribeTo() {
+        try (BookingEventLog eventLog = new BookingEventLog(dir.resolve("events.log"))) {
+            eventLog.onEvent(BookingNotification.builder("BK-1", BookingEvent.PAYMENT_COMPLETED)
+                    .amount(Money.usd(2_000)).details("Paid").build());
+            eventLog.onEvent(BookingNotification.builder("BK-1", BookingEvent.SEATS_RESERVED)
+                    .seatCount(2).details("2 seats").build());
+
+            InventoryObserver rebuilt = eventLog.replay(InventoryObserver::new, 2);
+
+            assertEquals(2, rebuilt.getTotalSeatsReserved());
+        }
+    }
+
+    @Test
+    public void constructor_tornLastLine_isDiscarded() throws IOException {
+        // Arrange
+        Path file = dir.resolve("events.log");
+        try (BookingEventLog eventLog = new BookingEventLog(file)) {
+            eventLog.onEvent(BookingNotification.builder("BK-1", BookingEvent.SEATS_RESERVED)
+                    .seatCount(3).details("3 seats").build());
+        }
+        Files.write(file, "2\tSEATS_RESERVED\tBK-2\t".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        // Act
+        try (BookingEventLog reopened = new BookingEventLog(file)) {
+            // Assert
+            assertEquals(1, reopened.getEventCount());
+            assertEquals(3, reopened.replay(InventoryObserver::new, 3).getTotalSeatsReserved());
+        }
+    }
+
+    @Test
+    public void replay_withZeroPartitions_throwsException() {
+        try (BookingEventLog eventLog = new BookingEventLog(dir.resolve("events.log"))) {
+            assertThrows(IllegalArgumentException.class, () -> eventLog.replay(InventoryObserver::new, 0));
+        }
+    }
+
+    /**
+     * Every booking reserves seats and is confirmed; every fifth one is then cancelled
+     */
+    private static void publishBookings(BookingSubject subject, int bookings) {
+        for (int i = 0; i < bookings; i++) {
+            String bookingId = "BK-" + i;
+            int seats = 1 + i % 4;
+            subject.notifyObservers(BookingNotification.builder(bookingId, BookingEvent.SEATS_RESERVED)
+                    .seatCount(seats).details(seats + " seats").build());
+            subject.notifyObservers(BookingNotification.builder(bookingId, BookingEvent.CONFIRMED)
+                    .details("Confirmed").build());
+            BookingEvent last = i % 5 == 0 ? BookingEvent.CANCELLED : BookingEvent.PAYMENT_COMPLETED;
+            subject.notifyObservers(BookingNotification.builder(bookingId, last)
+                    .seatCount(seats).details("Done").build());
+        }
+    }
+}
@@ -1,16 +1,28 @@
 package org.cinema;
 
+import org.cinema.model.Money;
 import org.cinema.model.enums.BookingEvent;
+import org.cinema.observer.BookingNotification;
 import org.cinema.observer.BookingObserver;
 import org.cinema.observer.BookingSubject;
 import org.cinema.observer.EmailNotificationObserver;
 import org.cinema.observer.InventoryObserver;
+import org.cinema.observer.ObserverHealth;
 import org.cinema.observer.SMSNotificationObserver;
+import org.cinema.util.CircuitBreaker;
+import org.cinema.util.CircuitBreakerPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -207,12 +219,418 @@ public class BookingSubjectTest {
         }
     }
 
+    @Test
+    public void notifyObservers_typedEvent_reachesLegacyObserverThroughAdapter() {
+        // Arrange
+        TestObserver observer = new TestObserver();
+        subject.attach(observer);
+
+        // Act
+        subject.notifyObservers(BookingNotification.builder("BOOKING-1", BookingEvent.CREATED)
+                .customerEmail("test@example.com")
+                .customerPhone("555-0000")
+                .seatCount(2)
+                .amount(Money.usd(2_000))
+                .details("2 seats")
+                .build());
+
+        // Assert
+        assertEquals(1, observer.getUpdateCount(), "Legacy observer should be updated");
+        assertEquals("test@example.com", observer.getLastCustomerEmail());
+        assertEquals("555-0000", observer.getLastCustomerPhone());
+        assertEquals("2 seats", observer.getLastDetails());
+    }
+
+    @Test
+    public void notifyObservers_legacySignature_deliversTypedEvent() {
+        // Arrange
+        List<BookingNotification> received = new ArrayList<>();
+        subject.attach(new BookingObserver() {
+            @Override
+            public void update(String bookingId, BookingEvent event, String customerEmail,
+                               String customerPhone, String details) {
+                fail("Typed observer should receive onEvent");
+            }
+
+            @Override
+            public void onEvent(BookingNotification notification) {
+                received.add(notification);
+            }
+        });
+
+        // Act
+        subject.notifyObservers("BOOKING-1", BookingEvent.CONFIRMED,
+                "test@example.com", "555-0000", "Confirmed");
+
+        // Assert
+        assertEquals(1, received.size());
+        assertEquals(BookingEvent.CONFIRMED, received.get(0).getEvent());
+        assertFalse(received.get(0).hasSeatCount(), "Legacy events carry no seat count");
+    }
+
+    @Test
+    public void notifyObservers_subscribedSubset_receivesOnlyThoseEvents() {
+        // Arrange
+        List<BookingEvent> received = new ArrayList<>();
+        subject.attach(new BookingObserver() {
+            @Override
+            public void update(String bookingId, BookingEvent event, String customerEmail,
+                               String customerPhone, String details) {
+                received.add(event);
+            }
+
+            @Override
+            public Set<BookingEvent> getSubscribedEvents() {
+                return EnumSet.of(BookingEvent.CONFIRMED, BookingEvent.CANCELLED);
+            }
+        });
+
+        // Act
+        for (BookingEvent event : BookingEvent.values()) {
+            subject.notifyObservers("BOOKING-1", event, "test@example.com", "555-0000", "Details");
+        }
+
+        // Assert
+        assertEquals(List.of(BookingEvent.CONFIRMED, BookingEvent.CANCELLED), received,
+                "Observer should only receive subscribed events");
+    }
+
+    @Test
+    public void getSubscriberCount_defaultObservers_reflectsSubscriptions() {
+        // Arrange
+        BookingObserver email = new EmailNotificationObserver();
+        subject.attach(email);
+        subject.attach(new SMSNotificationObserver());
+        subject.attach(new InventoryObserver());
+
+        // Assert
+        assertEquals(3, subject.getSubscriberCount(BookingEvent.CONFIRMED));
+        assertEquals(2, subject.getSubscriberCount(BookingEvent.CREATED), "SMS skips CREATED");
+        assertEquals(2, subject.getSubscriberCount(BookingEvent.SEATS_RESERVED), "Email skips seat holds");
+        assertEquals(1, subject.getSubscriberCount(BookingEvent.PAYMENT_COMPLETED), "Only email gets receipts");
+
+        // Act
+        subject.detach(email);
+
+        // Assert
+        assertEquals(2, subject.getSubscriberCount(BookingEvent.CONFIRMED));
+        assertEquals(0, subject.getSubscriberCount(BookingEvent.PAYMENT_COMPLETED));
+    }
+
     @Test
     public void getObserverCount_initiallyZero() {
         // Assert
         assertEquals(0, subject.getObserverCount(), "Initial observer count should be 0");
     }
 
+    @Test
+    public void notifyObservers_recordsLatencyPerObserver() {
+        // Arrange
+        TestObserver observer = new TestObserver();
+        subject.attach(observer);
+
+        // Act
+        subject.notifyObservers("BK001", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+        subject.notifyObservers("BK002", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+
+        // Assert
+        ObserverHealth health = subject.getObserverHealth(observer);
+        assertEquals(2, health.getLatency().getCount());
+        assertEquals(CircuitBreaker.State.CLOSED, health.getCircuitBreaker().getState());
+    }
+
+    @Test
+    public void notifyObservers_failingObserver_opensCircuitAndParksEvents() {
+        // Arrange - trip after 2 failures, stay open for a minute
+        subject.setCircuitBreakerPolicy(new CircuitBreakerPolicy(2, 1_000, 60_000), 10);
+        FlakyObserver flaky = new FlakyObserver();
+        TestObserver healthy = new TestObserver();
+        subject.attach(flaky);
+        subject.attach(healthy);
+        flaky.failing = true;
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            subject.notifyObservers("BK00" + i, BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+        }
+
+        // Assert - the third event skips the open circuit
+        ObserverHealth health = subject.getObserverHealth(flaky);
+        assertEquals(CircuitBreaker.State.OPEN, health.getCircuitBreaker().getState());
+        assertEquals(2, flaky.calls);
+        assertEquals(1, health.getRetryQueueSize(), "Skipped event should be parked");
+        assertEquals(3, healthy.getUpdateCount(), "Other observers should keep receiving events");
+    }
+
+    @Test
+    public void notifyObservers_probeSucceedsAfterOpenPeriod_closesCircuitAndReplays() throws InterruptedException {
+        // Arrange
+        subject.setCircuitBreakerPolicy(new CircuitBreakerPolicy(1, 1_000, 200), 10);
+        FlakyObserver flaky = new FlakyObserver();
+        subject.attach(flaky);
+        flaky.failing = true;
+        subject.notifyObservers("BK001", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+        subject.notifyObservers("BK002", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+
+        // Act - observer recovers, wait out the open period
+        flaky.failing = false;
+        Thread.sleep(250);
+        subject.notifyObservers("BK003", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+
+        // Assert - probe BK003 succeeded, then parked BK002 was replayed in the background
+        ObserverHealth health = subject.getObserverHealth(flaky);
+        assertEquals(CircuitBreaker.State.CLOSED, health.getCircuitBreaker().getState());
+        awaitReceived(flaky, 3);
+        assertEquals(List.of("BK001", "BK003", "BK002"), flaky.received);
+        assertEquals(0, health.getRetryQueueSize());
+    }
+
+    @Test
+    public void notifyObservers_probeSucceeds_replaysWithoutBlockingPublisher() throws InterruptedException {
+        // Arrange - park three events, then make every delivery take 200 ms
+        subject.setCircuitBreakerPolicy(new CircuitBreakerPolicy(1, 1_000, 200), 10);
+        FlakyObserver flaky = new FlakyObserver();
+        subject.attach(flaky);
+        flaky.failing = true;
+        for (int i = 0; i < 4; i++) {
+            subject.notifyObservers("BK00" + i, BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+        }
+        flaky.failing = false;
+        flaky.delayMillis = 200;
+        Thread.sleep(250);
+
+        // Act
+        long start = System.nanoTime();
+        subject.notifyObservers("BK009", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert - only the probe ran on the publisher's time
+        assertTrue(elapsedMillis < 500, "Replay should not hold the publisher, took " + elapsedMillis + "ms");
+        awaitReceived(flaky, 5);
+        assertEquals(List.of("BK000", "BK009", "BK001", "BK002", "BK003"), flaky.received);
+    }
+
+    @Test
+    public void notifyObservers_publisherInterruptedDuringProbe_letsNextEventProbe() throws InterruptedException {
+        // Arrange - trip the circuit, then make the probe hang
+        subject.setCircuitBreakerPolicy(new CircuitBreakerPolicy(1, 5_000, 200), 10);
+        subject.setDeliveryTimeout(2_000);
+        FlakyObserver flaky = new FlakyObserver();
+        subject.attach(flaky);
+        flaky.failing = true;
+        subject.notifyObservers("BK001", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+        flaky.failing = false;
+        flaky.delayMillis = 1_000;
+        Thread.sleep(250);
+        Thread publisher = new Thread(() -> subject.notifyObservers("BK002", BookingEvent.CREATED,
+                "a@test.com", "555-0001", "Created"));
+        publisher.start();
+        awaitReceived(flaky, 2);
+
+        // Act - interrupt the publisher while it waits on the probe
+        publisher.interrupt();
+        publisher.join(5_000);
+        flaky.delayMillis = 0;
+        subject.notifyObservers("BK003", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+
+        // Assert
+        ObserverHealth health = subject.getObserverHealth(flaky);
+        assertFalse(publisher.isAlive());
+        assertEquals(CircuitBreaker.State.CLOSED, health.getCircuitBreaker().getState(),
+                "Abandoned probe should not leave the circuit half-open");
+        assertTrue(flaky.received.contains("BK003"), "Next event should be delivered as a new probe");
+    }
+
+    @Test
+    public void notifyObservers_hangingObserver_timesOutAndTripsCircuit() {
+        // Arrange - deliveries over 50 ms are abandoned, trip after 2 of them
+        subject.setCircuitBreakerPolicy(new CircuitBreakerPolicy(2, 1_000, 60_000), 10);
+        subject.setDeliveryTimeout(50);
+        CountDownLatch release = new CountDownLatch(1);
+        BookingObserver hanging = (bookingId, event, email, phone, details) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        TestObserver healthy = new TestObserver();
+        subject.attach(hanging);
+        subject.attach(healthy);
+
+        try {
+            // Act
+            long start = System.nanoTime();
+            for (int i = 0; i < 3; i++) {
+                subject.notifyObservers("BK00" + i, BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // Assert
+            ObserverHealth health = subject.getObserverHealth(hanging);
+            assertTrue(elapsedMillis < 2_000, "Publisher should not wait on a hung observer, took " + elapsedMillis + "ms");
+            assertEquals(CircuitBreaker.State.OPEN, health.getCircuitBreaker().getState());
+            assertEquals(2, health.getFailureCount(), "Each timeout should count as a failure");
+            assertEquals(1, health.getRetryQueueSize());
+            assertEquals(3, healthy.getUpdateCount());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void notifyObservers_noDeliveryTimeout_runsObserverOnPublisherThread() {
+        // Arrange
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        BookingObserver observer = (bookingId, event, email, phone, details) -> threads.add(Thread.currentThread());
+        subject.attach(observer);
+
+        // Act
+        subject.notifyObservers("BK001", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+
+        // Assert
+        assertEquals(List.of(Thread.currentThread()), threads, "Default delivery should not hand off to another thread");
+        assertEquals(1, subject.getObserverHealth(observer).getLatency().getCount(), "Delivery should still be timed");
+    }
+
+    @Test
+    public void notifyObservers_observerIgnoresInterrupts_holdsOneDeliveryThread() {
+        // Arrange - deliveries over 20 ms are abandoned, but the observer keeps running
+        subject.setCircuitBreakerPolicy(new CircuitBreakerPolicy(10, 1_000, 60_000), 10);
+        subject.setDeliveryTimeout(20);
+        CountDownLatch release = new CountDownLatch(1);
+        BookingObserver stubborn = (bookingId, event, email, phone, details) -> {
+            while (release.getCount() > 0) {
+                Thread.onSpinWait();
+            }
+        };
+        subject.attach(stubborn);
+        long before = countDeliveryThreads();
+
+        try {
+            // Act
+            for (int i = 0; i < 5; i++) {
+                subject.notifyObservers("BK00" + i, BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+            }
+
+            // Assert
+            assertEquals(5, subject.getObserverHealth(stubborn).getFailureCount());
+            assertTrue(countDeliveryThreads() - before <= 1, "Timed-out deliveries should queue on one thread");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static long countDeliveryThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("observer-delivery-"))
+                .count();
+    }
+
+    @Test
+    public void setDeliveryTimeout_negative_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> subject.setDeliveryTimeout(-1));
+    }
+
+    @Test
+    public void notifyObservers_slowObserver_tripsCircuit() {
+        // Arrange - anything over 1 ms counts as a failure
+        subject.setCircuitBreakerPolicy(new CircuitBreakerPolicy(1, 1, 60_000), 10);
+        BookingObserver slow = (bookingId, event, email, phone, details) -> {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        subject.attach(slow);
+
+        // Act
+        subject.notifyObservers("BK001", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, subject.getObserverHealth(slow).getCircuitBreaker().getState());
+        assertTrue(subject.getObserverHealth(slow).getLatency().getMaxNanos() >= 10_000_000L);
+    }
+
+    @Test
+    public void detach_removesObserverHealth() {
+        TestObserver observer = new TestObserver();
+        subject.attach(observer);
+
+        subject.detach(observer);
+
+        assertNull(subject.getObserverHealth(observer));
+    }
+
+    @Test
+    public void attachAndDetach_duringConcurrentDispatch_neverFails() throws InterruptedException {
+        // Arrange - one thread keeps dispatching while another churns registrations
+        TestObserver steady = new TestObserver();
+        subject.attach(steady);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread dispatcher = new Thread(() -> {
+            try {
+                while (running.get()) {
+                    subject.notifyObservers("BK001", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        dispatcher.start();
+
+        // Act
+        for (int i = 0; i < 5_000; i++) {
+            TestObserver churned = new TestObserver();
+            subject.attach(churned);
+            subject.detach(churned);
+        }
+        running.set(false);
+        dispatcher.join();
+
+        // Assert
+        assertNull(failure.get(), "Dispatch should not see a half-updated registry");
+        assertEquals(1, subject.getObserverCount());
+        assertEquals(1, subject.getSubscriberCount(BookingEvent.CREATED));
+        assertTrue(steady.getUpdateCount() > 0);
+    }
+
+    private static void awaitReceived(FlakyObserver observer, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (observer.received.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Observer that can be switched into a failing or slow mode
+     */
+    private static class FlakyObserver implements BookingObserver {
+        private final List<String> received = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+        private volatile long delayMillis;
+        private int calls;
+
+        @Override
+        public void update(String bookingId, BookingEvent event, String customerEmail,
+                           String customerPhone, String details) {
+            calls++;
+            received.add(bookingId);
+            if (failing) {
+                throw new IllegalStateException("observer down");
+            }
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
     /**
      * Test observer implementation for testing purposes
      */
@@ -0,0 +1,189 @@
+package org.cinema;
+
+import org.cinema.util.Bulkhead;
+import org.cinema.util.BulkheadPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Bulkhead
+ * Tests queueing, rejection and limit adaptation with a manual clock
+ */
+public class BulkheadTest {
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void constructor_withInvalidLimits_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new BulkheadPolicy(4, 8, 16, 10, 2.0, 0.9));
+        assertThrows(IllegalArgumentException.class, () -> new BulkheadPolicy(4, 1, 16, 10, 2.0, 1.5));
+    }
+
+    @Test
+    public void submit_beyondLimit_queuesThenRejects() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("TEST", BulkheadPolicy.fixed(2, 1), now::get);
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        AtomicInteger started = new AtomicInteger();
+
+        // Act
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            CompletableFuture<String> call = new CompletableFuture<>();
+            calls.add(call);
+            results.add(bulkhead.submit(() -> {
+                started.incrementAndGet();
+                return call;
+            }));
+        }
+
+        // Assert
+        assertEquals(2, started.get(), "Only the limit should run");
+        assertEquals(2, bulkhead.getInFlight());
+        assertEquals(1, bulkhead.getQueued());
+        CompletionException rejected = assertThrows(CompletionException.class, () -> results.get(3).join());
+        assertTrue(rejected.getCause() instanceof RejectedExecutionException);
+        assertEquals(1, bulkhead.getRejectedCount());
+
+        // Finishing a call starts the queued one
+        calls.get(0).complete("first");
+        assertEquals("first", results.get(0).join());
+        assertEquals(3, started.get(), "Queued call should start when a permit frees up");
+        assertEquals(0, bulkhead.getQueued());
+    }
+
+    @Test
+    public void submit_failingCall_releasesPermitAndPropagatesError() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("TEST", BulkheadPolicy.fixed(1, 0), now::get);
+
+        // Act
+        CompletableFuture<String> failed = bulkhead.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<String> next = bulkhead.submit(() -> CompletableFuture.completedFuture("ok"));
+
+        // Assert
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals("ok", next.join(), "Permit should be released after a failure");
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    public void submit_manyQueuedSynchronousCalls_drainWithoutRecursion() {
+        // Arrange - one permit held, then a long queue of calls that complete immediately
+        Bulkhead bulkhead = new Bulkhead("TEST", BulkheadPolicy.fixed(1, 100_000), now::get);
+        CompletableFuture<String> blocker = new CompletableFuture<>();
+        bulkhead.submit(() -> blocker);
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            results.add(bulkhead.submit(() -> CompletableFuture.completedFuture("done")));
+        }
+
+        // Act
+        blocker.complete("released");
+
+        // Assert
+        for (CompletableFuture<String> result : results) {
+            assertEquals("done", result.join());
+        }
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    public void limit_growsWhileSaturatedAndShrinksOnSlowCalls() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("TEST", new BulkheadPolicy(4, 1, 32, 100, 2.0, 0.5), now::get);
+
+        // Act - keep all permits busy with fast calls
+        for (int round = 0; round < 40; round++) {
+            runCalls(bulkhead, bulkhead.getLimit(), 10 * MILLI);
+        }
+        int grown = bulkhead.getLimit();
+
+        // A slow call (well over twice the fastest latency) halves the limit
+        runCalls(bulkhead, 1, 100 * MILLI);
+
+        // Assert
+        assertTrue(grown > 4, "Healthy saturated gateway should get a higher limit, was " + grown);
+        assertEquals(grown / 2, bulkhead.getLimit(), 1, "Slow call should cut the limit");
+    }
+
+    @Test
+    public void limit_synchronousResult_doesNotSkewBaseline() {
+        // Arrange - a validation failure or replay completes before reaching the dependency
+        Bulkhead bulkhead = new Bulkhead("TEST", new BulkheadPolicy(8, 1, 32, 100, 2.0, 0.5), now::get);
+        runCalls(bulkhead, 1, 10 * MILLI);
+
+        // Act
+        bulkhead.submit(() -> CompletableFuture.completedFuture(false));
+        for (int round = 0; round < 10; round++) {
+            runCalls(bulkhead, bulkhead.getLimit(), 10 * MILLI);
+        }
+
+        // Assert
+        assertEquals(10 * MILLI, bulkhead.getBaselineNanos(), "Instant result should not become the baseline");
+        assertTrue(bulkhead.getLimit() >= 8, "Normal calls should not count as congested, limit " + bulkhead.getLimit());
+    }
+
+    @Test
+    public void baseline_fastOutlier_agesOutAfterTwoWindows() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("TEST", new BulkheadPolicy(8, 1, 32, 100, 2.0, 0.5), now::get);
+        runCalls(bulkhead, 1, MILLI);
+        runCalls(bulkhead, 1, 10 * MILLI);
+
+        // Act - keep calling at 10 ms for two full windows
+        for (int i = 0; i < 25; i++) {
+            runCalls(bulkhead, 1, 10 * MILLI);
+            now.addAndGet(Bulkhead.BASELINE_WINDOW_NANOS / 10);
+        }
+
+        // Assert
+        assertEquals(10 * MILLI, bulkhead.getBaselineNanos(), "Outlier should no longer set the baseline");
+        int limit = bulkhead.getLimit();
+        runCalls(bulkhead, 1, 15 * MILLI);
+        assertEquals(limit, bulkhead.getLimit(), "Call within tolerance of the new baseline should not back off");
+    }
+
+    @Test
+    public void limit_neverDropsBelowMinimum() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("TEST", new BulkheadPolicy(4, 2, 8, 10, 2.0, 0.5), now::get);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            bulkhead.submit(() -> CompletableFuture.failedFuture(new IllegalStateException("down")));
+        }
+
+        // Assert
+        assertEquals(2, bulkhead.getLimit());
+    }
+
+    /**
+     * Start calls that all take the given time on the manual clock
+     */
+    private void runCalls(Bulkhead bulkhead, int count, long latencyNanos) {
+        List<CompletableFuture<Boolean>> calls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CompletableFuture<Boolean> call = new CompletableFuture<>();
+            calls.add(call);
+            bulkhead.submit(() -> call);
+        }
+        now.addAndGet(latencyNanos);
+        for (CompletableFuture<Boolean> call : calls) {
+            call.complete(true);
+        }
+    }
+}
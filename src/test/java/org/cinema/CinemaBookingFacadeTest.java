@@ -78,6 +78,26 @@ public class CinemaBookingFacadeTest {
         assertTrue(bookingId.startsWith("BK-"), "Booking ID should start with 'BK-'");
     }
 
+    @Test
+    public void bookTickets_withHall_countsTowardsHallOccupancy() {
+        // Arrange
+        LocalDateTime showtime = LocalDateTime.of(2025, 11, 20, 14, 30);
+
+        // Act
+        String bookingId = facade.bookTickets(
+                "John Doe", "john@example.com", "555-1234",
+                1, TicketType.REGULAR, 2,
+                List.of(1, 1), List.of(1, 2), showtime, "HALL_2",
+                false, false
+        );
+
+        // Assert
+        assertNotNull(bookingId, "Should return booking ID");
+        assertEquals(2, facade.getInventoryObserver().getHallOccupancy("HALL_2"),
+                "Reserved seats should count against the booked hall");
+        assertEquals(0, facade.getInventoryObserver().getHallOccupancy("HALL_1"));
+    }
+
     @Test
     public void bookTickets_withInvalidMovieId_returnsNull() {
         // Arrange
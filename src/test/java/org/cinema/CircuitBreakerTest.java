@@ -0,0 +1,157 @@
+package org.cinema;
+
+import org.cinema.util.CircuitBreaker;
+import org.cinema.util.CircuitBreakerPolicy;
+import org.cinema.util.LatencyEwma;
+import org.cinema.util.LatencyHistogram;
+import org.cinema.util.RetryPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CircuitBreaker, LatencyHistogram, LatencyEwma and RetryPolicy
+ * Tests state transitions with a manual clock and percentile estimates
+ */
+public class CircuitBreakerTest {
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker =
+            new CircuitBreaker(new CircuitBreakerPolicy(3, 100, 1_000), now::get);
+
+    @Test
+    public void onFailure_belowThreshold_staysClosed() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess(MILLI);
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "Success should reset the failure streak");
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    public void release_probeGivenBack_letsNextCallerProbe() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        now.addAndGet(1_000 * MILLI);
+        assertTrue(breaker.tryAcquire(), "First call after the open period is the probe");
+
+        breaker.release();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire(), "Released probe should be available again");
+    }
+
+    @Test
+    public void onFailure_atThreshold_opensAndRejects() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1, breaker.getRejectedCount());
+        assertEquals(1, breaker.getTripCount());
+    }
+
+    @Test
+    public void onSuccess_slowCall_countsAsFailure() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onSuccess(200 * MILLI);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void tryAcquire_afterOpenPeriod_allowsSingleProbe() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        now.addAndGet(1_000 * MILLI);
+
+        // Act & Assert
+        assertTrue(breaker.tryAcquire(), "First call after the open period is the probe");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire(), "Only one probe at a time");
+
+        breaker.onSuccess(MILLI);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    public void onFailure_duringProbe_reopensForAnotherPeriod() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+        now.addAndGet(1_000 * MILLI);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        now.addAndGet(999 * MILLI);
+        assertFalse(breaker.tryAcquire(), "Open period restarts from the failed probe");
+        now.addAndGet(MILLI);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    public void latencyHistogram_percentiles_withinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_000);
+        }
+        histogram.record(1_000_000);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        long p50 = histogram.getPercentileNanos(50);
+        assertTrue(p50 >= 1_000 && p50 < 2_000, "p50 should fall in the 1 µs bucket: " + p50);
+        assertEquals(1_000_000, histogram.getPercentileNanos(100));
+        assertEquals(0, new LatencyHistogram().getPercentileNanos(99));
+    }
+
+    @Test
+    public void retryPolicy_backoffGrowsExponentiallyUpToCap() {
+        RetryPolicy policy = new RetryPolicy(10, 100, 1_000);
+
+        assertEquals(100, policy.maxBackoffMillis(1));
+        assertEquals(200, policy.maxBackoffMillis(2));
+        assertEquals(800, policy.maxBackoffMillis(4));
+        assertEquals(1_000, policy.maxBackoffMillis(5), "Backoff should be capped");
+        assertEquals(1_000, policy.maxBackoffMillis(60), "Large attempt numbers should not overflow");
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.backoffMillis(3);
+            assertTrue(delay >= 0 && delay <= 400, "Jittered delay should stay within the bound");
+        }
+        assertTrue(policy.canRetry(9));
+        assertFalse(policy.canRetry(10));
+    }
+
+    @Test
+    public void latencyEwma_failuresRaiseScore() {
+        LatencyEwma healthy = new LatencyEwma(0.5);
+        LatencyEwma flaky = new LatencyEwma(0.5);
+        assertEquals(0.0, healthy.getScore(), "Unmeasured gateway should score best");
+
+        healthy.record(10 * MILLI, true);
+        healthy.record(20 * MILLI, true);
+        flaky.record(10 * MILLI, true);
+        flaky.record(10 * MILLI, false);
+
+        assertEquals(15 * MILLI, healthy.getLatencyNanos(), 1.0, "Second sample should weigh half");
+        assertEquals(0.5, flaky.getSuccessRate(), 1e-9);
+        assertTrue(flaky.getScore() > healthy.getScore(), "Failures should outweigh the lower latency");
+        assertEquals(2, flaky.getSampleCount());
+    }
+}
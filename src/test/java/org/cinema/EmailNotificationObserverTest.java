@@ -0,0 +1,152 @@
+package org.cinema;
+
+import org.cinema.model.Money;
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.notification.EmailMessage;
+import org.cinema.notification.InMemorySmtpTransport;
+import org.cinema.observer.BookingNotification;
+import org.cinema.observer.EmailNotificationObserver;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EmailNotificationObserver
+ * Tests immediate delivery, digest coalescing and batched sending
+ */
+public class EmailNotificationObserverTest {
+
+    private static final EnumSet<BookingEvent> BOOKING_FLOW = EnumSet.of(
+            BookingEvent.CREATED, BookingEvent.SEATS_RESERVED,
+            BookingEvent.PAYMENT_COMPLETED, BookingEvent.CONFIRMED);
+
+    @Test
+    public void onEvent_immediateMode_sendsOneMessagePerEvent() {
+        // Arrange
+        InMemorySmtpTransport smtp = new InMemorySmtpTransport();
+        EmailNotificationObserver observer = new EmailNotificationObserver(BOOKING_FLOW, smtp, 0);
+
+        // Act
+        publishBookingFlow(observer, "BK-1", "a@test.com");
+
+        // Assert
+        assertFalse(observer.isBatching());
+        assertEquals(4, smtp.getDeliveredMessages().size());
+        assertEquals(4, smtp.getSessionCount());
+        assertEquals("Booking Created - Confirmation Pending", smtp.getDeliveredMessages().get(0).getSubject());
+    }
+
+    @Test
+    public void onEvent_batchingMode_coalescesEventsForSameBooking() {
+        // Arrange
+        InMemorySmtpTransport smtp = new InMemorySmtpTransport();
+        try (EmailNotificationObserver observer = new EmailNotificationObserver(BOOKING_FLOW, smtp, 60_000)) {
+
+            // Act
+            publishBookingFlow(observer, "BK-1", "a@test.com");
+            observer.flush();
+
+            // Assert
+            List<EmailMessage> delivered = smtp.getDeliveredMessages();
+            assertEquals(1, delivered.size(), "Four events should become one email");
+            EmailMessage digest = delivered.get(0);
+            assertEquals("a@test.com", digest.getRecipient());
+            assertEquals(4, digest.getEventCount());
+            assertEquals("Booking Confirmed - Your Tickets Are Ready!", digest.getSubject(),
+                    "Digest subject should follow the latest event");
+            assertTrue(digest.getBody().contains("Your booking has been created successfully!"));
+            assertTrue(digest.getBody().contains("2 seats reserved"));
+            assertFalse(digest.getBody().contains("Please complete payment"),
+                    "Superseded instructions should be left out");
+        }
+    }
+
+    @Test
+    public void onEvent_batchingMode_sendsBookingsInOneSession() {
+        // Arrange
+        InMemorySmtpTransport smtp = new InMemorySmtpTransport();
+        try (EmailNotificationObserver observer = new EmailNotificationObserver(BOOKING_FLOW, smtp, 60_000)) {
+
+            // Act
+            for (int i = 0; i < 10; i++) {
+                publishBookingFlow(observer, "BK-" + i, "customer" + i + "@test.com");
+            }
+            observer.flush();
+
+            // Assert
+            assertEquals(10, smtp.getDeliveredMessages().size(), "One email per booking");
+            assertEquals(1, smtp.getSessionCount(), "All digests should share one batch");
+        }
+    }
+
+    @Test
+    public void onEvent_batchingMode_sendsAfterWindowElapses() throws InterruptedException {
+        // Arrange
+        InMemorySmtpTransport smtp = new InMemorySmtpTransport();
+        try (EmailNotificationObserver observer = new EmailNotificationObserver(BOOKING_FLOW, smtp, 50)) {
+
+            // Act
+            publishBookingFlow(observer, "BK-1", "a@test.com");
+            long deadline = System.currentTimeMillis() + 5000;
+            while (smtp.getDeliveredMessages().isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // Assert
+            assertEquals(1, smtp.getDeliveredMessages().size(), "Digest should be sent once the window closes");
+        }
+    }
+
+    @Test
+    public void close_sendsPendingDigests() {
+        // Arrange
+        InMemorySmtpTransport smtp = new InMemorySmtpTransport();
+        EmailNotificationObserver observer = new EmailNotificationObserver(BOOKING_FLOW, smtp, 60_000);
+        publishBookingFlow(observer, "BK-1", "a@test.com");
+
+        // Act
+        observer.close();
+
+        // Assert
+        assertEquals(1, smtp.getDeliveredMessages().size());
+        assertEquals(List.of("EHLO cinema.example", "MAIL FROM:<noreply@cinema.example>",
+                        "RCPT TO:<a@test.com>", "DATA Booking Confirmed - Your Tickets Are Ready!", "QUIT"),
+                smtp.getTranscript());
+    }
+
+    @Test
+    public void onEvent_batchingMode_withoutBookingId_sendsImmediately() {
+        // Arrange
+        InMemorySmtpTransport smtp = new InMemorySmtpTransport();
+        try (EmailNotificationObserver observer = new EmailNotificationObserver(BOOKING_FLOW, smtp, 60_000)) {
+
+            // Act
+            observer.onEvent(BookingNotification.builder(null, BookingEvent.CREATED)
+                    .customerEmail("a@test.com").details("Movie: Dune").build());
+
+            // Assert
+            assertEquals(1, smtp.getDeliveredMessages().size(), "Event without a booking should not wait for a digest");
+            assertEquals("a@test.com", smtp.getDeliveredMessages().get(0).getRecipient());
+        }
+    }
+
+    @Test
+    public void constructor_negativeWindow_throwsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new EmailNotificationObserver(BOOKING_FLOW, new InMemorySmtpTransport(), -1));
+    }
+
+    private static void publishBookingFlow(EmailNotificationObserver observer, String bookingId, String email) {
+        observer.onEvent(BookingNotification.builder(bookingId, BookingEvent.CREATED)
+                .customerEmail(email).details("Movie: Dune").build());
+        observer.onEvent(BookingNotification.builder(bookingId, BookingEvent.SEATS_RESERVED)
+                .customerEmail(email).seatCount(2).details("2 seats reserved").build());
+        observer.onEvent(BookingNotification.builder(bookingId, BookingEvent.PAYMENT_COMPLETED)
+                .customerEmail(email).amount(Money.usd(2_400)).details("Paid $24.00").build());
+        observer.onEvent(BookingNotification.builder(bookingId, BookingEvent.CONFIRMED)
+                .customerEmail(email).details("Enjoy the show").build());
+    }
+}
@@ -1,10 +1,16 @@
 package org.cinema;
 
 import org.cinema.model.enums.BookingEvent;
+import org.cinema.observer.BookingNotification;
 import org.cinema.observer.InventoryObserver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -13,6 +19,8 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class InventoryObserverTest {
 
+    private static final LocalDateTime SHOWTIME = LocalDateTime.of(2025, 12, 1, 19, 0);
+
     private InventoryObserver observer;
 
     @BeforeEach
@@ -216,4 +224,137 @@ public class InventoryObserverTest {
         assertEquals(4, observer.getTotalSeatsReleased(), "Total released: 4");
         assertEquals(3, observer.getBookingCount(), "Confirmed bookings: BOOKING-001, 003, 004");
     }
+
+    @Test
+    public void onEvent_withTypedSeatCount_usesFieldInsteadOfDetails() {
+        // Act
+        observer.onEvent(BookingNotification.builder("BOOKING-001", BookingEvent.CREATED)
+                .seatCount(6)
+                .details("Movie: Dune, Seats: 6, Amount: $60.00")
+                .build());
+
+        // Assert
+        assertEquals(6, observer.getTotalSeatsReserved(), "Should use the typed seat count");
+    }
+
+    @Test
+    public void onEvent_withoutSeatCount_fallsBackToDetails() {
+        // Act
+        observer.onEvent(BookingNotification.of("BOOKING-001", BookingEvent.SEATS_RELEASED,
+                "test@example.com", "555-0000", "4 seats released"));
+
+        // Assert
+        assertEquals(4, observer.getTotalSeatsReleased(), "Should parse legacy details text");
+    }
+
+    @Test
+    public void update_withNumberFollowedByPunctuation_defaultsToOneSeat() {
+        // Act
+        observer.update("BOOKING-001", BookingEvent.CREATED,
+                "test@example.com", "555-0000", "Reserved 3, seats");
+
+        // Assert
+        assertEquals(1, observer.getTotalSeatsReserved(), "Only standalone numbers should be used");
+    }
+
+    @Test
+    public void onEvent_createdThenSeatsReserved_countsSeatsOnce() {
+        // Act - BookingService publishes both events for every booking
+        observer.onEvent(reservation("BK-1", BookingEvent.CREATED, 3));
+        observer.onEvent(reservation("BK-1", BookingEvent.SEATS_RESERVED, 3));
+
+        // Assert
+        assertEquals(3, observer.getTotalSeatsReserved(), "Same booking should only reserve once");
+        assertEquals(3, observer.getHallOccupancy("HALL_1"));
+        assertEquals(3, observer.getShowtimeOccupancy("Inception", SHOWTIME));
+    }
+
+    @Test
+    public void onEvent_cancelledThenSeatsReleased_releasesSeatsOnce() {
+        // Arrange
+        observer.onEvent(reservation("BK-1", BookingEvent.CREATED, 4));
+
+        // Act
+        observer.onEvent(reservation("BK-1", BookingEvent.CANCELLED, 4));
+        observer.onEvent(reservation("BK-1", BookingEvent.SEATS_RELEASED, 4));
+
+        // Assert
+        assertEquals(4, observer.getTotalSeatsReleased(), "Same booking should only release once");
+        assertEquals(0, observer.getNetSeatsOccupied());
+        assertEquals(0, observer.getHallOccupancy("HALL_1"));
+        assertEquals(0, observer.getShowtimeOccupancy("Inception", SHOWTIME));
+    }
+
+    @Test
+    public void getHallOccupancyRatio_usesHallCapacity() {
+        // Act - HALL_1 holds 100 seats
+        observer.onEvent(reservation("BK-1", BookingEvent.CREATED, 20));
+        observer.onEvent(reservation("BK-2", BookingEvent.CREATED, 5));
+
+        // Assert
+        assertEquals(0.25, observer.getHallOccupancyRatio("HALL_1"), 1e-9);
+        assertEquals(0.0, observer.getHallOccupancyRatio("HALL_2"), 1e-9);
+        assertEquals(0.0, observer.getHallOccupancyRatio("NO_SUCH_HALL"), 1e-9);
+    }
+
+    @Test
+    public void setHallCapacity_newHall_isTracked() {
+        observer.setHallCapacity("IMAX", 10);
+
+        observer.onEvent(BookingNotification.builder("BK-1", BookingEvent.SEATS_RESERVED)
+                .hall("IMAX").seatCount(5).build());
+
+        assertTrue(observer.getHalls().contains("IMAX"));
+        assertEquals(0.5, observer.getHallOccupancyRatio("IMAX"), 1e-9);
+    }
+
+    @Test
+    public void onEvent_concurrentPublishers_countsEverySeat() throws InterruptedException {
+        // Arrange - 8 threads each reserve and cancel their own bookings
+        int threads = 8;
+        int bookingsPerThread = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < bookingsPerThread; i++) {
+                    String bookingId = "BK-" + worker + "-" + i;
+                    observer.onEvent(reservation(bookingId, BookingEvent.CREATED, 2));
+                    observer.onEvent(reservation(bookingId, BookingEvent.SEATS_RESERVED, 2));
+                    if (i % 2 == 0) {
+                        observer.onEvent(reservation(bookingId, BookingEvent.CANCELLED, 2));
+                    }
+                }
+            });
+            workers.add(thread);
+            thread.start();
+        }
+
+        // Act
+        start.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+
+        // Assert
+        int bookings = threads * bookingsPerThread;
+        assertEquals(bookings * 2, observer.getTotalSeatsReserved());
+        assertEquals(bookings, observer.getTotalSeatsReleased());
+        assertEquals(bookings, observer.getHallOccupancy("HALL_1"));
+    }
+
+    private static BookingNotification reservation(String bookingId, BookingEvent event, int seats) {
+        return BookingNotification.builder(bookingId, event)
+                .movieTitle("Inception")
+                .showtime(SHOWTIME)
+                .hall("HALL_1")
+                .seatCount(seats)
+                .build();
+    }
 }
@@ -0,0 +1,155 @@
+package org.cinema;
+
+import org.cinema.facade.CinemaBookingFacade;
+import org.cinema.model.enums.TicketType;
+import org.cinema.util.DataInitializer;
+import org.cinema.util.logging.LogAppender;
+import org.cinema.util.logging.LogLevel;
+import org.cinema.util.logging.LogRecord;
+import org.cinema.util.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Logger facade
+ * Tests level filtering, lazy messages and quiet mode
+ */
+public class LoggerTest {
+
+    private final Logger log = Logger.getLogger(LoggerTest.class);
+    private LogLevel previousLevel;
+    private LogAppender previousAppender;
+    private RecordingAppender appender;
+
+    @BeforeEach
+    public void setUp() {
+        previousLevel = Logger.getLevel();
+        appender = new RecordingAppender();
+        previousAppender = Logger.setAppender(appender);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Logger.setLevel(previousLevel);
+        if (previousAppender != null) {
+            Logger.setAppender(previousAppender);
+        }
+    }
+
+    @Test
+    public void log_belowLevel_isDropped() {
+        // Arrange
+        Logger.setLevel(LogLevel.WARN);
+
+        // Act
+        log.debug("debug");
+        log.info("info");
+        log.warn("warn");
+        log.error("error");
+
+        // Assert
+        assertEquals(2, appender.records.size());
+        assertEquals(LogLevel.WARN, appender.records.get(0).getLevel());
+        assertEquals("error", appender.records.get(1).getMessage());
+        assertEquals("LoggerTest", appender.records.get(0).getLoggerName());
+    }
+
+    @Test
+    public void log_supplierBelowLevel_isNotEvaluated() {
+        // Arrange
+        Logger.setLevel(LogLevel.INFO);
+        AtomicInteger evaluations = new AtomicInteger();
+
+        // Act
+        log.debug(() -> "banner " + evaluations.incrementAndGet());
+        log.info(() -> "summary " + evaluations.incrementAndGet());
+
+        // Assert
+        assertEquals(1, evaluations.get(), "Disabled message should never be built");
+        assertEquals("summary 1", appender.records.get(0).getMessage());
+    }
+
+    @Test
+    public void setLevel_off_disablesEverything() {
+        // Arrange
+        Logger.setLevel(LogLevel.OFF);
+
+        // Act
+        log.error("error");
+
+        // Assert
+        assertFalse(log.isEnabled(LogLevel.ERROR));
+        assertTrue(appender.records.isEmpty());
+    }
+
+    @Test
+    public void parse_unknownName_returnsDefault() {
+        assertEquals(LogLevel.DEBUG, LogLevel.parse(" debug ", LogLevel.INFO));
+        assertEquals(LogLevel.INFO, LogLevel.parse("verbose", LogLevel.INFO));
+        assertEquals(LogLevel.INFO, LogLevel.parse(null, LogLevel.INFO));
+    }
+
+    @Test
+    public void bookTickets_quietMode_writesNothing() {
+        // Arrange
+        Logger.setLevel(LogLevel.WARN);
+        DataInitializer.init();
+        CinemaBookingFacade facade = new CinemaBookingFacade();
+
+        // Act
+        String bookingId = facade.bookTickets("John Doe", "john@example.com", "555-1234",
+                1, TicketType.REGULAR, 2, List.of(1, 1), List.of(5, 6),
+                LocalDateTime.of(2025, 11, 20, 14, 30), false, false);
+
+        // Assert
+        assertNotNull(bookingId);
+        assertTrue(appender.records.isEmpty(), "Successful booking should not log in quiet mode");
+    }
+
+    @Test
+    public void bookTickets_debugLevel_logsBanners() {
+        // Arrange
+        Logger.setLevel(LogLevel.DEBUG);
+        DataInitializer.init();
+        CinemaBookingFacade facade = new CinemaBookingFacade();
+        appender.records.clear();
+
+        // Act
+        facade.bookTickets("John Doe", "john@example.com", "555-1234",
+                1, TicketType.REGULAR, 1, List.of(1), List.of(5),
+                LocalDateTime.of(2025, 11, 20, 14, 30), false, false);
+
+        // Assert
+        assertTrue(appender.records.stream()
+                        .anyMatch(r -> r.getMessage().contains("BOOKING PROCESS STARTED")),
+                "Banners should be logged at DEBUG");
+    }
+
+    /**
+     * Appender that keeps records in memory
+     */
+    private static class RecordingAppender implements LogAppender {
+        private final List<LogRecord> records = new ArrayList<>();
+
+        @Override
+        public synchronized void append(LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
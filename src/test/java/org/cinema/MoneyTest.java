@@ -0,0 +1,58 @@
+package org.cinema;
+
+import org.cinema.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Money
+ * Tests exact arithmetic, half-even rounding, formatting and currency checks
+ */
+public class MoneyTest {
+
+    @Test
+    public void plus_manyCents_staysExact() {
+        Money total = Money.zero(Money.USD);
+        for (int i = 0; i < 1000; i++) {
+            total = total.plus(Money.usd(10));
+        }
+
+        assertEquals(Money.usd(10_000), total, "1000 x $0.10 should be exactly $100");
+    }
+
+    @Test
+    public void times_rate_roundsHalfEven() {
+        assertEquals(Money.usd(2), Money.usd(5).times(50, 100), "2.5 cents should round to even 2");
+        assertEquals(Money.usd(4), Money.usd(7).times(50, 100), "3.5 cents should round to even 4");
+        assertEquals(Money.usd(1_150), Money.usd(1_000).times(115, 100));
+        assertEquals(Money.usd(-2), Money.usd(-5).times(50, 100));
+    }
+
+    @Test
+    public void toString_parse_roundTrips() {
+        Money amount = Money.usd(-5);
+
+        assertEquals("USD -0.05", amount.toString());
+        assertEquals(amount, Money.parse(amount.toString()));
+        assertEquals("$1234.50", Money.usd(123_450).format());
+    }
+
+    @Test
+    public void of_tooManyDecimals_throws() {
+        assertEquals(Money.usd(1_250), Money.of(new BigDecimal("12.500"), Money.USD));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("12.505"), Money.USD));
+    }
+
+    @Test
+    public void plus_differentCurrencies_throws() {
+        Money euros = Money.ofMinor(100, Currency.getInstance("EUR"));
+
+        assertThrows(IllegalArgumentException.class, () -> Money.usd(100).plus(euros));
+        assertThrows(IllegalArgumentException.class, () -> Money.usd(100).isGreaterThan(euros));
+        assertNotEquals(Money.usd(100), euros);
+    }
+}
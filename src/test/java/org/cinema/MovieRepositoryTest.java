@@ -0,0 +1,128 @@
+package org.cinema;
+
+import org.cinema.model.Movie;
+import org.cinema.repository.CatalogSnapshot;
+import org.cinema.repository.MovieRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MovieRepository
+ * Tests the versioned catalog snapshot and conditional reads
+ */
+public class MovieRepositoryTest {
+
+    private MovieRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        repository = MovieRepository.getInstance();
+        repository.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repository.clear();
+    }
+
+    @Test
+    public void findAll_unchangedCatalog_returnsSameInstance() {
+        // Arrange
+        repository.save(new Movie(1, "Dune", "Sci-Fi", "IMAX", 155));
+
+        // Act
+        List<Movie> first = repository.findAll();
+        List<Movie> second = repository.findAll();
+
+        // Assert
+        assertSame(first, second, "Unchanged catalog should be served from the cached snapshot");
+        assertEquals(1, first.size(), "Should contain the saved movie");
+    }
+
+    @Test
+    public void findAll_returnsUnmodifiableList() {
+        // Arrange
+        repository.save(new Movie(1, "Dune", "Sci-Fi", "IMAX", 155));
+
+        // Act & Assert
+        List<Movie> movies = repository.findAll();
+        assertThrows(UnsupportedOperationException.class,
+                () -> movies.add(new Movie(2, "Heat", "Crime", "Standard", 170)));
+    }
+
+    @Test
+    public void save_bumpsCatalogVersion() {
+        // Arrange
+        long before = repository.getCatalogVersion();
+
+        // Act
+        repository.save(new Movie(1, "Dune", "Sci-Fi", "IMAX", 155));
+
+        // Assert
+        assertTrue(repository.getCatalogVersion() > before, "Version should increase after save");
+        assertEquals(1, repository.findAll().size(), "New snapshot should include the movie");
+    }
+
+    @Test
+    public void getCatalogIfChanged_withCurrentVersion_returnsNull() {
+        // Arrange
+        repository.save(new Movie(1, "Dune", "Sci-Fi", "IMAX", 155));
+        long version = repository.getCatalogVersion();
+
+        // Act & Assert
+        assertNull(repository.getCatalogIfChanged(version), "Unchanged catalog should not be returned");
+    }
+
+    @Test
+    public void getCatalogIfChanged_withOldVersion_returnsNewSnapshot() {
+        // Arrange
+        repository.save(new Movie(1, "Dune", "Sci-Fi", "IMAX", 155));
+        long version = repository.getCatalogVersion();
+        repository.save(new Movie(2, "Heat", "Crime", "Standard", 170));
+
+        // Act
+        CatalogSnapshot snapshot = repository.getCatalogIfChanged(version);
+
+        // Assert
+        assertNotNull(snapshot, "Changed catalog should be returned");
+        assertEquals(2, snapshot.getMovies().size(), "Snapshot should contain both movies");
+    }
+
+    @Test
+    public void catalogSnapshot_serializesMoviesAsJson() throws Exception {
+        // Arrange
+        repository.save(new Movie(1, "Say \"Hi\"", "Comedy", "Standard", 90));
+        CatalogSnapshot snapshot = repository.getCatalog();
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshot.writeTo(out);
+        String json = out.toString(StandardCharsets.UTF_8);
+
+        // Assert
+        assertEquals(snapshot.getSerializedSize(), out.size(), "Should write the whole serialized form");
+        assertTrue(json.startsWith("{\"version\":" + snapshot.getVersion()), "Should start with the version");
+        assertTrue(json.contains("\"title\":\"Say \\\"Hi\\\"\""), "Title quotes should be escaped");
+    }
+
+    @Test
+    public void findByGenre_usesCurrentCatalog() {
+        // Arrange
+        repository.save(new Movie(1, "Heat", "Crime", "Standard", 170));
+        repository.save(new Movie(2, "Dune", "Sci-Fi", "IMAX", 155));
+
+        // Act
+        List<Movie> crime = repository.findByGenre("crime");
+
+        // Assert
+        assertEquals(1, crime.size(), "Should find one crime movie");
+        assertEquals("Heat", crime.get(0).getTitle());
+    }
+}
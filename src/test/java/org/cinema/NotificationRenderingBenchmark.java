@@ -0,0 +1,108 @@
+package org.cinema;
+
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.notification.EmailMessage;
+import org.cinema.notification.EmailTransport;
+import org.cinema.observer.BookingNotification;
+import org.cinema.observer.EmailNotificationObserver;
+import org.cinema.observer.SMSNotificationObserver;
+import org.cinema.util.logging.LogLevel;
+import org.cinema.util.logging.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Allocation and throughput benchmark for notification rendering.
+ * Compares the previous per-event StringBuilder, String.format and
+ * DateTimeFormatter rendering against the precompiled templates used by
+ * the email and SMS observers.
+ *
+ * Not a unit test; run after `mvn test-compile` with:
+ *   java -cp target/classes:target/test-classes org.cinema.NotificationRenderingBenchmark [iterations]
+ */
+public class NotificationRenderingBenchmark {
+    private static final DateTimeFormatter EMAIL_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter SMS_TIME = DateTimeFormatter.ofPattern("HH:mm");
+    private static final BookingNotification EVENT =
+            BookingNotification.builder("3f1c2d9e-5b7a-4c1e-9d2f-8a6b4e0c1f7d", BookingEvent.CONFIRMED)
+                    .customerEmail("bench@example.com")
+                    .customerPhone("555-0000")
+                    .details("Booking confirmed after successful payment")
+                    .build();
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        // Rendering only; the mock SMS send is a DEBUG log line
+        Logger.setLevel(LogLevel.OFF);
+
+        EmailTransport discard = NotificationRenderingBenchmark::consume;
+        EmailNotificationObserver email =
+                new EmailNotificationObserver(EnumSet.allOf(BookingEvent.class), discard, 0);
+        SMSNotificationObserver sms = new SMSNotificationObserver();
+
+        System.out.printf("%-24s %14s %18s%n", "Renderer", "ops/sec", "bytes/notification");
+        run("Email (legacy)", iterations, () -> sink += legacyEmail(EVENT).length());
+        run("Email (template)", iterations, () -> email.onEvent(EVENT));
+        run("SMS (legacy)", iterations, () -> sink += legacySms(EVENT).length());
+        run("SMS (template)", iterations, () -> sms.onEvent(EVENT));
+    }
+
+    private static void run(String name, int iterations, Runnable task) {
+        for (int i = 0; i < iterations / 4; i++) {
+            task.run();
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        double perSecond = iterations / (elapsed / 1_000_000_000.0);
+        System.out.printf("%-24s %14.0f %18.1f%n", name, perSecond, (double) allocated / iterations);
+    }
+
+    private static void consume(List<EmailMessage> messages) {
+        sink += messages.get(0).getBody().length();
+    }
+
+    /**
+     * Email rendering as it was before templates
+     */
+    private static String legacyEmail(BookingNotification n) {
+        String timestamp = LocalDateTime.now().format(EMAIL_TIME);
+        StringBuilder email = new StringBuilder();
+        email.append("\n╔════════════════════════════════════════════════════════╗\n");
+        email.append("║              EMAIL NOTIFICATION                        ║\n");
+        email.append("╚════════════════════════════════════════════════════════╝\n");
+        email.append("Subject: Booking Confirmed - Your Tickets Are Ready!\n");
+        email.append("Dear Customer,\n\n");
+        email.append("Congratulations! Your booking is confirmed.\n");
+        email.append("Booking ID: ").append(n.getBookingId()).append("\n");
+        email.append(n.getDetails()).append("\n");
+        email.append("\nPlease show this email at the cinema entrance.\n");
+        email.append("\nTimestamp: ").append(timestamp).append("\n");
+        email.append("════════════════════════════════════════════════════════\n");
+        return email.toString();
+    }
+
+    /**
+     * SMS rendering as it was before templates (framing only happens at DEBUG)
+     */
+    private static String legacySms(BookingNotification n) {
+        String time = LocalDateTime.now().format(SMS_TIME);
+        StringBuilder sms = new StringBuilder();
+        sms.append("[Cinema] CONFIRMED! Booking: ").append(n.getBookingId(), 0, 8)
+                .append("... See you at the cinema!");
+        return sms.append(time.length()).toString();
+    }
+}
@@ -0,0 +1,110 @@
+package org.cinema;
+
+import org.cinema.model.Money;
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.notification.InMemorySmtpTransport;
+import org.cinema.notification.NotificationTemplate;
+import org.cinema.observer.BookingNotification;
+import org.cinema.observer.EmailNotificationObserver;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NotificationTemplate
+ * Tests parsing, field rendering, padding and buffer reuse
+ */
+public class NotificationTemplateTest {
+
+    private static final BookingNotification NOTIFICATION =
+            BookingNotification.builder("0123456789abcdef", BookingEvent.PAYMENT_COMPLETED)
+                    .customerEmail("a@test.com")
+                    .customerPhone("555-0001")
+                    .movieTitle("Dune")
+                    .seatCount(3)
+                    .amount(Money.usd(750))
+                    .details("Paid")
+                    .build();
+
+    @Test
+    public void renderTo_allFields_substitutesValues() {
+        // Arrange
+        NotificationTemplate template = NotificationTemplate.compile(
+                "{bookingId}|{shortId}|{event}|{details}|{email}|{phone}|{movie}|{seats}|{amount}|{timestamp}");
+        StringBuilder out = new StringBuilder();
+
+        // Act
+        template.renderTo(out, NOTIFICATION, "12:00");
+
+        // Assert
+        assertEquals("0123456789abcdef|01234567|PAYMENT_COMPLETED|Paid|a@test.com|555-0001|Dune|3|7.50|12:00",
+                out.toString());
+    }
+
+    @Test
+    public void renderTo_widthAndEscapedBrace_padsLikeFormat() {
+        // Arrange
+        NotificationTemplate template = NotificationTemplate.compile("{{│ {message:10} │");
+        StringBuilder out = new StringBuilder();
+
+        // Act
+        template.renderTo(out, NOTIFICATION, null, "hello");
+
+        // Assert
+        assertEquals("{│ " + String.format("%-10s", "hello") + " │", out.toString());
+    }
+
+    @Test
+    public void renderTo_amounts_matchTwoDecimalFormat() {
+        NotificationTemplate template = NotificationTemplate.compile("{amount}");
+        long[] cents = {0, 5, 1_234, 9_999, 123_450, -320, -5};
+        String[] expected = {"0.00", "0.05", "12.34", "99.99", "1234.50", "-3.20", "-0.05"};
+        for (int i = 0; i < cents.length; i++) {
+            BookingNotification notification = BookingNotification.builder("BK", BookingEvent.CREATED)
+                    .amount(Money.usd(cents[i])).build();
+            assertEquals(expected[i], template.render(notification, null), "Amount " + cents[i]);
+        }
+        assertEquals("0.00", template.render(BookingNotification.builder("BK", BookingEvent.CREATED).build(), null),
+                "Missing amount should render as zero");
+    }
+
+    @Test
+    public void renderTo_shortBookingId_doesNotFail() {
+        // Arrange
+        NotificationTemplate template = NotificationTemplate.compile("{shortId}...");
+        BookingNotification notification = BookingNotification.of("BK-1", BookingEvent.CREATED, null, null, null);
+
+        // Act & Assert
+        assertEquals("BK-1...", template.render(notification, null));
+    }
+
+    @Test
+    public void compile_unknownOrUnterminatedPlaceholder_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> NotificationTemplate.compile("{customer}"));
+        assertThrows(IllegalArgumentException.class, () -> NotificationTemplate.compile("Hello {details"));
+    }
+
+    @Test
+    public void emailObserver_renderedTemplate_keepsMessageLayout() {
+        // Arrange
+        InMemorySmtpTransport smtp = new InMemorySmtpTransport();
+        EmailNotificationObserver observer =
+                new EmailNotificationObserver(EnumSet.allOf(BookingEvent.class), smtp, 0);
+
+        // Act
+        observer.onEvent(BookingNotification.of("BK-1", BookingEvent.CREATED, "a@test.com", "555", "Movie: Dune"));
+        observer.onEvent(BookingNotification.of("BK-2", BookingEvent.SEATS_RELEASED, "b@test.com", "555", "2 seats"));
+
+        // Assert
+        String created = smtp.getDeliveredMessages().get(0).getBody();
+        assertTrue(created.startsWith("\n╔═"));
+        assertTrue(created.contains("Subject: Booking Created - Confirmation Pending\nDear Customer,\n\n"
+                + "Your booking has been created successfully!\nBooking ID: BK-1\nMovie: Dune\n"
+                + "\nPlease complete payment to confirm your booking.\n\nTimestamp: "));
+        String released = smtp.getDeliveredMessages().get(1).getBody();
+        assertTrue(released.contains("Booking ID: BK-2\nEvent: SEATS_RELEASED\n2 seats\n\nTimestamp: "),
+                "Generic events should name the event");
+    }
+}
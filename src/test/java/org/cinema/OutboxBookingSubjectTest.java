@@ -0,0 +1,264 @@
+package org.cinema;
+
+import org.cinema.model.Money;
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.observer.BookingNotification;
+import org.cinema.observer.BookingObserver;
+import org.cinema.observer.NotificationOutbox;
+import org.cinema.observer.OutboxBookingSubject;
+import org.cinema.util.CircuitBreaker;
+import org.cinema.util.CircuitBreakerPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OutboxBookingSubject and NotificationOutbox
+ * Tests relay delivery, retries, crash recovery and compaction
+ */
+public class OutboxBookingSubjectTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void notifyObservers_deliversPersistedNotificationWithAllFields() throws InterruptedException {
+        // Arrange
+        try (OutboxBookingSubject subject = new OutboxBookingSubject(dir, false, 3, 1)) {
+            RecordingObserver observer = new RecordingObserver();
+            subject.attach(observer);
+            subject.start();
+            LocalDateTime showtime = LocalDateTime.of(2024, 5, 1, 19, 30);
+
+            // Act
+            subject.notifyObservers(BookingNotification.builder("BK-1", BookingEvent.CONFIRMED)
+                    .customerEmail("a@test.com")
+                    .customerPhone("555-0001")
+                    .movieTitle("Tab\tand\\newline\n")
+                    .showtime(showtime)
+                    .hall("HALL_2")
+                    .seatCount(3)
+                    .amount(Money.usd(4_250))
+                    .details("Confirmed")
+                    .build());
+
+            // Assert
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS), "Relay should drain the outbox");
+            assertEquals(1, observer.received.size());
+            BookingNotification received = observer.received.get(0);
+            assertEquals("BK-1", received.getBookingId());
+            assertEquals("Tab\tand\\newline\n", received.getMovieTitle());
+            assertEquals(showtime, received.getShowtime());
+            assertEquals("HALL_2", received.getHall());
+            assertEquals(3, received.getSeatCount());
+            assertEquals(0, subject.getPendingEventCount());
+        }
+    }
+
+    @Test
+    public void relay_failingObserver_retriesUntilSuccess() throws InterruptedException {
+        // Arrange - observer fails twice before accepting the event
+        try (OutboxBookingSubject subject = new OutboxBookingSubject(dir, false, 5, 1)) {
+            AtomicInteger calls = new AtomicInteger();
+            subject.attach((bookingId, event, email, phone, details) -> {
+                if (calls.incrementAndGet() < 3) {
+                    throw new IllegalStateException("smtp down");
+                }
+            });
+            subject.start();
+
+            // Act
+            subject.notifyObservers("BK-1", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+
+            // Assert
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(3, calls.get());
+            assertEquals(2, subject.getRetryCount());
+            assertEquals(1, subject.getDeliveredCount());
+            assertEquals(0, subject.getFailedCount());
+        }
+    }
+
+    @Test
+    public void relay_observerKeepsFailing_givesUpAfterMaxAttempts() throws InterruptedException {
+        try (OutboxBookingSubject subject = new OutboxBookingSubject(dir, false, 2, 1)) {
+            subject.attach((bookingId, event, email, phone, details) -> {
+                throw new IllegalStateException("always down");
+            });
+            subject.start();
+
+            subject.notifyObservers("BK-1", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS), "Failing observer should not block the outbox");
+            assertEquals(1, subject.getFailedCount());
+        }
+    }
+
+    @Test
+    public void relay_openCircuit_keepsEntryUntilProbeSucceeds() throws InterruptedException {
+        // Arrange - the first failure opens the observer's circuit for 200 ms
+        try (OutboxBookingSubject subject = new OutboxBookingSubject(dir, false, 5, 1)) {
+            subject.setCircuitBreakerPolicy(new CircuitBreakerPolicy(1, 1_000, 200), 10);
+            AtomicInteger calls = new AtomicInteger();
+            BookingObserver observer = (bookingId, event, email, phone, details) -> {
+                if (calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("smtp down");
+                }
+            };
+            subject.attach(observer);
+            subject.start();
+
+            // Act
+            subject.notifyObservers("BK-1", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+
+            // Assert - the entry is acknowledged only after the probe delivered it
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(2, calls.get(), "Event should reach the observer once its circuit lets a probe through");
+            assertEquals(1, subject.getDeliveredCount());
+            assertEquals(0, subject.getObserverHealth(observer).getDivertedCount(), "Nothing should be parked in memory");
+            assertEquals(CircuitBreaker.State.CLOSED, subject.getObserverHealth(observer).getCircuitBreaker().getState());
+        }
+    }
+
+    @Test
+    public void constructor_afterCloseWithUndeliveredEvents_redeliversThem() throws InterruptedException {
+        // Arrange - relay never started, so nothing is acknowledged
+        OutboxBookingSubject first = new OutboxBookingSubject(dir, true, 3, 1);
+        first.notifyObservers("BK-1", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+        first.notifyObservers("BK-2", BookingEvent.CONFIRMED, "a@test.com", "555-0001", "Confirmed");
+        first.close();
+
+        // Act
+        try (OutboxBookingSubject second = new OutboxBookingSubject(dir, true, 3, 1)) {
+            RecordingObserver observer = new RecordingObserver();
+            second.attach(observer);
+            assertEquals(2, second.getPendingEventCount(), "Undelivered events should be recovered");
+            second.start();
+
+            // Assert
+            assertTrue(second.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(2, observer.received.size());
+            assertEquals("BK-1", observer.received.get(0).getBookingId());
+            assertEquals("BK-2", observer.received.get(1).getBookingId());
+            second.notifyObservers("BK-3", BookingEvent.CANCELLED, "a@test.com", "555-0001", "Cancelled");
+            assertTrue(second.awaitIdle(5, TimeUnit.SECONDS));
+        }
+
+        // Everything acknowledged - a third subject has nothing to redeliver
+        try (OutboxBookingSubject third = new OutboxBookingSubject(dir)) {
+            assertEquals(0, third.getPendingEventCount());
+        }
+    }
+
+    @Test
+    public void recover_partialTrailingLine_isDiscarded() throws IOException {
+        // Arrange - simulate a crash in the middle of an append
+        try (NotificationOutbox outbox = new NotificationOutbox(dir)) {
+            outbox.append(BookingNotification.of("BK-1", BookingEvent.CREATED, "a@test.com", "555-0001", "Created"));
+        }
+        Files.write(dir.resolve(NotificationOutbox.LOG_FILE), "2\tCONFIRMED\tBK-2".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        // Act
+        try (NotificationOutbox outbox = new NotificationOutbox(dir)) {
+            // Assert
+            List<NotificationOutbox.Entry> recovered = outbox.getRecoveredEntries();
+            assertEquals(1, recovered.size());
+            assertEquals("BK-1", recovered.get(0).getNotification().getBookingId());
+            assertEquals(2, outbox.append(BookingNotification.of("BK-2", BookingEvent.CONFIRMED,
+                    "a@test.com", "555-0001", "Confirmed")).getSequence());
+        }
+    }
+
+    @Test
+    public void relay_acknowledgeFails_retriesAndKeepsDelivering() throws InterruptedException {
+        // Arrange - the ack file cannot be written twice
+        FlakyAckOutbox outbox = new FlakyAckOutbox(dir, 2);
+        try (OutboxBookingSubject subject = new OutboxBookingSubject(outbox, 3, 1)) {
+            RecordingObserver observer = new RecordingObserver();
+            subject.attach(observer);
+            subject.start();
+
+            // Act
+            subject.notifyObservers(BookingNotification.of("BK-1", BookingEvent.CREATED,
+                    "a@test.com", "555-0001", "Created"));
+            subject.notifyObservers(BookingNotification.of("BK-2", BookingEvent.CREATED,
+                    "b@test.com", "555-0002", "Created"));
+
+            // Assert
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS), "Relay should survive failed acknowledgements");
+            assertEquals(2, observer.received.size());
+            assertEquals(2, outbox.getAcknowledgedSequence());
+            assertEquals(0, outbox.failuresLeft.get());
+        }
+    }
+
+    @Test
+    public void acknowledge_allEntriesPastThreshold_compactsLog() {
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, false, 64)) {
+            long last = 0;
+            for (int i = 0; i < 10; i++) {
+                last = outbox.append(BookingNotification.of("BK-" + i, BookingEvent.CREATED,
+                        "a@test.com", "555-0001", "Created")).getSequence();
+            }
+            assertTrue(outbox.getLogSize() > 64);
+
+            outbox.acknowledge(last);
+
+            assertEquals(0, outbox.getLogSize(), "Fully acknowledged log should be truncated");
+            assertEquals(11, outbox.append(BookingNotification.of("BK-10", BookingEvent.CREATED,
+                    "a@test.com", "555-0001", "Created")).getSequence(), "Sequence numbers keep increasing");
+        }
+    }
+
+    /**
+     * Outbox whose first acknowledgements fail as if the disk were full
+     */
+    private static class FlakyAckOutbox extends NotificationOutbox {
+        private final AtomicInteger failuresLeft;
+
+        FlakyAckOutbox(Path directory, int failures) {
+            super(directory, false, DEFAULT_COMPACT_THRESHOLD_BYTES);
+            this.failuresLeft = new AtomicInteger(failures);
+        }
+
+        @Override
+        public synchronized void acknowledge(long sequence) {
+            if (failuresLeft.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+                throw new UncheckedIOException("Cannot acknowledge outbox entry " + sequence,
+                        new IOException("No space left on device"));
+            }
+            super.acknowledge(sequence);
+        }
+    }
+
+    /**
+     * Observer that records every notification it receives
+     */
+    private static class RecordingObserver implements BookingObserver {
+        private final List<BookingNotification> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onEvent(BookingNotification notification) {
+            received.add(notification);
+        }
+
+        @Override
+        public void update(String bookingId, BookingEvent event, String customerEmail,
+                           String customerPhone, String details) {
+        }
+    }
+}
@@ -4,10 +4,16 @@ import org.cinema.adapter.CashSystemAdapter;
 import org.cinema.adapter.PayPalAdapter;
 import org.cinema.adapter.PaymentGatewayAdapter;
 import org.cinema.adapter.StripeAdapter;
+import org.cinema.model.Money;
 import org.cinema.model.Payment;
 import org.cinema.model.enums.PaymentStatus;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -22,7 +28,7 @@ public class PaymentAdapterTest {
     public void stripeAdapter_processPayment_setsTransactionId() {
         // Arrange
         PaymentGatewayAdapter adapter = new StripeAdapter();
-        Payment payment = new Payment("BOOKING-001", 50.00, "STRIPE");
+        Payment payment = new Payment("BOOKING-001", Money.usd(5_000), "STRIPE");
 
         // Act
         boolean result = adapter.processPayment(payment);
@@ -41,7 +47,7 @@ public class PaymentAdapterTest {
     public void stripeAdapter_processPayment_withValidAmount_succeeds() {
         // Arrange
         PaymentGatewayAdapter adapter = new StripeAdapter();
-        Payment payment = new Payment("BOOKING-001", 100.00, "STRIPE");
+        Payment payment = new Payment("BOOKING-001", Money.usd(10_000), "STRIPE");
 
         // Act
         boolean result = adapter.processPayment(payment);
@@ -56,7 +62,7 @@ public class PaymentAdapterTest {
     public void stripeAdapter_processPayment_withTooLowAmount_fails() {
         // Arrange
         PaymentGatewayAdapter adapter = new StripeAdapter();
-        Payment payment = new Payment("BOOKING-001", 0.25, "STRIPE"); // Below $0.50 minimum
+        Payment payment = new Payment("BOOKING-001", Money.usd(25), "STRIPE"); // Below $0.50 minimum
 
         // Act
         boolean result = adapter.processPayment(payment);
@@ -70,7 +76,7 @@ public class PaymentAdapterTest {
     public void stripeAdapter_processPayment_withTooHighAmount_fails() {
         // Arrange
         PaymentGatewayAdapter adapter = new StripeAdapter();
-        Payment payment = new Payment("BOOKING-001", 1000000.00, "STRIPE"); // Above $999,999.99 max
+        Payment payment = new Payment("BOOKING-001", Money.usd(100_000_000), "STRIPE"); // Above $999,999.99 max
 
         // Act
         boolean result = adapter.processPayment(payment);
@@ -84,7 +90,7 @@ public class PaymentAdapterTest {
     public void stripeAdapter_refundPayment_withCompletedPayment_succeeds() {
         // Arrange
         PaymentGatewayAdapter adapter = new StripeAdapter();
-        Payment payment = new Payment("BOOKING-001", 50.00, "STRIPE");
+        Payment payment = new Payment("BOOKING-001", Money.usd(5_000), "STRIPE");
         payment.setStatus(PaymentStatus.COMPLETED);
         payment.setTransactionId("pi_1234567890");
 
@@ -100,7 +106,7 @@ public class PaymentAdapterTest {
     public void stripeAdapter_refundPayment_withPendingPayment_fails() {
         // Arrange
         PaymentGatewayAdapter adapter = new StripeAdapter();
-        Payment payment = new Payment("BOOKING-001", 50.00, "STRIPE");
+        Payment payment = new Payment("BOOKING-001", Money.usd(5_000), "STRIPE");
         // Status is PENDING by default
 
         // Act
@@ -135,6 +141,48 @@ public class PaymentAdapterTest {
         assertEquals("INVALID", status, "Should return INVALID for non-Stripe transaction ID");
     }
 
+    @Test
+    public void stripeAdapter_processPayments_batchUsesOneRoundTrip() {
+        // Arrange - one Stripe call takes 500ms
+        PaymentGatewayAdapter adapter = new StripeAdapter();
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            payments.add(new Payment("BOOKING-" + i, Money.usd(2_500), "STRIPE"));
+        }
+        payments.add(new Payment("BOOKING-LOW", Money.usd(25), "STRIPE"));
+
+        // Act
+        long start = System.nanoTime();
+        List<Boolean> results = adapter.processPayments(payments);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertEquals(payments.size(), results.size(), "Should return one result per payment");
+        assertTrue(elapsedMillis < 1500, "Batch should take about one round trip, took " + elapsedMillis + "ms");
+        for (int i = 0; i < payments.size(); i++) {
+            assertEquals(payments.get(i).getStatus() == PaymentStatus.COMPLETED, results.get(i),
+                    "Result should match payment status");
+        }
+        assertFalse(results.get(20), "Invalid amount should fail");
+    }
+
+    @Test
+    public void stripeAdapter_refundPayments_refundsOnlyCompletedPayments() {
+        // Arrange
+        PaymentGatewayAdapter adapter = new StripeAdapter();
+        Payment completed = new Payment("BOOKING-001", Money.usd(10_000), "STRIPE");
+        completed.setStatus(PaymentStatus.COMPLETED);
+        Payment pending = new Payment("BOOKING-002", Money.usd(10_000), "STRIPE");
+
+        // Act
+        List<Boolean> results = adapter.refundPayments(List.of(completed, pending));
+
+        // Assert
+        assertEquals(List.of(true, false), results);
+        assertEquals(PaymentStatus.REFUNDED, completed.getStatus());
+        assertEquals(PaymentStatus.PENDING, pending.getStatus());
+    }
+
     @Test
     public void stripeAdapter_getGatewayName_returnsStripe() {
         // Arrange
@@ -150,7 +198,7 @@ public class PaymentAdapterTest {
     public void payPalAdapter_processPayment_setsTransactionId() {
         // Arrange
         PaymentGatewayAdapter adapter = new PayPalAdapter();
-        Payment payment = new Payment("BOOKING-002", 75.00, "PAYPAL");
+        Payment payment = new Payment("BOOKING-002", Money.usd(7_500), "PAYPAL");
 
         // Act
         boolean result = adapter.processPayment(payment);
@@ -170,7 +218,7 @@ public class PaymentAdapterTest {
     public void payPalAdapter_processPayment_withValidAmount_succeeds() {
         // Arrange
         PaymentGatewayAdapter adapter = new PayPalAdapter();
-        Payment payment = new Payment("BOOKING-002", 150.00, "PAYPAL");
+        Payment payment = new Payment("BOOKING-002", Money.usd(15_000), "PAYPAL");
 
         // Act
         boolean result = adapter.processPayment(payment);
@@ -185,7 +233,7 @@ public class PaymentAdapterTest {
     public void payPalAdapter_processPayment_withTooLowAmount_fails() {
         // Arrange
         PaymentGatewayAdapter adapter = new PayPalAdapter();
-        Payment payment = new Payment("BOOKING-002", 0.50, "PAYPAL"); // Below $1.00 minimum
+        Payment payment = new Payment("BOOKING-002", Money.usd(50), "PAYPAL"); // Below $1.00 minimum
 
         // Act
         boolean result = adapter.processPayment(payment);
@@ -199,7 +247,7 @@ public class PaymentAdapterTest {
     public void payPalAdapter_processPayment_withTooHighAmount_fails() {
         // Arrange
         PaymentGatewayAdapter adapter = new PayPalAdapter();
-        Payment payment = new Payment("BOOKING-002", 15000.00, "PAYPAL"); // Above $10,000 max
+        Payment payment = new Payment("BOOKING-002", Money.usd(1_500_000), "PAYPAL"); // Above $10,000 max
 
         // Act
         boolean result = adapter.processPayment(payment);
@@ -213,7 +261,7 @@ public class PaymentAdapterTest {
     public void payPalAdapter_refundPayment_withCompletedPayment_succeeds() {
         // Arrange
         PaymentGatewayAdapter adapter = new PayPalAdapter();
-        Payment payment = new Payment("BOOKING-002", 75.00, "PAYPAL");
+        Payment payment = new Payment("BOOKING-002", Money.usd(7_500), "PAYPAL");
         payment.setStatus(PaymentStatus.COMPLETED);
         payment.setTransactionId("CAPTURE-ABC123");
 
@@ -276,7 +324,7 @@ public class PaymentAdapterTest {
     public void cashAdapter_processPayment_alwaysSucceeds() {
         // Arrange
         PaymentGatewayAdapter adapter = new CashSystemAdapter();
-        Payment payment = new Payment("BOOKING-003", 40.00, "CASH");
+        Payment payment = new Payment("BOOKING-003", Money.usd(4_000), "CASH");
 
         // Act
         boolean result = adapter.processPayment(payment);
@@ -293,7 +341,7 @@ public class PaymentAdapterTest {
     public void cashAdapter_processPayment_withLargeAmount_succeeds() {
         // Arrange
         PaymentGatewayAdapter adapter = new CashSystemAdapter();
-        Payment payment = new Payment("BOOKING-003", 5000.00, "CASH");
+        Payment payment = new Payment("BOOKING-003", Money.usd(500_000), "CASH");
 
         // Act
         boolean result = adapter.processPayment(payment);
@@ -307,7 +355,7 @@ public class PaymentAdapterTest {
     public void cashAdapter_refundPayment_withCompletedPayment_succeeds() {
         // Arrange
         PaymentGatewayAdapter adapter = new CashSystemAdapter();
-        Payment payment = new Payment("BOOKING-003", 40.00, "CASH");
+        Payment payment = new Payment("BOOKING-003", Money.usd(4_000), "CASH");
         payment.setStatus(PaymentStatus.COMPLETED);
         payment.setTransactionId("CASH-20251116-123456-ABCD");
 
@@ -323,7 +371,7 @@ public class PaymentAdapterTest {
     public void cashAdapter_refundPayment_withPendingPayment_fails() {
         // Arrange
         PaymentGatewayAdapter adapter = new CashSystemAdapter();
-        Payment payment = new Payment("BOOKING-003", 40.00, "CASH");
+        Payment payment = new Payment("BOOKING-003", Money.usd(4_000), "CASH");
         // Status is PENDING by default
 
         // Act
@@ -334,6 +382,26 @@ public class PaymentAdapterTest {
         assertNotEquals(PaymentStatus.REFUNDED, payment.getStatus(), "Status should not be REFUNDED");
     }
 
+    @Test
+    public void cashAdapter_processPayments_runsPaymentsInParallel() {
+        // Arrange - one cash payment takes 200ms
+        PaymentGatewayAdapter adapter = new CashSystemAdapter();
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            payments.add(new Payment("BOOKING-" + i, Money.usd(1_000), "CASH"));
+        }
+
+        // Act
+        long start = System.nanoTime();
+        List<Boolean> results = adapter.processPayments(payments);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertEquals(20, results.size());
+        assertFalse(results.contains(false), "Cash payments always succeed");
+        assertTrue(elapsedMillis < 2000, "Payments should overlap, took " + elapsedMillis + "ms");
+    }
+
     @Test
     public void cashAdapter_verifyPaymentStatus_withCashReceipt_returnsVerified() {
         // Arrange
@@ -379,6 +447,31 @@ public class PaymentAdapterTest {
         assertEquals("Cash", adapter.getGatewayName(), "Gateway name should be Cash");
     }
 
+    @Test
+    public void cashAdapter_calculateChange_isExact() {
+        // Arrange
+        CashSystemAdapter adapter = new CashSystemAdapter();
+
+        // Act
+        Money change = adapter.calculateChange(Money.usd(2_000), Money.usd(1_730));
+
+        // Assert
+        assertEquals(Money.usd(270), change, "$20.00 - $17.30 should be exactly $2.70");
+        assertThrows(IllegalArgumentException.class,
+                () -> adapter.calculateChange(Money.usd(1_000), Money.usd(1_730)));
+    }
+
+    @Test
+    public void cashAdapter_validateCashDenomination_acceptsWholeCentsOnly() {
+        // Arrange
+        CashSystemAdapter adapter = new CashSystemAdapter();
+
+        // Act & Assert
+        assertTrue(adapter.validateCashDenomination(new BigDecimal("0.29")));
+        assertTrue(adapter.validateCashDenomination(new BigDecimal("20.100")), "Trailing zeros are still whole cents");
+        assertFalse(adapter.validateCashDenomination(new BigDecimal("0.295")));
+    }
+
     // ==================== Adapter Interface Tests ====================
 
     @Test
@@ -0,0 +1,120 @@
+package org.cinema;
+
+import org.cinema.model.Money;
+import org.cinema.model.Payment;
+import org.cinema.model.enums.PaymentStatus;
+import org.cinema.service.PaymentMetrics;
+import org.cinema.service.PaymentMetrics.Resolution;
+import org.cinema.service.PaymentMetrics.TimeBucket;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PaymentMetrics
+ * Tests status counters, exact revenue and time-bucketed rollups with a manual clock
+ */
+public class PaymentMetricsTest {
+    private static final long MINUTE = Resolution.MINUTE.getMillis();
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private final PaymentMetrics metrics = new PaymentMetrics(now::get);
+
+    @Test
+    public void onStatusChanged_movesPaymentBetweenCounters() {
+        Payment payment = track(5_000, "STRIPE");
+
+        payment.setStatus(PaymentStatus.PROCESSING);
+        payment.setStatus(PaymentStatus.COMPLETED);
+        assertEquals(1, metrics.getCount(PaymentStatus.COMPLETED));
+        assertEquals(0, metrics.getCount(PaymentStatus.PENDING));
+        assertEquals(Money.usd(5_000), metrics.getRevenue(Money.USD));
+
+        payment.setStatus(PaymentStatus.REFUNDED);
+        assertEquals(0, metrics.getCount(PaymentStatus.COMPLETED));
+        assertEquals(1, metrics.getCount(PaymentStatus.REFUNDED));
+        assertEquals(Money.zero(Money.USD), metrics.getRevenue(Money.USD), "Refund should take the amount out of revenue");
+        assertEquals(1, metrics.getTotalCount());
+    }
+
+    @Test
+    public void getRevenue_manySmallAmounts_staysExact() {
+        for (int i = 0; i < 1000; i++) {
+            track(10, "CASH").setStatus(PaymentStatus.COMPLETED);
+        }
+
+        assertEquals(Money.usd(10_000), metrics.getRevenue(Money.USD), "1000 x $0.10 should be exactly $100");
+    }
+
+    @Test
+    public void getTimeSeries_bucketsTransitionsPerMinuteAndGateway() {
+        track(1_000, "STRIPE").setStatus(PaymentStatus.COMPLETED);
+        track(2_000, "PAYPAL").setStatus(PaymentStatus.FAILED);
+        now.addAndGet(MINUTE);
+        track(3_000, "STRIPE").setStatus(PaymentStatus.COMPLETED);
+
+        List<TimeBucket> stripe = metrics.getTimeSeries("STRIPE", Resolution.MINUTE);
+        assertEquals(2, stripe.size(), "Each minute should get its own bucket");
+        assertEquals(1_000, stripe.get(0).getRevenueMinorUnits());
+        assertEquals(3_000, stripe.get(1).getRevenueMinorUnits());
+        assertTrue(stripe.get(0).getStart().isBefore(stripe.get(1).getStart()), "Oldest bucket should come first");
+
+        List<TimeBucket> all = metrics.getTimeSeries(PaymentMetrics.ALL_GATEWAYS, Resolution.HOUR);
+        long completed = 0;
+        long failed = 0;
+        for (TimeBucket bucket : all) {
+            completed += bucket.getCompleted();
+            failed += bucket.getFailed();
+        }
+        assertEquals(2, completed);
+        assertEquals(1, failed);
+        assertTrue(metrics.getTimeSeries("CASH", Resolution.DAY).isEmpty());
+    }
+
+    @Test
+    public void getTimeSeries_oldIntervals_ageOut() {
+        track(1_000, "STRIPE").setStatus(PaymentStatus.COMPLETED);
+
+        now.addAndGet(MINUTE * Resolution.MINUTE.getRetained());
+        track(2_000, "STRIPE").setStatus(PaymentStatus.COMPLETED);
+
+        List<TimeBucket> series = metrics.getTimeSeries("STRIPE", Resolution.MINUTE);
+        assertEquals(1, series.size(), "Bucket from a full ring ago should be replaced");
+        assertEquals(2_000, series.get(0).getRevenueMinorUnits());
+        assertEquals(3_000, metrics.getTimeSeries("STRIPE", Resolution.HOUR).stream()
+                .mapToLong(TimeBucket::getRevenueMinorUnits).sum(), "Hourly rollup should still hold both");
+    }
+
+    @Test
+    public void onStatusChanged_concurrentTransitions_countsExactly() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 2500; i++) {
+                    Payment payment = track(100, "CASH");
+                    payment.setStatus(PaymentStatus.COMPLETED);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(10_000, metrics.getTotalCount());
+        assertEquals(10_000, metrics.getCount(PaymentStatus.COMPLETED));
+        assertEquals(Money.usd(1_000_000), metrics.getRevenue(Money.USD));
+    }
+
+    private Payment track(long cents, String gateway) {
+        Payment payment = new Payment("BK-1", Money.usd(cents), gateway);
+        metrics.onCreated(payment);
+        payment.setStatusListener(metrics::onStatusChanged);
+        return payment;
+    }
+}
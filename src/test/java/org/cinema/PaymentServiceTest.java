@@ -1,15 +1,34 @@
 package org.cinema;
 
+import org.cinema.adapter.AsyncPaymentGatewayAdapter;
+import org.cinema.adapter.CashSystemAdapter;
+import org.cinema.adapter.PayPalAdapter;
 import org.cinema.adapter.PaymentGatewayAdapter;
+import org.cinema.adapter.StripeAdapter;
+import org.cinema.model.Money;
 import org.cinema.model.Payment;
 import org.cinema.model.enums.BookingEvent;
 import org.cinema.model.enums.PaymentStatus;
 import org.cinema.observer.BookingObserver;
 import org.cinema.observer.BookingSubject;
 import org.cinema.service.PaymentService;
+import org.cinema.util.BulkheadPolicy;
+import org.cinema.util.CircuitBreaker;
+import org.cinema.util.CircuitBreakerPolicy;
+import org.cinema.util.HedgePolicy;
+import org.cinema.util.LatencyEwma;
+import org.cinema.util.RetryPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -39,7 +58,7 @@ public class PaymentServiceTest {
         paymentService.registerGateway("TEST", adapter);
 
         // Assert - verify by processing a payment with it
-        boolean result = paymentService.processPayment("BOOKING-001", 50.0, "TEST",
+        boolean result = paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST",
                 "test@example.com", "555-0000");
         assertTrue(result, "Should successfully process payment with registered gateway");
     }
@@ -51,7 +70,7 @@ public class PaymentServiceTest {
         paymentService.registerGateway("TEST", adapter);
 
         // Act
-        boolean result = paymentService.processPayment("BOOKING-001", 100.0, "TEST",
+        boolean result = paymentService.processPayment("BOOKING-001", Money.usd(10_000), "TEST",
                 "customer@example.com", "555-1234");
 
         // Assert
@@ -66,7 +85,7 @@ public class PaymentServiceTest {
         paymentService.registerGateway("TEST", adapter);
 
         // Act
-        boolean result = paymentService.processPayment("BOOKING-001", 100.0, "TEST",
+        boolean result = paymentService.processPayment("BOOKING-001", Money.usd(10_000), "TEST",
                 "customer@example.com", "555-1234");
 
         // Assert
@@ -77,7 +96,7 @@ public class PaymentServiceTest {
     @Test
     public void processPayment_withUnregisteredGateway_returnsFalse() {
         // Act
-        boolean result = paymentService.processPayment("BOOKING-001", 100.0, "UNREGISTERED",
+        boolean result = paymentService.processPayment("BOOKING-001", Money.usd(10_000), "UNREGISTERED",
                 "customer@example.com", "555-1234");
 
         // Assert
@@ -91,7 +110,7 @@ public class PaymentServiceTest {
         paymentService.registerGateway("TEST", adapter);
 
         // Act
-        paymentService.processPayment("BOOKING-001", 75.0, "TEST",
+        paymentService.processPayment("BOOKING-001", Money.usd(7_500), "TEST",
                 "customer@example.com", "555-1234");
 
         // Assert
@@ -109,7 +128,7 @@ public class PaymentServiceTest {
         paymentService.registerGateway("TEST", adapter);
 
         // Act
-        paymentService.processPayment("BOOKING-001", 75.0, "TEST",
+        paymentService.processPayment("BOOKING-001", Money.usd(7_500), "TEST",
                 "customer@example.com", "555-1234");
 
         // Assert
@@ -121,7 +140,7 @@ public class PaymentServiceTest {
     @Test
     public void processPayment_withNonExistentGateway_notifiesFailure() {
         // Act
-        paymentService.processPayment("BOOKING-001", 75.0, "NONEXISTENT",
+        paymentService.processPayment("BOOKING-001", Money.usd(7_500), "NONEXISTENT",
                 "customer@example.com", "555-1234");
 
         // Assert
@@ -137,13 +156,13 @@ public class PaymentServiceTest {
         paymentService.registerGateway("TEST", adapter);
 
         // Act
-        paymentService.processPayment("BOOKING-001", 50.0, "TEST",
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST",
                 "customer@example.com", "555-1234");
 
         // Assert
         Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
         assertNotNull(payment, "Payment should be stored");
-        assertEquals(50.0, payment.getAmount(), 0.01, "Amount should match");
+        assertEquals(Money.usd(5_000), payment.getAmount(), "Amount should match");
         assertEquals("TEST", payment.getMethod(), "Method should match");
     }
 
@@ -152,7 +171,7 @@ public class PaymentServiceTest {
         // Arrange
         TestGatewayAdapter adapter = new TestGatewayAdapter("TestGateway", true);
         paymentService.registerGateway("TEST", adapter);
-        paymentService.processPayment("BOOKING-001", 50.0, "TEST",
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST",
                 "customer@example.com", "555-1234");
         
         Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
@@ -172,7 +191,7 @@ public class PaymentServiceTest {
         // Arrange
         TestGatewayAdapter adapter = new TestGatewayAdapter("TestGateway", true);
         paymentService.registerGateway("TEST", adapter);
-        paymentService.processPayment("BOOKING-001", 50.0, "TEST",
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST",
                 "customer@example.com", "555-1234");
         
         Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
@@ -202,7 +221,7 @@ public class PaymentServiceTest {
         // Arrange
         TestGatewayAdapter adapter = new TestGatewayAdapter("TestGateway", true);
         paymentService.registerGateway("TEST", adapter);
-        paymentService.processPayment("BOOKING-001", 50.0, "TEST",
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST",
                 "customer@example.com", "555-1234");
         
         Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
@@ -229,7 +248,7 @@ public class PaymentServiceTest {
         // Arrange
         TestGatewayAdapter adapter = new TestGatewayAdapter("TestGateway", true);
         paymentService.registerGateway("TEST", adapter);
-        paymentService.processPayment("BOOKING-001", 50.0, "TEST",
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST",
                 "customer@example.com", "555-1234");
         
         Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
@@ -252,11 +271,11 @@ public class PaymentServiceTest {
         paymentService.registerGateway("FAIL", failAdapter);
 
         // Act - Process multiple payments
-        paymentService.processPayment("BOOKING-001", 50.0, "SUCCESS",
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "SUCCESS",
                 "user1@example.com", "555-0001");
-        paymentService.processPayment("BOOKING-002", 75.0, "SUCCESS",
+        paymentService.processPayment("BOOKING-002", Money.usd(7_500), "SUCCESS",
                 "user2@example.com", "555-0002");
-        paymentService.processPayment("BOOKING-003", 100.0, "FAIL",
+        paymentService.processPayment("BOOKING-003", Money.usd(10_000), "FAIL",
                 "user3@example.com", "555-0003");
 
         PaymentService.PaymentStatistics stats = paymentService.getStatistics();
@@ -265,7 +284,7 @@ public class PaymentServiceTest {
         assertEquals(3, stats.getTotalPayments(), "Should have 3 total payments");
         assertEquals(2, stats.getCompletedPayments(), "Should have 2 completed payments");
         assertEquals(1, stats.getFailedPayments(), "Should have 1 failed payment");
-        assertEquals(125.0, stats.getTotalRevenue(), 0.01, "Revenue should be 50 + 75 = 125");
+        assertEquals(Money.usd(12_500), stats.getTotalRevenue(), "Revenue should be 50 + 75 = 125");
     }
 
     @Test
@@ -274,7 +293,7 @@ public class PaymentServiceTest {
         TestGatewayAdapter adapter = new TestGatewayAdapter("TestGateway", true);
         paymentService.registerGateway("TEST", adapter);
         
-        paymentService.processPayment("BOOKING-001", 50.0, "TEST",
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST",
                 "customer@example.com", "555-1234");
         Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
         paymentService.refundPayment(payment.getId(), "customer@example.com", "555-1234");
@@ -296,9 +315,9 @@ public class PaymentServiceTest {
         paymentService.registerGateway("GATEWAY2", adapter2);
 
         // Act
-        paymentService.processPayment("BOOKING-001", 50.0, "GATEWAY1",
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "GATEWAY1",
                 "user@example.com", "555-0000");
-        paymentService.processPayment("BOOKING-002", 75.0, "GATEWAY2",
+        paymentService.processPayment("BOOKING-002", Money.usd(7_500), "GATEWAY2",
                 "user@example.com", "555-0000");
 
         // Assert
@@ -306,8 +325,897 @@ public class PaymentServiceTest {
         assertTrue(adapter2.wasProcessPaymentCalled(), "Gateway2 should be used");
     }
 
+    @Test
+    public void processPaymentAsync_manyConcurrentPayments_doNotWaitForEachOther() throws Exception {
+        // Arrange - each cash payment takes 200ms at the gateway
+        BookingSubject subject = new BookingSubject();
+        AtomicInteger completed = new AtomicInteger();
+        subject.attach((bookingId, event, email, phone, details) -> {
+            if (event == BookingEvent.PAYMENT_COMPLETED) {
+                completed.incrementAndGet();
+            }
+        });
+        PaymentService service = new PaymentService(subject);
+        // Allow every payment in at once; the default bulkhead starts lower
+        service.registerGateway("CASH", new CashSystemAdapter(), BulkheadPolicy.fixed(200, 0));
+
+        // Act
+        long start = System.nanoTime();
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            results.add(service.processPaymentAsync("BOOKING-" + i, Money.usd(1_000), "CASH",
+                    "user@example.com", "555-0000"));
+        }
+        long submitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertTrue(submitMillis < 200, "Submitting should not wait for the gateway, took " + submitMillis + "ms");
+        assertTrue(totalMillis < 2000, "Payments should overlap, took " + totalMillis + "ms");
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(result.join());
+        }
+        assertEquals(200, completed.get(), "Every payment should notify observers");
+        assertEquals(200, service.getStatistics().getCompletedPayments());
+    }
+
+    @Test
+    public void processPaymentAsync_withBlockingGateway_completesAndNotifies() throws Exception {
+        // Arrange
+        TestGatewayAdapter adapter = new TestGatewayAdapter("TestGateway", true);
+        paymentService.registerGateway("TEST", adapter);
+
+        // Act
+        boolean result = paymentService.processPaymentAsync("BOOKING-001", Money.usd(7_500), "TEST",
+                "customer@example.com", "555-1234").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(result, "Payment should succeed");
+        assertTrue(adapter.wasProcessPaymentCalled(), "Blocking adapter should be used");
+        assertEquals(BookingEvent.PAYMENT_COMPLETED, testObserver.getLastEvent());
+    }
+
+    @Test
+    public void processPaymentAsync_withUnregisteredGateway_completesWithFalse() {
+        // Act
+        CompletableFuture<Boolean> result = paymentService.processPaymentAsync("BOOKING-001", Money.usd(10_000),
+                "UNREGISTERED", "customer@example.com", "555-1234");
+
+        // Assert
+        assertTrue(result.isDone(), "Missing gateway should be reported immediately");
+        assertFalse(result.join());
+        assertEquals(BookingEvent.PAYMENT_FAILED, testObserver.getLastEvent());
+    }
+
+    @Test
+    public void refundPaymentAsync_completedPayment_refunds() throws Exception {
+        // Arrange
+        TestGatewayAdapter adapter = new TestGatewayAdapter("TestGateway", true);
+        paymentService.registerGateway("TEST", adapter);
+        paymentService.processPayment("BOOKING-001", Money.usd(10_000), "TEST", "customer@example.com", "555-1234");
+        Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
+
+        // Act
+        boolean result = paymentService.refundPaymentAsync(payment.getId(),
+                "customer@example.com", "555-1234").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(result, "Refund should succeed");
+        assertEquals(PaymentStatus.REFUNDED, payment.getStatus());
+        assertEquals(BookingEvent.CANCELLED, testObserver.getLastEvent());
+    }
+
+    @Test
+    public void processPayments_mixedGateways_returnsResultsInRequestOrder() {
+        // Arrange
+        paymentService.registerGateway("OK", new TestGatewayAdapter("Ok", true));
+        paymentService.registerGateway("FAIL", new TestGatewayAdapter("Fail", false));
+        List<PaymentService.PaymentRequest> requests = List.of(
+                new PaymentService.PaymentRequest("BOOKING-1", Money.usd(1_000), "OK", "a@example.com", "555-0001"),
+                new PaymentService.PaymentRequest("BOOKING-2", Money.usd(2_000), "FAIL", "b@example.com", "555-0002"),
+                new PaymentService.PaymentRequest("BOOKING-3", Money.usd(3_000), "UNREGISTERED", "c@example.com", "555-0003"),
+                new PaymentService.PaymentRequest("BOOKING-4", Money.usd(4_000), "OK", "d@example.com", "555-0004"));
+
+        // Act
+        List<Boolean> results = paymentService.processPayments(requests);
+
+        // Assert
+        assertEquals(List.of(true, false, false, true), results);
+        assertEquals(4, testObserver.getUpdateCount(), "Every request should notify observers");
+        PaymentService.PaymentStatistics stats = paymentService.getStatistics();
+        assertEquals(3, stats.getTotalPayments(), "Unregistered gateway should not create a payment");
+        assertEquals(2, stats.getCompletedPayments());
+        assertEquals(1, stats.getFailedPayments());
+        assertEquals(Money.usd(5_000), stats.getTotalRevenue());
+    }
+
+    @Test
+    public void processPayments_gatewayWithoutBatchApi_processesEveryPayment() {
+        // Arrange
+        CountingGatewayAdapter adapter = new CountingGatewayAdapter();
+        paymentService.registerGateway("TEST", adapter);
+        List<PaymentService.PaymentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            requests.add(new PaymentService.PaymentRequest("BOOKING-" + i, Money.usd(1_000), "TEST",
+                    "user@example.com", "555-0000"));
+        }
+
+        // Act
+        List<Boolean> results = paymentService.processPayments(requests);
+
+        // Assert
+        assertEquals(50, results.size());
+        assertFalse(results.contains(false));
+        assertEquals(50, adapter.calls.get(), "Default batch should call processPayment per item");
+    }
+
+    @Test
+    public void refundPayments_refundsCompletedAndReportsUnknown() {
+        // Arrange
+        paymentService.registerGateway("TEST", new TestGatewayAdapter("TestGateway", true));
+        paymentService.processPayment("BOOKING-001", Money.usd(10_000), "TEST", "a@example.com", "555-0001");
+        paymentService.processPayment("BOOKING-002", Money.usd(5_000), "TEST", "b@example.com", "555-0002");
+        String first = paymentService.getPaymentByBookingId("BOOKING-001").getId();
+        String second = paymentService.getPaymentByBookingId("BOOKING-002").getId();
+
+        // Act
+        List<Boolean> results = paymentService.refundPayments(List.of(
+                new PaymentService.RefundRequest(first, "a@example.com", "555-0001"),
+                new PaymentService.RefundRequest("NO-SUCH-PAYMENT", "x@example.com", "555-0000"),
+                new PaymentService.RefundRequest(second, "b@example.com", "555-0002")));
+
+        // Assert
+        assertEquals(List.of(true, false, true), results);
+        assertEquals(2, paymentService.getStatistics().getRefundedPayments());
+        assertEquals(BookingEvent.CANCELLED, testObserver.getLastEvent());
+    }
+
+    @Test
+    public void processPaymentAsync_slowGateway_doesNotDelayOtherGateways() throws Exception {
+        // Arrange - the slow gateway may run one call at a time
+        SlowGatewayAdapter slow = new SlowGatewayAdapter();
+        paymentService.registerGateway("SLOW", slow, BulkheadPolicy.fixed(1, 100));
+        paymentService.registerGateway("CASH", new CashSystemAdapter());
+        List<CompletableFuture<Boolean>> slowPayments = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            slowPayments.add(paymentService.processPaymentAsync("SLOW-" + i, Money.usd(1_000), "SLOW",
+                    "user@example.com", "555-0000"));
+        }
+
+        // Act
+        long start = System.nanoTime();
+        boolean cash = paymentService.processPaymentAsync("CASH-1", Money.usd(1_000), "CASH",
+                "user@example.com", "555-0000").get(5, TimeUnit.SECONDS);
+        long cashMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertTrue(cash);
+        assertTrue(cashMillis < 1000, "Cash should not wait behind the slow gateway, took " + cashMillis + "ms");
+        assertEquals(1, paymentService.getBulkhead("SLOW").getInFlight(), "Slow gateway is limited to one call");
+        assertEquals(4, paymentService.getBulkhead("slow").getQueued(), "Other slow calls wait in its queue");
+        slow.release.complete(null);
+        for (CompletableFuture<Boolean> payment : slowPayments) {
+            assertTrue(payment.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void processPayment_bulkheadFull_failsFast() {
+        // Arrange - one running call, no queue
+        SlowGatewayAdapter slow = new SlowGatewayAdapter();
+        paymentService.registerGateway("SLOW", slow, BulkheadPolicy.fixed(1, 0));
+        CompletableFuture<Boolean> running = paymentService.processPaymentAsync("SLOW-1", Money.usd(1_000), "SLOW",
+                "user@example.com", "555-0000");
+
+        // Act
+        boolean rejected = paymentService.processPayment("SLOW-2", Money.usd(1_000), "SLOW",
+                "user@example.com", "555-0000");
+
+        // Assert
+        assertFalse(rejected, "Payment beyond the bulkhead should be rejected");
+        assertEquals(PaymentStatus.FAILED, paymentService.getPaymentByBookingId("SLOW-2").getStatus());
+        assertEquals(1, paymentService.getBulkhead("SLOW").getRejectedCount());
+        slow.release.complete(null);
+        assertTrue(running.join());
+    }
+
+    @Test
+    public void processPayment_invalidAmount_doesNotFeedBulkheadLatency() {
+        // Arrange
+        paymentService.registerGateway("STRIPE", new StripeAdapter());
+
+        // Act - rejected by validation without reaching Stripe
+        boolean result = paymentService.processPayment("BK-LOW", Money.usd(25), "STRIPE",
+                "user@example.com", "555-0000");
+
+        // Assert
+        assertFalse(result);
+        assertEquals(Long.MAX_VALUE, paymentService.getBulkhead("STRIPE").getBaselineNanos(),
+                "Validation failure should not become the latency baseline");
+        assertEquals(BulkheadPolicy.DEFAULT.getInitialLimit(), paymentService.getBulkhead("STRIPE").getLimit());
+    }
+
+    @Test
+    public void processPayment_invalidAmount_doesNotFeedLatencyAverages() {
+        // Arrange
+        paymentService.registerGateway("STRIPE", new StripeAdapter());
+
+        // Act - rejected by validation without reaching Stripe
+        paymentService.processPayment("BK-LOW", Money.usd(25), "STRIPE", "user@example.com", "555-0000");
+
+        // Assert
+        LatencyEwma stats = paymentService.getLatencyStats("STRIPE");
+        assertEquals(0, stats.getSampleCount(), "Instant rejection should not count as a fast gateway call");
+        assertEquals(1.0, stats.getSuccessRate());
+    }
+
+    @Test
+    public void processPayment_primaryThrows_failsOverToSecondary() {
+        // Arrange
+        BrokenGatewayAdapter primary = new BrokenGatewayAdapter();
+        TestGatewayAdapter secondary = new TestGatewayAdapter("Secondary", true);
+        paymentService.registerGateway("PRIMARY", primary);
+        paymentService.registerGateway("SECONDARY", secondary);
+        paymentService.setFailoverGateways("PRIMARY", "SECONDARY");
+
+        // Act
+        boolean result = paymentService.processPayment("BOOKING-001", Money.usd(5_000), "PRIMARY",
+                "customer@example.com", "555-1234");
+
+        // Assert
+        assertTrue(result, "Payment should succeed on the secondary gateway");
+        assertTrue(secondary.wasProcessPaymentCalled());
+        Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
+        assertEquals("SECONDARY", payment.getMethod(), "Payment should record the gateway that took it");
+        assertTrue(testObserver.getLastDetails().contains("Secondary"));
+    }
+
+    @Test
+    public void processPayment_declinedByPrimary_doesNotFailOver() {
+        // Arrange
+        TestGatewayAdapter primary = new TestGatewayAdapter("Primary", false);
+        TestGatewayAdapter secondary = new TestGatewayAdapter("Secondary", true);
+        paymentService.registerGateway("PRIMARY", primary);
+        paymentService.registerGateway("SECONDARY", secondary);
+        paymentService.setFailoverGateways("PRIMARY", "SECONDARY");
+
+        // Act
+        boolean result = paymentService.processPayment("BOOKING-001", Money.usd(5_000), "PRIMARY",
+                "customer@example.com", "555-1234");
+
+        // Assert
+        assertFalse(result, "A decline is an answer, not a gateway failure");
+        assertFalse(secondary.wasProcessPaymentCalled());
+    }
+
+    @Test
+    public void processPayment_amountOutsideFallbackLimits_isNotFailedOver() {
+        // Arrange - PayPal accepts at most $10,000
+        paymentService.registerGateway("PRIMARY", new BrokenGatewayAdapter());
+        paymentService.registerGateway("PAYPAL", new PayPalAdapter());
+        paymentService.setFailoverGateways("PRIMARY", "PAYPAL");
+
+        // Act
+        boolean result = paymentService.processPayment("BOOKING-001", Money.usd(2_500_000), "PRIMARY",
+                "customer@example.com", "555-1234");
+
+        // Assert
+        assertFalse(result);
+        Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
+        assertEquals("PRIMARY", payment.getMethod(), "Ineligible fallback should not be tried");
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+    }
+
+    @Test
+    public void processPayment_openCircuit_skipsFailingGateway() {
+        // Arrange - trip after 2 failures
+        BrokenGatewayAdapter primary = new BrokenGatewayAdapter();
+        paymentService.registerGateway("PRIMARY", primary, BulkheadPolicy.DEFAULT,
+                new CircuitBreakerPolicy(2, 1_000, 60_000));
+        paymentService.registerGateway("SECONDARY", new TestGatewayAdapter("Secondary", true));
+        paymentService.setFailoverGateways("PRIMARY", "SECONDARY");
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertTrue(paymentService.processPayment("BOOKING-" + i, Money.usd(5_000), "PRIMARY",
+                    "customer@example.com", "555-1234"));
+        }
+
+        // Assert
+        CircuitBreaker breaker = paymentService.getCircuitBreaker("PRIMARY");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, primary.calls.get(), "Open circuit should stop calls to the failing gateway");
+        // The first booking's retry trips the circuit; the next four are rejected up front
+        assertEquals(4, breaker.getRejectedCount());
+    }
+
+    @Test
+    public void processPaymentAsync_repeatedPayPalCharges_leaveCircuitClosed() {
+        // Arrange - a PayPal charge takes about 1 s, which would be slow under the default policy
+        paymentService.registerGateway("PAYPAL", new PayPalAdapter());
+        List<CompletableFuture<Boolean>> payments = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 6; i++) {
+            payments.add(paymentService.processPaymentAsync("PAYPAL-" + i, Money.usd(5_000), "PAYPAL",
+                    "customer@example.com", "555-1234"));
+        }
+        payments.forEach(CompletableFuture::join);
+
+        // Assert
+        CircuitBreaker breaker = paymentService.getCircuitBreaker("PAYPAL");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "Normal PayPal latency should not trip the circuit");
+        assertEquals(0, breaker.getTripCount());
+        assertEquals(3_000, breaker.getPolicy().getSlowCallMillis());
+    }
+
+    @Test
+    public void processPayments_failedBatch_failsOverEachPayment() {
+        // Arrange
+        paymentService.registerGateway("PRIMARY", new BrokenGatewayAdapter());
+        paymentService.registerGateway("SECONDARY", new TestGatewayAdapter("Secondary", true));
+        paymentService.setFailoverGateways("PRIMARY", "SECONDARY");
+        List<PaymentService.PaymentRequest> requests = List.of(
+                new PaymentService.PaymentRequest("BOOKING-1", Money.usd(1_000), "PRIMARY", "a@example.com", "555-0001"),
+                new PaymentService.PaymentRequest("BOOKING-2", Money.usd(2_000), "PRIMARY", "b@example.com", "555-0002"));
+
+        // Act
+        List<Boolean> results = paymentService.processPayments(requests);
+
+        // Assert
+        assertEquals(List.of(true, true), results);
+        assertEquals("SECONDARY", paymentService.getPaymentByBookingId("BOOKING-2").getMethod());
+    }
+
+    @Test
+    public void processPayment_sameBookingTwice_chargesOnce() {
+        // Arrange
+        CountingGatewayAdapter adapter = new CountingGatewayAdapter();
+        paymentService.registerGateway("TEST", adapter);
+
+        // Act
+        boolean first = paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST",
+                "customer@example.com", "555-1234");
+        boolean second = paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST",
+                "customer@example.com", "555-1234");
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second, "Replay should return the original result");
+        assertEquals(1, adapter.calls.get(), "Gateway should be charged once");
+        assertEquals(1, paymentService.getAllPayments().size(), "No second Payment should be created");
+        assertEquals(1, testObserver.getUpdateCount(), "Observers should only hear about the original charge");
+    }
+
+    @Test
+    public void processPayment_afterRetention_forgetsIdempotencyKey() throws InterruptedException {
+        // Arrange
+        CountingGatewayAdapter adapter = new CountingGatewayAdapter();
+        paymentService.registerGateway("TEST", adapter);
+        paymentService.setIdempotencyRetention(50);
+        assertTrue(paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST",
+                "customer@example.com", "555-1234"));
+
+        // Act
+        Thread.sleep(300);
+        boolean repeated = paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST",
+                "customer@example.com", "555-1234");
+
+        // Assert
+        assertTrue(repeated);
+        assertEquals(2, adapter.calls.get(), "Key should be forgotten once the retention period has passed");
+        assertThrows(IllegalArgumentException.class, () -> paymentService.setIdempotencyRetention(-1));
+    }
+
+    @Test
+    public void processPaymentAsync_concurrentDuplicates_shareOneCharge() throws Exception {
+        // Arrange
+        SlowGatewayAdapter slow = new SlowGatewayAdapter();
+        paymentService.registerGateway("SLOW", slow);
+
+        // Act
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(paymentService.processPaymentAsync("BOOKING-001", Money.usd(5_000), "SLOW",
+                    "customer@example.com", "555-1234", "BOOKING-001#1"));
+        }
+        slow.release.complete(null);
+
+        // Assert
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, paymentService.getAllPayments().size());
+        assertEquals("BOOKING-001#1", paymentService.getPaymentByBookingId("BOOKING-001").getIdempotencyKey());
+    }
+
+    @Test
+    public void processPayment_afterDecline_sameKeyChargesAgain() {
+        // Arrange
+        TestGatewayAdapter declining = new TestGatewayAdapter("Declining", false);
+        TestGatewayAdapter accepting = new TestGatewayAdapter("Accepting", true);
+        paymentService.registerGateway("DECLINE", declining);
+        paymentService.registerGateway("ACCEPT", accepting);
+
+        // Act
+        boolean declined = paymentService.processPayment("BOOKING-001", Money.usd(5_000), "DECLINE",
+                "customer@example.com", "555-1234");
+        boolean retried = paymentService.processPayment("BOOKING-001", Money.usd(5_000), "ACCEPT",
+                "customer@example.com", "555-1234");
+
+        // Assert
+        assertFalse(declined);
+        assertTrue(retried, "A failed charge should not block a new attempt");
+        assertEquals(2, paymentService.getAllPayments().size());
+    }
+
+    @Test
+    public void processPayment_sameKeyDifferentAmount_throwsException() {
+        // Arrange
+        paymentService.registerGateway("TEST", new TestGatewayAdapter("TestGateway", true));
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST", "customer@example.com", "555-1234");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> paymentService.processPayment("BOOKING-001", Money.usd(8_000),
+                "TEST", "customer@example.com", "555-1234"));
+    }
+
+    @Test
+    public void processPayment_transientGatewayError_isRetried() {
+        // Arrange - fails twice, then works
+        FlakyGatewayAdapter flaky = new FlakyGatewayAdapter(2);
+        paymentService.registerGateway("FLAKY", flaky);
+        paymentService.setRetryPolicy(new RetryPolicy(3, 10, 50));
+
+        // Act
+        boolean result = paymentService.processPayment("BOOKING-001", Money.usd(5_000), "FLAKY",
+                "customer@example.com", "555-1234");
+
+        // Assert
+        assertTrue(result, "Third attempt should succeed");
+        assertEquals(3, flaky.calls.get());
+        assertEquals(1, paymentService.getAllPayments().size(), "Retries should reuse the same Payment");
+    }
+
+    @Test
+    public void processPayment_retriesExhausted_fails() {
+        // Arrange
+        FlakyGatewayAdapter flaky = new FlakyGatewayAdapter(5);
+        paymentService.registerGateway("FLAKY", flaky);
+        paymentService.setRetryPolicy(new RetryPolicy(2, 10, 50));
+
+        // Act
+        boolean result = paymentService.processPayment("BOOKING-001", Money.usd(5_000), "FLAKY",
+                "customer@example.com", "555-1234");
+
+        // Assert
+        assertFalse(result);
+        assertEquals(2, flaky.calls.get(), "Should stop after the policy's attempts");
+        assertEquals(PaymentStatus.FAILED, paymentService.getPaymentByBookingId("BOOKING-001").getStatus());
+    }
+
+    @Test
+    public void getPaymentByBookingId_multipleAttempts_returnsCompletedOne() {
+        // Arrange - a declined attempt, then a successful one under a new key
+        paymentService.registerGateway("DECLINE", new TestGatewayAdapter("Declining", false));
+        paymentService.registerGateway("ACCEPT", new TestGatewayAdapter("Accepting", true));
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "DECLINE", "customer@example.com", "555-1234");
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "ACCEPT", "customer@example.com", "555-1234",
+                "BOOKING-001#2");
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "DECLINE", "customer@example.com", "555-1234",
+                "BOOKING-001#3");
+
+        // Act
+        Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
+        List<Payment> attempts = paymentService.getPaymentsByBookingId("BOOKING-001");
+
+        // Assert
+        assertEquals(PaymentStatus.COMPLETED, payment.getStatus(), "Completed attempt should win");
+        assertEquals(3, attempts.size());
+        assertEquals(PaymentStatus.FAILED, attempts.get(0).getStatus(), "Attempts should be oldest first");
+        assertSame(payment, attempts.get(1));
+    }
+
+    @Test
+    public void getPaymentByBookingId_afterRefund_followsStatusChange() {
+        // Arrange
+        paymentService.registerGateway("TEST", new TestGatewayAdapter("TestGateway", true));
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST", "customer@example.com", "555-1234");
+        Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
+
+        // Act
+        paymentService.refundPayment(payment.getId(), "customer@example.com", "555-1234");
+
+        // Assert
+        Payment afterRefund = paymentService.getPaymentByBookingId("BOOKING-001");
+        assertSame(payment, afterRefund, "Latest attempt should be returned once nothing is completed");
+        assertEquals(PaymentStatus.REFUNDED, afterRefund.getStatus());
+        assertNull(paymentService.getPaymentByBookingId("BOOKING-999"));
+        assertTrue(paymentService.getPaymentsByBookingId("BOOKING-999").isEmpty());
+    }
+
+    @Test
+    public void processPayment_anyCard_routesToFastestCardGateway() {
+        // Arrange - one call each so both card gateways have latency samples
+        paymentService.registerGateway("SLOW", new CardGatewayAdapter("Slow", 60, Money.usd(100_000)));
+        paymentService.registerGateway("FAST", new CardGatewayAdapter("Fast", 0, Money.usd(100_000)));
+        paymentService.registerGateway("CASH", new TestGatewayAdapter("Cash", true));
+        paymentService.processPayment("BOOKING-001", Money.usd(1_000), "SLOW", "customer@example.com", "555-1234");
+        paymentService.processPayment("BOOKING-002", Money.usd(1_000), "FAST", "customer@example.com", "555-1234");
+
+        // Act
+        boolean result = paymentService.processPayment("BOOKING-003", Money.usd(1_000), PaymentService.ANY_CARD,
+                "customer@example.com", "555-1234");
+
+        // Assert
+        assertTrue(result);
+        assertEquals("FAST", paymentService.getPaymentByBookingId("BOOKING-003").getMethod(),
+                "Payment should go to the card gateway with the lowest latency");
+        assertTrue(paymentService.getLatencyStats("SLOW").getLatencyNanos()
+                > paymentService.getLatencyStats("FAST").getLatencyNanos());
+    }
+
+    @Test
+    public void processPayment_anyCard_skipsGatewaysThatRejectAmount() {
+        // Arrange - the fast gateway's limit is below the amount
+        paymentService.registerGateway("SLOW", new CardGatewayAdapter("Slow", 20, Money.usd(100_000)));
+        paymentService.registerGateway("FAST", new CardGatewayAdapter("Fast", 0, Money.usd(10_000)));
+
+        // Act
+        boolean result = paymentService.processPayment("BOOKING-001", Money.usd(50_000), PaymentService.ANY_CARD,
+                "customer@example.com", "555-1234");
+        boolean tooLarge = paymentService.processPayment("BOOKING-002", Money.usd(500_000), PaymentService.ANY_CARD,
+                "customer@example.com", "555-1234");
+
+        // Assert
+        assertTrue(result);
+        assertEquals("SLOW", paymentService.getPaymentByBookingId("BOOKING-001").getMethod());
+        assertFalse(tooLarge, "No card gateway accepts the amount");
+        assertNull(paymentService.getPaymentByBookingId("BOOKING-002"));
+    }
+
+    @Test
+    public void verifyPayment_repeated_usesCachedStatusUntilPaymentChanges() {
+        // Arrange
+        VerifyingGatewayAdapter adapter = new VerifyingGatewayAdapter(0);
+        paymentService.registerGateway("TEST", adapter);
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST", "customer@example.com", "555-1234");
+        Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
+
+        // Act & Assert
+        assertEquals("VERIFIED", paymentService.verifyPayment(payment.getId()));
+        assertEquals("VERIFIED", paymentService.verifyPayment(payment.getId()));
+        assertEquals(1, adapter.verifications.get(), "Second verification should come from the cache");
+
+        paymentService.refundPayment(payment.getId(), "customer@example.com", "555-1234");
+        assertEquals("REFUNDED", paymentService.verifyPayment(payment.getId()));
+        assertEquals(2, adapter.verifications.get(), "Status change should invalidate the cached answer");
+
+        paymentService.setVerificationCacheTtl(0);
+        assertEquals("REFUNDED", paymentService.verifyPayment(payment.getId()));
+        assertEquals(2, adapter.verifications.get(), "Refunded payments should stay cached regardless of TTL");
+    }
+
+    @Test
+    public void verifyPayment_refundedPayment_expiresAfterRetention() throws InterruptedException {
+        // Arrange
+        VerifyingGatewayAdapter adapter = new VerifyingGatewayAdapter(0);
+        paymentService.registerGateway("TEST", adapter);
+        paymentService.setTerminalVerificationRetention(50);
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST", "customer@example.com", "555-1234");
+        Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
+        paymentService.refundPayment(payment.getId(), "customer@example.com", "555-1234");
+        assertEquals("REFUNDED", paymentService.verifyPayment(payment.getId()));
+
+        // Act
+        Thread.sleep(300);
+        String status = paymentService.verifyPayment(payment.getId());
+
+        // Assert
+        assertEquals("REFUNDED", status);
+        assertEquals(2, adapter.verifications.get(), "Refunded payment should be verified again after retention");
+        assertThrows(IllegalArgumentException.class, () -> paymentService.setTerminalVerificationRetention(-1));
+    }
+
+    @Test
+    public void verifyPayment_zeroTtl_verifiesCompletedPaymentEveryTime() {
+        // Arrange
+        VerifyingGatewayAdapter adapter = new VerifyingGatewayAdapter(0);
+        paymentService.registerGateway("TEST", adapter);
+        paymentService.setVerificationCacheTtl(0);
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST", "customer@example.com", "555-1234");
+        Payment payment = paymentService.getPaymentByBookingId("BOOKING-001");
+
+        // Act
+        paymentService.verifyPayment(payment.getId());
+        paymentService.verifyPayment(payment.getId());
+
+        // Assert
+        assertEquals(2, adapter.verifications.get());
+    }
+
+    @Test
+    public void verifyPayment_slowVerification_isHedged() {
+        // Arrange - the second verification call never answers on its own
+        VerifyingGatewayAdapter adapter = new VerifyingGatewayAdapter(2);
+        paymentService.registerGateway("TEST", adapter);
+        paymentService.processPayment("BOOKING-001", Money.usd(5_000), "TEST", "customer@example.com", "555-1234");
+        paymentService.processPayment("BOOKING-002", Money.usd(5_000), "TEST", "customer@example.com", "555-1234");
+        paymentService.verifyPayment(paymentService.getPaymentByBookingId("BOOKING-001").getId());
+        paymentService.setHedgePolicy(new HedgePolicy(50.0, 1));
+
+        // Act
+        String status = paymentService.verifyPaymentAsync(
+                paymentService.getPaymentByBookingId("BOOKING-002").getId())
+                .orTimeout(5, TimeUnit.SECONDS).join();
+
+        // Assert
+        assertEquals("VERIFIED", status, "Hedged request should answer for the stalled one");
+        assertEquals(1, paymentService.getHedgedVerificationCount());
+        assertEquals(3, adapter.verifications.get());
+    }
+
     // ==================== Test Helper Classes ====================
 
+    /**
+     * Gateway that counts verifications; one chosen verification call never completes
+     */
+    private static class VerifyingGatewayAdapter implements PaymentGatewayAdapter, AsyncPaymentGatewayAdapter {
+        private final int stalledCall;
+        private final AtomicInteger verifications = new AtomicInteger();
+        private final Map<String, String> ledger = new ConcurrentHashMap<>();
+
+        /**
+         * @param stalledCall Number of the verification call that hangs, 0 for none
+         */
+        VerifyingGatewayAdapter(int stalledCall) {
+            this.stalledCall = stalledCall;
+        }
+
+        @Override
+        public CompletableFuture<Boolean> processPaymentAsync(Payment payment) {
+            payment.setTransactionId("TX-" + payment.getId());
+            ledger.put(payment.getTransactionId(), "VERIFIED");
+            payment.setStatus(PaymentStatus.COMPLETED);
+            return CompletableFuture.completedFuture(true);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> refundPaymentAsync(Payment payment) {
+            ledger.put(payment.getTransactionId(), "REFUNDED");
+            payment.setStatus(PaymentStatus.REFUNDED);
+            return CompletableFuture.completedFuture(true);
+        }
+
+        @Override
+        public CompletableFuture<String> verifyPaymentStatusAsync(String transactionId) {
+            if (verifications.incrementAndGet() == stalledCall) {
+                return new CompletableFuture<>();
+            }
+            return CompletableFuture.completedFuture(ledger.getOrDefault(transactionId, "INVALID"));
+        }
+
+        @Override
+        public boolean processPayment(Payment payment) {
+            return processPaymentAsync(payment).join();
+        }
+
+        @Override
+        public boolean refundPayment(Payment payment) {
+            return refundPaymentAsync(payment).join();
+        }
+
+        @Override
+        public String verifyPaymentStatus(String transactionId) {
+            return verifyPaymentStatusAsync(transactionId).join();
+        }
+
+        @Override
+        public String getGatewayName() {
+            return "Verifying";
+        }
+    }
+
+    /**
+     * Card gateway that answers after a fixed delay and accepts amounts up to a limit
+     */
+    private static class CardGatewayAdapter implements PaymentGatewayAdapter {
+        private final String gatewayName;
+        private final long delayMillis;
+        private final Money maxAmount;
+
+        CardGatewayAdapter(String gatewayName, long delayMillis, Money maxAmount) {
+            this.gatewayName = gatewayName;
+            this.delayMillis = delayMillis;
+            this.maxAmount = maxAmount;
+        }
+
+        @Override
+        public boolean processPayment(Payment payment) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            payment.setStatus(PaymentStatus.COMPLETED);
+            return true;
+        }
+
+        @Override
+        public boolean refundPayment(Payment payment) {
+            payment.setStatus(PaymentStatus.REFUNDED);
+            return true;
+        }
+
+        @Override
+        public String verifyPaymentStatus(String transactionId) {
+            return "VERIFIED";
+        }
+
+        @Override
+        public String getGatewayName() {
+            return gatewayName;
+        }
+
+        @Override
+        public Money getMaxAmount() {
+            return maxAmount;
+        }
+
+        @Override
+        public boolean isCardProcessor() {
+            return true;
+        }
+    }
+
+    /**
+     * Gateway that throws for its first few calls
+     */
+    private static class FlakyGatewayAdapter implements PaymentGatewayAdapter {
+        private final int failures;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        FlakyGatewayAdapter(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public boolean processPayment(Payment payment) {
+            if (calls.incrementAndGet() <= failures) {
+                throw new IllegalStateException("Connection reset");
+            }
+            payment.setStatus(PaymentStatus.COMPLETED);
+            return true;
+        }
+
+        @Override
+        public boolean refundPayment(Payment payment) {
+            return false;
+        }
+
+        @Override
+        public String verifyPaymentStatus(String transactionId) {
+            return "VERIFIED";
+        }
+
+        @Override
+        public String getGatewayName() {
+            return "Flaky";
+        }
+    }
+
+    /**
+     * Gateway that is down: every call throws
+     */
+    private static class BrokenGatewayAdapter implements PaymentGatewayAdapter {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public boolean processPayment(Payment payment) {
+            calls.incrementAndGet();
+            throw new IllegalStateException("Gateway unavailable");
+        }
+
+        @Override
+        public List<Boolean> processPayments(List<Payment> payments) {
+            calls.incrementAndGet();
+            throw new IllegalStateException("Gateway unavailable");
+        }
+
+        @Override
+        public boolean refundPayment(Payment payment) {
+            throw new IllegalStateException("Gateway unavailable");
+        }
+
+        @Override
+        public String verifyPaymentStatus(String transactionId) {
+            return "UNKNOWN";
+        }
+
+        @Override
+        public String getGatewayName() {
+            return "Broken";
+        }
+    }
+
+    /**
+     * Async gateway whose payments complete only when the test releases them
+     */
+    private static class SlowGatewayAdapter implements PaymentGatewayAdapter, AsyncPaymentGatewayAdapter {
+        private final CompletableFuture<Void> release = new CompletableFuture<>();
+
+        @Override
+        public CompletableFuture<Boolean> processPaymentAsync(Payment payment) {
+            return release.thenApply(ignored -> {
+                payment.setStatus(PaymentStatus.COMPLETED);
+                return true;
+            });
+        }
+
+        @Override
+        public CompletableFuture<Boolean> refundPaymentAsync(Payment payment) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        @Override
+        public CompletableFuture<String> verifyPaymentStatusAsync(String transactionId) {
+            return CompletableFuture.completedFuture("VERIFIED");
+        }
+
+        @Override
+        public boolean processPayment(Payment payment) {
+            return processPaymentAsync(payment).join();
+        }
+
+        @Override
+        public boolean refundPayment(Payment payment) {
+            return false;
+        }
+
+        @Override
+        public String verifyPaymentStatus(String transactionId) {
+            return "VERIFIED";
+        }
+
+        @Override
+        public String getGatewayName() {
+            return "Slow";
+        }
+    }
+
+    /**
+     * Thread-safe gateway that always succeeds and counts calls
+     */
+    private static class CountingGatewayAdapter implements PaymentGatewayAdapter {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public boolean processPayment(Payment payment) {
+            calls.incrementAndGet();
+            payment.setStatus(PaymentStatus.COMPLETED);
+            payment.setTransactionId("COUNT-" + calls.get());
+            return true;
+        }
+
+        @Override
+        public boolean refundPayment(Payment payment) {
+            payment.setStatus(PaymentStatus.REFUNDED);
+            return true;
+        }
+
+        @Override
+        public String verifyPaymentStatus(String transactionId) {
+            return "VERIFIED";
+        }
+
+        @Override
+        public String getGatewayName() {
+            return "Counting";
+        }
+    }
+
     /**
      * Test implementation of PaymentGatewayAdapter for testing
      */
@@ -4,6 +4,7 @@ import org.cinema.decorator.Glasses3DDecorator;
 import org.cinema.decorator.SnackComboDecorator;
 import org.cinema.factory.RegularTicket;
 import org.cinema.factory.VIPTicket;
+import org.cinema.model.Money;
 import org.cinema.model.Ticket;
 import org.cinema.strategy.HolidayPricingStrategy;
 import org.cinema.strategy.MatineePricingStrategy;
@@ -37,10 +38,10 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new MatineePricingStrategy();
 
         // Act
-        double total = strategy.calculateTotal(tickets, matineeTime);
+        Money total = strategy.calculateTotal(tickets, matineeTime);
 
         // Assert
-        assertEquals(8.0, total, 0.01, "Matinee discount should apply 20% off: 10 * 0.8 = 8");
+        assertEquals(Money.usd(800), total, "Matinee discount should apply 20% off: 10 * 0.8 = 8");
     }
 
     @Test
@@ -51,10 +52,10 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new MatineePricingStrategy();
 
         // Act
-        double total = strategy.calculateTotal(tickets, exactTime);
+        Money total = strategy.calculateTotal(tickets, exactTime);
 
         // Assert
-        assertEquals(10.0, total, 0.01, "No discount at or after 5 PM");
+        assertEquals(Money.usd(1_000), total, "No discount at or after 5 PM");
     }
 
     @Test
@@ -65,10 +66,10 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new MatineePricingStrategy();
 
         // Act
-        double total = strategy.calculateTotal(tickets, eveningTime);
+        Money total = strategy.calculateTotal(tickets, eveningTime);
 
         // Assert
-        assertEquals(20.0, total, 0.01, "No discount after 5 PM");
+        assertEquals(Money.usd(2_000), total, "No discount after 5 PM");
     }
 
     @Test
@@ -79,10 +80,10 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new MatineePricingStrategy();
 
         // Act
-        double total = strategy.calculateTotal(tickets, earlyMorning);
+        Money total = strategy.calculateTotal(tickets, earlyMorning);
 
         // Assert
-        assertEquals(8.0, total, 0.01, "Matinee discount applies to morning shows");
+        assertEquals(Money.usd(800), total, "Matinee discount applies to morning shows");
     }
 
     @Test
@@ -95,10 +96,10 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new MatineePricingStrategy();
 
         // Act
-        double total = strategy.calculateTotal(tickets, matineeTime);
+        Money total = strategy.calculateTotal(tickets, matineeTime);
 
         // Assert
-        assertEquals(24.0, total, 0.01, "Discount applies to sum of all tickets: 30 * 0.8 = 24");
+        assertEquals(Money.usd(2_400), total, "Discount applies to sum of all tickets: 30 * 0.8 = 24");
     }
 
     @Test
@@ -111,10 +112,10 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new MatineePricingStrategy();
 
         // Act
-        double total = strategy.calculateTotal(tickets, matineeTime);
+        Money total = strategy.calculateTotal(tickets, matineeTime);
 
         // Assert
-        assertEquals(16.0, total, 0.01, "Discount applies to decorated price: 20 * 0.8 = 16");
+        assertEquals(Money.usd(1_600), total, "Discount applies to decorated price: 20 * 0.8 = 16");
     }
 
     // ==================== WeekendPricingStrategy Tests ====================
@@ -127,11 +128,11 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new WeekendPricingStrategy();
 
         // Act
-        double total = strategy.calculateTotal(tickets, saturday);
+        Money total = strategy.calculateTotal(tickets, saturday);
 
         // Assert
         assertEquals(DayOfWeek.SATURDAY, saturday.getDayOfWeek());
-        assertEquals(11.5, total, 0.01, "Weekend surcharge: 10 * 1.15 = 11.5");
+        assertEquals(Money.usd(1_150), total, "Weekend surcharge: 10 * 1.15 = 11.5");
     }
 
     @Test
@@ -142,11 +143,11 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new WeekendPricingStrategy();
 
         // Act
-        double total = strategy.calculateTotal(tickets, sunday);
+        Money total = strategy.calculateTotal(tickets, sunday);
 
         // Assert
         assertEquals(DayOfWeek.SUNDAY, sunday.getDayOfWeek());
-        assertEquals(23.0, total, 0.01, "Weekend surcharge: 20 * 1.15 = 23");
+        assertEquals(Money.usd(2_300), total, "Weekend surcharge: 20 * 1.15 = 23");
     }
 
     @Test
@@ -157,11 +158,11 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new WeekendPricingStrategy();
 
         // Act
-        double total = strategy.calculateTotal(tickets, monday);
+        Money total = strategy.calculateTotal(tickets, monday);
 
         // Assert
         assertEquals(DayOfWeek.MONDAY, monday.getDayOfWeek());
-        assertEquals(10.0, total, 0.01, "No surcharge on weekdays");
+        assertEquals(Money.usd(1_000), total, "No surcharge on weekdays");
     }
 
     @Test
@@ -172,11 +173,11 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new WeekendPricingStrategy();
 
         // Act
-        double total = strategy.calculateTotal(tickets, friday);
+        Money total = strategy.calculateTotal(tickets, friday);
 
         // Assert
         assertEquals(DayOfWeek.FRIDAY, friday.getDayOfWeek());
-        assertEquals(10.0, total, 0.01, "Friday is not considered weekend");
+        assertEquals(Money.usd(1_000), total, "Friday is not considered weekend");
     }
 
     @Test
@@ -190,10 +191,10 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new WeekendPricingStrategy();
 
         // Act
-        double total = strategy.calculateTotal(tickets, saturday);
+        Money total = strategy.calculateTotal(tickets, saturday);
 
         // Assert
-        assertEquals(34.5, total, 0.01, "Surcharge applies to total: 30 * 1.15 = 34.5");
+        assertEquals(Money.usd(3_450), total, "Surcharge applies to total: 30 * 1.15 = 34.5");
     }
 
     // ==================== HolidayPricingStrategy Tests ====================
@@ -208,10 +209,10 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new HolidayPricingStrategy(holidays);
 
         // Act
-        double total = strategy.calculateTotal(tickets, christmas);
+        Money total = strategy.calculateTotal(tickets, christmas);
 
         // Assert
-        assertEquals(12.5, total, 0.01, "Holiday surcharge: 10 * 1.25 = 12.5");
+        assertEquals(Money.usd(1_250), total, "Holiday surcharge: 10 * 1.25 = 12.5");
     }
 
     @Test
@@ -224,10 +225,10 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new HolidayPricingStrategy(holidays);
 
         // Act
-        double total = strategy.calculateTotal(tickets, regularDay);
+        Money total = strategy.calculateTotal(tickets, regularDay);
 
         // Assert
-        assertEquals(10.0, total, 0.01, "No surcharge on non-holiday dates");
+        assertEquals(Money.usd(1_000), total, "No surcharge on non-holiday dates");
     }
 
     @Test
@@ -243,10 +244,10 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new HolidayPricingStrategy(holidays);
 
         // Act
-        double total = strategy.calculateTotal(tickets, newYear);
+        Money total = strategy.calculateTotal(tickets, newYear);
 
         // Assert
-        assertEquals(25.0, total, 0.01, "Holiday surcharge: 20 * 1.25 = 25");
+        assertEquals(Money.usd(2_500), total, "Holiday surcharge: 20 * 1.25 = 25");
     }
 
     @Test
@@ -258,10 +259,10 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new HolidayPricingStrategy(holidays);
 
         // Act
-        double total = strategy.calculateTotal(tickets, anyDate);
+        Money total = strategy.calculateTotal(tickets, anyDate);
 
         // Assert
-        assertEquals(10.0, total, 0.01, "No holidays defined, no surcharge");
+        assertEquals(Money.usd(1_000), total, "No holidays defined, no surcharge");
     }
 
     @Test
@@ -272,10 +273,10 @@ public class PricingStrategyTest {
         PricingStrategy strategy = new HolidayPricingStrategy(null);
 
         // Act
-        double total = strategy.calculateTotal(tickets, anyDate);
+        Money total = strategy.calculateTotal(tickets, anyDate);
 
         // Assert
-        assertEquals(10.0, total, 0.01, "Null holiday set should not cause errors");
+        assertEquals(Money.usd(1_000), total, "Null holiday set should not cause errors");
     }
 
     // ==================== Integration Tests ====================
@@ -294,10 +295,10 @@ public class PricingStrategyTest {
         PricingStrategy matineeStrategy = new MatineePricingStrategy();
 
         // Act
-        double total = matineeStrategy.calculateTotal(tickets, matinee);
+        Money total = matineeStrategy.calculateTotal(tickets, matinee);
 
         // Assert
-        assertEquals(20.0, total, 0.01, "Matinee discount on decorated ticket: 25 * 0.8 = 20");
+        assertEquals(Money.usd(2_000), total, "Matinee discount on decorated ticket: 25 * 0.8 = 20");
     }
 
     @Test
@@ -310,11 +311,11 @@ public class PricingStrategyTest {
         PricingStrategy weekendStrategy = new WeekendPricingStrategy();
 
         // Act
-        double matineeTotal = matineeStrategy.calculateTotal(emptyList, anyTime);
-        double weekendTotal = weekendStrategy.calculateTotal(emptyList, anyTime);
+        Money matineeTotal = matineeStrategy.calculateTotal(emptyList, anyTime);
+        Money weekendTotal = weekendStrategy.calculateTotal(emptyList, anyTime);
 
         // Assert
-        assertEquals(0.0, matineeTotal, 0.01, "Empty ticket list should return 0");
-        assertEquals(0.0, weekendTotal, 0.01, "Empty ticket list should return 0");
+        assertEquals(Money.usd(0), matineeTotal, "Empty ticket list should return 0");
+        assertEquals(Money.usd(0), weekendTotal, "Empty ticket list should return 0");
     }
 }
@@ -0,0 +1,214 @@
+package org.cinema;
+
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.observer.BookingNotification;
+import org.cinema.observer.BookingObserver;
+import org.cinema.observer.LanePolicy;
+import org.cinema.observer.PriorityBookingSubject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PriorityBookingSubject
+ * Tests lane routing, bypass of a stalled low lane and overflow policies
+ */
+public class PriorityBookingSubjectTest {
+
+    @Test
+    public void getLane_defaultRouting_sendsTransactionalEventsToHighLane() {
+        try (PriorityBookingSubject subject = new PriorityBookingSubject()) {
+            assertEquals(PriorityBookingSubject.Lane.HIGH, subject.getLane(BookingEvent.CONFIRMED));
+            assertEquals(PriorityBookingSubject.Lane.HIGH, subject.getLane(BookingEvent.PAYMENT_COMPLETED));
+            assertEquals(PriorityBookingSubject.Lane.HIGH, subject.getLane(BookingEvent.PAYMENT_FAILED));
+            assertEquals(PriorityBookingSubject.Lane.LOW, subject.getLane(BookingEvent.SEATS_RESERVED));
+        }
+    }
+
+    @Test
+    public void notifyObservers_lowLaneStalled_highPriorityEventStillDelivered() throws InterruptedException {
+        // Arrange - the observer hangs on every low-priority event until released
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch confirmed = new CountDownLatch(1);
+        try (PriorityBookingSubject subject = new PriorityBookingSubject()) {
+            subject.attach((bookingId, event, email, phone, details) -> {
+                if (event == BookingEvent.CONFIRMED) {
+                    confirmed.countDown();
+                    return;
+                }
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            for (int i = 0; i < 10; i++) {
+                subject.notifyObservers("BK-" + i, BookingEvent.SEATS_RESERVED, "a@test.com", "555-0001", "1 seat");
+            }
+
+            // Act
+            subject.notifyObservers("BK-1", BookingEvent.CONFIRMED, "a@test.com", "555-0001", "Confirmed");
+
+            // Assert
+            assertTrue(confirmed.await(5, TimeUnit.SECONDS), "Confirmation should bypass the low lane backlog");
+            assertTrue(subject.getPendingEventCount(PriorityBookingSubject.Lane.LOW) > 0);
+            release.countDown();
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void notifyObservers_lowLaneFullWithDropOldest_dropsAndCountsEvents() throws InterruptedException {
+        // Arrange - capacity 2 and a stalled worker
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger delivered = new AtomicInteger();
+        LanePolicy low = new LanePolicy(1, 2, LanePolicy.Overflow.DROP_OLDEST);
+        try (PriorityBookingSubject subject = new PriorityBookingSubject(LanePolicy.DEFAULT_HIGH, low,
+                PriorityBookingSubject.DEFAULT_HIGH_PRIORITY_EVENTS)) {
+            subject.attach((bookingId, event, email, phone, details) -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                delivered.incrementAndGet();
+            });
+            subject.notifyObservers("BK-0", BookingEvent.SEATS_RESERVED, "a@test.com", "555-0001", "1 seat");
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // Act - BK-0 is in flight, BK-1..BK-5 compete for 2 slots
+            for (int i = 1; i <= 5; i++) {
+                subject.notifyObservers("BK-" + i, BookingEvent.SEATS_RESERVED, "a@test.com", "555-0001", "1 seat");
+            }
+            release.countDown();
+
+            // Assert
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(3, subject.getDroppedCount(PriorityBookingSubject.Lane.LOW));
+            assertEquals(3, delivered.get(), "In-flight event plus the two newest should be delivered");
+        }
+    }
+
+    @Test
+    public void notifyObservers_lowLaneFullWithDropNewest_keepsQueuedEvents() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        StringBuffer delivered = new StringBuffer();
+        LanePolicy low = new LanePolicy(1, 1, LanePolicy.Overflow.DROP_NEWEST);
+        try (PriorityBookingSubject subject = new PriorityBookingSubject(LanePolicy.DEFAULT_HIGH, low,
+                PriorityBookingSubject.DEFAULT_HIGH_PRIORITY_EVENTS)) {
+            subject.attach((bookingId, event, email, phone, details) -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                delivered.append(bookingId).append(' ');
+            });
+            subject.notifyObservers("BK-0", BookingEvent.SEATS_RESERVED, "a@test.com", "555-0001", "1 seat");
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            subject.notifyObservers("BK-1", BookingEvent.SEATS_RESERVED, "a@test.com", "555-0001", "1 seat");
+            subject.notifyObservers("BK-2", BookingEvent.SEATS_RESERVED, "a@test.com", "555-0001", "1 seat");
+            release.countDown();
+
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(1, subject.getDroppedCount(PriorityBookingSubject.Lane.LOW));
+            assertEquals("BK-0 BK-1 ", delivered.toString());
+        }
+    }
+
+    @Test
+    public void notifyObservers_multipleWorkers_deliversEveryEvent() throws InterruptedException {
+        LanePolicy lane = new LanePolicy(4, 64, LanePolicy.Overflow.BLOCK);
+        try (PriorityBookingSubject subject = new PriorityBookingSubject(lane, lane, Set.of(BookingEvent.CONFIRMED))) {
+            CountingObserver observer = new CountingObserver();
+            subject.attach(observer);
+
+            for (int i = 0; i < 1000; i++) {
+                BookingEvent event = i % 2 == 0 ? BookingEvent.CONFIRMED : BookingEvent.SEATS_RESERVED;
+                subject.notifyObservers(BookingNotification.of("BK-" + i, event, "a@test.com", "555-0001", "x"));
+            }
+
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(1000, observer.count.get());
+            assertEquals(0, subject.getDroppedCount(PriorityBookingSubject.Lane.HIGH));
+            assertEquals(0, subject.getDroppedCount(PriorityBookingSubject.Lane.LOW));
+        }
+    }
+
+    @Test
+    public void close_whilePublishing_rejectsLateEventsAndDrains() throws InterruptedException {
+        for (LanePolicy.Overflow overflow : LanePolicy.Overflow.values()) {
+            // Arrange - tiny lanes so publishers keep hitting the overflow policy as close() runs
+            LanePolicy lane = new LanePolicy(2, 1, overflow);
+            PriorityBookingSubject subject = new PriorityBookingSubject(lane, lane, Set.of(BookingEvent.CONFIRMED));
+            subject.attach(new CountingObserver());
+            List<Thread> publishers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread publisher = new Thread(() -> {
+                    try {
+                        for (int i = 0; ; i++) {
+                            BookingEvent event = i % 2 == 0 ? BookingEvent.CONFIRMED : BookingEvent.SEATS_RESERVED;
+                            subject.notifyObservers(BookingNotification.of("BK-" + i, event, "a@test.com", "555-0001", "x"));
+                        }
+                    } catch (IllegalStateException closed) {
+                        // Expected once the subject is closed
+                    }
+                });
+                publishers.add(publisher);
+                publisher.start();
+            }
+
+            // Act
+            Thread.sleep(20);
+            subject.close();
+
+            // Assert
+            for (Thread publisher : publishers) {
+                publisher.join(5_000);
+                assertFalse(publisher.isAlive(), overflow + ": publisher should not block after close");
+            }
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS), overflow + ": every accepted event should be settled");
+            assertEquals(0, subject.getPendingEventCount(PriorityBookingSubject.Lane.HIGH));
+            assertEquals(0, subject.getPendingEventCount(PriorityBookingSubject.Lane.LOW));
+        }
+    }
+
+    @Test
+    public void lanePolicy_defaults_neverDropEvents() {
+        // The LOW lane carries seat and cancellation events that occupancy depends on
+        assertEquals(LanePolicy.Overflow.BLOCK, LanePolicy.DEFAULT_HIGH.getOverflow());
+        assertEquals(LanePolicy.Overflow.BLOCK, LanePolicy.DEFAULT_LOW.getOverflow());
+    }
+
+    @Test
+    public void lanePolicy_withInvalidSettings_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new LanePolicy(0, 10, LanePolicy.Overflow.BLOCK));
+        assertThrows(IllegalArgumentException.class, () -> new LanePolicy(1, 0, LanePolicy.Overflow.BLOCK));
+        assertThrows(IllegalArgumentException.class, () -> new LanePolicy(1, 10, null));
+    }
+
+    /**
+     * Observer that only counts events
+     */
+    private static class CountingObserver implements BookingObserver {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void update(String bookingId, BookingEvent event, String customerEmail,
+                           String customerPhone, String details) {
+            count.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.cinema;
+
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.observer.BookingObserver;
+import org.cinema.observer.RingBufferBookingSubject;
+import org.cinema.observer.WaitStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RingBufferBookingSubject
+ * Tests ordering, wrap-around, multiple publishers and wait strategies
+ */
+public class RingBufferBookingSubjectTest {
+
+    @Test
+    public void constructor_withNonPowerOfTwoSize_throwsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RingBufferBookingSubject(100, WaitStrategy.yielding()));
+    }
+
+    @Test
+    public void notifyObservers_smallBuffer_deliversAllEventsInOrder() {
+        // Arrange - 1000 events through 8 slots forces many wrap-arounds
+        try (RingBufferBookingSubject subject = new RingBufferBookingSubject(8, WaitStrategy.yielding())) {
+            SequenceObserver observer = new SequenceObserver();
+            subject.attach(observer);
+
+            // Act
+            for (int i = 0; i < 1000; i++) {
+                subject.notifyObservers(String.valueOf(i), BookingEvent.CREATED,
+                        "a@test.com", "555-0001", "Created");
+            }
+
+            // Assert
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS), "Consumer should catch up");
+            assertEquals(1000, observer.received.size(), "All events should be delivered");
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(String.valueOf(i), observer.received.get(i), "Events should stay in order");
+            }
+        }
+    }
+
+    @Test
+    public void notifyObservers_multiplePublishers_deliversEveryEventToEveryObserver() throws InterruptedException {
+        // Arrange
+        try (RingBufferBookingSubject subject = new RingBufferBookingSubject(64, WaitStrategy.blocking())) {
+            CountingObserver first = new CountingObserver();
+            CountingObserver second = new CountingObserver();
+            subject.attach(first);
+            subject.attach(second);
+
+            // Act
+            List<Thread> publishers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread publisher = new Thread(() -> {
+                    for (int i = 0; i < 2500; i++) {
+                        subject.notifyObservers("BK-1", BookingEvent.SEATS_RESERVED,
+                                "a@test.com", "555-0001", "1 seat");
+                    }
+                });
+                publishers.add(publisher);
+                publisher.start();
+            }
+            for (Thread publisher : publishers) {
+                publisher.join();
+            }
+
+            // Assert
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS), "Consumers should catch up");
+            assertEquals(10_000, first.count.get(), "First observer should see every event");
+            assertEquals(10_000, second.count.get(), "Second observer should see every event");
+            assertEquals(0, subject.getBacklog());
+        }
+    }
+
+    @Test
+    public void notifyObservers_eachWaitStrategy_deliversEvents() {
+        WaitStrategy[] strategies = {
+                WaitStrategy.busySpin(), WaitStrategy.yielding(),
+                WaitStrategy.sleeping(), WaitStrategy.blocking()
+        };
+        for (WaitStrategy strategy : strategies) {
+            try (RingBufferBookingSubject subject = new RingBufferBookingSubject(16, strategy)) {
+                CountingObserver observer = new CountingObserver();
+                subject.attach(observer);
+
+                for (int i = 0; i < 100; i++) {
+                    subject.notifyObservers("BK-" + i, BookingEvent.CONFIRMED,
+                            "a@test.com", "555-0001", "Confirmed");
+                }
+
+                assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS), "Consumer should catch up");
+                assertEquals(100, observer.count.get(), "All events should be delivered");
+            }
+        }
+    }
+
+    @Test
+    public void detach_stopsDeliveryToObserver() {
+        // Arrange
+        try (RingBufferBookingSubject subject = new RingBufferBookingSubject(16, WaitStrategy.yielding())) {
+            CountingObserver observer = new CountingObserver();
+            subject.attach(observer);
+            subject.notifyObservers("BK-1", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS));
+
+            // Act
+            subject.detach(observer);
+            subject.notifyObservers("BK-2", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+
+            // Assert
+            assertEquals(1, observer.count.get(), "Detached observer should not receive new events");
+            assertEquals(0, subject.getObserverCount());
+        }
+    }
+
+    @Test
+    public void notifyObservers_failingObserver_keepsConsuming() {
+        // Arrange
+        try (RingBufferBookingSubject subject = new RingBufferBookingSubject(16, WaitStrategy.yielding())) {
+            AtomicInteger calls = new AtomicInteger();
+            subject.attach((bookingId, event, email, phone, details) -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("boom");
+            });
+
+            // Act
+            for (int i = 0; i < 3; i++) {
+                subject.notifyObservers("BK-1", BookingEvent.CREATED, "a@test.com", "555-0001", "Created");
+            }
+
+            // Assert
+            assertTrue(subject.awaitIdle(5, TimeUnit.SECONDS));
+            assertEquals(3, calls.get(), "Observer exceptions should not stop the consumer");
+        }
+    }
+
+    /**
+     * Observer that records booking IDs in arrival order (single consumer thread)
+     */
+    private static class SequenceObserver implements BookingObserver {
+        private final List<String> received = new ArrayList<>();
+
+        @Override
+        public synchronized void update(String bookingId, BookingEvent event, String customerEmail,
+                                        String customerPhone, String details) {
+            received.add(bookingId);
+        }
+    }
+
+    /**
+     * Observer that only counts events
+     */
+    private static class CountingObserver implements BookingObserver {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void update(String bookingId, BookingEvent event, String customerEmail,
+                           String customerPhone, String details) {
+            count.incrementAndGet();
+        }
+    }
+}
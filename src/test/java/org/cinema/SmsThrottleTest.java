@@ -0,0 +1,184 @@
+package org.cinema;
+
+import org.cinema.model.enums.BookingEvent;
+import org.cinema.notification.SmsThrottle;
+import org.cinema.notification.SmsThrottlePolicy;
+import org.cinema.observer.BookingNotification;
+import org.cinema.observer.SMSNotificationObserver;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SmsThrottle and throttled SMSNotificationObserver
+ * Tests coalescing, token bucket limits, idle expiry and concurrent offers
+ */
+public class SmsThrottleTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000 * MS);
+    private final List<BookingNotification> sent = Collections.synchronizedList(new ArrayList<>());
+
+    private SmsThrottle throttle(SmsThrottlePolicy policy) {
+        return new SmsThrottle(policy, sent::add, clock::get, false);
+    }
+
+    private static BookingNotification event(String bookingId, BookingEvent event, String phone) {
+        return BookingNotification.of(bookingId, event, "a@test.com", phone, event.name());
+    }
+
+    @Test
+    public void drain_eventsWithinWindow_sendsOnlyLatest() {
+        // Arrange
+        SmsThrottle throttle = throttle(new SmsThrottlePolicy(1_000, 3, 10_000, 60_000));
+        throttle.offer(event("BK-1", BookingEvent.SEATS_RESERVED, "555-0001"));
+        throttle.offer(event("BK-1", BookingEvent.SEATS_RELEASED, "555-0001"));
+        throttle.offer(event("BK-2", BookingEvent.SEATS_RESERVED, "555-0001"));
+
+        // Act & Assert
+        assertEquals(0, throttle.drain(), "Nothing is sent before the window closes");
+        clock.addAndGet(1_000 * MS);
+        assertEquals(1, throttle.drain());
+        assertEquals("BK-2", sent.get(0).getBookingId(), "Latest state should win");
+        assertEquals(2, throttle.getCoalescedCount());
+    }
+
+    @Test
+    public void offer_seatEventAfterStatus_keepsStatusMessage() {
+        // Arrange
+        SmsThrottle throttle = throttle(new SmsThrottlePolicy(1_000, 3, 10_000, 60_000));
+
+        // Act
+        throttle.offer(event("BK-1", BookingEvent.CANCELLED, "555-0001"));
+        throttle.offer(event("BK-1", BookingEvent.SEATS_RELEASED, "555-0001"));
+        clock.addAndGet(1_000 * MS);
+        throttle.drain();
+
+        // Assert
+        assertEquals(BookingEvent.CANCELLED, sent.get(0).getEvent(),
+                "Seat release should not replace the cancellation notice");
+    }
+
+    @Test
+    public void drain_overBurst_defersUntilTokenRefills() {
+        // Arrange - bursts of 2, one more every 10 s
+        SmsThrottle throttle = throttle(new SmsThrottlePolicy(100, 2, 10_000, 60_000));
+
+        // Act - four separate windows back to back
+        for (int i = 0; i < 4; i++) {
+            throttle.offer(event("BK-" + i, BookingEvent.CONFIRMED, "555-0001"));
+            clock.addAndGet(100 * MS);
+            throttle.drain();
+        }
+
+        // Assert
+        assertEquals(2, sent.size(), "Only the burst should go out immediately");
+        assertTrue(throttle.getDeferredCount() > 0);
+        assertEquals(1, throttle.getCoalescedCount(), "Held message is replaced by the newer one");
+
+        clock.addAndGet(10_000 * MS);
+        assertEquals(1, throttle.drain());
+        assertEquals("BK-3", sent.get(2).getBookingId());
+    }
+
+    @Test
+    public void drain_differentPhones_areLimitedIndependently() {
+        // Arrange
+        SmsThrottle throttle = throttle(new SmsThrottlePolicy(100, 1, 60_000, 600_000));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            throttle.offer(event("BK-" + i, BookingEvent.CONFIRMED, "555-000" + i));
+        }
+        clock.addAndGet(100 * MS);
+
+        // Assert
+        assertEquals(5, throttle.drain());
+        assertEquals(5, throttle.getTrackedRecipientCount());
+    }
+
+    @Test
+    public void drain_idleRecipients_areExpired() {
+        // Arrange
+        SmsThrottle throttle = throttle(new SmsThrottlePolicy(100, 1, 1_000, 5_000));
+        throttle.offer(event("BK-1", BookingEvent.CONFIRMED, "555-0001"));
+        clock.addAndGet(100 * MS);
+        throttle.drain();
+
+        // Act
+        clock.addAndGet(5_000 * MS);
+        throttle.drain();
+
+        // Assert
+        assertEquals(0, throttle.getTrackedRecipientCount(), "Idle recipient should be forgotten");
+        assertEquals(1, throttle.getExpiredCount());
+
+        throttle.offer(event("BK-2", BookingEvent.CONFIRMED, "555-0001"));
+        clock.addAndGet(100 * MS);
+        assertEquals(1, throttle.drain(), "Expired recipient starts with a full bucket");
+    }
+
+    @Test
+    public void offer_concurrentPublishers_sendsOneMessagePerPhone() throws InterruptedException {
+        // Arrange
+        SmsThrottle throttle = throttle(new SmsThrottlePolicy(1_000, 1, 60_000, 600_000));
+        int phones = 50;
+        int perThread = 2_000;
+
+        // Act
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    throttle.offer(event("BK-" + i, BookingEvent.CONFIRMED, "555-" + (i % phones)));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        clock.addAndGet(1_000 * MS);
+        throttle.drain();
+
+        // Assert
+        assertEquals(phones, sent.size(), "Each phone should get exactly one SMS");
+        assertEquals(4L * perThread, throttle.getSentCount() + throttle.getCoalescedCount(),
+                "Every offer is either sent or coalesced");
+    }
+
+    @Test
+    public void observer_withThrottle_coalescesCancelAndRebookStorm() throws InterruptedException {
+        // Arrange
+        List<String> texts = Collections.synchronizedList(new ArrayList<>());
+        try (SMSNotificationObserver observer = new SMSNotificationObserver(
+                EnumSet.allOf(BookingEvent.class),
+                (notification, text) -> texts.add(text.toString()),
+                new SmsThrottlePolicy(50, 2, 60_000, 600_000))) {
+
+            // Act
+            for (int i = 0; i < 10; i++) {
+                observer.onEvent(event("BOOKING-" + i, BookingEvent.SEATS_RESERVED, "555-0001"));
+                observer.onEvent(event("BOOKING-" + i, BookingEvent.SEATS_RELEASED, "555-0001"));
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (texts.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(100);
+
+            // Assert
+            assertEquals(1, texts.size(), "Twenty events within the window should become one SMS");
+            assertEquals("[Cinema] Seats released for: BOOKING-...", texts.get(0));
+        }
+    }
+}